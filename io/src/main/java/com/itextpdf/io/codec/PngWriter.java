@@ -42,6 +42,8 @@ public class PngWriter {
     private static final byte[] IEND = ByteUtils.getIsoBytes("IEND");
     private static final byte[] iCCP = ByteUtils.getIsoBytes("iCCP");
 
+    private static final int MAX_DATA_CHUNK_SIZE = 64 * 1024;
+
     private static int[] crc_table;
 
     private OutputStream outp;
@@ -84,6 +86,19 @@ public class PngWriter {
         writeChunk(IDAT, stream.toByteArray());
     }
 
+    /**
+     * Creates a stream to write the image data to row by row, so that the whole image is never held in memory.
+     * The data is compressed while it is written and split into chunks of limited size. The same data as
+     * for {@link #writeData(byte[], int)} is expected, without the filter type bytes.
+     * The stream shall be closed before {@link #writeEnd()} is called.
+     *
+     * @param stride the number of bytes in a row of the image
+     * @return the stream to write the image data to
+     */
+    public OutputStream createDataStream(int stride) {
+        return new DataOutputStream(stride);
+    }
+
     public void writePalette(byte[] data) throws IOException {
         writeChunk(PLTE, data);
     }
@@ -157,4 +172,73 @@ public class PngWriter {
         outputInt(c);
     }
 
+    private final class DataOutputStream extends OutputStream {
+        private final int stride;
+        private final DeflaterOutputStream zip;
+        private int rowPosition;
+
+        DataOutputStream(int stride) {
+            this.stride = stride;
+            this.zip = new DeflaterOutputStream(new DataChunkOutputStream());
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (rowPosition == 0) {
+                    // filter type: none
+                    zip.write(0);
+                }
+                int n = Math.min(len, stride - rowPosition);
+                zip.write(b, off, n);
+                rowPosition = (rowPosition + n) % stride;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.close();
+        }
+    }
+
+    private final class DataChunkOutputStream extends OutputStream {
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, MAX_DATA_CHUNK_SIZE - chunk.size());
+                chunk.write(b, off, n);
+                off += n;
+                len -= n;
+                if (chunk.size() == MAX_DATA_CHUNK_SIZE) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (chunk.size() > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            writeChunk(IDAT, chunk.toByteArray());
+            chunk.reset();
+        }
+    }
 }
@@ -37,9 +37,11 @@ public final class IoExceptionMessageConstant {
     public static final String BITS_PER_SAMPLE_0_IS_NOT_SUPPORTED = "Bits per sample {0} is not supported.";
     public static final String BIT_SAMPLES_ARE_NOT_SUPPORTED_FOR_HORIZONTAL_DIFFERENCING_PREDICTOR =
             "{0} bit samples are not supported for horizontal differencing predictor.";
+    public static final String BLOCK_SIZE_SHALL_BE_POSITIVE = "Block size shall be positive.";
     public static final String BMP_IMAGE_EXCEPTION = "Bmp image exception.";
     public static final String BROTLI_DECODING_FAILED = "Woff2 brotli decoding exception";
     public static final String BUFFER_READ_FAILED = "Reading woff2 exception";
+    public static final String BUFFER_SIZE_SHALL_BE_POSITIVE = "Buffer size shall be positive.";
     public static final String BYTES_CAN_BE_ASSIGNED_TO_BYTE_ARRAY_OUTPUT_STREAM_ONLY =
             "Bytes can be assigned to ByteArrayOutputStream only.";
     public static final String BYTES_CAN_BE_RESET_IN_BYTE_ARRAY_OUTPUT_STREAM_ONLY =
@@ -50,6 +52,7 @@ public final class IoExceptionMessageConstant {
     public static final String CANNOT_INFLATE_TIFF_IMAGE = "Cannot inflate TIFF image.";
     public static final String CANNOT_OPEN_OUTPUT_DIRECTORY = "Cannot open output directory for <filename>";
     public static final String CANNOT_READ_TIFF_IMAGE = "Cannot read TIFF image.";
+    public static final String CANNOT_SPOOL_INPUT_STREAM = "Cannot spool the input stream.";
     public static final String CANNOT_WRITE_BYTE = "Cannot write byte.";
     public static final String CANNOT_WRITE_BYTES = "Cannot write bytes.";
     public static final String CANNOT_WRITE_FLOAT_NUMBER = "Cannot write float number.";
@@ -90,6 +93,8 @@ public final class IoExceptionMessageConstant {
     public static final String EXTRA_SAMPLES_ARE_NOT_SUPPORTED = "Extra samples are not supported.";
     public static final String FDF_STARTXREF_NOT_FOUND = "FDF startxref not found.";
     public static final String FIRST_SCANLINE_MUST_BE_1D_ENCODED = "First scanline must be 1D encoded.";
+    public static final String FONT_CACHE_WEIGHT_SHALL_NOT_BE_NEGATIVE = "Maximum weight of the font cache shall not "
+            + "be negative.";
     public static final String FONT_FILE_NOT_FOUND = "Font file {0} not found.";
     public static final String GHOSTSCRIPT_FAILED = "GhostScript failed for <filename>";
     public static final String GIF_IMAGE_EXCEPTION = "GIF image exception.";
@@ -131,6 +136,8 @@ public final class IoExceptionMessageConstant {
     public static final String JPEG2000_IMAGE_EXCEPTION = "JPEG2000 image exception.";
     public static final String JPEG_IMAGE_EXCEPTION = "JPEG image exception.";
     public static final String LOCA_SIZE_OVERFLOW = "woff2 loca table content size overflow exception";
+    public static final String MAX_CACHED_BLOCKS_SHALL_BE_POSITIVE = "Maximum number of cached blocks shall be "
+            + "positive.";
     public static final String MISSING_TAGS_FOR_OJPEG_COMPRESSION = "Missing tag(s) for OJPEG compression";
     public static final String MUST_HAVE_8_BITS_PER_COMPONENT = "{0} must have 8 bits per component.";
     public static final String NOT_AT_TRUE_TYPE_FILE = "{0} is not a true type file";
@@ -154,6 +161,7 @@ public final class IoExceptionMessageConstant {
     public static final String RECONSTRUCT_POINT_FAILED = "Reconstructing woff2 glyph's point exception";
     public static final String RECONSTRUCT_TABLE_DIRECTORY_FAILED = "Reconstructing woff2 table directory exception";
     public static final String SCANLINE_MUST_BEGIN_WITH_EOL_CODE_WORD = "Scanline must begin with EOL code word.";
+    public static final String SEGMENT_SIZE_SHALL_BE_POSITIVE = "Segment size shall be positive.";
     public static final String TABLE_DOES_NOT_EXIST = "Table {0} does not exist.";
     public static final String TABLE_DOES_NOT_EXISTS_IN = "Table {0} does not exist in {1}";
     public static final String THIS_IMAGE_CAN_NOT_BE_AN_IMAGE_MASK = "This image can not be an image mask.";
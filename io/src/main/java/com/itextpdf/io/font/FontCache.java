@@ -44,10 +44,14 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FontCache {
 
+    /**
+     * The default maximum estimated weight of the fonts kept in the cache, in bytes.
+     */
+    public static final long DEFAULT_MAX_FONT_CACHE_WEIGHT = 128L * 1024 * 1024;
+
     private static final Map<String, Map<String, Object>> allCidFonts = new LinkedHashMap<>();
     private static final Map<String, Set<String>> registryNames = new HashMap<>();
 
@@ -57,7 +61,7 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static final FontProgramCache fontCache = new FontProgramCache(DEFAULT_MAX_FONT_CACHE_WEIGHT);
 
     static {
         try {
@@ -176,12 +180,63 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
-        }
-        fontCache.put(key, font);
-        return font;
+        return fontCache.putIfAbsent(key, font);
+    }
+
+    /**
+     * Gets the maximum estimated weight of the fonts which are kept in the cache.
+     *
+     * @return the maximum weight in bytes
+     */
+    public static long getMaxFontCacheWeight() {
+        return fontCache.getMaxWeight();
+    }
+
+    /**
+     * Sets the maximum estimated weight of the fonts which are kept in the cache. When the weight is exceeded,
+     * the least recently used fonts are evicted. An evicted font is only softly referenced, so it is still
+     * returned by the cache until it is garbage collected.
+     *
+     * @param maxWeight the maximum weight in bytes, {@code 0} to keep the fonts only softly referenced
+     */
+    public static void setMaxFontCacheWeight(long maxWeight) {
+        fontCache.setMaxWeight(maxWeight);
+    }
+
+    /**
+     * Gets the estimated weight of the fonts which are currently kept in the cache.
+     *
+     * @return the weight in bytes
+     */
+    public static long getFontCacheWeight() {
+        return fontCache.getWeight();
+    }
+
+    /**
+     * Gets the number of lookups which found a cached font.
+     *
+     * @return the hit count
+     */
+    public static long getFontCacheHitCount() {
+        return fontCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of lookups which didn't find a cached font.
+     *
+     * @return the miss count
+     */
+    public static long getFontCacheMissCount() {
+        return fontCache.getMissCount();
+    }
+
+    /**
+     * Gets the number of fonts which were evicted from the cache because of its maximum weight.
+     *
+     * @return the eviction count
+     */
+    public static long getFontCacheEvictionCount() {
+        return fontCache.getEvictionCount();
     }
 
     private static void loadRegistry() throws java.io.IOException {
@@ -0,0 +1,218 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The cache of the font programs which are created by {@link FontProgramFactory} with {@code cached} flag.
+ * <p>
+ * The cache is bounded by the estimated memory weight of the cached fonts. When the weight exceeds
+ * the limit, the least recently used fonts are evicted. The evicted fonts are still softly referenced,
+ * so a font which is used elsewhere, or which hasn't been collected yet, is returned without being
+ * parsed again. This also keeps returning the same instance for a font which is in use.
+ */
+class FontProgramCache {
+
+    /**
+     * The estimated weight of a glyph, including its entries in the glyph maps of the font program.
+     */
+    static final int GLYPH_WEIGHT = 128;
+
+    /**
+     * The estimated weight of a font program apart from its glyphs and font data.
+     */
+    static final int FONT_WEIGHT = 4096;
+
+    private final Map<FontCacheKey, CachedFont> fonts = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<FontCacheKey, SoftReference<FontProgram>> evictedFonts = new HashMap<>();
+
+    private long maxWeight;
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Creates a new {@link FontProgramCache} instance.
+     *
+     * @param maxWeight the maximum estimated weight of the strongly cached fonts in bytes
+     */
+    FontProgramCache(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IOException(IoExceptionMessageConstant.FONT_CACHE_WEIGHT_SHALL_NOT_BE_NEGATIVE);
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Gets the cached font program.
+     *
+     * @param key the key of the font program
+     * @return the cached font program, or {@code null} if it isn't cached
+     */
+    synchronized FontProgram get(FontCacheKey key) {
+        CachedFont cached = fonts.get(key);
+        if (cached != null) {
+            hitCount++;
+            return cached.font;
+        }
+        SoftReference<FontProgram> reference = evictedFonts.remove(key);
+        FontProgram font = reference != null ? reference.get() : null;
+        if (font == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        add(key, font);
+        return font;
+    }
+
+    /**
+     * Puts the font program to the cache, unless there is already a cached font program for the key.
+     *
+     * @param key  the key of the font program
+     * @param font the font program to cache
+     * @return the cached font program, which is the passed one if there was no font program for the key
+     */
+    synchronized FontProgram putIfAbsent(FontCacheKey key, FontProgram font) {
+        CachedFont cached = fonts.get(key);
+        if (cached != null) {
+            return cached.font;
+        }
+        SoftReference<FontProgram> reference = evictedFonts.remove(key);
+        FontProgram evicted = reference != null ? reference.get() : null;
+        if (evicted != null) {
+            font = evicted;
+        }
+        add(key, font);
+        return font;
+    }
+
+    synchronized void clear() {
+        fonts.clear();
+        evictedFonts.clear();
+        weight = 0;
+    }
+
+    synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    synchronized void setMaxWeight(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IOException(IoExceptionMessageConstant.FONT_CACHE_WEIGHT_SHALL_NOT_BE_NEGATIVE);
+        }
+        this.maxWeight = maxWeight;
+        evictExcess();
+    }
+
+    synchronized long getWeight() {
+        return weight;
+    }
+
+    synchronized int size() {
+        return fonts.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Estimates the memory occupied by the font program.
+     *
+     * @param font the font program
+     * @return the estimated weight in bytes
+     */
+    static long estimateWeight(FontProgram font) {
+        long glyphCount = (long) font.codeToGlyph.size() + font.unicodeToGlyph.size();
+        long fontWeight = FONT_WEIGHT + GLYPH_WEIGHT * glyphCount;
+        if (font instanceof TrueTypeFont) {
+            fontWeight += ((TrueTypeFont) font).getFontDataLength();
+        }
+        return fontWeight;
+    }
+
+    private void add(FontCacheKey key, FontProgram font) {
+        CachedFont cached = new CachedFont(font, estimateWeight(font));
+        fonts.put(key, cached);
+        weight += cached.weight;
+        evictExcess();
+    }
+
+    private void evictExcess() {
+        boolean evicted = false;
+        Iterator<Map.Entry<FontCacheKey, CachedFont>> iterator = fonts.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<FontCacheKey, CachedFont> eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            evictedFonts.put(eldest.getKey(), new SoftReference<>(eldest.getValue().font));
+            evictionCount++;
+            evicted = true;
+        }
+        if (evicted) {
+            removeCollectedFonts();
+        }
+    }
+
+    private void removeCollectedFonts() {
+        Iterator<SoftReference<FontProgram>> iterator = evictedFonts.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class CachedFont {
+        final FontProgram font;
+        final long weight;
+
+        CachedFont(FontProgram font, long weight) {
+            this.font = font;
+            this.weight = weight;
+        }
+    }
+}
@@ -24,6 +24,8 @@ package com.itextpdf.io.font;
 
 import com.itextpdf.io.font.constants.FontMacStyleFlags;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -78,6 +80,67 @@ public class FontProgramDescriptor {
         this(fontNames, fontMetrics.getItalicAngle(), fontMetrics.isFixedPitch());
     }
 
+    private FontProgramDescriptor(String fontName, String fullNameLowerCase, String familyNameLowerCase,
+            String style, int macStyle, int weight, float italicAngle, boolean isMonospace,
+            String familyNameEnglishOpenType, Set<String> fullNamesAllLangs, Set<String> fullNamesEnglishOpenType) {
+        this.fontName = fontName;
+        this.fontNameLowerCase = fontName.toLowerCase();
+        this.fullNameLowerCase = fullNameLowerCase;
+        this.familyNameLowerCase = familyNameLowerCase;
+        this.style = style;
+        this.macStyle = macStyle;
+        this.weight = weight;
+        this.italicAngle = italicAngle;
+        this.isMonospace = isMonospace;
+        this.familyNameEnglishOpenType = familyNameEnglishOpenType;
+        this.fullNamesAllLangs = fullNamesAllLangs;
+        this.fullNamesEnglishOpenType = fullNamesEnglishOpenType;
+    }
+
+    /**
+     * Reads a descriptor previously written with {@link #writeTo(DataOutput)}.
+     *
+     * @param in the input to read the descriptor from
+     * @return the restored descriptor
+     * @throws java.io.IOException if the descriptor can't be read
+     */
+    public static FontProgramDescriptor readFrom(DataInput in) throws java.io.IOException {
+        String fontName = in.readUTF();
+        String fullNameLowerCase = in.readUTF();
+        String familyNameLowerCase = readNullableString(in);
+        String style = readNullableString(in);
+        int macStyle = in.readInt();
+        int weight = in.readInt();
+        float italicAngle = in.readFloat();
+        boolean isMonospace = in.readBoolean();
+        String familyNameEnglishOpenType = readNullableString(in);
+        Set<String> fullNamesAllLangs = readStringSet(in);
+        Set<String> fullNamesEnglishOpenType = readStringSet(in);
+        return new FontProgramDescriptor(fontName, fullNameLowerCase, familyNameLowerCase, style, macStyle, weight,
+                italicAngle, isMonospace, familyNameEnglishOpenType, fullNamesAllLangs, fullNamesEnglishOpenType);
+    }
+
+    /**
+     * Writes the descriptor, so that it can be restored with {@link #readFrom(DataInput)}
+     * without parsing the font program again.
+     *
+     * @param out the output to write the descriptor to
+     * @throws java.io.IOException if the descriptor can't be written
+     */
+    public void writeTo(DataOutput out) throws java.io.IOException {
+        out.writeUTF(fontName);
+        out.writeUTF(fullNameLowerCase);
+        writeNullableString(out, familyNameLowerCase);
+        writeNullableString(out, style);
+        out.writeInt(macStyle);
+        out.writeInt(weight);
+        out.writeFloat(italicAngle);
+        out.writeBoolean(isMonospace);
+        writeNullableString(out, familyNameEnglishOpenType);
+        writeStringSet(out, fullNamesAllLangs);
+        writeStringSet(out, fullNamesEnglishOpenType);
+    }
+
     public String getFontName() {
         return fontName;
     }
@@ -160,4 +223,34 @@ public class FontProgramDescriptor {
         }
         return new HashSet<>();
     }
+
+    private static String readNullableString(DataInput in) throws java.io.IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws java.io.IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Set<String> readStringSet(DataInput in) throws java.io.IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new java.io.IOException(size + " is negative");
+        }
+        Set<String> set = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(in.readUTF());
+        }
+        return set;
+    }
+
+    private static void writeStringSet(DataOutput out, Set<String> set) throws java.io.IOException {
+        out.writeInt(set.size());
+        for (String value : set) {
+            out.writeUTF(value);
+        }
+    }
 }
@@ -394,6 +394,22 @@ public class TrueTypeFont extends FontProgram {
         fontParser = null;
     }
 
+    /**
+     * Gets the length of the font data, which is kept in memory once the font is embedded
+     * or if the font was created from a byte array.
+     *
+     * @return the length of the font data in bytes, or 0 if it is unknown
+     */
+    long getFontDataLength() {
+        if (fontStreamBytes != null) {
+            return fontStreamBytes.length;
+        }
+        if (fontParser == null || fontParser.raf == null) {
+            return 0;
+        }
+        return fontParser.raf.length();
+    }
+
     /**
      * The method will update usedGlyphs with additional range or with all glyphs if there is no subset.
      * This set of used glyphs can be used for building width array and ToUnicode CMAP.
@@ -24,12 +24,15 @@ package com.itextpdf.io.source;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
 
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    private final int level;
+    private boolean released = false;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        super(out, ZlibPool.acquireDeflater(level), size);
+        this.level = level;
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -40,15 +43,33 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
         this(out, -1);
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (released) {
+            throw new IOException("write beyond end of stream");
+        }
+        super.write(b, off, len);
+    }
+
     @Override
     public void close() throws IOException {
         finish();
         super.close();
     }
 
+    /**
+     * Finishes writing compressed data to the output stream and returns the underlying {@link java.util.zip.Deflater}
+     * to {@link ZlibPool}. No more data can be written to this stream afterwards.
+     *
+     * @throws IOException if an I/O error has occurred
+     */
     @Override
     public void finish() throws IOException {
+        if (released) {
+            return;
+        }
         super.finish();
-        def.end();
+        released = true;
+        ZlibPool.releaseDeflater(def, level);
     }
 }
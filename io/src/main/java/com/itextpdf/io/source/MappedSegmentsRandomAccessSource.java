@@ -0,0 +1,188 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.logs.IoLogMessageConstant;
+
+import java.nio.channels.FileChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A RandomAccessSource that maps the whole {@link FileChannel} into memory as a sequence of read-only segments.
+ * <p>
+ * All segments are mapped on construction and the reads are positional: they neither change a shared position
+ * nor open or release mappings, so the source can be read by any number of threads at the same time without
+ * locking. Unlike {@link PagedChannelRandomAccessSource}, the size of the file isn't limited by a number of
+ * open pages, only by the virtual address space of the process.
+ * <p>
+ * The source must not be closed while it's being read, because the mapped memory is released on closing.
+ */
+public class MappedSegmentsRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default size of a single mapped segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * The channel this source is based on
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of each segment but the last one
+     */
+    private final int segmentSize;
+
+    /**
+     * The total number of bytes in the source
+     */
+    private final long length;
+
+    /**
+     * The mapped segments, or null if the source is closed
+     */
+    private java.nio.ByteBuffer[] buffers;
+
+    /**
+     * Constructs a new {@link MappedSegmentsRandomAccessSource} based on the specified FileChannel with
+     * the default segment size.
+     *
+     * @param channel the channel to use as the backing store
+     * @throws java.io.IOException if the channel cannot be mapped
+     */
+    public MappedSegmentsRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this(channel, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link MappedSegmentsRandomAccessSource} based on the specified FileChannel.
+     *
+     * @param channel     the channel to use as the backing store
+     * @param segmentSize the maximum size of a single mapped segment
+     * @throws java.io.IOException if the channel cannot be mapped
+     */
+    public MappedSegmentsRandomAccessSource(FileChannel channel, int segmentSize) throws java.io.IOException {
+        if (segmentSize <= 0) {
+            throw new IOException(IoExceptionMessageConstant.SEGMENT_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.channel = channel;
+        this.segmentSize = segmentSize;
+        this.length = channel.size();
+        if (length == 0) {
+            throw new java.io.IOException("File size is 0 bytes");
+        }
+        java.nio.ByteBuffer[] mappedBuffers = new java.nio.ByteBuffer[(int) ((length + segmentSize - 1) / segmentSize)];
+        try {
+            for (int i = 0; i < mappedBuffers.length; i++) {
+                long offset = (long) i * segmentSize;
+                mappedBuffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(segmentSize, length - offset));
+            }
+        } catch (java.io.IOException | RuntimeException e) {
+            release(mappedBuffers);
+            throw e;
+        }
+        this.buffers = mappedBuffers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) {
+        java.nio.ByteBuffer[] mappedBuffers = getBuffers();
+        if (position >= length) {
+            return -1;
+        }
+        return mappedBuffers[(int) (position / segmentSize)].get((int) (position % segmentSize)) & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) {
+        java.nio.ByteBuffer[] mappedBuffers = getBuffers();
+        if (position >= length) {
+            return -1;
+        }
+        int read = 0;
+        while (read < len && position < length) {
+            // a duplicate has its own position, so the mapped buffers themselves are never modified
+            java.nio.ByteBuffer buffer = mappedBuffers[(int) (position / segmentSize)].duplicate();
+            buffer.position((int) (position % segmentSize));
+            int count = Math.min(len - read, buffer.remaining());
+            buffer.get(bytes, off + read, count);
+            read += count;
+            position += count;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Releases the mapped segments and closes the channel
+     */
+    public void close() throws java.io.IOException {
+        java.nio.ByteBuffer[] mappedBuffers = buffers;
+        if (mappedBuffers == null) {
+            return;
+        }
+        buffers = null;
+        try {
+            release(mappedBuffers);
+        } finally {
+            try {
+                channel.close();
+            } catch (Exception ex) {
+                Logger logger = LoggerFactory.getLogger(MappedSegmentsRandomAccessSource.class);
+                logger.error(IoLogMessageConstant.FILE_CHANNEL_CLOSING_FAILED, ex);
+            }
+        }
+    }
+
+    private java.nio.ByteBuffer[] getBuffers() {
+        java.nio.ByteBuffer[] mappedBuffers = buffers;
+        if (mappedBuffers == null) {
+            throw new IllegalStateException(IoExceptionMessageConstant.ALREADY_CLOSED);
+        }
+        return mappedBuffers;
+    }
+
+    private static void release(java.nio.ByteBuffer[] mappedBuffers) throws java.io.IOException {
+        for (java.nio.ByteBuffer buffer : mappedBuffers) {
+            if (buffer != null) {
+                new ByteBufferRandomAccessSource(buffer).close();
+            }
+        }
+    }
+}
@@ -92,6 +92,20 @@ public class PdfTokenizer implements Closeable {
     public static final byte[] True = ByteUtils.getIsoBytes("true");
     public static final byte[] False = ByteUtils.getIsoBytes("false");
 
+    /**
+     * The same as {@link #isWhitespace(int)}, indexed by the character code plus one to cover -1.
+     */
+    private static final boolean[] WHITESPACES = new boolean[257];
+
+    private static final int MIN_WINDOW_SIZE = 64;
+    private static final int MAX_WINDOW_SIZE = 8192;
+
+    static {
+        for (int ch = -1; ch < 256; ch++) {
+            WHITESPACES[ch + 1] = isWhitespace(ch);
+        }
+    }
+
     protected TokenType type;
     protected int reference;
     protected int generation;
@@ -104,6 +118,19 @@ public class PdfTokenizer implements Closeable {
      */
     private boolean closeStream = true;
 
+    /**
+     * Tokens are read from a window buffer filled in bulk from the source. The window is dropped on every
+     * {@link #seek(long)}, and grows while the source is read sequentially.
+     */
+    private boolean bulkReading = true;
+    private byte[] window;
+    private int windowSize = MIN_WINDOW_SIZE;
+    private long windowStart;
+    private int windowLength;
+    private boolean scanning;
+    private long scanPosition;
+    private int scanPushedBackByte = -1;
+
     /**
      * Creates a PdfTokenizer for the specified {@link RandomAccessFileOrArray}.
      * The beginning of the file is read to determine the location of the header, and the data source is adjusted
@@ -117,6 +144,8 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void seek(long pos) {
+        windowLength = 0;
+        windowSize = MIN_WINDOW_SIZE;
         file.seek(pos);
     }
 
@@ -129,6 +158,8 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void close() throws java.io.IOException {
+        window = null;
+        windowLength = 0;
         if (closeStream)
             file.close();
     }
@@ -161,6 +192,27 @@ public class PdfTokenizer implements Closeable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Gets the length of the content of the current token, i.e. the length of {@link #getByteContent()}.
+     *
+     * @return the length of the token content
+     */
+    public int getByteContentLength() {
+        return outBuf.size();
+    }
+
+    /**
+     * Copies the content of the current token to the passed array. Unlike {@link #getByteContent()},
+     * doesn't allocate a new array for each token.
+     *
+     * @param destination the array to copy the content to, must have enough space
+     *                    for {@link #getByteContentLength()} bytes starting from the offset
+     * @param offset      the offset in the destination array
+     */
+    public void copyByteContent(byte[] destination, int offset) {
+        System.arraycopy(outBuf.getInternalBuffer(), 0, destination, offset, outBuf.size());
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
@@ -275,8 +327,8 @@ public class PdfTokenizer implements Closeable {
                             assert n2 != null;
                             type = TokenType.Ref;
                             try {
-                                reference = Integer.parseInt(new String(n1));
-                                generation = Integer.parseInt(new String(n2));
+                                reference = parseInt(n1, n1.length);
+                                generation = parseInt(n2, n2.length);
                             } catch (Exception ex) {
                                 //warn about incorrect reference number
                                 //Exception: NumberFormatException for java, FormatException or OverflowException for .NET
@@ -290,8 +342,8 @@ public class PdfTokenizer implements Closeable {
                         } else if (tokenValueEqualsTo(Obj)) {
                             assert n2 != null;
                             type = TokenType.Obj;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseInt(n1, n1.length);
+                            generation = parseInt(n2, n2.length);
                             return;
                         }
                     }
@@ -316,179 +368,22 @@ public class PdfTokenizer implements Closeable {
     }
 
     public boolean nextToken() throws java.io.IOException {
-        int ch;
-        outBuf.reset();
-        do {
-            ch = file.read();
-        } while (ch != -1 && isWhitespace(ch));
-        if (ch == -1) {
-            type = TokenType.EndOfFile;
-            return false;
+        if (!beginScan()) {
+            return readToken();
         }
-        switch (ch) {
-            case '[': {
-                type = TokenType.StartArray;
-                break;
-            }
-            case ']': {
-                type = TokenType.EndArray;
-                break;
-            }
-            case '/': {
-                type = TokenType.Name;
-                while (true) {
-                    ch = file.read();
-                    if (delims[ch + 1])
-                        break;
-                    outBuf.append(ch);
-                }
-                backOnePosition(ch);
-                break;
-            }
-            case '>': {
-                ch = file.read();
-                if (ch != '>')
-                    throwError(IoExceptionMessageConstant.GT_NOT_EXPECTED);
-                type = TokenType.EndDic;
-                break;
-            }
-            case '<': {
-                int v1 = file.read();
-                if (v1 == '<') {
-                    type = TokenType.StartDic;
-                    break;
-                }
-                type = TokenType.String;
-                hexString = true;
-                int v2 = 0;
-                while (true) {
-                    while (isWhitespace(v1))
-                        v1 = file.read();
-                    if (v1 == '>')
-                        break;
-                    outBuf.append(v1);
-                    v1 = ByteBuffer.getHex(v1);
-                    if (v1 < 0)
-                        break;
-                    v2 = file.read();
-                    while (isWhitespace(v2))
-                        v2 = file.read();
-                    if (v2 == '>') {
-                        break;
-                    }
-                    outBuf.append(v2);
-                    v2 = ByteBuffer.getHex(v2);
-                    if (v2 < 0)
-                        break;
-                    v1 = file.read();
-                }
-                if (v1 < 0 || v2 < 0)
-                    throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
-                break;
-            }
-            case '%': {
-                type = TokenType.Comment;
-                do {
-                    ch = file.read();
-                } while (ch != -1 && ch != '\r' && ch != '\n');
-                break;
-            }
-            case '(': {
-                type = TokenType.String;
-                hexString = false;
-                int nesting = 0;
-                while (true) {
-                    ch = file.read();
-                    if (ch == -1)
-                        break;
-                    if (ch == '(') {
-                        ++nesting;
-                    } else if (ch == ')') {
-                        --nesting;
-                        if (nesting == -1)
-                            break;
-                    } else if (ch == '\\') {
-                        outBuf.append('\\');
-                        ch = file.read();
-                        if (ch < 0)
-                            break;
-                    }
-                    outBuf.append(ch);
-                }
-                if (ch == -1)
-                    throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
-                break;
-            }
-            default: {
-                if (ch == '-' || ch == '+' || ch == '.' || (ch >= '0' && ch <= '9')) {
-                    type = TokenType.Number;
-                    boolean isReal = false;
-                    int numberOfMinuses = 0;
-                    if (ch == '-') {
-                        // Take care of number like "--234". If Acrobat can read them so must we.
-                        do {
-                            ++numberOfMinuses;
-                            ch = file.read();
-                        } while (ch == '-');
-                        outBuf.append('-');
-                    } else {
-                        outBuf.append(ch);
-                        // We don't need to check if the number is real over here
-                        // as we need to know that fact only in case if there are any minuses.
-                        ch = file.read();
-                    }
-                    while (ch >= '0' && ch <= '9') {
-                        outBuf.append(ch);
-                        ch = file.read();
-                    }
-
-                    if ( ch == '.'){
-                        isReal = true;
-                        outBuf.append(ch);
-                        ch = file.read();
-
-                        //verify if there is minus after '.'
-                        //In that case just ignore minus chars and everything after as Adobe Reader does
-                        int numberOfMinusesAfterDot = 0;
-                        if (ch == '-') {
-                            numberOfMinusesAfterDot++;
-                            ch = file.read();
-                        }
-                        while (ch >= '0' && ch <= '9') {
-                            if (numberOfMinusesAfterDot == 0) {
-                                outBuf.append(ch);
-                            }
-                            ch = file.read();
-                        }
-                    }
-
-                    if (numberOfMinuses > 1 && !isReal) {
-                        // Numbers of integer type and with more than one minus before them
-                        // are interpreted by Acrobat as zero.
-                        outBuf.reset();
-                        outBuf.append('0');
-                    }
-                } else {
-                    type = TokenType.Other;
-                    do {
-                        outBuf.append(ch);
-                        ch = file.read();
-                    } while (!delims[ch + 1]);
-                }
-                if (ch != -1)
-                    backOnePosition(ch);
-                break;
-            }
+        try {
+            return readToken();
+        } finally {
+            endScan();
         }
-        return true;
     }
 
     public long getLongValue() {
-        return Long.parseLong(getStringValue());
+        return parseLong(outBuf.getInternalBuffer(), outBuf.size());
     }
 
     public int getIntValue() {
-        return Integer.parseInt(getStringValue());
+        return parseInt(outBuf.getInternalBuffer(), outBuf.size());
     }
 
     public boolean isHexString() {
@@ -503,6 +398,27 @@ public class PdfTokenizer implements Closeable {
         this.closeStream = closeStream;
     }
 
+    /**
+     * Checks if the tokens are read from a buffer filled in bulk from the source, see {@link #setBulkReading(boolean)}.
+     *
+     * @return true if bulk reading is enabled
+     */
+    public boolean isBulkReading() {
+        return bulkReading;
+    }
+
+    /**
+     * Defines if {@link #nextToken()} and {@link #readLineSegment(ByteBuffer, boolean)} read the source in bulk
+     * through an internal buffer instead of reading it byte by byte. The tokens and the resulting position
+     * in the source are the same in both modes. The buffer is dropped on {@link #seek(long)}, so a source whose
+     * content is changed has to be sought before being read again. Bulk reading is enabled by default.
+     *
+     * @param bulkReading true to enable bulk reading, false to read the source byte by byte
+     */
+    public void setBulkReading(boolean bulkReading) {
+        this.bulkReading = bulkReading;
+    }
+
     public RandomAccessFileOrArray getSafeFile() {
         return file.createView();
     }
@@ -663,7 +579,7 @@ public class PdfTokenizer implements Closeable {
      */
     public void throwError(String error, Object... messageParams) {
         throw new IOException(IoExceptionMessageConstant.ERROR_AT_FILE_POINTER, new IOException(error).setMessageParams(messageParams))
-                .setMessageParams(file.getPosition());
+                .setMessageParams(getScanPosition());
     }
 
     /**
@@ -710,12 +626,216 @@ public class PdfTokenizer implements Closeable {
      * @throws java.io.IOException in case of any reading error
      */
     public boolean readLineSegment(ByteBuffer buffer, boolean isNullWhitespace) throws java.io.IOException {
+        if (!beginScan()) {
+            return readLine(buffer, isNullWhitespace);
+        }
+        try {
+            return readLine(buffer, isNullWhitespace);
+        } finally {
+            endScan();
+        }
+    }
+
+    /**
+     * Check whether line starts with object declaration.
+     * @param lineTokenizer tokenizer, built by single line.
+     * @return object number and generation if check is successful, otherwise - null.
+     */
+    public static int[] checkObjectStart(PdfTokenizer lineTokenizer) {
+        try {
+            lineTokenizer.seek(0);
+            if (!lineTokenizer.nextToken() || lineTokenizer.getTokenType() != TokenType.Number)
+                return null;
+            int num = lineTokenizer.getIntValue();
+            if (!lineTokenizer.nextToken() || lineTokenizer.getTokenType() != TokenType.Number)
+                return null;
+            int gen = lineTokenizer.getIntValue();
+            if (!lineTokenizer.nextToken())
+                return null;
+            if (!Arrays.equals(Obj, lineTokenizer.getByteContent()))
+                return null;
+            return new int[]{num, gen};
+        } catch (Exception ioe) {
+            // empty on purpose
+        }
+        return null;
+    }
+
+    private boolean readToken() throws java.io.IOException {
+        int ch;
+        outBuf.reset();
+        do {
+            ch = readByte();
+        } while (ch != -1 && WHITESPACES[ch + 1]);
+        if (ch == -1) {
+            type = TokenType.EndOfFile;
+            return false;
+        }
+        switch (ch) {
+            case '[': {
+                type = TokenType.StartArray;
+                break;
+            }
+            case ']': {
+                type = TokenType.EndArray;
+                break;
+            }
+            case '/': {
+                type = TokenType.Name;
+                while (true) {
+                    ch = readByte();
+                    if (delims[ch + 1])
+                        break;
+                    outBuf.append(ch);
+                }
+                unreadByte(ch);
+                break;
+            }
+            case '>': {
+                ch = readByte();
+                if (ch != '>')
+                    throwError(IoExceptionMessageConstant.GT_NOT_EXPECTED);
+                type = TokenType.EndDic;
+                break;
+            }
+            case '<': {
+                int v1 = readByte();
+                if (v1 == '<') {
+                    type = TokenType.StartDic;
+                    break;
+                }
+                type = TokenType.String;
+                hexString = true;
+                int v2 = 0;
+                while (true) {
+                    while (WHITESPACES[v1 + 1])
+                        v1 = readByte();
+                    if (v1 == '>')
+                        break;
+                    outBuf.append(v1);
+                    v1 = ByteBuffer.getHex(v1);
+                    if (v1 < 0)
+                        break;
+                    v2 = readByte();
+                    while (WHITESPACES[v2 + 1])
+                        v2 = readByte();
+                    if (v2 == '>') {
+                        break;
+                    }
+                    outBuf.append(v2);
+                    v2 = ByteBuffer.getHex(v2);
+                    if (v2 < 0)
+                        break;
+                    v1 = readByte();
+                }
+                if (v1 < 0 || v2 < 0)
+                    throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
+                break;
+            }
+            case '%': {
+                type = TokenType.Comment;
+                do {
+                    ch = readByte();
+                } while (ch != -1 && ch != '\r' && ch != '\n');
+                break;
+            }
+            case '(': {
+                type = TokenType.String;
+                hexString = false;
+                int nesting = 0;
+                while (true) {
+                    ch = readByte();
+                    if (ch == -1)
+                        break;
+                    if (ch == '(') {
+                        ++nesting;
+                    } else if (ch == ')') {
+                        --nesting;
+                        if (nesting == -1)
+                            break;
+                    } else if (ch == '\\') {
+                        outBuf.append('\\');
+                        ch = readByte();
+                        if (ch < 0)
+                            break;
+                    }
+                    outBuf.append(ch);
+                }
+                if (ch == -1)
+                    throwError(IoExceptionMessageConstant.ERROR_READING_STRING);
+                break;
+            }
+            default: {
+                if (ch == '-' || ch == '+' || ch == '.' || (ch >= '0' && ch <= '9')) {
+                    type = TokenType.Number;
+                    boolean isReal = false;
+                    int numberOfMinuses = 0;
+                    if (ch == '-') {
+                        // Take care of number like "--234". If Acrobat can read them so must we.
+                        do {
+                            ++numberOfMinuses;
+                            ch = readByte();
+                        } while (ch == '-');
+                        outBuf.append('-');
+                    } else {
+                        outBuf.append(ch);
+                        // We don't need to check if the number is real over here
+                        // as we need to know that fact only in case if there are any minuses.
+                        ch = readByte();
+                    }
+                    while (ch >= '0' && ch <= '9') {
+                        outBuf.append(ch);
+                        ch = readByte();
+                    }
+
+                    if ( ch == '.'){
+                        isReal = true;
+                        outBuf.append(ch);
+                        ch = readByte();
+
+                        //verify if there is minus after '.'
+                        //In that case just ignore minus chars and everything after as Adobe Reader does
+                        int numberOfMinusesAfterDot = 0;
+                        if (ch == '-') {
+                            numberOfMinusesAfterDot++;
+                            ch = readByte();
+                        }
+                        while (ch >= '0' && ch <= '9') {
+                            if (numberOfMinusesAfterDot == 0) {
+                                outBuf.append(ch);
+                            }
+                            ch = readByte();
+                        }
+                    }
+
+                    if (numberOfMinuses > 1 && !isReal) {
+                        // Numbers of integer type and with more than one minus before them
+                        // are interpreted by Acrobat as zero.
+                        outBuf.reset();
+                        outBuf.append('0');
+                    }
+                } else {
+                    type = TokenType.Other;
+                    do {
+                        outBuf.append(ch);
+                        ch = readByte();
+                    } while (!delims[ch + 1]);
+                }
+                if (ch != -1)
+                    unreadByte(ch);
+                break;
+            }
+        }
+        return true;
+    }
+
+    private boolean readLine(ByteBuffer buffer, boolean isNullWhitespace) throws java.io.IOException {
         int c;
         boolean eol = false;
         // ssteward, pdftk-1.10, 040922:
         // skip initial whitespace; added this because PdfReader.rebuildXref()
         // assumes that line provided by readLineSegment does not have init. whitespace;
-        while (isWhitespace((c = read()), isNullWhitespace)) ;
+        while (isWhitespace((c = readByte()), isNullWhitespace)) ;
 
         boolean prevWasWhitespace = false;
         while (!eol) {
@@ -726,9 +846,9 @@ public class PdfTokenizer implements Closeable {
                     break;
                 case '\r':
                     eol = true;
-                    long cur = getPosition();
-                    if ((read()) != '\n') {
-                        seek(cur);
+                    long cur = getScanPosition();
+                    if ((readByte()) != '\n') {
+                        seekScan(cur);
                     }
                     break;
                 case 9: //whitespaces
@@ -744,26 +864,26 @@ public class PdfTokenizer implements Closeable {
                     buffer.append((byte) c);
                     break;
             }
-            // break loop? do it before we read() again
+            // break loop? do it before we readByte() again
             if (eol || buffer.size() == buffer.capacity()) {
                 eol = true;
             } else {
-                c = read();
+                c = readByte();
             }
         }
         if (buffer.size() == buffer.capacity()) {
             eol = false;
             while (!eol) {
-                switch (c = read()) {
+                switch (c = readByte()) {
                     case -1:
                     case '\n':
                         eol = true;
                         break;
                     case '\r':
                         eol = true;
-                        long cur = getPosition();
-                        if ((read()) != '\n') {
-                            seek(cur);
+                        long cur = getScanPosition();
+                        if ((readByte()) != '\n') {
+                            seekScan(cur);
                         }
                         break;
                 }
@@ -773,27 +893,128 @@ public class PdfTokenizer implements Closeable {
     }
 
     /**
-     * Check whether line starts with object declaration.
-     * @param lineTokenizer tokenizer, built by single line.
-     * @return object number and generation if check is successful, otherwise - null.
+     * Starts reading bytes from the window buffer instead of the file, if bulk reading is enabled.
+     * The file position is synchronized back in {@link #endScan()}.
+     *
+     * @return true if the scan has been started
+     * @throws java.io.IOException in case of any reading error
      */
-    public static int[] checkObjectStart(PdfTokenizer lineTokenizer) {
-        try {
-            lineTokenizer.seek(0);
-            if (!lineTokenizer.nextToken() || lineTokenizer.getTokenType() != TokenType.Number)
-                return null;
-            int num = lineTokenizer.getIntValue();
-            if (!lineTokenizer.nextToken() || lineTokenizer.getTokenType() != TokenType.Number)
-                return null;
-            int gen = lineTokenizer.getIntValue();
-            if (!lineTokenizer.nextToken())
-                return null;
-            if (!Arrays.equals(Obj, lineTokenizer.getByteContent()))
-                return null;
-            return new int[]{num, gen};
-        } catch (Exception ioe) {
-            // empty on purpose
+    private boolean beginScan() throws java.io.IOException {
+        if (!bulkReading || scanning) {
+            return false;
         }
-        return null;
+        scanPushedBackByte = file.hasPushedBackByte() ? file.read() : -1;
+        scanPosition = file.getPosition();
+        scanning = true;
+        return true;
+    }
+
+    private void endScan() {
+        scanning = false;
+        file.seek(scanPosition);
+        if (scanPushedBackByte != -1) {
+            file.pushBack((byte) scanPushedBackByte);
+        }
+    }
+
+    private int readByte() throws java.io.IOException {
+        if (!scanning) {
+            return file.read();
+        }
+        if (scanPushedBackByte != -1) {
+            int ch = scanPushedBackByte;
+            scanPushedBackByte = -1;
+            return ch;
+        }
+        long offset = scanPosition - windowStart;
+        if (offset < 0 || offset >= windowLength) {
+            if (!fillWindow()) {
+                // the file position is advanced even at the end of the file
+                scanPosition++;
+                return -1;
+            }
+            offset = 0;
+        }
+        scanPosition++;
+        return window[(int) offset] & 0xff;
+    }
+
+    private void unreadByte(int ch) {
+        if (!scanning) {
+            backOnePosition(ch);
+        } else if (ch != -1) {
+            scanPushedBackByte = ch;
+        }
+    }
+
+    private long getScanPosition() {
+        if (!scanning) {
+            return file.getPosition();
+        }
+        return scanPosition - (scanPushedBackByte != -1 ? 1 : 0);
+    }
+
+    private void seekScan(long pos) {
+        if (!scanning) {
+            file.seek(pos);
+        } else {
+            scanPosition = pos;
+            scanPushedBackByte = -1;
+        }
+    }
+
+    private boolean fillWindow() throws java.io.IOException {
+        if (window == null || window.length < windowSize) {
+            window = new byte[windowSize];
+        }
+        int count = scanPosition < 0 ? -1 : file.get(scanPosition, window, 0, windowSize);
+        windowSize = Math.min(windowSize * 2, MAX_WINDOW_SIZE);
+        if (count <= 0) {
+            windowLength = 0;
+            return false;
+        }
+        windowStart = scanPosition;
+        windowLength = count;
+        return true;
+    }
+
+    /**
+     * Parses a decimal integer without creating an intermediate {@link String}. Anything except an optional
+     * sign followed by a small enough number of digits is parsed by {@link Integer#parseInt(String)}, so that
+     * the result and the thrown exceptions are the same.
+     */
+    private static int parseInt(byte[] bytes, int length) {
+        int i = length > 0 && (bytes[0] == '-' || bytes[0] == '+') ? 1 : 0;
+        if (i == length || length - i > 9) {
+            return Integer.parseInt(new String(bytes, 0, length));
+        }
+        int value = 0;
+        for (; i < length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(new String(bytes, 0, length));
+            }
+            value = value * 10 + digit;
+        }
+        return bytes[0] == '-' ? -value : value;
+    }
+
+    /**
+     * Parses a decimal long without creating an intermediate {@link String}, see {@link #parseInt(byte[], int)}.
+     */
+    private static long parseLong(byte[] bytes, int length) {
+        int i = length > 0 && (bytes[0] == '-' || bytes[0] == '+') ? 1 : 0;
+        if (i == length || length - i > 18) {
+            return Long.parseLong(new String(bytes, 0, length));
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(new String(bytes, 0, length));
+            }
+            value = value * 10 + digit;
+        }
+        return bytes[0] == '-' ? -value : value;
     }
 }
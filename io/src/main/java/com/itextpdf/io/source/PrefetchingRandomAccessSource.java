@@ -0,0 +1,317 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A RandomAccessSource which reads the underlying source in blocks and can load the blocks asynchronously,
+ * before they are requested. This hides the latency of slow storage, like network file systems, where every
+ * read of the underlying source blocks for a long time regardless of its size.
+ * <p>
+ * The blocks which are going to be read can be requested by {@link #prefetch(long, long)}, which returns
+ * immediately. The blocks are also read ahead on sequential reads. The read blocks are kept in a bounded
+ * least-recently-used cache. The underlying source is only accessed by one thread at a time, so it doesn't have to
+ * support concurrent reads, but its content must not change while it's used by this source. For the same reason
+ * the blocks are read in background by a single thread. A block which is requested while it's still waiting to be
+ * read in background is read by the requesting thread, so that it doesn't wait for the other pending blocks.
+ */
+public class PrefetchingRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default size of a block read from the underlying source.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The default maximum number of cached blocks.
+     */
+    public static final int DEFAULT_MAX_CACHED_BLOCKS = 256;
+
+    private static final int READ_AHEAD_BLOCKS = 2;
+
+    private static final long THREAD_KEEP_ALIVE_MILLISECONDS = 1000;
+
+    private final IRandomAccessSource source;
+    private final Object sourceLock = new Object();
+    private final long length;
+    private final int blockSize;
+    private final int maxCachedBlocks;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Loaded and pending blocks by their indexes, in access order. Also guards the state of the source.
+     */
+    private final Map<Long, FutureTask<byte[]>> blocks;
+
+    private Block lastBlock;
+    private long lastRequestedBlockIndex = -2;
+    private boolean closed;
+
+    /**
+     * Creates a new {@link PrefetchingRandomAccessSource} with the default settings.
+     *
+     * @param source the source to read
+     */
+    public PrefetchingRandomAccessSource(IRandomAccessSource source) {
+        this(source, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_CACHED_BLOCKS);
+    }
+
+    /**
+     * Creates a new {@link PrefetchingRandomAccessSource}.
+     *
+     * @param source          the source to read
+     * @param blockSize       the size of a block read from the underlying source
+     * @param maxCachedBlocks the maximum number of blocks kept in memory
+     */
+    public PrefetchingRandomAccessSource(IRandomAccessSource source, int blockSize, int maxCachedBlocks) {
+        if (blockSize <= 0) {
+            throw new IOException(IoExceptionMessageConstant.BLOCK_SIZE_SHALL_BE_POSITIVE);
+        }
+        if (maxCachedBlocks <= 0) {
+            throw new IOException(IoExceptionMessageConstant.MAX_CACHED_BLOCKS_SHALL_BE_POSITIVE);
+        }
+        this.source = source;
+        this.length = source.length();
+        this.blockSize = blockSize;
+        this.maxCachedBlocks = maxCachedBlocks;
+        this.blocks = new LinkedHashMap<Long, FutureTask<byte[]>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FutureTask<byte[]>> eldest) {
+                return size() > PrefetchingRandomAccessSource.this.maxCachedBlocks;
+            }
+        };
+        this.executor = new ThreadPoolExecutor(1, 1, THREAD_KEEP_ALIVE_MILLISECONDS,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts reading the specified range of the source in background, if it isn't read yet. The method doesn't
+     * wait for the data. Requests which exceed half of the cache are truncated, so that the prefetched blocks
+     * don't evict each other.
+     *
+     * @param position the position of the range
+     * @param len      the length of the range
+     */
+    public void prefetch(long position, long len) {
+        if (position < 0 || len <= 0 || position >= length) {
+            return;
+        }
+        long maxLength = Math.max(1, maxCachedBlocks / 2) * (long) blockSize;
+        long end = Math.min(length, position + Math.min(len, maxLength));
+        synchronized (blocks) {
+            if (closed) {
+                return;
+            }
+            for (long index = position / blockSize; index * blockSize < end; index++) {
+                submitBlock(index);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (position >= length) {
+            return -1;
+        }
+        byte[] block = getBlock(position / blockSize);
+        int offset = (int) (position % blockSize);
+        return offset < block.length ? block[offset] & 0xff : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position >= length) {
+            return -1;
+        }
+        int read = 0;
+        while (read < len && position < length) {
+            byte[] block = getBlock(position / blockSize);
+            int offset = (int) (position % blockSize);
+            if (offset >= block.length) {
+                break;
+            }
+            int count = Math.min(len - read, block.length - offset);
+            System.arraycopy(block, offset, bytes, off + read, count);
+            read += count;
+            position += count;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Stops the background reads and closes the underlying source
+     */
+    public void close() throws java.io.IOException {
+        synchronized (blocks) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            blocks.clear();
+            lastBlock = null;
+        }
+        executor.shutdownNow();
+        synchronized (sourceLock) {
+            source.close();
+        }
+    }
+
+    private byte[] getBlock(long index) throws java.io.IOException {
+        Block block = lastBlock;
+        if (block != null && block.index == index) {
+            return block.data;
+        }
+        FutureTask<byte[]> task;
+        synchronized (blocks) {
+            if (closed) {
+                throw new IllegalStateException(IoExceptionMessageConstant.ALREADY_CLOSED);
+            }
+            task = blocks.get(index);
+            if (task == null) {
+                task = createBlockTask(index);
+                blocks.put(index, task);
+            } else if (!task.isDone()) {
+                // the block is read by this thread instead of waiting for the blocks queued before it
+                executor.remove(task);
+            }
+            if (index == lastRequestedBlockIndex + 1) {
+                // the source is read sequentially, so the next blocks are likely to be requested soon
+                for (int i = 1; i <= READ_AHEAD_BLOCKS && (index + i) * blockSize < length; i++) {
+                    submitBlock(index + i);
+                }
+            }
+            lastRequestedBlockIndex = index;
+        }
+        // does nothing if the block is already being read or has been read in background
+        task.run();
+        byte[] data = waitForBlock(index, task);
+        lastBlock = new Block(index, data);
+        return data;
+    }
+
+    private byte[] waitForBlock(long index, Future<byte[]> future) throws java.io.IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            synchronized (blocks) {
+                // the failed read will be repeated on the next request
+                if (blocks.get(index) == future) {
+                    blocks.remove(index);
+                }
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof java.io.IOException) {
+                throw (java.io.IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new java.io.IOException(cause);
+        }
+    }
+
+    private void submitBlock(long index) {
+        if (!blocks.containsKey(index)) {
+            FutureTask<byte[]> task = createBlockTask(index);
+            blocks.put(index, task);
+            executor.execute(task);
+        }
+    }
+
+    private FutureTask<byte[]> createBlockTask(final long index) {
+        return new FutureTask<>(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws java.io.IOException {
+                return readBlock(index);
+            }
+        });
+    }
+
+    private byte[] readBlock(long index) throws java.io.IOException {
+        long start = index * blockSize;
+        int size = (int) Math.min(blockSize, length - start);
+        byte[] data = new byte[size];
+        int read = 0;
+        synchronized (sourceLock) {
+            while (read < size) {
+                int count = source.get(start + read, data, read, size - read);
+                if (count <= 0) {
+                    break;
+                }
+                read += count;
+            }
+        }
+        return read == size ? data : Arrays.copyOf(data, read);
+    }
+
+    private static final class Block {
+        final long index;
+        final byte[] data;
+
+        Block(long index, byte[] data) {
+            this.index = index;
+            this.data = data;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "PrefetchingRandomAccessSource");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -576,8 +576,34 @@ public class RandomAccessFileOrArray implements DataInput {
         return new String(buf, encoding);
     }
 
+    /**
+     * Reads bytes from the given position of the source without changing the current position.
+     *
+     * @param position the position in the source to read from
+     * @param bytes    the destination buffer
+     * @param off      the offset in the destination buffer
+     * @param len      the maximum number of bytes to read
+     * @return the number of bytes actually read, or -1 if the position is past the end of the source
+     * @throws java.io.IOException in case of any reading error
+     */
+    int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        return byteSource.get(position, bytes, off, len);
+    }
+
+    /**
+     * Checks if a byte has been pushed back by {@link #pushBack(byte)} and not read since then.
+     *
+     * @return true if there is a pushed back byte
+     */
+    boolean hasPushedBackByte() {
+        return isBack;
+    }
+
     private void ensureByteSourceIsThreadSafe() {
-        if (!(byteSource instanceof ThreadSafeRandomAccessSource)) {
+        // these sources already support concurrent reads without locking
+        if (!(byteSource instanceof ThreadSafeRandomAccessSource)
+                && !(byteSource instanceof MappedSegmentsRandomAccessSource)
+                && !(byteSource instanceof PrefetchingRandomAccessSource)) {
             byteSource = new ThreadSafeRandomAccessSource(byteSource);
         }
     }
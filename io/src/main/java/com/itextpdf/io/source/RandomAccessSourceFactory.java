@@ -25,6 +25,7 @@ package com.itextpdf.io.source;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.util.ResourceUtil;
 import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 
 import java.io.File;
@@ -59,6 +60,11 @@ public final class RandomAccessSourceFactory {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * Whether the sources created for files should support reading by several threads at the same time
+     */
+    private boolean concurrentReads = false;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -98,6 +104,19 @@ public final class RandomAccessSourceFactory {
         return this;
     }
 
+    /**
+     * Determines whether the sources created by {@code createBestSource} methods should be read by several threads
+     * at the same time. If so, files are mapped into memory by {@link MappedSegmentsRandomAccessSource}, which doesn't
+     * lock on reads, and the sources which have a read position, like {@link RAFRandomAccessSource}, are wrapped
+     * into {@link ThreadSafeRandomAccessSource}.
+     * @param concurrentReads true if the created sources should support concurrent reads, false otherwise
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setConcurrentReads(boolean concurrentReads) {
+        this.concurrentReads = concurrentReads;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -168,6 +187,32 @@ public final class RandomAccessSourceFactory {
         return createSource(StreamUtil.inputStreamToArray(inputStream));
     }
 
+    /**
+     * Creates a {@link IRandomAccessSource} based on an {@link InputStream} without reading the stream into memory.
+     *
+     * <p>
+     * The stream is copied to a temporary file in blocks, as far as the data is requested, so the memory usage
+     * doesn't depend on the size of the stream and the beginning of the data can be read before the stream ends.
+     * Requesting the length of the source reads the stream to the end. The stream is closed when it's read to
+     * the end or when the source is closed. The temporary file is deleted when the source is closed, so the source
+     * must always be closed. Note that the created source is not thread safe.
+     *
+     * @param inputStream the stream to read from
+     *
+     * @return the newly created {@link IRandomAccessSource}
+     *
+     * @throws java.io.IOException if the temporary file can't be created
+     */
+    public IRandomAccessSource createSpooledSource(InputStream inputStream) throws java.io.IOException {
+        File file = FileUtil.createTempFile("itext", ".spool");
+        try {
+            return new SpoolingRandomAccessSource(inputStream, file, SpoolingRandomAccessSource.DEFAULT_BUFFER_SIZE);
+        } catch (java.io.IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a filename string.
      * If the filename describes a URL, a URL based source is created
@@ -206,7 +251,7 @@ public final class RandomAccessSourceFactory {
         }
 
         if (usePlainRandomAccess){
-            return new RAFRandomAccessSource(raf);
+            return createRafSource(raf);
         }
 
         try{
@@ -214,7 +259,7 @@ public final class RandomAccessSourceFactory {
             // files with zero length can't be mapped and will throw an IllegalArgumentException.
             // Just open using a simple RAF source.
             if (raf.length() <= 0)
-                return new RAFRandomAccessSource(raf);
+                return createRafSource(raf);
 
             try {
 
@@ -222,7 +267,7 @@ public final class RandomAccessSourceFactory {
                 return createBestSource(raf.getChannel());
             } catch (java.io.IOException e){
                 if (exceptionIsMapFailureException(e)) {
-                    return new RAFRandomAccessSource(raf);
+                    return createRafSource(raf);
                 }
                 throw e;
             }
@@ -240,12 +285,16 @@ public final class RandomAccessSourceFactory {
      * Creates a {@link IRandomAccessSource} based on memory mapping a file channel.
      * Unless you are explicitly working with a {@code FileChannel} already, it is better to use
      * {@link RandomAccessSourceFactory#createBestSource(String)}.
-     * If the file is large, it will be opened using a paging strategy.
+     * If the file is large, it will be opened using a paging strategy, unless the concurrent reads are requested
+     * by {@link #setConcurrentReads(boolean)}: then it's mapped by {@link MappedSegmentsRandomAccessSource}.
      * @param channel the name of the file or resource to create the {@link IRandomAccessSource} for
      * @return the newly created {@link IRandomAccessSource}
      * @throws java.io.IOException in case of any I/O error
      */
     public IRandomAccessSource createBestSource(FileChannel channel) throws java.io.IOException {
+        if (concurrentReads) {
+            return new MappedSegmentsRandomAccessSource(channel);
+        }
 
         // if less than the fully mapped usage of PagedFileChannelRandomAccessSource,
         // just map the whole thing and be done with it
@@ -264,6 +313,11 @@ public final class RandomAccessSourceFactory {
         return new GroupedRandomAccessSource(sources);
     }
 
+    private IRandomAccessSource createRafSource(RandomAccessFile raf) throws java.io.IOException {
+        IRandomAccessSource source = new RAFRandomAccessSource(raf);
+        return concurrentReads ? new ThreadSafeRandomAccessSource(source) : source;
+    }
+
     /**
      * Creates a new {@link IRandomAccessSource} by reading the specified file/resource into memory
      * @param filename the name of the resource to read
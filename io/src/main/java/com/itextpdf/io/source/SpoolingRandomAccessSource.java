@@ -0,0 +1,191 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+/**
+ * A RandomAccessSource that copies an {@link InputStream} to a temporary file as the data is requested, so that
+ * the content of the stream doesn't have to be kept in memory. Only the data up to the requested position is
+ * read from the stream, except for {@link #length()}, which reads the stream to the end. The temporary file
+ * is deleted when the source is closed.
+ * <p>
+ * Note: Unlike most of the RandomAccessSource implementations, this class is not thread safe
+ */
+class SpoolingRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The default size of the blocks in which the stream is read and the temporary file is accessed.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final byte[] buffer;
+
+    private InputStream stream;
+    private long spooledLength;
+
+    /**
+     * The part of the file which is currently kept in the buffer for reading
+     */
+    private long bufferStart = -1;
+    private int bufferLength;
+
+    private boolean closed;
+
+    /**
+     * Creates a new {@link SpoolingRandomAccessSource}. The stream is closed when it's read to the end
+     * or when the source is closed.
+     *
+     * @param stream     the stream to read
+     * @param file       the temporary file, which is overwritten and then deleted when the source is closed
+     * @param bufferSize the size of the blocks in which the stream is read and the file is accessed
+     * @throws java.io.IOException if the file can't be opened
+     */
+    SpoolingRandomAccessSource(InputStream stream, File file, int bufferSize) throws java.io.IOException {
+        if (bufferSize <= 0) {
+            throw new IOException(IoExceptionMessageConstant.BUFFER_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.stream = stream;
+        this.file = file;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.raf.setLength(0);
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (position < bufferStart || position >= bufferStart + bufferLength) {
+            if (!fillBuffer(position)) {
+                return -1;
+            }
+        }
+        return buffer[(int) (position - bufferStart)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        checkNotClosed();
+        spoolUpTo(position + len);
+        if (position >= spooledLength) {
+            return -1;
+        }
+        int count = (int) Math.min(len, spooledLength - position);
+        raf.seek(position);
+        raf.readFully(bytes, off, count);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reads the rest of the stream to determine the length.
+     */
+    public long length() {
+        checkNotClosed();
+        try {
+            spoolUpTo(Long.MAX_VALUE);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.CANNOT_SPOOL_INPUT_STREAM, e);
+        }
+        return spooledLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Closes the stream and deletes the temporary file.
+     */
+    public void close() throws java.io.IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        bufferStart = -1;
+        bufferLength = 0;
+        try {
+            closeStream();
+        } finally {
+            try {
+                raf.close();
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    private boolean fillBuffer(long position) throws java.io.IOException {
+        long start = position - position % buffer.length;
+        int count = get(start, buffer, 0, buffer.length);
+        if (count <= position - start) {
+            return false;
+        }
+        bufferStart = start;
+        bufferLength = count;
+        return true;
+    }
+
+    /**
+     * Copies the stream to the file until the file is longer than the position or the stream ends.
+     */
+    private void spoolUpTo(long position) throws java.io.IOException {
+        if (stream == null || position <= spooledLength) {
+            return;
+        }
+        raf.seek(spooledLength);
+        while (position > spooledLength) {
+            int count = stream.read(buffer, 0, buffer.length);
+            if (count < 0) {
+                closeStream();
+                break;
+            }
+            raf.write(buffer, 0, count);
+            spooledLength += count;
+        }
+        // the buffer was used for copying
+        bufferStart = -1;
+        bufferLength = 0;
+    }
+
+    private void closeStream() throws java.io.IOException {
+        if (stream != null) {
+            InputStream streamToClose = stream;
+            stream = null;
+            streamToClose.close();
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException(IoExceptionMessageConstant.ALREADY_CLOSED);
+        }
+    }
+}
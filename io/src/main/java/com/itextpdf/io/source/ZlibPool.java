@@ -0,0 +1,249 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A per-thread pool of {@link Deflater} and {@link Inflater} instances.
+ *
+ * <p>
+ * Both classes hold native zlib state which is only freed on {@link Deflater#end()} / {@link Inflater#end()}
+ * or when the instance is garbage collected. Reusing the instances avoids allocating and releasing native
+ * memory for each compressed or decompressed stream. Instances are {@code reset()} when returned to the pool,
+ * deflaters are pooled per compression level, so that the output is the same as for a new instance.
+ *
+ * <p>
+ * The pools are thread-local, so no synchronization is needed while acquiring or releasing instances.
+ * The number of idle instances kept by each thread is bounded by {@link #setMaxPoolSize(int)}, instances
+ * which don't fit into the pool are ended immediately.
+ */
+public final class ZlibPool {
+
+    /**
+     * Default maximum number of idle instances of each kind (and each compression level for deflaters)
+     * kept per thread.
+     */
+    public static final int DEFAULT_MAX_POOL_SIZE = 4;
+
+    // -1 (default compression) to 9 (best compression)
+    private static final int LEVELS_COUNT = 11;
+
+    private static final ThreadLocal<ArrayDeque<Deflater>[]> DEFLATERS = new ThreadLocal<>();
+    private static final ThreadLocal<ArrayDeque<Inflater>> INFLATERS = new ThreadLocal<>();
+
+    private static final AtomicLong DEFLATER_HITS = new AtomicLong();
+    private static final AtomicLong DEFLATER_MISSES = new AtomicLong();
+    private static final AtomicLong INFLATER_HITS = new AtomicLong();
+    private static final AtomicLong INFLATER_MISSES = new AtomicLong();
+
+    private static volatile int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+
+    private ZlibPool() {
+        // Empty constructor
+    }
+
+    /**
+     * Gets a {@link Deflater} with the given compression level, either from the pool of the current thread
+     * or a newly created one.
+     *
+     * @param level the compression level (0-9 or -1 for default compression)
+     * @return a {@link Deflater} instance ready for compression
+     */
+    public static Deflater acquireDeflater(int level) {
+        ArrayDeque<Deflater> pool = getDeflaterPool(level, false);
+        Deflater deflater = pool == null ? null : pool.pollLast();
+        if (deflater != null) {
+            DEFLATER_HITS.incrementAndGet();
+            return deflater;
+        }
+        DEFLATER_MISSES.incrementAndGet();
+        return new Deflater(level);
+    }
+
+    /**
+     * Returns a {@link Deflater} obtained by {@link #acquireDeflater(int)} to the pool of the current thread.
+     * The instance shall not be used by the caller afterwards.
+     *
+     * @param deflater the deflater to release
+     * @param level    the compression level the deflater was acquired with
+     */
+    public static void releaseDeflater(Deflater deflater, int level) {
+        ArrayDeque<Deflater> pool = getDeflaterPool(level, true);
+        if (pool != null && pool.size() < maxPoolSize) {
+            deflater.reset();
+            pool.addLast(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets an {@link Inflater} either from the pool of the current thread or a newly created one.
+     *
+     * @return an {@link Inflater} instance ready for decompression
+     */
+    public static Inflater acquireInflater() {
+        ArrayDeque<Inflater> pool = INFLATERS.get();
+        Inflater inflater = pool == null ? null : pool.pollLast();
+        if (inflater != null) {
+            INFLATER_HITS.incrementAndGet();
+            return inflater;
+        }
+        INFLATER_MISSES.incrementAndGet();
+        return new Inflater();
+    }
+
+    /**
+     * Returns an {@link Inflater} obtained by {@link #acquireInflater()} to the pool of the current thread.
+     * The instance shall not be used by the caller afterwards.
+     *
+     * @param inflater the inflater to release
+     */
+    public static void releaseInflater(Inflater inflater) {
+        ArrayDeque<Inflater> pool = INFLATERS.get();
+        if (pool == null && maxPoolSize > 0) {
+            pool = new ArrayDeque<>();
+            INFLATERS.set(pool);
+        }
+        if (pool != null && pool.size() < maxPoolSize) {
+            inflater.reset();
+            pool.addLast(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Sets the maximum number of idle instances of each kind kept per thread. For deflaters the limit
+     * applies to each compression level separately. {@code 0} disables pooling. The new limit is
+     * applied to the already pooled instances on their next release.
+     *
+     * @param maxPoolSize the maximum number of pooled instances
+     */
+    public static void setMaxPoolSize(int maxPoolSize) {
+        ZlibPool.maxPoolSize = Math.max(0, maxPoolSize);
+    }
+
+    /**
+     * Gets the maximum number of idle instances of each kind kept per thread.
+     *
+     * @return the maximum number of pooled instances
+     */
+    public static int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Gets the number of deflaters which were taken from the pool instead of being created.
+     *
+     * @return the number of pool hits for deflaters
+     */
+    public static long getDeflaterHits() {
+        return DEFLATER_HITS.get();
+    }
+
+    /**
+     * Gets the number of deflaters which had to be created because the pool was empty.
+     *
+     * @return the number of pool misses for deflaters
+     */
+    public static long getDeflaterMisses() {
+        return DEFLATER_MISSES.get();
+    }
+
+    /**
+     * Gets the number of inflaters which were taken from the pool instead of being created.
+     *
+     * @return the number of pool hits for inflaters
+     */
+    public static long getInflaterHits() {
+        return INFLATER_HITS.get();
+    }
+
+    /**
+     * Gets the number of inflaters which had to be created because the pool was empty.
+     *
+     * @return the number of pool misses for inflaters
+     */
+    public static long getInflaterMisses() {
+        return INFLATER_MISSES.get();
+    }
+
+    /**
+     * Resets hit and miss counters.
+     */
+    public static void resetStatistics() {
+        DEFLATER_HITS.set(0);
+        DEFLATER_MISSES.set(0);
+        INFLATER_HITS.set(0);
+        INFLATER_MISSES.set(0);
+    }
+
+    /**
+     * Ends and removes all idle instances pooled by the current thread.
+     */
+    public static void clear() {
+        ArrayDeque<Deflater>[] deflaters = DEFLATERS.get();
+        if (deflaters != null) {
+            for (ArrayDeque<Deflater> pool : deflaters) {
+                if (pool != null) {
+                    for (Deflater deflater : pool) {
+                        deflater.end();
+                    }
+                }
+            }
+            DEFLATERS.remove();
+        }
+        ArrayDeque<Inflater> inflaters = INFLATERS.get();
+        if (inflaters != null) {
+            for (Inflater inflater : inflaters) {
+                inflater.end();
+            }
+            INFLATERS.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<Deflater> getDeflaterPool(int level, boolean create) {
+        int index = level + 1;
+        if (index < 0 || index >= LEVELS_COUNT) {
+            return null;
+        }
+        ArrayDeque<Deflater>[] pools = DEFLATERS.get();
+        if (pools == null) {
+            if (!create || maxPoolSize == 0) {
+                return null;
+            }
+            pools = (ArrayDeque<Deflater>[]) new ArrayDeque[LEVELS_COUNT];
+            DEFLATERS.set(pools);
+        }
+        if (pools[index] == null && create && maxPoolSize > 0) {
+            pools[index] = new ArrayDeque<>();
+        }
+        return pools[index];
+    }
+}
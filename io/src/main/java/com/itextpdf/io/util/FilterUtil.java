@@ -24,6 +24,7 @@ package com.itextpdf.io.util;
 
 import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ZlibPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +58,8 @@ public final class FilterUtil {
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
         ByteArrayInputStream stream = new ByteArrayInputStream(input);
-        InflaterInputStream zip = new InflaterInputStream(stream);
+        Inflater inflater = ZlibPool.acquireInflater();
+        InflaterInputStream zip = new InflaterInputStream(stream, inflater);
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         byte[] b = new byte[strict ? 4092 : 1];
         try {
@@ -78,6 +80,7 @@ public final class FilterUtil {
                 //Log the error
                 LOGGER.error(e.getMessage(),e);
             }
+            ZlibPool.releaseInflater(inflater);
         }
     }
 
@@ -101,12 +104,14 @@ public final class FilterUtil {
      * @param inflated the buffer for the uncompressed data
      */
     public static void inflateData(byte[] deflated, byte[] inflated) {
-        Inflater inflater = new Inflater();
+        Inflater inflater = ZlibPool.acquireInflater();
         inflater.setInput(deflated);
         try {
             inflater.inflate(inflated);
         } catch (DataFormatException dfe) {
             throw new IOException(IoExceptionMessageConstant.CANNOT_INFLATE_TIFF_IMAGE);
+        } finally {
+            ZlibPool.releaseInflater(inflater);
         }
     }
 
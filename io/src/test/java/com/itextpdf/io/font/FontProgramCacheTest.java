@@ -0,0 +1,113 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontProgramCacheTest extends ExtendedITextTest {
+    private static final String FREE_SANS = "./src/test/resources/com/itextpdf/io/font/otf/FreeSans.ttf";
+
+    @Test
+    public void hitAndMissCountTest() throws IOException {
+        FontProgramCache cache = new FontProgramCache(FontCache.DEFAULT_MAX_FONT_CACHE_WEIGHT);
+        FontCacheKey key = FontCacheKey.create(StandardFonts.HELVETICA);
+        Assert.assertNull(cache.get(key));
+        FontProgram font = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        Assert.assertSame(font, cache.putIfAbsent(key, font));
+        Assert.assertSame(font, cache.putIfAbsent(key, FontProgramFactory.createFont(StandardFonts.HELVETICA, false)));
+        Assert.assertSame(font, cache.get(key));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+        Assert.assertEquals(FontProgramCache.estimateWeight(font), cache.getWeight());
+    }
+
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        FontProgram courier = FontProgramFactory.createFont(StandardFonts.COURIER, false);
+        FontProgram times = FontProgramFactory.createFont(StandardFonts.TIMES_ROMAN, false);
+        FontCacheKey helveticaKey = FontCacheKey.create(StandardFonts.HELVETICA);
+        FontCacheKey courierKey = FontCacheKey.create(StandardFonts.COURIER);
+        FontCacheKey timesKey = FontCacheKey.create(StandardFonts.TIMES_ROMAN);
+
+        long maxWeight = Math.max(FontProgramCache.estimateWeight(helvetica), FontProgramCache.estimateWeight(courier))
+                + FontProgramCache.estimateWeight(times);
+        FontProgramCache cache = new FontProgramCache(maxWeight);
+        cache.putIfAbsent(helveticaKey, helvetica);
+        cache.putIfAbsent(courierKey, courier);
+        cache.get(helveticaKey);
+        cache.putIfAbsent(timesKey, times);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertTrue(cache.getWeight() <= maxWeight);
+        // The evicted font is still referenced, so it is found through the soft reference.
+        Assert.assertSame(courier, cache.get(courierKey));
+        Assert.assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void zeroMaxWeightTest() throws IOException {
+        FontProgramCache cache = new FontProgramCache(0);
+        FontCacheKey key = FontCacheKey.create(StandardFonts.HELVETICA);
+        FontProgram font = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        Assert.assertSame(font, cache.putIfAbsent(key, font));
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getWeight());
+        Assert.assertSame(font, cache.putIfAbsent(key, FontProgramFactory.createFont(StandardFonts.HELVETICA, false)));
+    }
+
+    @Test
+    public void setMaxWeightEvictsFontsTest() throws IOException {
+        FontProgramCache cache = new FontProgramCache(FontCache.DEFAULT_MAX_FONT_CACHE_WEIGHT);
+        cache.putIfAbsent(FontCacheKey.create(StandardFonts.HELVETICA),
+                FontProgramFactory.createFont(StandardFonts.HELVETICA, false));
+        cache.putIfAbsent(FontCacheKey.create(StandardFonts.COURIER),
+                FontProgramFactory.createFont(StandardFonts.COURIER, false));
+        cache.setMaxWeight(0);
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(2, cache.getEvictionCount());
+        Exception e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class, () -> cache.setMaxWeight(-1));
+        Assert.assertEquals(IoExceptionMessageConstant.FONT_CACHE_WEIGHT_SHALL_NOT_BE_NEGATIVE, e.getMessage());
+    }
+
+    @Test
+    public void trueTypeFontWeightIncludesFontDataTest() throws IOException {
+        FontProgram font = FontProgramFactory.createFont(FREE_SANS, false);
+        Assert.assertTrue(FontProgramCache.estimateWeight(font) > ((TrueTypeFont) font).getFontDataLength());
+        Assert.assertTrue(((TrueTypeFont) font).getFontDataLength() > 0);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class MappedSegmentsRandomAccessSourceTest extends ExtendedITextTest {
+
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/source/MappedSegmentsRandomAccessSourceTest/";
+
+    private static final int CONTENT_LENGTH = 10000;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void getByIndexTest() throws IOException {
+        IRandomAccessSource source = createSource("getByIndex.bin", 1024);
+        try {
+            Assert.assertEquals(CONTENT_LENGTH, source.length());
+            for (int i = 0; i < CONTENT_LENGTH; i++) {
+                Assert.assertEquals(expectedByte(i), source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void getArrayAcrossSegmentsTest() throws IOException {
+        IRandomAccessSource source = createSource("getArrayAcrossSegments.bin", 1000);
+        try {
+            byte[] dest = new byte[3010];
+            int read = source.get(995, dest, 5, 3000);
+            Assert.assertEquals(3000, read);
+            for (int i = 0; i < read; i++) {
+                Assert.assertEquals(expectedByte(995 + i), dest[5 + i] & 0xff);
+            }
+
+            Assert.assertEquals(5, source.get(CONTENT_LENGTH - 5, dest, 0, 100));
+            Assert.assertEquals(expectedByte(CONTENT_LENGTH - 1), dest[4] & 0xff);
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH, dest, 0, 100));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void concurrentReadsTest() throws Exception {
+        final IRandomAccessSource source = createSource("concurrentReads.bin", 777);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int step = t + 1;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws IOException {
+                        byte[] dest = new byte[step * 13];
+                        for (int position = 0; position < CONTENT_LENGTH; position += step) {
+                            if (source.get(position) != expectedByte(position)) {
+                                return false;
+                            }
+                            int read = source.get(position, dest, 0, dest.length);
+                            for (int i = 0; i < read; i++) {
+                                if ((dest[i] & 0xff) != expectedByte(position + i)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            source.close();
+        }
+    }
+
+    @Test
+    public void readAfterCloseTest() throws IOException {
+        IRandomAccessSource source = createSource("readAfterClose.bin", 1024);
+        source.close();
+        source.close();
+
+        Exception e = Assert.assertThrows(IllegalStateException.class, () -> source.get(0));
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+        e = Assert.assertThrows(IllegalStateException.class, () -> source.get(0, new byte[10], 0, 10));
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+    }
+
+    @Test
+    public void factoryCreatesSourceForConcurrentReadsTest() throws IOException {
+        String fileName = writeContent("factory.bin");
+        IRandomAccessSource source = new RandomAccessSourceFactory().setConcurrentReads(true).createBestSource(fileName);
+        try {
+            Assert.assertTrue(source instanceof MappedSegmentsRandomAccessSource);
+            Assert.assertEquals(expectedByte(5000), source.get(5000));
+        } finally {
+            source.close();
+        }
+
+        source = new RandomAccessSourceFactory().setConcurrentReads(true).setUsePlainRandomAccess(true)
+                .createBestSource(fileName);
+        try {
+            Assert.assertTrue(source instanceof ThreadSafeRandomAccessSource);
+            Assert.assertEquals(expectedByte(5000), source.get(5000));
+        } finally {
+            source.close();
+        }
+
+        source = new RandomAccessSourceFactory().createBestSource(fileName);
+        try {
+            Assert.assertFalse(source instanceof MappedSegmentsRandomAccessSource);
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void invalidSegmentSizeTest() throws IOException {
+        String fileName = writeContent("invalidSegmentSize.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(fileName, "r")) {
+            Exception e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class,
+                    () -> new MappedSegmentsRandomAccessSource(raf.getChannel(), 0));
+            Assert.assertEquals(IoExceptionMessageConstant.SEGMENT_SIZE_SHALL_BE_POSITIVE, e.getMessage());
+        }
+    }
+
+    private static IRandomAccessSource createSource(String fileName, int segmentSize) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(writeContent(fileName), "r");
+        return new MappedSegmentsRandomAccessSource(raf.getChannel(), segmentSize);
+    }
+
+    private static String writeContent(String fileName) throws IOException {
+        String path = DESTINATION_FOLDER + fileName;
+        byte[] content = new byte[CONTENT_LENGTH];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) expectedByte(i);
+        }
+        try (OutputStream os = new FileOutputStream(new File(path))) {
+            os.write(content);
+        }
+        return path;
+    }
+
+    private static int expectedByte(int position) {
+        return (position * 31 + position / 256) & 0xff;
+    }
+}
@@ -463,6 +463,101 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertArrayEquals(new byte[] {83}, result);
     }
 
+    @Test
+    public void bulkReadingTokensTest() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; data.length() < 20000; i++) {
+            data.append(i).append(" 0 obj\n<</Type /Page /Kids [1 0 R -2.5 --3 +4 .5 1.-2] /S (a\\(b\\)c)")
+                    .append(" /H <4F 6b>>>% comment ").append(i).append("\r\nendobj\n");
+        }
+        byte[] bytes = data.toString().getBytes(StandardCharsets.ISO_8859_1);
+        PdfTokenizer expected = createTokenizer(bytes, false);
+        PdfTokenizer actual = createTokenizer(bytes, true);
+        do {
+            expected.nextToken();
+            actual.nextToken();
+            Assert.assertEquals(expected.getTokenType(), actual.getTokenType());
+            Assert.assertArrayEquals(expected.getByteContent(), actual.getByteContent());
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            if (expected.getTokenType() == TokenType.Number) {
+                Assert.assertEquals(Double.parseDouble(expected.getStringValue()),
+                        Double.parseDouble(actual.getStringValue()), 0);
+            }
+        } while (expected.getTokenType() != TokenType.EndOfFile);
+        Assert.assertEquals(expected.read(), actual.read());
+    }
+
+    @Test
+    public void bulkReadingLineSegmentsTest() throws IOException {
+        byte[] bytes = "  first  line\r\nsecond\rthird\n\nlast".getBytes(StandardCharsets.ISO_8859_1);
+        PdfTokenizer expected = createTokenizer(bytes, false);
+        PdfTokenizer actual = createTokenizer(bytes, true);
+        boolean hasMore;
+        do {
+            ByteBuffer expectedLine = new ByteBuffer(4);
+            ByteBuffer actualLine = new ByteBuffer(4);
+            hasMore = expected.readLineSegment(expectedLine);
+            Assert.assertEquals(hasMore, actual.readLineSegment(actualLine));
+            Assert.assertArrayEquals(expectedLine.toByteArray(), actualLine.toByteArray());
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+        } while (hasMore);
+    }
+
+    @Test
+    public void bulkReadingAfterPushBackTest() throws IOException {
+        PdfTokenizer tok = createTokenizer("/Name 12 R".getBytes(StandardCharsets.ISO_8859_1), true);
+        tok.seek(6);
+        tok.backOnePosition('5');
+        tok.nextToken();
+        Assert.assertEquals(TokenType.Number, tok.getTokenType());
+        Assert.assertEquals(512, tok.getIntValue());
+        Assert.assertEquals(8, tok.getPosition());
+    }
+
+    @Test
+    public void bulkReadingOfChangedSourceAfterSeekTest() throws IOException {
+        byte[] bytes = "12 0 obj".getBytes(StandardCharsets.ISO_8859_1);
+        PdfTokenizer tok = createTokenizer(bytes, true);
+        tok.nextToken();
+        Assert.assertEquals(12, tok.getIntValue());
+        bytes[0] = '3';
+        tok.seek(0);
+        tok.nextToken();
+        Assert.assertEquals(32, tok.getIntValue());
+    }
+
+    @Test
+    public void bulkReadingErrorPositionTest() {
+        byte[] bytes = "[ <4F6 x> ]".getBytes(StandardCharsets.ISO_8859_1);
+        for (boolean bulkReading : new boolean[] {false, true}) {
+            PdfTokenizer tok = createTokenizer(bytes, bulkReading);
+            Exception e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class, () -> {
+                tok.nextToken();
+                tok.nextToken();
+            });
+            Assert.assertEquals(MessageFormatUtil.format(ERROR_AT_FILE_POINTER, 8), e.getMessage());
+        }
+    }
+
+    @Test
+    public void getIntValueOfInvalidNumberTest() throws IOException {
+        PdfTokenizer tok = createTokenizer("- 2.5 99999999999".getBytes(StandardCharsets.ISO_8859_1), true);
+        tok.nextToken();
+        Assert.assertThrows(NumberFormatException.class, () -> tok.getIntValue());
+        tok.nextToken();
+        Assert.assertThrows(NumberFormatException.class, () -> tok.getIntValue());
+        tok.nextToken();
+        Assert.assertThrows(NumberFormatException.class, () -> tok.getIntValue());
+        Assert.assertEquals(99999999999L, tok.getLongValue());
+    }
+
+    private static PdfTokenizer createTokenizer(byte[] bytes, boolean bulkReading) {
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(bytes)));
+        tok.setBulkReading(bulkReading);
+        return tok;
+    }
+
     private void checkTokenTypes(String data, TokenType... expectedTypes) throws Exception {
         RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
         PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(factory
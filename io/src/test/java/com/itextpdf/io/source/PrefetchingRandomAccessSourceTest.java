@@ -0,0 +1,256 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PrefetchingRandomAccessSourceTest extends ExtendedITextTest {
+
+    private static final int CONTENT_LENGTH = 10000;
+
+    @Test
+    public void readTheSameAsSourceTest() throws IOException {
+        byte[] content = createContent();
+        IRandomAccessSource source = new PrefetchingRandomAccessSource(new ArrayRandomAccessSource(content), 100, 8);
+        try {
+            Assert.assertEquals(CONTENT_LENGTH, source.length());
+            for (int i = CONTENT_LENGTH - 1; i >= 0; i -= 7) {
+                Assert.assertEquals(content[i] & 0xff, source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH));
+
+            byte[] dest = new byte[1010];
+            Assert.assertEquals(1000, source.get(4950, dest, 10, 1000));
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(content[4950 + i], dest[10 + i]);
+            }
+            Assert.assertEquals(50, source.get(CONTENT_LENGTH - 50, dest, 0, 1000));
+            Assert.assertEquals(content[CONTENT_LENGTH - 1], dest[49]);
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH, dest, 0, 10));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void prefetchReadsInBackgroundTest() throws IOException {
+        byte[] content = createContent();
+        HighLatencySource slowSource = new HighLatencySource(content, 20);
+        PrefetchingRandomAccessSource source = new PrefetchingRandomAccessSource(slowSource, 1000, 16);
+        try {
+            source.prefetch(3000, 2500);
+            waitForReads(slowSource, 3);
+            byte[] dest = new byte[2500];
+            Assert.assertEquals(2500, source.get(3000, dest, 0, 2500));
+            Assert.assertArrayEquals(java.util.Arrays.copyOfRange(content, 3000, 5500), dest);
+
+            // blocks 3, 4 and 5 are read by the prefetching thread, the next ones may be read ahead
+            Assert.assertTrue(slowSource.getReadCount() >= 3);
+            Assert.assertFalse(slowSource.getReadingThreads().contains(Thread.currentThread()));
+        } finally {
+            source.close();
+        }
+        Assert.assertTrue(slowSource.isClosed());
+    }
+
+    @Test
+    public void sequentialReadAheadTest() throws IOException {
+        byte[] content = createContent();
+        HighLatencySource slowSource = new HighLatencySource(content, 5);
+        IRandomAccessSource source = new PrefetchingRandomAccessSource(slowSource, 1000, 16);
+        try {
+            for (int i = 0; i < CONTENT_LENGTH; i++) {
+                Assert.assertEquals(content[i] & 0xff, source.get(i));
+            }
+            Assert.assertEquals(CONTENT_LENGTH / 1000, slowSource.getReadCount());
+            // the blocks read ahead may also be read by the calling thread, if it requests them before
+            // the prefetching thread starts reading them
+            Assert.assertTrue(slowSource.getReadingThreads().size() <= 2);
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void queuedBlockIsReadByRequestingThreadTest() throws IOException {
+        byte[] content = createContent();
+        HighLatencySource slowSource = new HighLatencySource(content, 50);
+        PrefetchingRandomAccessSource source = new PrefetchingRandomAccessSource(slowSource, 1000, 20);
+        try {
+            source.prefetch(0, CONTENT_LENGTH);
+            Assert.assertEquals(content[9500] & 0xff, source.get(9500));
+            // the last block didn't wait for the nine blocks queued before it
+            Assert.assertTrue(slowSource.getReadingThreads().contains(Thread.currentThread()));
+            Assert.assertTrue(slowSource.getReadCount() < CONTENT_LENGTH / 1000);
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void cacheIsBoundedTest() throws IOException {
+        byte[] content = createContent();
+        HighLatencySource slowSource = new HighLatencySource(content, 0);
+        IRandomAccessSource source = new PrefetchingRandomAccessSource(slowSource, 1000, 2);
+        try {
+            Assert.assertEquals(content[0] & 0xff, source.get(0));
+            Assert.assertEquals(content[5000] & 0xff, source.get(5000));
+            Assert.assertEquals(content[9000] & 0xff, source.get(9000));
+            Assert.assertEquals(3, slowSource.getReadCount());
+            Assert.assertEquals(content[1] & 0xff, source.get(1));
+            Assert.assertEquals(4, slowSource.getReadCount());
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void failedReadIsRepeatedTest() throws IOException {
+        byte[] content = createContent();
+        HighLatencySource slowSource = new HighLatencySource(content, 0);
+        IRandomAccessSource source = new PrefetchingRandomAccessSource(slowSource, 1000, 16);
+        try {
+            slowSource.setFailing(true);
+            Assert.assertThrows(IOException.class, () -> source.get(10));
+            slowSource.setFailing(false);
+            Assert.assertEquals(content[10] & 0xff, source.get(10));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void readAfterCloseTest() throws IOException {
+        IRandomAccessSource source = new PrefetchingRandomAccessSource(new ArrayRandomAccessSource(createContent()));
+        source.close();
+        source.close();
+        Exception e = Assert.assertThrows(IllegalStateException.class, () -> source.get(0));
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+    }
+
+    @Test
+    public void invalidParametersTest() {
+        IRandomAccessSource content = new ArrayRandomAccessSource(createContent());
+        Exception e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class,
+                () -> new PrefetchingRandomAccessSource(content, 0, 1));
+        Assert.assertEquals(IoExceptionMessageConstant.BLOCK_SIZE_SHALL_BE_POSITIVE, e.getMessage());
+        e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class,
+                () -> new PrefetchingRandomAccessSource(content, 1, 0));
+        Assert.assertEquals(IoExceptionMessageConstant.MAX_CACHED_BLOCKS_SHALL_BE_POSITIVE, e.getMessage());
+    }
+
+    private static void waitForReads(HighLatencySource source, int readCount) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (source.getReadCount() < readCount && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_LENGTH];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31 + i / 256);
+        }
+        return content;
+    }
+
+    private static class HighLatencySource implements IRandomAccessSource {
+        private final IRandomAccessSource source;
+        private final long latency;
+        private final List<Thread> readingThreads = Collections.synchronizedList(new ArrayList<Thread>());
+        private volatile boolean failing;
+        private volatile boolean closed;
+        private volatile int readCount;
+
+        HighLatencySource(byte[] content, long latency) {
+            this.source = new ArrayRandomAccessSource(content);
+            this.latency = latency;
+        }
+
+        @Override
+        public int get(long position) throws IOException {
+            byte[] bytes = new byte[1];
+            return get(position, bytes, 0, 1) == 1 ? bytes[0] & 0xff : -1;
+        }
+
+        @Override
+        public int get(long position, byte[] bytes, int off, int len) throws IOException {
+            if (failing) {
+                throw new IOException("read failed");
+            }
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (!readingThreads.contains(Thread.currentThread())) {
+                readingThreads.add(Thread.currentThread());
+            }
+            readCount++;
+            return source.get(position, bytes, off, len);
+        }
+
+        @Override
+        public long length() {
+            return source.length();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            source.close();
+        }
+
+        int getReadCount() {
+            return readCount;
+        }
+
+        List<Thread> getReadingThreads() {
+            return readingThreads;
+        }
+
+        void setFailing(boolean failing) {
+            this.failing = failing;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+}
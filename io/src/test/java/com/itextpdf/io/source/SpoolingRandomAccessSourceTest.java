@@ -0,0 +1,166 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class SpoolingRandomAccessSourceTest extends ExtendedITextTest {
+
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/source/SpoolingRandomAccessSourceTest/";
+
+    private static final int CONTENT_LENGTH = 10000;
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void streamIsReadOnDemandTest() throws IOException {
+        byte[] content = createContent();
+        TrackingInputStream stream = new TrackingInputStream(content);
+        File file = new File(DESTINATION_FOLDER + "streamIsReadOnDemand.tmp");
+        IRandomAccessSource source = new SpoolingRandomAccessSource(stream, file, 100);
+        try {
+            Assert.assertEquals(content[10] & 0xff, source.get(10));
+            Assert.assertEquals(100, stream.getPosition());
+            Assert.assertEquals(content[150] & 0xff, source.get(150));
+            Assert.assertEquals(200, stream.getPosition());
+
+            byte[] dest = new byte[1000];
+            Assert.assertEquals(1000, source.get(5000, dest, 0, 1000));
+            for (int i = 0; i < dest.length; i++) {
+                Assert.assertEquals(content[5000 + i], dest[i]);
+            }
+            Assert.assertEquals(6000, stream.getPosition());
+            Assert.assertFalse(stream.isClosed());
+
+            Assert.assertEquals(CONTENT_LENGTH, source.length());
+            Assert.assertTrue(stream.isClosed());
+            Assert.assertEquals(CONTENT_LENGTH, file.length());
+        } finally {
+            source.close();
+        }
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void readTheSameAsContentTest() throws IOException {
+        byte[] content = createContent();
+        File file = new File(DESTINATION_FOLDER + "readTheSameAsContent.tmp");
+        IRandomAccessSource source = new SpoolingRandomAccessSource(new ByteArrayInputStream(content), file, 64);
+        try {
+            for (int i = CONTENT_LENGTH - 1; i >= 0; i -= 3) {
+                Assert.assertEquals(content[i] & 0xff, source.get(i));
+            }
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH));
+
+            byte[] dest = new byte[100];
+            Assert.assertEquals(40, source.get(CONTENT_LENGTH - 40, dest, 10, 90));
+            Assert.assertEquals(content[CONTENT_LENGTH - 1], dest[49]);
+            Assert.assertEquals(-1, source.get(CONTENT_LENGTH, dest, 0, 10));
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void closeBeforeStreamEndTest() throws IOException {
+        TrackingInputStream stream = new TrackingInputStream(createContent());
+        File file = new File(DESTINATION_FOLDER + "closeBeforeStreamEnd.tmp");
+        IRandomAccessSource source = new SpoolingRandomAccessSource(stream, file, 100);
+        Assert.assertNotEquals(-1, source.get(0));
+        source.close();
+        source.close();
+
+        Assert.assertTrue(stream.isClosed());
+        Assert.assertFalse(file.exists());
+        Exception e = Assert.assertThrows(IllegalStateException.class, () -> source.get(0));
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+        e = Assert.assertThrows(IllegalStateException.class, () -> source.length());
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+    }
+
+    @Test
+    public void invalidBufferSizeTest() {
+        File file = new File(DESTINATION_FOLDER + "invalidBufferSize.tmp");
+        Exception e = Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class,
+                () -> new SpoolingRandomAccessSource(new ByteArrayInputStream(createContent()), file, 0));
+        Assert.assertEquals(IoExceptionMessageConstant.BUFFER_SIZE_SHALL_BE_POSITIVE, e.getMessage());
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void createSpooledSourceTest() throws IOException {
+        byte[] content = createContent();
+        IRandomAccessSource source = new RandomAccessSourceFactory()
+                .createSpooledSource(new ByteArrayInputStream(content));
+        try {
+            Assert.assertEquals(content[1234] & 0xff, source.get(1234));
+            Assert.assertEquals(CONTENT_LENGTH, source.length());
+        } finally {
+            source.close();
+        }
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_LENGTH];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31 + i / 256);
+        }
+        return content;
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(byte[] content) {
+            super(content);
+        }
+
+        int getPosition() {
+            return pos;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.util.FilterUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ZlibPoolTest extends ExtendedITextTest {
+
+    private static final byte[] CONTENT = "BT /F1 12 Tf 36 806 Td (Hello World) Tj ET".getBytes(StandardCharsets.ISO_8859_1);
+
+    @After
+    public void after() {
+        ZlibPool.clear();
+        ZlibPool.setMaxPoolSize(ZlibPool.DEFAULT_MAX_POOL_SIZE);
+        ZlibPool.resetStatistics();
+    }
+
+    @Test
+    public void deflaterIsReusedForSameLevelTest() {
+        ZlibPool.resetStatistics();
+        Deflater deflater = ZlibPool.acquireDeflater(Deflater.BEST_COMPRESSION);
+        ZlibPool.releaseDeflater(deflater, Deflater.BEST_COMPRESSION);
+
+        Assert.assertSame(deflater, ZlibPool.acquireDeflater(Deflater.BEST_COMPRESSION));
+        Assert.assertNotSame(deflater, ZlibPool.acquireDeflater(Deflater.BEST_SPEED));
+        Assert.assertEquals(1, ZlibPool.getDeflaterHits());
+        Assert.assertEquals(2, ZlibPool.getDeflaterMisses());
+    }
+
+    @Test
+    public void inflaterIsReusedTest() {
+        ZlibPool.resetStatistics();
+        Inflater inflater = ZlibPool.acquireInflater();
+        ZlibPool.releaseInflater(inflater);
+
+        Assert.assertSame(inflater, ZlibPool.acquireInflater());
+        Assert.assertEquals(1, ZlibPool.getInflaterHits());
+        Assert.assertEquals(1, ZlibPool.getInflaterMisses());
+    }
+
+    @Test
+    public void poolSizeIsLimitedTest() {
+        ZlibPool.setMaxPoolSize(1);
+        Inflater first = ZlibPool.acquireInflater();
+        Inflater second = ZlibPool.acquireInflater();
+        ZlibPool.releaseInflater(first);
+        ZlibPool.releaseInflater(second);
+
+        Assert.assertSame(first, ZlibPool.acquireInflater());
+        Assert.assertNotSame(second, ZlibPool.acquireInflater());
+    }
+
+    @Test
+    public void disabledPoolTest() {
+        ZlibPool.setMaxPoolSize(0);
+        Deflater deflater = ZlibPool.acquireDeflater(Deflater.DEFAULT_COMPRESSION);
+        ZlibPool.releaseDeflater(deflater, Deflater.DEFAULT_COMPRESSION);
+
+        Assert.assertNotSame(deflater, ZlibPool.acquireDeflater(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    @Test
+    public void reusedDeflaterProducesSameOutputTest() throws IOException {
+        byte[] first = deflate(CONTENT);
+        byte[] second = deflate(CONTENT);
+
+        Assert.assertTrue(ZlibPool.getDeflaterHits() > 0);
+        Assert.assertArrayEquals(first, second);
+        Assert.assertArrayEquals(CONTENT, FilterUtil.flateDecode(second));
+        Assert.assertArrayEquals(CONTENT, FilterUtil.flateDecode(second));
+        Assert.assertTrue(ZlibPool.getInflaterHits() > 0);
+    }
+
+    @Test
+    public void writeAfterFinishTest() throws IOException {
+        DeflaterOutputStream zip = new DeflaterOutputStream(new ByteArrayOutputStream());
+        zip.finish();
+        Assert.assertThrows(IOException.class, () -> zip.write(CONTENT));
+        zip.close();
+    }
+
+    private static byte[] deflate(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(out, Deflater.BEST_COMPRESSION);
+        zip.write(content);
+        zip.close();
+        return out.toByteArray();
+    }
+}
@@ -135,6 +135,8 @@ public final class KernelExceptionMessageConstant {
     public static final String CORRUPTED_ROOT_ENTRY_IN_TRAILER = "The trailer is corrupted: the catalog "
             + "is corrupted or cannot be referenced from the file's trailer. The PDF cannot be opened.";
     public static final String DATA_HANDLER_COUNTER_HAS_BEEN_DISABLED = "Data handler counter has been disabled";
+    public static final String DECODED_FONT_CACHE_SIZE_SHALL_NOT_BE_NEGATIVE = "Maximum size of the decoded font "
+            + "cache shall not be negative.";
     public static final String DEFAULT_CRYPT_FILTER_NOT_FOUND_ENCRYPTION = "/DefaultCryptFilter not found "
             + "(encryption).";
     public static final String THIS_DICTIONARY_KEY_IS_NOT_A_NAME = "Dictionary key {0} is not a name.";
@@ -275,6 +277,7 @@ public final class KernelExceptionMessageConstant {
             + "number of booleans in the array doesn't correspond with the number of fields.";
     public static final String OBJECT_MUST_BE_INDIRECT_TO_WORK_WITH_THIS_WRAPPER = "Object must be indirect to work "
             + "with this wrapper.";
+    public static final String OBJECT_STREAM_SIZE_SHALL_BE_POSITIVE = "Object stream size shall be positive.";
     public static final String OBJECT_NUMBER_OF_THE_FIRST_OBJECT_IN_THIS_XREF_SUBSECTION_NOT_FOUND = "Object number "
             + "of the first object in this xref subsection not found.";
     public static final String ONLY_IDENTITY_CMAPS_SUPPORTS_WITH_TRUETYPE = "Only Identity CMaps supports with "
@@ -303,6 +306,8 @@ public final class KernelExceptionMessageConstant {
             + "other PDF document. Copy object to current pdf document.";
     public static final String PDF_VERSION_IS_NOT_VALID = "PDF version is not valid.";
     public static final String PNG_FILTER_UNKNOWN = "PNG filter unknown.";
+    public static final String PREFETCH_THREAD_COUNT_SHALL_BE_POSITIVE = "Number of prefetch threads shall be "
+            + "positive.";
     public static final String PRINT_SCALING_ENFORCE_ENTRY_INVALID = "/PrintScaling shall may appear in the Enforce "
             + "array only if the corresponding entry in the viewer preferences dictionary specifies a valid value "
             + "other than AppDefault";
@@ -339,6 +344,7 @@ public final class KernelExceptionMessageConstant {
             + "TagTreePointer is in invalid state: it points at flushed element. Use TagTreePointer#moveToRoot.";
     public static final String TAG_TREE_POINTER_IS_IN_INVALID_STATE_IT_POINTS_AT_REMOVED_ELEMENT_USE_MOVE_TO_ROOT = ""
             + "TagTreePointer is in invalid state: it points at removed element use TagTreePointer#moveToRoot.";
+    public static final String TEXT_EXTRACTION_WAS_INTERRUPTED = "Text extraction was interrupted.";
     public static final String THERE_IS_NO_ASSOCIATE_PDF_WRITER_FOR_MAKING_INDIRECTS = "There is no associate "
             + "PdfWriter for making indirects.";
     public static final String THIS_DECODE_PARAMETER_TYPE_IS_NOT_SUPPORTED = "Decode parameter type {0} is not "
@@ -0,0 +1,252 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the fonts which are created from the font dictionaries of a document while its content is
+ * being processed, e.g. by {@link com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor}.
+ * <p>
+ * Creating a {@link PdfFont} from a font dictionary parses its {@code ToUnicode} CMap, its encoding and its
+ * widths, so documents which use the same fonts on many pages benefit from sharing the created fonts between
+ * all the pages. Only the fonts which are indirect objects are cached. The cache holds at most
+ * {@link #getMaxSize()} fonts and evicts the least recently used font when this size is exceeded. The fonts
+ * are softly referenced, so they may also be released under memory pressure; the entries of such fonts are
+ * removed from the cache on the next access.
+ * <p>
+ * The fonts are only used for decoding the content, they aren't added to the document,
+ * see {@link com.itextpdf.kernel.pdf.PdfDocument#addFont(PdfFont)} for that.
+ * <p>
+ * The cache may be used by several threads concurrently.
+ */
+public class DecodedFontCache {
+
+    /**
+     * The default maximum number of fonts in the cache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<PdfIndirectReference, FontReference> fonts = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReferenceQueue<PdfFont> releasedFonts = new ReferenceQueue<>();
+
+    private int maxSize;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Creates a new {@link DecodedFontCache} instance which holds at most {@link #DEFAULT_MAX_SIZE} fonts.
+     */
+    public DecodedFontCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link DecodedFontCache} instance.
+     *
+     * @param maxSize the maximum number of fonts in the cache, {@code 0} disables caching
+     */
+    public DecodedFontCache(int maxSize) {
+        checkMaxSize(maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the font for the font dictionary, creating and caching it if it isn't in the cache yet.
+     *
+     * @param fontDict the {@link PdfDictionary font dictionary} to get the font for
+     * @return the cached or the newly created font
+     */
+    public PdfFont getFont(PdfDictionary fontDict) {
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        if (reference == null) {
+            return PdfFontFactory.createFont(fontDict);
+        }
+        synchronized (fonts) {
+            removeReleasedFonts();
+            PdfFont font = getCachedFont(reference);
+            if (font != null) {
+                hitCount++;
+                return font;
+            }
+            missCount++;
+        }
+        // The font is created outside of the lock, so that the cache isn't blocked while a font is parsed.
+        // Two threads may create the same font, only the first one is kept then.
+        PdfFont font = PdfFontFactory.createFont(fontDict);
+        synchronized (fonts) {
+            PdfFont cachedFont = getCachedFont(reference);
+            if (cachedFont != null) {
+                return cachedFont;
+            }
+            if (maxSize > 0) {
+                fonts.put(reference, new FontReference(reference, font, releasedFonts));
+                evictExcessFonts();
+            }
+        }
+        return font;
+    }
+
+    /**
+     * Removes all the fonts from the cache. The statistics aren't reset.
+     */
+    public void clear() {
+        synchronized (fonts) {
+            fonts.clear();
+            removeReleasedFonts();
+        }
+    }
+
+    /**
+     * Gets the maximum number of fonts in the cache.
+     *
+     * @return the maximum number of fonts
+     */
+    public int getMaxSize() {
+        synchronized (fonts) {
+            return maxSize;
+        }
+    }
+
+    /**
+     * Sets the maximum number of fonts in the cache. The least recently used fonts are evicted if the cache
+     * holds more fonts than that.
+     *
+     * @param maxSize the maximum number of fonts in the cache, {@code 0} disables caching
+     */
+    public void setMaxSize(int maxSize) {
+        checkMaxSize(maxSize);
+        synchronized (fonts) {
+            this.maxSize = maxSize;
+            evictExcessFonts();
+        }
+    }
+
+    /**
+     * Gets the number of fonts in the cache, including the ones which were released under memory pressure
+     * but haven't been removed from the cache yet.
+     *
+     * @return the number of fonts
+     */
+    public int size() {
+        synchronized (fonts) {
+            removeReleasedFonts();
+            return fonts.size();
+        }
+    }
+
+    /**
+     * Gets the number of requests which were served by the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        synchronized (fonts) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * Gets the number of requests which required a font to be created.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        synchronized (fonts) {
+            return missCount;
+        }
+    }
+
+    /**
+     * Gets the number of fonts which were removed from the cache to keep its size within the limit.
+     *
+     * @return the number of evicted fonts
+     */
+    public long getEvictionCount() {
+        synchronized (fonts) {
+            return evictionCount;
+        }
+    }
+
+    private PdfFont getCachedFont(PdfIndirectReference reference) {
+        FontReference fontRef = fonts.get(reference);
+        if (fontRef == null) {
+            return null;
+        }
+        PdfFont font = fontRef.get();
+        if (font == null) {
+            fonts.remove(reference);
+        }
+        return font;
+    }
+
+    private void evictExcessFonts() {
+        Iterator<PdfIndirectReference> iterator = fonts.keySet().iterator();
+        while (fonts.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private void removeReleasedFonts() {
+        Reference<? extends PdfFont> releasedFont;
+        while ((releasedFont = releasedFonts.poll()) != null) {
+            PdfIndirectReference reference = ((FontReference) releasedFont).reference;
+            // the entry may already hold another font created after this one was released
+            if (fonts.get(reference) == releasedFont) {
+                fonts.remove(reference);
+            }
+        }
+    }
+
+    private static void checkMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new PdfException(KernelExceptionMessageConstant.DECODED_FONT_CACHE_SIZE_SHALL_NOT_BE_NEGATIVE);
+        }
+    }
+
+    private static final class FontReference extends SoftReference<PdfFont> {
+        private final PdfIndirectReference reference;
+
+        FontReference(PdfIndirectReference reference, PdfFont font, ReferenceQueue<PdfFont> queue) {
+            super(font, queue);
+            this.reference = reference;
+        }
+    }
+}
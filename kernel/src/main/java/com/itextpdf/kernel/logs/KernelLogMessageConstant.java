@@ -61,6 +61,9 @@ public final class KernelLogMessageConstant {
     public static final String UNABLE_TO_PARSE_COLOR_WITHIN_COLORSPACE =
             "Unable to parse color {0} within {1} color space";
 
+    public static final String UNABLE_TO_WRITE_XREF_INDEX =
+            "Unable to write cross-reference index file {0}. The document is read without it.";
+
     /**
      * Message warns about unexpected product name which was mentioned as involved into PDF
      * processing. List of params:
@@ -173,6 +173,17 @@ public class MemoryLimitsAwareHandler {
         this.maxNumberOfElementsInXrefStructure = maxNumberOfElementsInXrefStructure;
     }
 
+    /**
+     * Creates a new instance of {@link MemoryLimitsAwareHandler} with the same limits as this one, which
+     * doesn't share the memory consumption of the decompressed pdf streams with this one.
+     *
+     * @return the new instance of {@link MemoryLimitsAwareHandler}
+     */
+    public MemoryLimitsAwareHandler createNewInstance() {
+        return new MemoryLimitsAwareHandler(maxSizeOfSingleDecompressedPdfStream, maxSizeOfDecompressedPdfStreamsSum,
+                maxNumberOfElementsInXrefStructure);
+    }
+
     /**
      * Performs a check of possible extension of xref structure.
      *
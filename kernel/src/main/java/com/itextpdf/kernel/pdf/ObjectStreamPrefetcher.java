@@ -0,0 +1,265 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.filters.FilterHandlers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the object streams of a document in advance, decoding them on a bounded pool of worker threads.
+ *
+ * <p>
+ * Only decoding runs on the worker threads. The raw bytes are read and decrypted, and the decoded objects are
+ * parsed and stored in the cross-reference table on the calling thread, because {@link PdfReader}, its tokenizer
+ * and {@link PdfEncryption} are not thread safe. A stream is decoded on the calling thread as well, if its filters
+ * or decode parameters would have to be resolved while decoding or if the document's
+ * {@link MemoryLimitsAwareHandler} has to control its decompression. A stream which fails to be decoded is
+ * skipped, so that the failure is reported the usual way when an object from the stream is requested.
+ */
+final class ObjectStreamPrefetcher {
+
+    /**
+     * The default maximum total length of the raw streams which are read and decoded together. The streams are
+     * processed in batches, so that only the raw and decoded bytes of a single batch are held at a time.
+     */
+    static final int MAX_BATCH_LENGTH = 16 * 1024 * 1024;
+
+    private final PdfReader reader;
+    private final int threadCount;
+    private final int maxBatchLength;
+
+    /**
+     * Creates a new {@link ObjectStreamPrefetcher} instance.
+     *
+     * @param reader      the reader of the document
+     * @param threadCount the maximum number of worker threads used for decoding
+     */
+    ObjectStreamPrefetcher(PdfReader reader, int threadCount) {
+        this(reader, threadCount, MAX_BATCH_LENGTH);
+    }
+
+    /**
+     * Creates a new {@link ObjectStreamPrefetcher} instance.
+     *
+     * @param reader         the reader of the document
+     * @param threadCount    the maximum number of worker threads used for decoding
+     * @param maxBatchLength the maximum total length of the raw streams which are read and decoded together
+     */
+    ObjectStreamPrefetcher(PdfReader reader, int threadCount, int maxBatchLength) {
+        this.reader = reader;
+        this.threadCount = threadCount;
+        this.maxBatchLength = maxBatchLength;
+    }
+
+    /**
+     * Reads the object streams with the passed numbers. Numbers of objects which aren't object streams and
+     * object streams which have already been read are ignored.
+     *
+     * @param objectStreamNumbers the numbers of the object streams to read
+     * @return the number of object streams which have been read
+     * @throws IOException if the raw bytes of a stream can't be read
+     */
+    int prefetch(Collection<Integer> objectStreamNumbers) throws IOException {
+        ExecutorService executor = threadCount > 1 ? Executors.newFixedThreadPool(threadCount) : null;
+        try {
+            int count = 0;
+            List<PdfStream> batch = new ArrayList<>();
+            long batchLength = 0;
+            for (Integer number : objectStreamNumbers) {
+                PdfStream stream = getUnreadObjectStream(number == null ? 0 : (int) number);
+                if (stream == null) {
+                    continue;
+                }
+                int length = Math.max(0, stream.getLength());
+                if (!batch.isEmpty() && batchLength + length > maxBatchLength) {
+                    count += readBatch(batch, executor);
+                    batch.clear();
+                    batchLength = 0;
+                }
+                batch.add(stream);
+                batchLength += length;
+            }
+            if (!batch.isEmpty()) {
+                count += readBatch(batch, executor);
+            }
+            return count;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private int readBatch(List<PdfStream> streams, ExecutorService executor) throws IOException {
+        byte[][] rawBytes = new byte[streams.size()][];
+        for (int i = 0; i < streams.size(); i++) {
+            rawBytes[i] = reader.readStreamBytesRaw(streams.get(i));
+        }
+        byte[][] decodedBytes = decode(streams, rawBytes, executor);
+        int count = 0;
+        for (int i = 0; i < streams.size(); i++) {
+            if (decodedBytes[i] != null) {
+                reader.readObjectStream(streams.get(i), decodedBytes[i]);
+                // The objects are parsed, so the decoded content can be released before the next stream is parsed
+                decodedBytes[i] = null;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private PdfStream getUnreadObjectStream(int objNr) {
+        if (objNr <= 0) {
+            return null;
+        }
+        PdfIndirectReference reference = reader.getXrefReference(objNr);
+        if (reference == null || reference.isFree() || reference.getObjStreamNumber() != 0
+                || reference.checkState(PdfObject.ORIGINAL_OBJECT_STREAM)) {
+            return null;
+        }
+        PdfObject object = reference.getRefersTo(false);
+        if (object == null || object.getType() != PdfObject.STREAM
+                || !PdfName.ObjStm.equals(((PdfStream) object).getAsName(PdfName.Type))) {
+            return null;
+        }
+        return (PdfStream) object;
+    }
+
+    private static byte[][] decode(List<PdfStream> streams, byte[][] rawBytes, ExecutorService executor) {
+        byte[][] decodedBytes = new byte[streams.size()][];
+        BitSet concurrentIndices = new BitSet(streams.size());
+        if (executor != null) {
+            for (int i = 0; i < streams.size(); i++) {
+                if (rawBytes[i] != null && canBeDecodedConcurrently(streams.get(i))) {
+                    concurrentIndices.set(i);
+                }
+            }
+        }
+        if (!concurrentIndices.isEmpty()) {
+            decodeConcurrently(streams, rawBytes, concurrentIndices, decodedBytes, executor);
+        }
+        for (int i = 0; i < streams.size(); i++) {
+            if (!concurrentIndices.get(i) && rawBytes[i] != null) {
+                try {
+                    decodedBytes[i] = PdfReader.decodeBytes(rawBytes[i], streams.get(i));
+                } catch (RuntimeException ignored) {
+                    // The stream will be read when its objects are requested, which will also report the failure.
+                }
+            }
+            rawBytes[i] = null;
+        }
+        return decodedBytes;
+    }
+
+    private static void decodeConcurrently(List<PdfStream> streams, byte[][] rawBytes, BitSet indices,
+            byte[][] decodedBytes, ExecutorService executor) {
+        List<Integer> submitted = new ArrayList<>(indices.cardinality());
+        List<Future<byte[]>> results = new ArrayList<>(indices.cardinality());
+        for (int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+            final byte[] bytes = rawBytes[index];
+            final PdfStream stream = streams.get(index);
+            submitted.add(index);
+            results.add(executor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() {
+                    return PdfReader.decodeBytes(bytes, stream, FilterHandlers.getDefaultFilterHandlers());
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    decodedBytes[(int) submitted.get(i)] = results.get(i).get();
+                } catch (ExecutionException ignored) {
+                    // The stream will be read when its objects are requested, which will also report the failure.
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks if the stream can be decoded on another thread, i.e. decoding it neither resolves indirect objects,
+     * nor updates the document's {@link MemoryLimitsAwareHandler}.
+     */
+    private static boolean canBeDecodedConcurrently(PdfStream stream) {
+        PdfObject filter = stream.get(PdfName.Filter, false);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = (PdfArray) filter;
+            } else {
+                return false;
+            }
+        }
+        for (int i = 0; i < filters.size(); i++) {
+            if (filters.get(i, false).getType() != PdfObject.NAME) {
+                return false;
+            }
+        }
+        MemoryLimitsAwareHandler handler = stream.getIndirectReference().getDocument().memoryLimitsAwareHandler;
+        if (handler != null && handler.isMemoryLimitsAwarenessRequiredOnDecompression(filters)) {
+            return false;
+        }
+        return isDirect(stream.get(PdfName.DecodeParms, false)) && isDirect(stream.get(PdfName.DP, false));
+    }
+
+    private static boolean isDirect(PdfObject object) {
+        if (object == null) {
+            return true;
+        }
+        switch (object.getType()) {
+            case PdfObject.INDIRECT_REFERENCE:
+                return false;
+            case PdfObject.ARRAY:
+                for (PdfObject item : ((PdfArray) object).list) {
+                    if (!isDirect(item)) {
+                        return false;
+                    }
+                }
+                return true;
+            case PdfObject.DICTIONARY:
+                for (PdfObject value : ((PdfDictionary) object).values(false)) {
+                    if (!isDirect(value)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Deflates the pending in-memory streams of a document on a bounded pool of worker threads before they are
+ * flushed by {@link PdfWriter}.
+ *
+ * <p>
+ * The compressed bytes are only handed over to {@link PdfOutputStream} when the stream is actually written,
+ * so the order of objects in the output and the offsets stored in the cross-reference table stay exactly
+ * the same as in the single-threaded case. A stream whose content may have been changed after it had been
+ * compressed, i.e. whose output stream was requested or whose data was set, or whose compression level was
+ * changed, is compressed again on the writing thread.
+ * Encryption is always performed on the writing thread, because {@link PdfEncryption} keeps a per-object
+ * key state.
+ */
+class ParallelStreamCompressor {
+
+    private final int threadCount;
+
+    private final Map<PdfStream, CompressedStream> compressedStreams = new IdentityHashMap<>();
+
+    /**
+     * Creates a new {@link ParallelStreamCompressor} instance.
+     *
+     * @param threadCount the maximum number of worker threads used for compression
+     */
+    ParallelStreamCompressor(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Checks whether the stream has a compressed content which is still up to date.
+     *
+     * @param stream           the stream to check
+     * @param compressionLevel the compression level the stream is going to be written with
+     * @return {@code true} if the stream doesn't need to be compressed again, {@code false} otherwise
+     */
+    boolean isCompressed(PdfStream stream, int compressionLevel) {
+        CompressedStream compressed = compressedStreams.get(stream);
+        return compressed != null && compressed.isUpToDate(stream, compressionLevel);
+    }
+
+    /**
+     * Compresses the passed streams in parallel and stores the results until they are requested by
+     * {@link #takeCompressedStream(PdfStream, int)}. The method returns when all streams are compressed,
+     * so that the streams are never read by the workers and modified by the calling thread at the same time.
+     * The streams are expected to have a {@link ByteArrayOutputStream} content.
+     *
+     * @param streams the streams to compress, each one along with the compression level to use
+     */
+    void compress(Map<PdfStream, Integer> streams) {
+        if (streams.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, streams.size()));
+        try {
+            List<PdfStream> keys = new ArrayList<>(streams.size());
+            List<Future<CompressedStream>> results = new ArrayList<>(streams.size());
+            for (Map.Entry<PdfStream, Integer> entry : streams.entrySet()) {
+                final PdfStream stream = entry.getKey();
+                // The field is accessed directly, since requesting the output stream counts as a modification
+                final ByteArrayOutputStream source = (ByteArrayOutputStream) stream.outputStream.getOutputStream();
+                final int compressionLevel = (int) entry.getValue();
+                final int modificationCount = stream.contentModificationCount;
+                compressedStreams.remove(stream);
+                keys.add(stream);
+                results.add(executor.submit(new Callable<CompressedStream>() {
+                    @Override
+                    public CompressedStream call() throws IOException {
+                        return CompressedStream.create(source, compressionLevel, modificationCount);
+                    }
+                }));
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                try {
+                    compressedStreams.put(keys.get(i), results.get(i).get());
+                } catch (ExecutionException ignored) {
+                    // The stream will be compressed on the writing thread, which will also report the failure.
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the compressed content of the stream and forgets about it. The method shall be called before
+     * the output stream of the stream is requested, since requesting it invalidates the compressed content.
+     *
+     * @param stream           the stream which is going to be written
+     * @param compressionLevel the compression level the stream is going to be written with
+     * @return the compressed content, or {@code null} if the stream wasn't compressed in advance or
+     * may have been changed since then
+     */
+    ByteArrayOutputStream takeCompressedStream(PdfStream stream, int compressionLevel) {
+        CompressedStream compressed = compressedStreams.remove(stream);
+        return compressed != null && compressed.isUpToDate(stream, compressionLevel) ? compressed.content : null;
+    }
+
+    private static final class CompressedStream {
+        final ByteArrayOutputStream content;
+        final int compressionLevel;
+        final int modificationCount;
+
+        private CompressedStream(ByteArrayOutputStream content, int compressionLevel, int modificationCount) {
+            this.content = content;
+            this.compressionLevel = compressionLevel;
+            this.modificationCount = modificationCount;
+        }
+
+        static CompressedStream create(ByteArrayOutputStream source, int compressionLevel, int modificationCount)
+                throws IOException {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            DeflaterOutputStream zip = new DeflaterOutputStream(content, compressionLevel);
+            source.writeTo(zip);
+            zip.finish();
+            return new CompressedStream(content, compressionLevel, modificationCount);
+        }
+
+        boolean isUpToDate(PdfStream stream, int compressionLevel) {
+            return this.compressionLevel == compressionLevel
+                    && this.modificationCount == stream.contentModificationCount;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.kernel.exceptions.BadPasswordException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.DecodedFontCache;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
@@ -104,6 +105,10 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      */
     final PdfXrefTable xref = new PdfXrefTable();
     private final Map<PdfIndirectReference, PdfFont> documentFonts = new HashMap<>();
+    /**
+     * The fonts created for reading the content of the document, which are not added to the document.
+     */
+    private final DecodedFontCache decodedFontCache = new DecodedFontCache();
     private final SequenceId documentId;
     /**
      * To be adjusted destinations.
@@ -353,7 +358,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      */
     public PdfObject getPdfObject(int objNum) {
         checkClosingStatus();
-        PdfIndirectReference reference = xref.get(objNum);
+        PdfIndirectReference reference = reader != null ? reader.getXrefReference(objNum) : xref.get(objNum);
         if (reference == null) {
             return null;
         } else {
@@ -367,6 +372,9 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      * @return number of indirect objects.
      */
     public int getNumberOfPdfObjects() {
+        if (reader != null) {
+            reader.readAllPendingXrefSections();
+        }
         return xref.size();
     }
 
@@ -909,9 +917,10 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                         }
                     }
 
+                    writer.compressWaitingStreams(true);
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getCreatedReference(i);
                         if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(
                                 PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -936,6 +945,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                         }
                     }
 
+                    writer.compressPageStreams();
                     for (int pageNum = 1; pageNum <= getNumberOfPages(); pageNum++) {
                         PdfPage page = getPage(pageNum);
                         if (page != null) {
@@ -955,6 +965,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                         forbiddenToFlush.add(crypto.getIndirectReference());
                     }
 
+                    writer.compressWaitingStreams(false);
                     writer.flushWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
                         PdfIndirectReference indirectReference = xref.get(i);
@@ -1000,6 +1011,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                 }
             }
             catalog.getPageTree().clearPageRefs();
+            decodedFontCache.clear();
             removeAllHandlers();
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_CLOSE_DOCUMENT, e, this);
@@ -1494,6 +1506,9 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      */
     public List<PdfIndirectReference> listIndirectReferences() {
         checkClosingStatus();
+        if (reader != null) {
+            reader.readAllPendingXrefSections();
+        }
         List<PdfIndirectReference> indRefs = new ArrayList<>(xref.size());
         for (int i = 0; i < xref.size(); ++i) {
             PdfIndirectReference indref = xref.get(i);
@@ -1799,6 +1814,37 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         }
     }
 
+    /**
+     * Gets a {@link PdfFont} instance to read the content of the document with, e.g. to extract its text.
+     * Unlike {@link #getFont(PdfDictionary)} the font isn't added to the document. If the font has
+     * already been added to the document, that instance is returned.
+     * <p>
+     * Fonts of indirect font dictionaries are kept in the {@link #getDecodedFontCache() decoded font cache}
+     * of the document, so they are shared between the pages.
+     *
+     * @param dictionary {@link PdfDictionary} that presents {@link PdfFont}.
+     *
+     * @return instance of {@link PdfFont}
+     */
+    public PdfFont getDecodedFont(PdfDictionary dictionary) {
+        PdfIndirectReference indirectReference = dictionary.getIndirectReference();
+        if (indirectReference == null) {
+            return PdfFontFactory.createFont(dictionary);
+        }
+        PdfFont font = documentFonts.get(indirectReference);
+        return font != null ? font : decodedFontCache.getFont(dictionary);
+    }
+
+    /**
+     * Gets the cache of the fonts which are created by {@link #getDecodedFont(PdfDictionary)}, e.g. to change
+     * its size limit or to get its statistics.
+     *
+     * @return the {@link DecodedFontCache} of this document
+     */
+    public DecodedFontCache getDecodedFontCache() {
+        return decodedFontCache;
+    }
+
     /**
      * Gets default font for the document: Helvetica, WinAnsi.
      * One instance per document.
@@ -2025,7 +2071,15 @@ public class PdfDocument implements IEventDispatcher, Closeable {
                             KernelExceptionMessageConstant.APPEND_MODE_REQUIRES_A_DOCUMENT_WITHOUT_ERRORS_EVEN_IF_RECOVERY_IS_POSSIBLE);
                 }
             }
-            xref.initFreeReferencesList(this);
+            if (reader != null && writer != null) {
+                reader.readAllPendingXrefSections();
+            }
+            // In lazy xref loading mode the objects missing in the xref table might be defined in the sections
+            // which haven't been read yet, so they can't be considered as free. The free references list is only
+            // needed for writing anyway.
+            if (reader == null || !reader.hasPendingXrefSections()) {
+                xref.initFreeReferencesList(this);
+            }
             if (writer != null) {
                 if (reader != null && reader.hasXrefStm() && writer.properties.isFullCompression == null) {
                     writer.properties.isFullCompression = true;
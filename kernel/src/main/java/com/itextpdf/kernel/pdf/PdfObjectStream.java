@@ -26,6 +26,11 @@ import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
 
 class PdfObjectStream extends PdfStream {
 
@@ -45,27 +50,60 @@ class PdfObjectStream extends PdfStream {
      */
     protected PdfOutputStream indexStream;
 
+    /**
+     * Max number of objects in this object stream.
+     */
+    private final int maxSize;
+
     public PdfObjectStream(PdfDocument doc) {
-        this(doc, new ByteArrayOutputStream());
+        this(doc, new ByteArrayOutputStream(), MAX_OBJ_STREAM_SIZE);
         indexStream = new PdfOutputStream(new ByteArrayOutputStream());
     }
 
+    /**
+     * Creates an object stream with the given capacity.
+     * If the compression level is other than {@link CompressionConstants#NO_COMPRESSION}, the objects are
+     * compressed as soon as they are added, so that only compressed bytes of the stream body are kept in memory.
+     * NOTE Only for internal use in PdfWriter!
+     *
+     * @param doc              the document the object stream belongs to
+     * @param maxSize          max number of objects in object stream
+     * @param compressionLevel the compression level to compress the objects with on the fly, or
+     *                         {@link CompressionConstants#NO_COMPRESSION} to keep the objects uncompressed
+     *                         until the stream is written
+     */
+    PdfObjectStream(PdfDocument doc, int maxSize, int compressionLevel) {
+        this(doc, compressionLevel == CompressionConstants.NO_COMPRESSION
+                ? new ByteArrayOutputStream() : new IncrementalDeflaterOutputStream(compressionLevel), maxSize);
+        indexStream = new PdfOutputStream(new ByteArrayOutputStream());
+        if (compressionLevel != CompressionConstants.NO_COMPRESSION) {
+            setCompressionLevel(compressionLevel);
+        }
+    }
+
     /**
      * This constructor is for reusing ByteArrayOutputStreams of indexStream and outputStream.
      * NOTE Only for internal use in PdfWriter!
      * @param prev previous PdfObjectStream.
      */
     PdfObjectStream(PdfObjectStream prev) {
-        this(prev.getIndirectReference().getDocument(), prev.getOutputStream().getOutputStream());
+        this(prev.getIndirectReference().getDocument(), prev.getOutputStream().getOutputStream() instanceof
+                IncrementalDeflaterOutputStream ? new IncrementalDeflaterOutputStream(prev.getCompressionLevel())
+                : prev.getOutputStream().getOutputStream(), prev.maxSize);
         indexStream = new PdfOutputStream(prev.indexStream.getOutputStream());
-        ((ByteArrayOutputStream)outputStream.getOutputStream()).reset();
+        if (outputStream.getOutputStream() instanceof ByteArrayOutputStream) {
+            ((ByteArrayOutputStream) outputStream.getOutputStream()).reset();
+        } else {
+            setCompressionLevel(prev.getCompressionLevel());
+        }
         ((ByteArrayOutputStream)indexStream.getOutputStream()).reset();
 
         prev.releaseContent(true);
     }
 
-    private PdfObjectStream(PdfDocument doc, java.io.OutputStream outputStream) {
+    private PdfObjectStream(PdfDocument doc, java.io.OutputStream outputStream, int maxSize) {
         super(outputStream);
+        this.maxSize = maxSize;
         //avoid reuse existed references, create new, opposite to get next reference
         makeIndirect(doc, doc.getXref().createNewIndirectReference(doc));
         getOutputStream().document = doc;
@@ -80,7 +118,7 @@ class PdfObjectStream extends PdfStream {
      * @param object object to add.
      */
     public void addObject(PdfObject object) {
-        if (size.intValue() == MAX_OBJ_STREAM_SIZE) {
+        if (size.intValue() == maxSize) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_OBJECT_STREAM_REACH_MAX_SIZE);
         }
         PdfOutputStream outputStream = getOutputStream();
@@ -114,6 +152,64 @@ class PdfObjectStream extends PdfStream {
         releaseContent(false);
     }
 
+    /**
+     * Gets max number of objects in this object stream.
+     *
+     * @return max object stream size.
+     */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Checks whether the objects are compressed as soon as they are added to the stream.
+     *
+     * @return true if the stream body is compressed incrementally, false otherwise
+     */
+    boolean isCompressedIncrementally() {
+        return outputStream.getOutputStream() instanceof IncrementalDeflaterOutputStream;
+    }
+
+    /**
+     * Finishes the incremental compression and builds the resultant zlib stream: the index is compressed
+     * and prepended to the already compressed objects, the checksum is calculated over the whole content.
+     *
+     * @return the compressed content of the object stream
+     * @throws IOException if the content cannot be compressed
+     */
+    ByteArrayOutputStream getIncrementallyCompressedContent() throws IOException {
+        IncrementalDeflaterOutputStream body = (IncrementalDeflaterOutputStream) outputStream.getOutputStream();
+        body.finish();
+        byte[] index = ((ByteArrayOutputStream) indexStream.getOutputStream()).toByteArray();
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(body.compressed.size() + index.length / 2 + 16);
+        result.write(IncrementalDeflaterOutputStream.getZlibHeader(getCompressionLevel()));
+        // Ends with a sync flush block, so that the compressed objects can be appended as is
+        Deflater deflater = new Deflater(getCompressionLevel(), true);
+        try {
+            deflater.setInput(index);
+            byte[] buf = new byte[Math.max(64, index.length)];
+            int n;
+            do {
+                n = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                result.write(buf, 0, n);
+            } while (n == buf.length);
+        } finally {
+            deflater.end();
+        }
+        body.compressed.writeTo(result);
+
+        Adler32 indexChecksum = new Adler32();
+        indexChecksum.update(index);
+        long checksum = IncrementalDeflaterOutputStream.combineAdler32(indexChecksum.getValue(),
+                body.checksum.getValue(), body.length);
+        result.write((int) (checksum >>> 24) & 0xff);
+        result.write((int) (checksum >>> 16) & 0xff);
+        result.write((int) (checksum >>> 8) & 0xff);
+        result.write((int) checksum & 0xff);
+        return result;
+    }
+
     private void releaseContent(boolean close) {
         if (close) {
             outputStream = null;
@@ -121,4 +217,83 @@ class PdfObjectStream extends PdfStream {
             super.releaseContent();
         }
     }
+
+    /**
+     * Compresses the object stream body into raw deflate blocks as the objects are written, keeping track of
+     * the number of the written bytes and their Adler-32 checksum, which are needed to complete the zlib stream.
+     */
+    private static class IncrementalDeflaterOutputStream extends OutputStream {
+        private static final int ADLER_BASE = 65521;
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        final Adler32 checksum = new Adler32();
+        long length = 0;
+
+        private final Deflater deflater;
+        private final byte[] buf = new byte[4096];
+        private boolean finished = false;
+
+        IncrementalDeflaterOutputStream(int compressionLevel) {
+            deflater = new Deflater(compressionLevel, true);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("write beyond end of stream");
+            }
+            checksum.update(b, off, len);
+            length += len;
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                int n = deflater.deflate(buf, 0, buf.length);
+                compressed.write(buf, 0, n);
+            }
+        }
+
+        void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf, 0, buf.length);
+                compressed.write(buf, 0, n);
+            }
+            deflater.end();
+        }
+
+        static byte[] getZlibHeader(int compressionLevel) {
+            // Same header as the one written by java.util.zip.Deflater for the given level
+            if (compressionLevel >= 0 && compressionLevel < 2) {
+                return new byte[] {0x78, 0x01};
+            } else if (compressionLevel >= 2 && compressionLevel < 6) {
+                return new byte[] {0x78, 0x5E};
+            } else if (compressionLevel == 6 || compressionLevel == CompressionConstants.DEFAULT_COMPRESSION) {
+                return new byte[] {0x78, (byte) 0x9C};
+            }
+            return new byte[] {0x78, (byte) 0xDA};
+        }
+
+        /**
+         * Combines the Adler-32 checksums of two sequences into the checksum of their concatenation,
+         * the same way as it's done by zlib's adler32_combine.
+         */
+        static long combineAdler32(long first, long second, long secondLength) {
+            long rem = secondLength % ADLER_BASE;
+            long sum1 = first & 0xffff;
+            long sum2 = rem * sum1 % ADLER_BASE;
+            sum1 += (second & 0xffff) + ADLER_BASE - 1;
+            sum2 += ((first >>> 16) & 0xffff) + ((second >>> 16) & 0xffff) + ADLER_BASE - rem;
+            sum1 %= ADLER_BASE;
+            sum2 %= ADLER_BASE;
+            return sum1 | (sum2 << 16);
+        }
+    }
 }
@@ -56,6 +56,11 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
      */
     protected PdfEncryption crypto;
 
+    /**
+     * Holds the content of the streams which were compressed in advance, if parallel compression is enabled.
+     */
+    ParallelStreamCompressor streamCompressor;
+
     /**
      * Create a pdfOutputSteam writing to the passed OutputStream.
      *
@@ -300,17 +305,36 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
             } else {
+                // Taken before the output stream is requested, which would invalidate the content compressed in advance
+                ByteArrayOutputStream precompressedStream = streamCompressor == null ? null
+                        : streamCompressor.takeCompressedStream(pdfStream, pdfStream.getCompressionLevel());
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
                 if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+                    PdfReader reader = pdfStream.getIndirectReference().getReader();
+                    if (!userDefinedCompression && crypto == reader.decrypt && !isXRefStream(pdfStream)
+                            && !PdfName.ObjStm.equals(pdfStream.getAsName(PdfName.Type))
+                            && !(toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
+                                    && allowCompression)) {
+                        // The stream is written as is, so it can be transferred directly from the source
+                        int rawLength = reader.getRawStreamLength(pdfStream);
+                        if (rawLength >= 0) {
+                            pdfStream.put(PdfName.Length, new PdfNumber(rawLength));
+                            this.write((PdfDictionary) pdfStream);
+                            writeBytes(PdfOutputStream.stream);
+                            reader.writeRawStreamBytes(pdfStream, this);
+                            writeBytes(PdfOutputStream.endstream);
+                            return;
+                        }
+                    }
                     // If new specific compression is set for stream,
                     // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+                    byte[] bytes = reader.readStreamBytes(pdfStream, false);
                     if (userDefinedCompression) {
                         bytes = decodeFlateBytes(pdfStream, bytes);
                     }
-                    pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
-                    pdfStream.getOutputStream().write(bytes);
+                    pdfStream.initOutputStream(new ByteArrayOutputStream());
+                    pdfStream.getOutputStream().assignBytes(bytes, bytes.length);
                 }
                 assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
                 ByteArrayOutputStream byteArrayStream;
@@ -319,20 +343,28 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        byteArrayStream = precompressedStream;
+                        if (byteArrayStream == null && pdfStream instanceof PdfObjectStream
+                                && ((PdfObjectStream) pdfStream).isCompressedIncrementally()) {
+                            byteArrayStream = ((PdfObjectStream) pdfStream).getIncrementallyCompressedContent();
+                        } else if (byteArrayStream == null) {
+                            byteArrayStream = new ByteArrayOutputStream();
+                            DeflaterOutputStream zip =
+                                    new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+                            if (pdfStream instanceof PdfObjectStream) {
+                                PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                                ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                                ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            } else {
+                                assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                                ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            }
+                            zip.finish();
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                            assert !objectStream.isCompressedIncrementally() : "Compressed object stream body";
                             byteArrayStream = new ByteArrayOutputStream();
                             ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
                             ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
@@ -362,6 +362,9 @@ class PdfPagesTree {
             throw new PdfException(KernelExceptionMessageConstant.INVALID_PAGE_STRUCTURE).setMessageParams(pageNum + 1);
         }
         int kidsCount = parent.getCount();
+        if (document.getReader() != null) {
+            document.getReader().prefetchObjects(kids);
+        }
 
         // we should handle separated pages, it means every PdfArray kids must contain either PdfPage or PdfPages,
         // mix of PdfPage and PdfPages not allowed.
@@ -27,6 +27,7 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.PrefetchingRandomAccessSource;
 import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -38,6 +39,7 @@ import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.XrefCycledReferencesException;
+import com.itextpdf.kernel.logs.KernelLogMessageConstant;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
 import com.itextpdf.kernel.xmp.XMPException;
@@ -49,6 +51,8 @@ import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -75,10 +79,34 @@ public class PdfReader implements Closeable {
 
     protected static boolean correctStreamLength = true;
 
+    private static final int RAW_STREAM_TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     private boolean unethicalReading;
 
     private boolean memorySavingMode;
 
+    private boolean lazyXrefLoading;
+
+    private String xrefIndexFile;
+
+    /**
+     * In lazy xref loading mode, the offset of the next cross-reference section which hasn't been read yet,
+     * or -1 if all sections have been read.
+     */
+    private long pendingXrefSection = -1;
+    private boolean pendingXrefSectionIsStream;
+    private PdfTokenizer pendingXrefSectionTokens;
+    private Set<Long> visitedXrefSections;
+    private boolean readingPendingXrefSection;
+    private boolean deferringXrefStreamPrev;
+
+    /**
+     * The source of the document if it supports prefetching, and the offset of the document in it.
+     */
+    private PrefetchingRandomAccessSource prefetchingSource;
+    private long prefetchingSourceOffset;
+    private long[] sortedObjectOffsets;
+
     private StrictnessLevel strictnessLevel = DEFAULT_STRICTNESS_LEVEL;
 
     //indicate nearest first Indirect reference object which includes current reading the object, using for PdfString decrypt
@@ -185,6 +213,10 @@ public class PdfReader implements Closeable {
     PdfReader(IRandomAccessSource byteSource, ReaderProperties properties, boolean closeStream) throws IOException {
         this.properties = properties;
         this.tokens = getOffsetTokeniser(byteSource, closeStream);
+        if (byteSource instanceof PrefetchingRandomAccessSource) {
+            this.prefetchingSource = (PrefetchingRandomAccessSource) byteSource;
+            this.prefetchingSourceOffset = byteSource.length() - tokens.length();
+        }
     }
 
     /**
@@ -224,6 +256,46 @@ public class PdfReader implements Closeable {
         return this;
     }
 
+    /**
+     * Defines if the cross-reference sections of the previous revisions of the document are read lazily.
+     * <p>
+     * By default all cross-reference sections are read when the document is opened.
+     * <p>
+     * If lazy xref loading is enabled, only the latest cross-reference section is read when the document is opened,
+     * and the sections of the previous revisions are read one by one when an object which isn't found in already
+     * read sections is requested. This speeds up opening of big documents with many incremental updates if only
+     * a few objects are going to be read. If such a document is opened with a {@link PdfWriter}, all sections are
+     * read before the writing starts. Errors in the previous sections are only reported when these sections are read.
+     * <p>
+     * This setting must be changed before the reader is passed to {@link PdfDocument}.
+     *
+     * @param lazyXrefLoading true to enable lazy xref loading, false to disable it.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setLazyXrefLoading(boolean lazyXrefLoading) {
+        this.lazyXrefLoading = lazyXrefLoading;
+        return this;
+    }
+
+    /**
+     * Sets the path to the cross-reference index file of the document.
+     * <p>
+     * If the index file exists and matches the document, the cross-reference structure is restored from it, so
+     * that neither the cross-reference sections have to be parsed, nor a damaged cross-reference table has to be
+     * rebuilt. Otherwise the cross-reference structure is read from the document as usual and the index file is
+     * (re)written, unless some of the sections aren't read yet because of {@link #setLazyXrefLoading(boolean)}.
+     * The index is bound to the document by its length and checksums of the beginning and the end of the file.
+     * <p>
+     * This setting must be changed before the reader is passed to {@link PdfDocument}.
+     *
+     * @param xrefIndexFile path to the index file, or {@code null} to not use the index.
+     * @return this {@link PdfReader} instance.
+     */
+    public PdfReader setXrefIndexFile(String xrefIndexFile) {
+        this.xrefIndexFile = xrefIndexFile;
+        return this;
+    }
+
     /**
      * Get the current {@link StrictnessLevel} of the reader.
      *
@@ -339,6 +411,52 @@ public class PdfReader implements Closeable {
         return lastXref;
     }
 
+    /**
+     * Reads all object streams of the document in advance, decoding them on up to {@code threadCount} worker
+     * threads, so that the objects stored in them don't have to be read one object stream at a time later on.
+     * This is useful before processing the whole document, e.g. when all its pages are going to be traversed.
+     * <p>
+     * Only decoding is done concurrently: reading the raw bytes, decryption and parsing of the decoded objects
+     * still happen on the calling thread. Object streams which have already been read are skipped. If an object
+     * stream can't be decoded, it's left to be read when one of its objects is requested. The object streams are
+     * read in batches of a bounded total length, so that the raw and decoded content of only one batch is held
+     * in memory at a time.
+     * In lazy xref loading mode all pending cross-reference sections are read first.
+     *
+     * @param threadCount the maximum number of worker threads, values less than 2 disable concurrent decoding
+     * @return the number of object streams which have been read
+     * @throws PdfException if the method has been invoked before the PDF document was read.
+     */
+    public int prefetchObjectStreams(int threadCount) {
+        if (pdfDocument == null || !pdfDocument.getXref().isReadingCompleted()) {
+            throw new PdfException(KernelExceptionMessageConstant.DOCUMENT_HAS_NOT_BEEN_READ_YET);
+        }
+        readAllPendingXrefSections();
+        return prefetchObjectStreams(pdfDocument.getXref().getObjectStreamNumbers(), threadCount);
+    }
+
+    /**
+     * Reads the object streams with the given object numbers in advance, decoding them on up to
+     * {@code threadCount} worker threads. Numbers of objects which aren't object streams are ignored.
+     * See {@link #prefetchObjectStreams(int)} for the details.
+     *
+     * @param objectStreamNumbers the object numbers of the object streams to read
+     * @param threadCount         the maximum number of worker threads, values less than 2 disable
+     *                            concurrent decoding
+     * @return the number of object streams which have been read
+     * @throws PdfException if the method has been invoked before the PDF document was read.
+     */
+    public int prefetchObjectStreams(Collection<Integer> objectStreamNumbers, int threadCount) {
+        if (pdfDocument == null || !pdfDocument.getXref().isReadingCompleted()) {
+            throw new PdfException(KernelExceptionMessageConstant.DOCUMENT_HAS_NOT_BEEN_READ_YET);
+        }
+        try {
+            return new ObjectStreamPrefetcher(this, threadCount).prefetch(objectStreamNumbers);
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_READ_PDF_OBJECT, e);
+        }
+    }
+
     /**
      * Reads, decrypt and optionally decode stream bytes.
      * Note, this method doesn't store actual bytes in any internal structures.
@@ -420,6 +538,80 @@ public class PdfReader implements Closeable {
         return bytes;
     }
 
+    /**
+     * Reads and decrypts stream bytes and writes them to the output stream.
+     * Unless the stream is encrypted, the bytes are transferred by chunks, so that the whole stream
+     * is never held in memory.
+     *
+     * @param stream a {@link PdfStream} stream instance to be read
+     * @param os     the output stream to write bytes to
+     * @return {@code false} if the stream has no content in the document, {@code true} otherwise
+     * @throws IOException on error.
+     */
+    public boolean readStreamBytesRaw(PdfStream stream, java.io.OutputStream os) throws IOException {
+        if (decrypt != null && (!decrypt.isEmbeddedFilesOnly() || pdfDocument.doesStreamBelongToEmbeddedFile(stream))) {
+            byte[] bytes = readStreamBytesRaw(stream);
+            if (bytes == null) {
+                return false;
+            }
+            os.write(bytes);
+            return true;
+        }
+        if (getRawStreamLength(stream) < 0) {
+            return false;
+        }
+        writeRawStreamBytes(stream, os);
+        return true;
+    }
+
+    /**
+     * Gets the length of the stream bytes, as they are stored in the document, checking it against
+     * the actual position of the {@code endstream} keyword if needed.
+     *
+     * @param stream a {@link PdfStream} stream instance read by this reader
+     * @return the length of the stream bytes, or -1 if the stream has no content in the document
+     * @throws IOException on error
+     */
+    int getRawStreamLength(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRef.equals(type) && !PdfName.ObjStm.equals(type)) {
+            checkPdfStreamLength(stream);
+        }
+        return stream.getOffset() <= 0 ? -1 : Math.max(0, stream.getLength());
+    }
+
+    /**
+     * Writes the stream bytes, as they are stored in the document, to the output stream. The bytes are
+     * neither decrypted nor decoded, they are read by chunks so that the whole stream is never held in memory.
+     * {@link #getRawStreamLength(PdfStream)} shall be called first.
+     *
+     * @param stream a {@link PdfStream} stream instance read by this reader
+     * @param os     the output stream to write bytes to
+     * @throws IOException on error
+     */
+    void writeRawStreamBytes(PdfStream stream, java.io.OutputStream os) throws IOException {
+        long remaining = stream.getLength();
+        if (stream.getOffset() <= 0 || remaining <= 0) {
+            return;
+        }
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        try {
+            file.seek(stream.getOffset());
+            byte[] buf = new byte[(int) Math.min(remaining, RAW_STREAM_TRANSFER_BUFFER_SIZE)];
+            while (remaining > 0) {
+                int n = (int) Math.min(remaining, buf.length);
+                file.readFully(buf, 0, n);
+                os.write(buf, 0, n);
+                remaining -= n;
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
     /**
      * Reads, decrypts and optionally decodes stream bytes into {@link ByteArrayInputStream}.
      * User is responsible for closing returned stream.
@@ -537,6 +729,26 @@ public class PdfReader implements Closeable {
         return tokens.getSafeFile();
     }
 
+    /**
+     * Gets a copy of the properties of this reader, e.g. to open the same document with another reader.
+     * The {@link MemoryLimitsAwareHandler} of the properties, if any, is replaced with a new instance with
+     * the same limits, since a handler tracks the memory consumption of a single document.
+     *
+     * @return a copy of the {@link ReaderProperties} of this reader
+     */
+    public ReaderProperties getPropertiesCopy() {
+        ReaderProperties copy = new ReaderProperties();
+        copy.password = properties.password;
+        copy.certificateKey = properties.certificateKey;
+        copy.certificate = properties.certificate;
+        copy.certificateKeyProvider = properties.certificateKeyProvider;
+        copy.externalDecryptionProcess = properties.externalDecryptionProcess;
+        if (properties.memoryLimitsAwareHandler != null) {
+            copy.memoryLimitsAwareHandler = properties.memoryLimitsAwareHandler.createNewInstance();
+        }
+        return copy;
+    }
+
     /**
      * Provides the size of the opened file.
      *
@@ -728,6 +940,12 @@ public class PdfReader implements Closeable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_VERSION_IS_NOT_VALID, version);
         }
+        if (xrefIndexFile != null && PdfXrefIndex.restore(this, xrefIndexFile)) {
+            pdfDocument.getXref().markReadingCompleted();
+            readDecryptObj();
+            prefetchDocumentStructure();
+            return;
+        }
         try {
             readXref();
         } catch (XrefCycledReferencesException | MemoryLimitsAwareException | InvalidXRefPrevException ex) {
@@ -745,15 +963,36 @@ public class PdfReader implements Closeable {
                 throw ex;
             }
         }
+        if (xrefIndexFile != null && trailer != null && !hasPendingXrefSections()) {
+            try {
+                PdfXrefIndex.store(this, xrefIndexFile);
+            } catch (IOException e) {
+                Logger logger = LoggerFactory.getLogger(PdfReader.class);
+                logger.warn(MessageFormatUtil.format(KernelLogMessageConstant.UNABLE_TO_WRITE_XREF_INDEX,
+                        xrefIndexFile), e);
+            }
+        }
         pdfDocument.getXref().markReadingCompleted();
         readDecryptObj();
+        prefetchDocumentStructure();
     }
 
     protected void readObjectStream(PdfStream objectStream) throws IOException {
+        readObjectStream(objectStream, readStreamBytes(objectStream, true));
+    }
+
+    /**
+     * Parses the objects of the object stream from its already decoded bytes and stores them in
+     * the cross-reference table.
+     *
+     * @param objectStream the object stream
+     * @param bytes        the decoded bytes of the object stream
+     * @throws IOException on error
+     */
+    void readObjectStream(PdfStream objectStream, byte[] bytes) throws IOException {
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
         int first = objectStream.getAsNumber(PdfName.First).intValue();
         int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
         PdfTokenizer saveTokens = tokens;
         try {
             tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
@@ -847,7 +1086,8 @@ public class PdfReader implements Closeable {
                 }
             }
         } else {
-            if (table.isReadingCompleted()) {
+            // In lazy xref loading mode the reference is resolved when the object is read
+            if (table.isReadingCompleted() && !readingPendingXrefSection && !hasPendingXrefSections()) {
                 Logger logger = LoggerFactory.getLogger(PdfReader.class);
                 logger.warn(MessageFormatUtil.format(IoLogMessageConstant.INVALID_INDIRECT_REFERENCE, tokens.getObjNr(),
                         tokens.getGenNr()));
@@ -995,6 +1235,7 @@ public class PdfReader implements Closeable {
         lastXref = startxref;
         eofPos = tokens.getPosition();
         try {
+            deferringXrefStreamPrev = lazyXrefLoading;
             if (readXrefStream(startxref)) {
                 xrefStm = true;
                 return;
@@ -1005,13 +1246,27 @@ public class PdfReader implements Closeable {
             throw exceptionWhileReadingXrefStream;
         } catch (Exception ignored) {
             // Do nothing.
+        } finally {
+            deferringXrefStreamPrev = false;
         }
         // clear xref because of possible issues at reading xref stream.
         pdfDocument.getXref().clear();
+        pendingXrefSection = -1;
 
         tokens.seek(startxref);
         trailer = readXrefSection();
 
+        if (lazyXrefLoading) {
+            PdfNumber prev = getXrefPrev(trailer.get(PdfName.Prev, false));
+            if (prev != null) {
+                deferXrefSection(startxref, prev.longValue(), false);
+            }
+            if (trailer.getAsInt(PdfName.Size) == null) {
+                throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_TABLE);
+            }
+            return;
+        }
+
         //  Prev key - integer value.
         //  (Present only if the file has more than one cross-reference section; shall be an indirect reference).
         // The byte offset in the decoded stream from the beginning of the file
@@ -1088,37 +1343,34 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                PdfIndirectReference reference = xref.getCreatedReference(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
-                boolean refFirstEncountered = reference == null
-                        || !refReadingState && reference.getDocument() == null;
+                boolean refFirstEncountered = reference == null ? !xref.hasLazyEntry(num)
+                        : !refReadingState && reference.getDocument() == null;
 
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (refReadingState) {
+                if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
-                } else {
+                } else if (!refFirstEncountered) {
                     continue;
                 }
 
+                boolean free = false;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(
                                 KernelExceptionMessageConstant.FILE_POSITION_0_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    free = true;
                 } else {
                     tokens.throwError(
                             KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    xref.addLazyEntry(pdfDocument, num, gen, pos, 0, free);
                 }
             }
         }
@@ -1218,38 +1470,45 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
-                    PdfIndirectReference newReference;
+                    int genNr;
+                    long offset;
+                    int objStreamNr;
                     switch (type) {
                         case 0:
-                            newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
-                            break;
                         case 1:
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                            genNr = field3;
+                            offset = field2;
+                            objStreamNr = 0;
                             break;
                         case 2:
-                            newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                            newReference.setObjStreamNumber((int) field2);
+                            genNr = 0;
+                            offset = field3;
+                            objStreamNr = (int) field2;
                             break;
                         default:
                             throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_STREAM);
                     }
 
-                    PdfIndirectReference reference = xref.get(base);
-                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
+                    PdfIndirectReference reference = xref.getCreatedReference(base);
+                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr;
                     // for references that are added by xref table itself (like 0 entry)
-                    boolean refFirstEncountered = reference == null
-                            || !refReadingState && reference.getDocument() == null;
+                    boolean refFirstEncountered = reference == null ? !xref.hasLazyEntry(base)
+                            : !refReadingState && reference.getDocument() == null;
 
                     if (refFirstEncountered) {
-                        xref.add(newReference);
+                        xref.addLazyEntry(pdfDocument, base, genNr, offset, objStreamNr, type == 0);
                     } else if (refReadingState) {
-                        reference.setOffset(newReference.getOffset());
-                        reference.setObjStreamNumber(newReference.getObjStreamNumber());
+                        reference.setOffset(offset);
+                        reference.setObjStreamNumber(objStreamNr);
                         reference.clearState(PdfObject.READING);
                     }
                     ++start;
                 }
             }
+            if (deferringXrefStreamPrev && prev != -1) {
+                deferXrefSection(ptr, prev, true);
+                break;
+            }
             ptr = prev;
             if (alreadyVisitedXrefStreams.contains(ptr)) {
                 throw new XrefCycledReferencesException(
@@ -1291,6 +1550,7 @@ public class PdfReader implements Closeable {
         xrefStm = false;
         hybridXref = false;
         rebuiltXref = true;
+        pendingXrefSection = -1;
         PdfXrefTable xref = pdfDocument.getXref();
         xref.clear();
         tokens.seek(0);
@@ -1390,6 +1650,138 @@ public class PdfReader implements Closeable {
         return memorySavingMode;
     }
 
+    /**
+     * Gets the reference to the indirect object with the given number. In lazy xref loading mode, the pending
+     * cross-reference sections are read until the object is found.
+     *
+     * @param objNr object number
+     * @return the reference or {@code null} if the object isn't found in the cross-reference sections
+     */
+    PdfIndirectReference getXrefReference(int objNr) {
+        PdfXrefTable xref = pdfDocument.getXref();
+        PdfIndirectReference reference = xref.get(objNr);
+        while ((reference == null || reference.checkState(PdfObject.READING)) && readPendingXrefSection()) {
+            reference = xref.get(objNr);
+        }
+        return reference;
+    }
+
+    /**
+     * Starts reading the passed objects from the source in background, if the reader is created for
+     * a {@link PrefetchingRandomAccessSource}. The objects which are stored in object streams are
+     * prefetched along with the whole object stream. Direct objects and already read objects are skipped.
+     *
+     * @param objects the objects which are likely to be read soon
+     */
+    void prefetchObjects(PdfArray objects) {
+        if (prefetchingSource == null) {
+            return;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            prefetchObject(objects.get(i, false));
+        }
+    }
+
+    /**
+     * Starts reading the object from the source in background, see {@link #prefetchObjects(PdfArray)}.
+     *
+     * @param object the object which is likely to be read soon
+     */
+    void prefetchObject(PdfObject object) {
+        if (prefetchingSource == null || !(object instanceof PdfIndirectReference)) {
+            return;
+        }
+        PdfIndirectReference reference = (PdfIndirectReference) object;
+        if (reference.refersTo != null || reference.isFree()) {
+            return;
+        }
+        if (reference.getObjStreamNumber() > 0) {
+            reference = pdfDocument.getXref().get(reference.getObjStreamNumber());
+            if (reference == null || reference.refersTo != null || reference.isFree()
+                    || reference.getObjStreamNumber() > 0) {
+                return;
+            }
+        }
+        long offset = reference.getOffset();
+        if (offset <= 0) {
+            return;
+        }
+        if (sortedObjectOffsets == null) {
+            sortedObjectOffsets = pdfDocument.getXref().getSortedObjectOffsets();
+        }
+        // the object ends where the next object starts, as far as it's known from the cross-reference table
+        int next = Arrays.binarySearch(sortedObjectOffsets, offset);
+        next = next >= 0 ? next + 1 : -next - 1;
+        long end = next < sortedObjectOffsets.length ? sortedObjectOffsets[next] : tokens.length();
+        prefetchingSource.prefetch(prefetchingSourceOffset + offset, end - offset);
+    }
+
+    /**
+     * Reads all cross-reference sections which haven't been read yet in lazy xref loading mode.
+     */
+    void readAllPendingXrefSections() {
+        while (readPendingXrefSection()) {
+            // Continue reading.
+        }
+    }
+
+    /**
+     * Checks if there are cross-reference sections which haven't been read yet in lazy xref loading mode.
+     *
+     * @return true if there are such sections
+     */
+    boolean hasPendingXrefSections() {
+        return pendingXrefSection != -1;
+    }
+
+    private void deferXrefSection(long currentSection, long prevSection, boolean isStream) {
+        if (visitedXrefSections == null) {
+            visitedXrefSections = new HashSet<>();
+        }
+        visitedXrefSections.add(currentSection);
+        if (visitedXrefSections.contains(prevSection)) {
+            // Cycled sections, there is nothing more to read.
+            return;
+        }
+        pendingXrefSection = prevSection;
+        pendingXrefSectionIsStream = isStream;
+        pendingXrefSectionTokens = tokens;
+    }
+
+    private boolean readPendingXrefSection() {
+        if (pendingXrefSection == -1 || readingPendingXrefSection) {
+            return false;
+        }
+        long section = pendingXrefSection;
+        pendingXrefSection = -1;
+        // Objects might be being read from an object stream at the moment, which has its own tokenizer
+        PdfTokenizer savedTokens = tokens;
+        tokens = pendingXrefSectionTokens;
+        long savedPosition = tokens.getPosition();
+        readingPendingXrefSection = true;
+        try {
+            if (pendingXrefSectionIsStream) {
+                deferringXrefStreamPrev = true;
+                readXrefStream(section);
+            } else {
+                tokens.seek(section);
+                PdfDictionary sectionTrailer = readXrefSection();
+                PdfNumber prev = getXrefPrev(sectionTrailer.get(PdfName.Prev, false));
+                if (prev != null) {
+                    deferXrefSection(section, prev.longValue(), false);
+                }
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_READ_PDF_OBJECT, e);
+        } finally {
+            deferringXrefStreamPrev = false;
+            readingPendingXrefSection = false;
+            tokens.seek(savedPosition);
+            tokens = savedTokens;
+        }
+        return true;
+    }
+
     private void processArrayReadError() {
         final String error = MessageFormatUtil.format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN,
                 new String(tokens.getByteContent(), StandardCharsets.UTF_8));
@@ -1429,11 +1821,14 @@ public class PdfReader implements Closeable {
             return null;
         if (reference.refersTo != null)
             return reference.refersTo;
+        if (reference.checkState(PdfObject.READING)) {
+            getXrefReference(reference.getObjNumber());
+        }
         try {
             currentIndirectReference = reference;
             if (reference.getObjStreamNumber() > 0) {
-                PdfStream objectStream = (PdfStream) pdfDocument.getXref().
-                        get(reference.getObjStreamNumber()).getRefersTo(false);
+                PdfStream objectStream = (PdfStream) getXrefReference(reference.getObjStreamNumber())
+                        .getRefersTo(false);
                 readObjectStream(objectStream);
                 return reference.refersTo;
             } else if (reference.getOffset() > 0) {
@@ -1538,6 +1933,16 @@ public class PdfReader implements Closeable {
         }
     }
 
+    /**
+     * Starts prefetching of the catalog, which is read right after the cross-reference structure. The page tree
+     * is prefetched by {@link PdfPagesTree} level by level, as the kids of its nodes become known.
+     */
+    private void prefetchDocumentStructure() {
+        if (trailer != null) {
+            prefetchObject(trailer.get(PdfName.Root, false));
+        }
+    }
+
     /**
      * Utility method that checks the provided byte source to see if it has junk bytes at the beginning.  If junk bytes
      * are found, construct a tokeniser that ignores the junk.  Otherwise, construct a tokeniser for the byte source as it is
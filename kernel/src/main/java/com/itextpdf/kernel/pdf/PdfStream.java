@@ -45,6 +45,8 @@ public class PdfStream extends PdfDictionary {
     private InputStream inputStream;
     private long offset;
     private int length = -1;
+    // Changed whenever the content may have been changed, so that a content compressed in advance can be validated
+    int contentModificationCount;
 
     /**
      * Constructs a {@code PdfStream}-object.
@@ -166,6 +168,8 @@ public class PdfStream extends PdfDictionary {
      * @return output stream
      */
     public PdfOutputStream getOutputStream() {
+        // The caller may write to the stream
+        contentModificationCount++;
         return outputStream;
     }
 
@@ -285,6 +289,7 @@ public class PdfStream extends PdfDictionary {
                     KernelExceptionMessageConstant.CANNOT_SET_DATA_TO_PDF_STREAM_WHICH_WAS_CREATED_BY_INPUT_STREAM);
         }
 
+        contentModificationCount++;
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
             outputStream = new PdfOutputStream(new ByteArrayOutputStream());
@@ -355,14 +360,19 @@ public class PdfStream extends PdfDictionary {
         assert inputStream == null : "Try to copy the PdfStream that has been just created.";
         byte[] bytes = stream.getBytes(false);
         try {
-            outputStream.write(bytes);
+            if (outputStream.getCurrentPos() == 0 && outputStream.getOutputStream() instanceof ByteArrayOutputStream) {
+                // The bytes are already a copy of the source content, so they are taken over as is
+                outputStream.assignBytes(bytes, bytes.length);
+            } else {
+                outputStream.write(bytes);
+            }
         } catch (IOException ioe) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_COPY_OBJECT_CONTENT, ioe, stream);
         }
     }
 
     protected void initOutputStream(java.io.OutputStream stream) {
-        if (getOutputStream() == null && inputStream == null)
+        if (outputStream == null && inputStream == null)
             outputStream = new PdfOutputStream(stream != null ? stream : new ByteArrayOutputStream());
     }
 
@@ -371,6 +381,7 @@ public class PdfStream extends PdfDictionary {
      */
     protected void releaseContent() {
         super.releaseContent();
+        contentModificationCount++;
         try {
             if (outputStream != null) {
                 outputStream.close();
@@ -24,12 +24,17 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.utils.ICopyFilter;
 import com.itextpdf.kernel.utils.NullCopyFilter;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,7 +63,7 @@ public class PdfWriter extends PdfOutputStream {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
 
     /**
      * Create a PdfWriter writing to the passed File and with default writer properties.
@@ -85,6 +90,8 @@ public class PdfWriter extends PdfOutputStream {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(new CountOutputStream(FileUtil.wrapWithBufferedOutputStream(os)));
         this.properties = properties;
+        this.smartModeSerializer = new SmartModePdfObjectsSerializer(properties.smartModeDigestKeys,
+                properties.smartModeCacheSize);
     }
 
     /**
@@ -164,6 +171,15 @@ public class PdfWriter extends PdfOutputStream {
         return this;
     }
 
+    /**
+     * Gets the statistics of the object reuse performed in smart mode so far.
+     *
+     * @return a snapshot of the smart mode statistics
+     */
+    public SmartModeStatistics getSmartModeStatistics() {
+        return smartModeSerializer.getStatistics();
+    }
+
     protected void initCryptoIfSpecified(PdfVersion version) {
         EncryptionProperties encryptProps = properties.encryptionProperties;
         if (properties.isStandardEncryptionUsed()) {
@@ -325,7 +341,7 @@ public class PdfWriter extends PdfOutputStream {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getCreatedReference(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -352,7 +368,7 @@ public class PdfWriter extends PdfOutputStream {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getCreatedReference(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(
                     indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
@@ -372,6 +388,122 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    /**
+     * Compresses in parallel the content of the not yet flushed streams which are reachable from the pages of
+     * the document, if it is enabled by {@link WriterProperties#setCompressionThreadCount(int)}. These streams
+     * are surely written when the pages are flushed. The compressed content is used when the streams are
+     * flushed afterwards.
+     */
+    void compressPageStreams() {
+        if (properties.compressionThreadCount < 2) {
+            return;
+        }
+        List<PdfObject> pages = new ArrayList<>(document.getNumberOfPages());
+        for (int pageNum = 1; pageNum <= document.getNumberOfPages(); pageNum++) {
+            PdfPage page = document.getPage(pageNum);
+            if (page != null) {
+                pages.add(page.getPdfObject());
+            }
+        }
+        compressReachableStreams(pages, false);
+    }
+
+    /**
+     * Compresses in parallel the content of the not yet flushed streams of the document which are going to be
+     * written by the final flushing pass, if it is enabled by {@link WriterProperties#setCompressionThreadCount(int)}.
+     * The streams which have already been compressed and haven't been changed since then are skipped.
+     * The compressed content is used when the streams are flushed afterwards.
+     *
+     * @param modifiedOnly if true, only modified streams are compressed, which is the case of incremental updates
+     */
+    void compressWaitingStreams(boolean modifiedOnly) {
+        if (properties.compressionThreadCount < 2) {
+            return;
+        }
+        PdfXrefTable xref = document.getXref();
+        boolean writeAll = !modifiedOnly && document.isFlushUnusedObjects();
+        List<PdfObject> roots = new ArrayList<>();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference indirectReference = xref.getCreatedReference(i);
+            if (indirectReference != null && !indirectReference.isFree()
+                    && !indirectReference.checkState(PdfObject.FLUSHED)
+                    && (writeAll || indirectReference.checkState(
+                            modifiedOnly ? PdfObject.MODIFIED : PdfObject.MUST_BE_FLUSHED))) {
+                roots.add(indirectReference);
+            }
+        }
+        compressReachableStreams(roots, modifiedOnly);
+    }
+
+    private void compressReachableStreams(List<PdfObject> roots, boolean modifiedOnly) {
+        if (streamCompressor == null) {
+            streamCompressor = new ParallelStreamCompressor(properties.compressionThreadCount);
+        }
+        Map<PdfStream, Integer> streams = new IdentityHashMap<>();
+        Set<PdfObject> visited = Collections.newSetFromMap(new IdentityHashMap<PdfObject, Boolean>());
+        Deque<PdfObject> toVisit = new ArrayDeque<>(roots);
+        while (!toVisit.isEmpty()) {
+            PdfObject obj = toVisit.pop();
+            if (obj.isIndirectReference()) {
+                PdfIndirectReference indirectReference = (PdfIndirectReference) obj;
+                if (indirectReference.isFree() || indirectReference.checkState(PdfObject.FLUSHED)) {
+                    continue;
+                }
+                // Objects which are not loaded are not changed and are copied as is
+                obj = indirectReference.getRefersTo(false);
+                if (obj == null) {
+                    continue;
+                }
+            }
+            if (obj.isFlushed() || !visited.add(obj)) {
+                continue;
+            }
+            if (obj.isStream()) {
+                PdfStream stream = (PdfStream) obj;
+                int compressionLevel = getCompressionLevel(stream);
+                if (isCompressedOnWriting(stream, compressionLevel)
+                        && !streamCompressor.isCompressed(stream, compressionLevel)
+                        && (!modifiedOnly || stream.isModified())) {
+                    streams.put(stream, compressionLevel);
+                }
+            }
+            if (obj.isDictionary() || obj.isStream()) {
+                for (PdfObject value : ((PdfDictionary) obj).values(false)) {
+                    addToVisit(toVisit, value);
+                }
+            } else if (obj.isArray()) {
+                PdfArray array = (PdfArray) obj;
+                for (int i = 0; i < array.size(); i++) {
+                    addToVisit(toVisit, array.get(i, false));
+                }
+            }
+        }
+        streamCompressor.compress(streams);
+    }
+
+    private int getCompressionLevel(PdfStream stream) {
+        return stream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION
+                ? stream.getCompressionLevel() : getCompressionLevel();
+    }
+
+    /**
+     * Checks if the stream is surely compressed by {@link PdfOutputStream} when it is written.
+     */
+    private static boolean isCompressedOnWriting(PdfStream stream, int compressionLevel) {
+        // The output stream field is accessed directly, since requesting it counts as a modification
+        return compressionLevel != CompressionConstants.NO_COMPRESSION && !(stream instanceof PdfObjectStream)
+                && stream.getInputStream() == null && stream.outputStream != null
+                && stream.outputStream.getOutputStream() instanceof ByteArrayOutputStream
+                && !stream.containsKey(PdfName.Filter) && !stream.containsKey(PdfName.DecodeParms)
+                && !PdfName.Metadata.equals(stream.getAsName(PdfName.Type));
+    }
+
+    private static void addToVisit(Deque<PdfObject> toVisit, PdfObject obj) {
+        if (obj != null && (obj.isIndirectReference() || obj.isDictionary() || obj.isStream() || obj.isArray())) {
+            toVisit.push(obj);
+        }
+    }
+
     /**
      * Gets the current object stream.
      *
@@ -382,8 +514,10 @@ public class PdfWriter extends PdfOutputStream {
             return null;
         }
         if (objectStream == null) {
-            objectStream = new PdfObjectStream(document);
-        } else if (objectStream.getSize() == PdfObjectStream.MAX_OBJ_STREAM_SIZE) {
+            objectStream = new PdfObjectStream(document, properties.objectStreamSize,
+                    properties.incrementalObjectStreamCompression ? getCompressionLevel()
+                            : CompressionConstants.NO_COMPRESSION);
+        } else if (objectStream.getSize() == objectStream.getMaxSize()) {
             objectStream.flush();
             objectStream = new PdfObjectStream(objectStream);
         }
@@ -0,0 +1,266 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.util.StreamUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A sidecar file which stores the result of reading the cross-reference structure of a document, so that
+ * the next time the same document is opened, the cross-reference sections don't have to be parsed and
+ * a damaged cross-reference table doesn't have to be rebuilt.
+ *
+ * <p>
+ * The index holds the entries of the cross-reference table, including the membership of objects in object
+ * streams, the trailer and the reader flags describing the cross-reference structure. It is bound to the
+ * document by the file length and a checksum of the head of the file, the last cross-reference section with
+ * the trailer it points to, i.e. the cross-reference table with its trailer or the dictionary of the
+ * cross-reference stream, both containing the document ID, and the tail of the file with the startxref offset.
+ * The index itself is protected by a checksum, so that an incomplete or corrupted index is never used.
+ *
+ * @see PdfReader#setXrefIndexFile(String)
+ */
+final class PdfXrefIndex {
+
+    private static final int MAGIC = 0x69546978;
+    private static final int VERSION = 2;
+    private static final int CHECKSUM_SPAN = 1024;
+
+    private static final int XREF_STM_FLAG = 1;
+    private static final int HYBRID_XREF_FLAG = 2;
+    private static final int REBUILT_XREF_FLAG = 4;
+
+    private PdfXrefIndex() {
+        // Empty constructor
+    }
+
+    /**
+     * Restores the cross-reference structure of the document being read from the index file.
+     *
+     * @param reader    the reader of the document
+     * @param indexFile path to the index file
+     * @return true if the index file exists, matches the document and has been restored, false otherwise
+     * @throws IOException if the document can't be read
+     */
+    static boolean restore(PdfReader reader, String indexFile) throws IOException {
+        if (!FileUtil.fileExists(indexFile)) {
+            return false;
+        }
+        byte[] content;
+        try (InputStream is = FileUtil.getInputStreamForFile(indexFile)) {
+            content = StreamUtil.inputStreamToArray(is);
+        } catch (IOException e) {
+            return false;
+        }
+        if (content.length < 8) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length - 8);
+        if (crc.getValue() != new DataInputStream(new ByteArrayInputStream(content, content.length - 8, 8)).readLong()) {
+            return false;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, 0, content.length - 8));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return false;
+        }
+        RandomAccessFileOrArray file = reader.tokens.getSafeFile();
+        if (in.readLong() != file.length() || in.readLong() != calculateFileChecksum(file)) {
+            return false;
+        }
+        reader.lastXref = in.readLong();
+        reader.eofPos = in.readLong();
+        int flags = in.readByte();
+        reader.xrefStm = (flags & XREF_STM_FLAG) != 0;
+        reader.hybridXref = (flags & HYBRID_XREF_FLAG) != 0;
+        reader.rebuiltXref = (flags & REBUILT_XREF_FLAG) != 0;
+        byte[] trailerBytes = new byte[in.readInt()];
+        in.readFully(trailerBytes);
+        reader.pdfDocument.getXref().readEntries(in, reader.pdfDocument);
+        reader.trailer = readTrailer(reader, trailerBytes);
+        return true;
+    }
+
+    /**
+     * Stores the cross-reference structure of the document which has just been read to the index file.
+     *
+     * @param reader    the reader of the document
+     * @param indexFile path to the index file
+     * @throws IOException if the document can't be read or the index file can't be written
+     */
+    static void store(PdfReader reader, String indexFile) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        RandomAccessFileOrArray file = reader.tokens.getSafeFile();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(file.length());
+        out.writeLong(calculateFileChecksum(file));
+        out.writeLong(reader.lastXref);
+        out.writeLong(reader.eofPos);
+        int flags = 0;
+        if (reader.xrefStm) {
+            flags |= XREF_STM_FLAG;
+        }
+        if (reader.hybridXref) {
+            flags |= HYBRID_XREF_FLAG;
+        }
+        if (reader.rebuiltXref) {
+            flags |= REBUILT_XREF_FLAG;
+        }
+        out.writeByte(flags);
+        ByteArrayOutputStream trailerBytes = new ByteArrayOutputStream();
+        PdfOutputStream trailerStream = new PdfOutputStream(trailerBytes);
+        trailerStream.write(reader.trailer);
+        trailerStream.flush();
+        out.writeInt(trailerBytes.size());
+        trailerBytes.writeTo(out);
+        reader.pdfDocument.getXref().writeEntries(out);
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(baos.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+        try (OutputStream os = FileUtil.getFileOutputStream(indexFile)) {
+            baos.writeTo(os);
+        }
+    }
+
+    private static PdfDictionary readTrailer(PdfReader reader, byte[] trailerBytes) throws IOException {
+        PdfTokenizer savedTokens = reader.tokens;
+        try {
+            reader.tokens = new PdfTokenizer(
+                    new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(trailerBytes)));
+            return (PdfDictionary) reader.readObject(false);
+        } finally {
+            reader.tokens = savedTokens;
+        }
+    }
+
+    private static long calculateFileChecksum(RandomAccessFileOrArray file) throws IOException {
+        CRC32 crc = new CRC32();
+        long length = file.length();
+        byte[] buffer = new byte[(int) Math.min(CHECKSUM_SPAN, length)];
+        file.seek(0);
+        file.readFully(buffer);
+        crc.update(buffer);
+        file.seek(length - buffer.length);
+        file.readFully(buffer);
+        crc.update(buffer);
+        updateWithStartxrefSection(crc, file, buffer);
+        return crc.getValue();
+    }
+
+    /**
+     * Updates the checksum with the bytes of the cross-reference section the startxref offset points to, from
+     * the beginning of the section to the end of its trailer or cross-reference stream dictionary. Nothing is
+     * added if the startxref offset isn't in the tail of the file or doesn't point to a cross-reference section,
+     * so that the index of a document with a damaged cross-reference structure is still bound to its tail.
+     */
+    private static void updateWithStartxrefSection(CRC32 crc, RandomAccessFileOrArray file, byte[] tail)
+            throws IOException {
+        int startxrefIndex = new String(tail, StandardCharsets.ISO_8859_1).lastIndexOf("startxref");
+        if (startxrefIndex < 0) {
+            return;
+        }
+        PdfTokenizer tokens = new PdfTokenizer(file.createView());
+        tokens.seek(file.length() - tail.length + startxrefIndex + PdfTokenizer.Startxref.length);
+        if (!tokens.nextToken() || tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+            return;
+        }
+        long sectionStart = tokens.getLongValue();
+        if (sectionStart < 0 || sectionStart >= file.length()) {
+            return;
+        }
+        tokens.seek(sectionStart);
+        long sectionEnd = -1;
+        if (!tokens.nextToken()) {
+            return;
+        } else if (tokens.tokenValueEqualsTo(PdfTokenizer.Xref)) {
+            sectionEnd = findXrefTableEnd(tokens);
+        } else if (tokens.getTokenType() == PdfTokenizer.TokenType.Number && tokens.nextToken()
+                && tokens.getTokenType() == PdfTokenizer.TokenType.Number && tokens.nextToken()
+                && tokens.tokenValueEqualsTo(PdfTokenizer.Obj)) {
+            sectionEnd = findDictionaryEnd(tokens);
+        }
+        if (sectionEnd < 0) {
+            return;
+        }
+        byte[] buffer = new byte[CHECKSUM_SPAN];
+        for (long position = sectionStart; position < sectionEnd; position += buffer.length) {
+            int count = (int) Math.min(buffer.length, sectionEnd - position);
+            file.seek(position);
+            file.readFully(buffer, 0, count);
+            crc.update(buffer, 0, count);
+        }
+    }
+
+    /**
+     * Skips the subsections of a cross-reference table, whose entries are 20 bytes long, and finds the end
+     * of the trailer dictionary following them.
+     */
+    private static long findXrefTableEnd(PdfTokenizer tokens) throws IOException {
+        while (tokens.nextToken()) {
+            if (tokens.tokenValueEqualsTo(PdfTokenizer.Trailer)) {
+                return tokens.nextToken() && tokens.getTokenType() == PdfTokenizer.TokenType.StartDic
+                        ? findDictionaryEnd(tokens) : -1;
+            }
+            if (tokens.getTokenType() != PdfTokenizer.TokenType.Number || !tokens.nextToken()
+                    || tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
+                return -1;
+            }
+            // lands on the end of line of the last entry whether the subsection header ends with one or two bytes
+            tokens.seek(tokens.getPosition() + 20L * tokens.getLongValue());
+        }
+        return -1;
+    }
+
+    private static long findDictionaryEnd(PdfTokenizer tokens) throws IOException {
+        int level = tokens.getTokenType() == PdfTokenizer.TokenType.StartDic ? 1 : 0;
+        while (tokens.nextToken()) {
+            if (tokens.getTokenType() == PdfTokenizer.TokenType.StartDic) {
+                level++;
+            } else if (tokens.getTokenType() == PdfTokenizer.TokenType.EndDic && --level == 0) {
+                return tokens.getPosition();
+            } else if (level == 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -25,16 +25,16 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.commons.actions.data.ProductData;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
-import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.actions.data.ITextCoreProductData;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.TreeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,8 +48,12 @@ public class PdfXrefTable {
     private static final int INITIAL_CAPACITY = 32;
     private static final int MAX_GENERATION = 65535;
 
-    private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
-    private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
+    private static final int XREF_TABLE_ENTRY_LENGTH = 20;
+
+    private static final byte NO_ENTRY = 0;
+    private static final byte FREE_ENTRY = 1;
+    private static final byte IN_USE_ENTRY = 2;
+    private static final byte COMPRESSED_ENTRY = 3;
 
     private PdfIndirectReference[] xref;
     private int count = 0;
@@ -57,11 +61,24 @@ public class PdfXrefTable {
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
     /**
-     * Free references linked list is stored in a form of a map, where:
-     * key - free reference obj number;
-     * value - previous item in the linked list of free references for the object denoted by the key.
+     * Entries read from the cross-reference sections of a document are kept in the following parallel arrays
+     * until the corresponding {@link PdfIndirectReference} is requested for the first time. For the entries of
+     * objects in object streams, offset is the index in the object stream and generation is the number of the
+     * object stream. The arrays are {@code null} until the first such entry is added.
+     */
+    private byte[] entryTypes;
+    private long[] entryOffsets;
+    private int[] entryGenerations;
+    private PdfDocument entriesDocument;
+
+    /**
+     * Free references linked list is stored in a form of an array, where:
+     * index - free reference obj number;
+     * value - previous item in the linked list of free references for the object denoted by the index,
+     * or {@code null} if the object is not in the list.
      */
-    private final TreeMap<Integer, PdfIndirectReference> freeReferencesLinkedList;
+    private PdfIndirectReference[] freeReferencesLinkedList;
+    private int freeReferencesCount = 0;
 
     /**
      * Creates a {@link PdfXrefTable} which will be used to store xref structure of the pdf document.
@@ -105,7 +122,6 @@ public class PdfXrefTable {
             this.memoryLimitsAwareHandler.checkIfXrefStructureExceedsTheLimit(capacity);
         }
         this.xref = new PdfIndirectReference[capacity];
-        this.freeReferencesLinkedList = new TreeMap<>();
         add((PdfIndirectReference) new PdfIndirectReference(null, 0, MAX_GENERATION, 0).setState(PdfObject.FREE));
     }
 
@@ -132,6 +148,9 @@ public class PdfXrefTable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (entryTypes != null) {
+            entryTypes[objNr] = NO_ENTRY;
+        }
         return reference;
     }
 
@@ -152,8 +171,10 @@ public class PdfXrefTable {
     public int getCountOfIndirectObjects() {
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i < xref.length; i++) {
+            final PdfIndirectReference ref = xref[i];
+            if (ref != null ? !ref.isFree()
+                    : entryTypes != null && (entryTypes[i] == IN_USE_ENTRY || entryTypes[i] == COMPRESSED_ENTRY)) {
                 countOfIndirectObjects++;
             }
         }
@@ -171,7 +192,11 @@ public class PdfXrefTable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && entryTypes != null && entryTypes[index] != NO_ENTRY) {
+            reference = createReferenceFromEntry(index);
+        }
+        return reference;
     }
 
     /**
@@ -271,8 +296,7 @@ public class PdfXrefTable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
-                if (lastRef == null || lastRef.isFree()) {
+                if (isFreeOrAbsent(i)) {
                     removeFreeRefFromList(i);
                     --count;
                 } else {
@@ -356,6 +380,7 @@ public class PdfXrefTable {
             startxref = writer.getCurrentPos();
             writer.writeString("xref\n");
             PdfXrefTable xrefTable = document.getXref();
+            byte[] entry = new byte[XREF_TABLE_ENTRY_LENGTH];
             if (xRefStmPos != -1) {
                 // Get rid of all objects from object stream. This is done for hybrid documents
                 sections = createSections(document, true);
@@ -366,16 +391,8 @@ public class PdfXrefTable {
                 writer.writeInteger(first).writeSpace().writeInteger(len).writeByte((byte) '\n');
                 for (int i = first; i < first + len; i++) {
                     PdfIndirectReference reference = xrefTable.get(i);
-
-                    StringBuilder off = new StringBuilder("0000000000").append(reference.getOffset());
-                    StringBuilder gen = new StringBuilder("00000").append(reference.getGenNumber());
-                    writer.writeString(off.substring(off.length() - 10, off.length())).writeSpace().
-                            writeString(gen.substring(gen.length() - 5, gen.length())).writeSpace();
-                    if (reference.isFree()) {
-                        writer.writeBytes(freeXRefEntry);
-                    } else {
-                        writer.writeBytes(inUseXRefEntry);
-                    }
+                    writeXrefTableEntry(entry, reference.getOffset(), reference.getGenNumber(), reference.isFree());
+                    writer.writeBytes(entry);
                 }
             }
             PdfDictionary trailer = document.getTrailer();
@@ -404,7 +421,8 @@ public class PdfXrefTable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
-        freeReferencesLinkedList.clear();
+        clearEntries();
+        clearFreeReferencesList();
     }
 
     /**
@@ -430,54 +448,55 @@ public class PdfXrefTable {
      * @param pdfDocument is the current {@link PdfDocument document}
      */
     void initFreeReferencesList(PdfDocument pdfDocument) {
-        freeReferencesLinkedList.clear();
+        clearFreeReferencesList();
 
         // ensure zero object is free
-        xref[0].setState(PdfObject.FREE);
+        get(0).setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (isFreeOrAbsent(i)) {
                 freeReferences.add(i);
             }
         }
 
-        PdfIndirectReference prevFreeRef = xref[0];
+        PdfIndirectReference prevFreeRef = get(0);
         while (!freeReferences.<Integer>isEmpty()) {
             int currFreeRefObjNr = -1;
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
-            freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
-            prevFreeRef = xref[currFreeRefObjNr];
+            putToFreeReferencesList(currFreeRefObjNr, prevFreeRef);
+            prevFreeRef = get(currFreeRefObjNr);
             freeReferences.remove(currFreeRefObjNr);
         }
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            PdfIndirectReference nextFreeRef = get(next);
+            if (nextFreeRef == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
-                xref[next] = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, next, 0).setState(PdfObject.FREE).setState(PdfObject.MODIFIED);
-            } else if (xref[next].getGenNumber() == MAX_GENERATION && xref[next].getOffset() == 0) {
+                nextFreeRef = add((PdfIndirectReference) new PdfIndirectReference(pdfDocument, next, 0)
+                        .setState(PdfObject.FREE).setState(PdfObject.MODIFIED));
+            } else if (nextFreeRef.getGenNumber() == MAX_GENERATION && nextFreeRef.getOffset() == 0) {
                 continue;
             }
             if (prevFreeRef.getOffset() != (long)next) {
                 ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(next);
             }
-            freeReferencesLinkedList.put(next, prevFreeRef);
-            prevFreeRef = xref[next];
+            putToFreeReferencesList(next, prevFreeRef);
+            prevFreeRef = nextFreeRef;
         }
 
         if (prevFreeRef.getOffset() != 0) {
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(0);
         }
-        freeReferencesLinkedList.put(0, prevFreeRef);
+        putToFreeReferencesList(0, prevFreeRef);
     }
 
     /**
@@ -492,6 +511,175 @@ public class PdfXrefTable {
         return (PdfIndirectReference) reference.setState(PdfObject.MODIFIED);
     }
 
+    /**
+     * Adds an entry read from a cross-reference section of the document. Unlike {@link #add(PdfIndirectReference)},
+     * the {@link PdfIndirectReference} for the entry is only created when it is requested via {@link #get(int)},
+     * which considerably reduces the memory footprint of big documents of which only a small part is read.
+     * The entry replaces any reference previously added for the same object number.
+     *
+     * @param document    the document the entry belongs to
+     * @param objNr       object number
+     * @param genNr       generation number, ignored for the objects in object streams
+     * @param offset      offset of the object in the file, or its index in the object stream
+     * @param objStreamNr number of the object stream containing the object, 0 if the object isn't compressed
+     * @param free        if true, the entry is free
+     */
+    void addLazyEntry(PdfDocument document, int objNr, int genNr, long offset, int objStreamNr, boolean free) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (entryTypes == null) {
+            entryTypes = new byte[xref.length];
+            entryOffsets = new long[xref.length];
+            entryGenerations = new int[xref.length];
+        }
+        entriesDocument = document;
+        xref[objNr] = null;
+        entryOffsets[objNr] = offset;
+        if (objStreamNr != 0) {
+            entryTypes[objNr] = COMPRESSED_ENTRY;
+            entryGenerations[objNr] = objStreamNr;
+        } else {
+            entryTypes[objNr] = free ? FREE_ENTRY : IN_USE_ENTRY;
+            entryGenerations[objNr] = genNr;
+        }
+    }
+
+    /**
+     * Writes all the entries of the table in a compact binary form, which can be read back with
+     * {@link #readEntries(DataInput, PdfDocument)}. The references which are still being read are skipped.
+     *
+     * @param out the output to write to
+     * @throws IOException if any I/O error occurs
+     */
+    void writeEntries(DataOutput out) throws IOException {
+        out.writeInt(size());
+        for (int i = 0; i < size(); i++) {
+            PdfIndirectReference reference = xref[i];
+            if (reference != null) {
+                if (reference.checkState(PdfObject.READING)) {
+                    out.writeByte(NO_ENTRY);
+                } else if (reference.isFree()) {
+                    out.writeByte(FREE_ENTRY);
+                    out.writeLong(reference.getOffset());
+                    out.writeInt(reference.getGenNumber());
+                } else if (reference.getObjStreamNumber() != 0) {
+                    out.writeByte(COMPRESSED_ENTRY);
+                    out.writeLong(reference.getIndex());
+                    out.writeInt(reference.getObjStreamNumber());
+                } else {
+                    out.writeByte(IN_USE_ENTRY);
+                    out.writeLong(reference.getOffset());
+                    out.writeInt(reference.getGenNumber());
+                }
+            } else if (entryTypes != null && entryTypes[i] != NO_ENTRY) {
+                out.writeByte(entryTypes[i]);
+                out.writeLong(entryOffsets[i]);
+                out.writeInt(entryGenerations[i]);
+            } else {
+                out.writeByte(NO_ENTRY);
+            }
+        }
+    }
+
+    /**
+     * Reads the entries written by {@link #writeEntries(DataOutput)}, see
+     * {@link #addLazyEntry(PdfDocument, int, int, long, int, boolean)}.
+     *
+     * @param in       the input to read from
+     * @param document the document the entries belong to
+     * @throws IOException if any I/O error occurs
+     */
+    void readEntries(DataInput in, PdfDocument document) throws IOException {
+        int size = in.readInt();
+        setCapacity(size);
+        for (int i = 0; i < size; i++) {
+            byte type = in.readByte();
+            if (type == NO_ENTRY) {
+                continue;
+            }
+            long offset = in.readLong();
+            int generation = in.readInt();
+            if (type == COMPRESSED_ENTRY) {
+                addLazyEntry(document, i, 0, offset, generation, false);
+            } else {
+                addLazyEntry(document, i, generation, offset, 0, type == FREE_ENTRY);
+            }
+        }
+    }
+
+    /**
+     * Checks if there is an entry for the object number which {@link PdfIndirectReference} hasn't been created yet.
+     *
+     * @param objNr object number
+     * @return true if there is such entry
+     */
+    boolean hasLazyEntry(int objNr) {
+        return objNr <= count && xref[objNr] == null && entryTypes != null && entryTypes[objNr] != NO_ENTRY;
+    }
+
+    /**
+     * Collects the numbers of the object streams which contain the objects of the table. Unlike iterating
+     * through the table with {@link #get(int)}, doesn't create the references for the entries added by
+     * {@link #addLazyEntry(PdfDocument, int, int, long, int, boolean)}.
+     *
+     * @return the sorted set of object stream numbers
+     */
+    Set<Integer> getObjectStreamNumbers() {
+        Set<Integer> objectStreamNumbers = new TreeSet<>();
+        for (int i = 1; i <= count; i++) {
+            PdfIndirectReference reference = xref[i];
+            if (reference != null) {
+                if (!reference.isFree() && reference.getObjStreamNumber() > 0) {
+                    objectStreamNumbers.add(reference.getObjStreamNumber());
+                }
+            } else if (entryTypes != null && entryTypes[i] == COMPRESSED_ENTRY) {
+                objectStreamNumbers.add(entryGenerations[i]);
+            }
+        }
+        return objectStreamNumbers;
+    }
+
+    /**
+     * Collects the offsets of the objects of the table which are not stored in object streams. Unlike iterating
+     * through the table with {@link #get(int)}, doesn't create the references for the entries added by
+     * {@link #addLazyEntry(PdfDocument, int, int, long, int, boolean)}.
+     *
+     * @return the sorted array of offsets
+     */
+    long[] getSortedObjectOffsets() {
+        long[] offsets = new long[count];
+        int size = 0;
+        for (int i = 1; i <= count; i++) {
+            PdfIndirectReference reference = xref[i];
+            if (reference != null) {
+                if (!reference.isFree() && reference.getObjStreamNumber() == 0 && reference.getOffset() > 0) {
+                    offsets[size++] = reference.getOffset();
+                }
+            } else if (entryTypes != null && entryTypes[i] == IN_USE_ENTRY && entryOffsets[i] > 0) {
+                offsets[size++] = entryOffsets[i];
+            }
+        }
+        offsets = Arrays.copyOf(offsets, size);
+        Arrays.sort(offsets);
+        return offsets;
+    }
+
+    /**
+     * Gets the reference to indirect object, if it has already been created. Unlike {@link #get(int)},
+     * doesn't create the references for the entries added by
+     * {@link #addLazyEntry(PdfDocument, int, int, long, int, boolean)}. Such entries can't be modified
+     * or waiting to be flushed, so this method is handy for finding the objects in such states.
+     *
+     * @param index is the index of required object
+     * @return reference to object with the provided index or {@code null}
+     */
+    PdfIndirectReference getCreatedReference(int index) {
+        if (index > count) {
+            return null;
+        }
+        return xref[index];
+    }
+
     /**
      * Clear the state of the cross-reference table.
      */
@@ -501,6 +689,9 @@ public class PdfXrefTable {
                 continue;
             }
             xref[i] = null;
+            if (entryTypes != null && entryTypes[i] != FREE_ENTRY) {
+                entryTypes[i] = NO_ENTRY;
+            }
         }
         count = 1;
     }
@@ -510,7 +701,8 @@ public class PdfXrefTable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // lazily created references are never modified, so they don't get into the sections of an update
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : get(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -556,17 +748,100 @@ public class PdfXrefTable {
         return size;
     }
 
+    /**
+     * Writes an entry of a cross-reference table, i.e. 10-digit offset, 5-digit generation number and entry type.
+     */
+    private static void writeXrefTableEntry(byte[] entry, long offset, int genNr, boolean free) {
+        for (int i = 9; i >= 0; i--) {
+            entry[i] = (byte) ('0' + offset % 10);
+            offset /= 10;
+        }
+        entry[10] = (byte) ' ';
+        for (int i = 15; i >= 11; i--) {
+            entry[i] = (byte) ('0' + genNr % 10);
+            genNr /= 10;
+        }
+        entry[16] = (byte) ' ';
+        entry[17] = (byte) (free ? 'f' : 'n');
+        entry[18] = (byte) ' ';
+        entry[19] = (byte) '\n';
+    }
+
+    private PdfIndirectReference createReferenceFromEntry(int index) {
+        PdfIndirectReference reference;
+        switch (entryTypes[index]) {
+            case COMPRESSED_ENTRY:
+                reference = new PdfIndirectReference(entriesDocument, index, 0, entryOffsets[index]);
+                reference.setObjStreamNumber(entryGenerations[index]);
+                break;
+            case FREE_ENTRY:
+                reference = (PdfIndirectReference) new PdfIndirectReference(entriesDocument, index,
+                        entryGenerations[index], entryOffsets[index]).setState(PdfObject.FREE);
+                break;
+            default:
+                reference = new PdfIndirectReference(entriesDocument, index, entryGenerations[index],
+                        entryOffsets[index]);
+                break;
+        }
+        entryTypes[index] = NO_ENTRY;
+        xref[index] = reference;
+        return reference;
+    }
+
+    private boolean isFreeOrAbsent(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference != null) {
+            return reference.isFree();
+        }
+        return entryTypes == null || entryTypes[index] == NO_ENTRY || entryTypes[index] == FREE_ENTRY;
+    }
+
+    private void clearEntries() {
+        entryTypes = null;
+        entryOffsets = null;
+        entryGenerations = null;
+        entriesDocument = null;
+    }
+
+    private void putToFreeReferencesList(int objNr, PdfIndirectReference prevFreeRef) {
+        if (freeReferencesLinkedList == null) {
+            freeReferencesLinkedList = new PdfIndirectReference[Math.max(xref.length, objNr + 1)];
+        } else if (objNr >= freeReferencesLinkedList.length) {
+            freeReferencesLinkedList = Arrays.copyOf(freeReferencesLinkedList,
+                    Math.max(xref.length, objNr + 1));
+        }
+        if (freeReferencesLinkedList[objNr] == null) {
+            freeReferencesCount++;
+        }
+        freeReferencesLinkedList[objNr] = prevFreeRef;
+    }
+
+    private PdfIndirectReference removeFromFreeReferencesList(int objNr) {
+        if (objNr >= freeReferencesLinkedList.length || freeReferencesLinkedList[objNr] == null) {
+            return null;
+        }
+        PdfIndirectReference prevFreeRef = freeReferencesLinkedList[objNr];
+        freeReferencesLinkedList[objNr] = null;
+        freeReferencesCount--;
+        return prevFreeRef;
+    }
+
+    private void clearFreeReferencesList() {
+        freeReferencesLinkedList = null;
+        freeReferencesCount = 0;
+    }
+
     private void appendNewRefToFreeList(PdfIndirectReference reference) {
         reference.setOffset(0);
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesCount == 0) {
             assert false;
             // free references list is not initialized yet
             return;
         }
-        PdfIndirectReference lastFreeRef = freeReferencesLinkedList.get(0);
+        PdfIndirectReference lastFreeRef = freeReferencesLinkedList[0];
         ((PdfIndirectReference) lastFreeRef.setState(PdfObject.MODIFIED)).setOffset(reference.getObjNumber());
-        freeReferencesLinkedList.put(reference.getObjNumber(), lastFreeRef);
-        freeReferencesLinkedList.put(0, reference);
+        putToFreeReferencesList(reference.getObjNumber(), lastFreeRef);
+        putToFreeReferencesList(0, reference);
     }
 
     /**
@@ -579,7 +854,7 @@ public class PdfXrefTable {
      * passed as parameter. {@code null} - if given object number doesn't correspond to free reference or equals to zero.
      */
     private PdfIndirectReference removeFreeRefFromList(int freeRefObjNr) {
-        if (freeReferencesLinkedList.<Integer, PdfIndirectReference>isEmpty()) {
+        if (freeReferencesCount == 0) {
             assert false;
             // free references list is not initialized yet
             return null;
@@ -588,28 +863,28 @@ public class PdfXrefTable {
             return null;
         }
         if (freeRefObjNr < 0) {
-            Integer leastFreeRefObjNum = null;
-            for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
+            int leastFreeRefObjNum = -1;
+            for (int i = 1; i < freeReferencesLinkedList.length; i++) {
+                if (freeReferencesLinkedList[i] == null || get(i).getGenNumber() >= MAX_GENERATION) {
                     continue;
                 }
-                leastFreeRefObjNum = entry.getKey();
+                leastFreeRefObjNum = i;
                 break;
             }
-            if (leastFreeRefObjNum == null) {
+            if (leastFreeRefObjNum == -1) {
                 return null;
             }
-            freeRefObjNr = (int)leastFreeRefObjNum;
+            freeRefObjNr = leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = get(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
 
-        PdfIndirectReference prevFreeRef = freeReferencesLinkedList.remove(freeRef.getObjNumber());
+        PdfIndirectReference prevFreeRef = removeFromFreeReferencesList(freeRef.getObjNumber());
         if (prevFreeRef != null) {
-            freeReferencesLinkedList.put((int) freeRef.getOffset(), prevFreeRef);
+            putToFreeReferencesList((int) freeRef.getOffset(), prevFreeRef);
             ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(freeRef.getOffset());
         }
 
@@ -629,5 +904,10 @@ public class PdfXrefTable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(this.xref, 0, newXref, 0, this.xref.length);
         this.xref = newXref;
+        if (entryTypes != null) {
+            entryTypes = Arrays.copyOf(entryTypes, capacity);
+            entryOffsets = Arrays.copyOf(entryOffsets, capacity);
+            entryGenerations = Arrays.copyOf(entryGenerations, capacity);
+        }
     }
 }
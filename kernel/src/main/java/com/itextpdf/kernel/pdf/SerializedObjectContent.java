@@ -27,10 +27,23 @@ import java.util.Arrays;
 class SerializedObjectContent {
     private final byte[] serializedContent;
     private final int hash;
+    private final long contentSize;
 
     SerializedObjectContent(byte[] serializedContent) {
+        this(serializedContent, serializedContent.length);
+    }
+
+    /**
+     * Creates serialized object content.
+     *
+     * @param serializedContent serialized object bytes or their digest
+     * @param contentSize       the size of the object content which is represented by the serialized bytes,
+     *                          used for statistics only
+     */
+    SerializedObjectContent(byte[] serializedContent, long contentSize) {
         this.serializedContent = serializedContent;
         this.hash = calculateHash(serializedContent);
+        this.contentSize = contentSize;
     }
 
     @Override
@@ -45,6 +58,10 @@ class SerializedObjectContent {
         return hash;
     }
 
+    long getContentSize() {
+        return contentSize;
+    }
+
     private static int calculateHash(byte[] b) {
         int hash = 0;
         int len = b.length;
@@ -27,18 +27,51 @@ import com.itextpdf.kernel.exceptions.PdfException;
 
 import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 class SmartModePdfObjectsSerializer {
     private MessageDigest sha512;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private final Map<SerializedObjectContent, PdfIndirectReference> serializedContentToObj;
+    private final boolean digestKeys;
+    private long hits = 0;
+    private long misses = 0;
+    private long savedBytes = 0;
+    private long evictedObjects = 0;
 
     SmartModePdfObjectsSerializer() {
+        this(false, 0);
+    }
+
+    /**
+     * Creates the serializer.
+     *
+     * @param digestKeys       if true, objects are identified by the SHA-512 digest of their serialized content
+     *                         instead of the content itself
+     * @param maxCachedObjects max number of the objects which are remembered for reuse, the least recently used
+     *                         ones are forgotten first; 0 or less means no limit
+     */
+    SmartModePdfObjectsSerializer(boolean digestKeys, final int maxCachedObjects) {
         try {
             sha512 = MessageDigest.getInstance("SHA-512");
         } catch (Exception e) {
             throw new PdfException(e);
         }
+        this.digestKeys = digestKeys;
+        if (maxCachedObjects > 0) {
+            serializedContentToObj = new LinkedHashMap<SerializedObjectContent, PdfIndirectReference>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SerializedObjectContent, PdfIndirectReference> eldest) {
+                    if (size() > maxCachedObjects) {
+                        evictedObjects++;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        } else {
+            serializedContentToObj = new HashMap<>();
+        }
     }
 
     public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference) {
@@ -47,11 +80,22 @@ class SmartModePdfObjectsSerializer {
 
     public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent) {
         if (serializedContent != null) {
-            return serializedContentToObj.get(serializedContent);
+            PdfIndirectReference objectReference = serializedContentToObj.get(serializedContent);
+            if (objectReference != null) {
+                hits++;
+                savedBytes += serializedContent.getContentSize();
+            } else {
+                misses++;
+            }
+            return objectReference;
         }
         return null;
     }
 
+    public SmartModeStatistics getStatistics() {
+        return new SmartModeStatistics(hits, misses, savedBytes, serializedContentToObj.size(), evictedObjects);
+    }
+
     public SerializedObjectContent serializeObject(PdfObject obj) {
         if (!obj.isStream() && !obj.isDictionary()) {
             return null;
@@ -71,7 +115,27 @@ class SmartModePdfObjectsSerializer {
             }
             content = bb.toByteArray();
         }
-        return new SerializedObjectContent(content);
+        long contentSize = content.length;
+        if (obj.isStream()) {
+            contentSize += getStreamContentSize((PdfStream) obj);
+        }
+        if (digestKeys) {
+            return new SerializedObjectContent(sha512.digest(content), contentSize);
+        }
+        return new SerializedObjectContent(content, contentSize);
+    }
+
+    /**
+     * Gets the size of the content of the stream. The length of a stream created in memory is unknown until
+     * the stream is written, so the size of its bytes is used, which are serialized anyway.
+     */
+    private static long getStreamContentSize(PdfStream stream) {
+        int length = stream.getLength();
+        if (length >= 0) {
+            return length;
+        }
+        byte[] bytes = stream.getBytes(false);
+        return bytes != null ? bytes.length : 0;
     }
 
     private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
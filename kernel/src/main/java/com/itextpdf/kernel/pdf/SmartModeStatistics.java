@@ -0,0 +1,101 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * Statistics of the object reuse performed by {@link PdfWriter} in smart mode.
+ *
+ * @see WriterProperties#useSmartMode()
+ * @see WriterProperties#useDigestSmartMode(int)
+ */
+public final class SmartModeStatistics {
+    private final long hits;
+    private final long misses;
+    private final long savedBytes;
+    private final int cachedObjects;
+    private final long evictedObjects;
+
+    SmartModeStatistics(long hits, long misses, long savedBytes, int cachedObjects, long evictedObjects) {
+        this.hits = hits;
+        this.misses = misses;
+        this.savedBytes = savedBytes;
+        this.cachedObjects = cachedObjects;
+        this.evictedObjects = evictedObjects;
+    }
+
+    /**
+     * Gets the number of copied objects which were replaced with already existing equal objects.
+     *
+     * @return the number of reused objects
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of copied objects for which no equal object was found.
+     *
+     * @return the number of objects which were actually copied
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the part of all lookups which resulted in an object reuse.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Gets the estimated number of bytes which were not written thanks to the object reuse. The estimation
+     * is based on the size of the serialized dictionaries and the encoded length of the streams.
+     *
+     * @return the estimated number of saved bytes
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * Gets the number of objects which are currently remembered for reuse.
+     *
+     * @return the number of cached objects
+     */
+    public int getCachedObjects() {
+        return cachedObjects;
+    }
+
+    /**
+     * Gets the number of objects which were forgotten because the cache limit was reached.
+     *
+     * @return the number of evicted objects
+     */
+    public long getEvictedObjects() {
+        return evictedObjects;
+    }
+}
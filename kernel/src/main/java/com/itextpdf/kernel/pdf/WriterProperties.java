@@ -23,6 +23,8 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 
 import java.security.cert.Certificate;
 
@@ -41,6 +43,17 @@ public class WriterProperties {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+
+    /**
+     * Indicates if the objects in smart mode are identified by the digest of their content instead of
+     * the serialized content itself.
+     */
+    protected boolean smartModeDigestKeys;
+
+    /**
+     * Max number of the objects remembered for reuse in smart mode. 0 or less means no limit.
+     */
+    protected int smartModeCacheSize;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -55,10 +68,30 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The number of threads used to compress the streams of the document when it is being closed.
+     */
+    protected int compressionThreadCount;
+
+    /**
+     * The max number of objects in an object stream, if full compression is used.
+     */
+    protected int objectStreamSize;
+
+    /**
+     * Indicates if the objects written to object streams are compressed as soon as they are added to the stream.
+     */
+    protected boolean incrementalObjectStreamCompression;
+
     public WriterProperties() {
         smartMode = false;
+        smartModeDigestKeys = false;
+        smartModeCacheSize = 0;
         addUAXmpMetadata = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
+        compressionThreadCount = 1;
+        objectStreamSize = PdfObjectStream.MAX_OBJ_STREAM_SIZE;
+        incrementalObjectStreamCompression = false;
         isFullCompression = null;
         encryptionProperties = new EncryptionProperties();
     }
@@ -90,6 +123,26 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Enables smart mode with a bounded memory footprint.
+     * <br>
+     * Instead of the whole serialized content, only its SHA-512 digest is kept for each copied
+     * resource, and at most {@code maxCachedObjects} resources are remembered. When the limit is
+     * reached the least recently reused resources are forgotten first, so that their later
+     * duplicates are copied again. The statistics of the reuse can be obtained via
+     * {@link PdfWriter#getSmartModeStatistics()}.
+     *
+     * @param maxCachedObjects max number of the resources to remember, 0 or less means no limit
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useDigestSmartMode(int maxCachedObjects) {
+        this.smartMode = true;
+        this.smartModeDigestKeys = true;
+        this.smartModeCacheSize = maxCachedObjects;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -113,6 +166,22 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Defines the number of threads which are used to compress the content of the streams which are still
+     * in memory when the document is closed. The streams are written to the document in the same order
+     * and with the same content as in the single-threaded mode, only the compression itself is performed
+     * in parallel. Encryption is still done on the thread which closes the document.
+     * Default value is 1, which means that all streams are compressed on the thread which writes them.
+     *
+     * @param compressionThreadCount the number of compression threads, values less than 2 disable
+     *                               parallel compression
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setCompressionThreadCount(int compressionThreadCount) {
+        this.compressionThreadCount = compressionThreadCount;
+        return this;
+    }
+
     /**
      * Defines if full compression mode is enabled. If enabled, not only the content of the pdf document will be
      * compressed, but also the pdf document inner structure.
@@ -125,6 +194,37 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Defines the max number of objects in an object stream, which is used if full compression mode is enabled.
+     * Bigger object streams usually compress better, but need more memory while they are being filled.
+     * Default value is 200.
+     *
+     * @param objectStreamSize max number of objects in an object stream, shall be positive
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setObjectStreamSize(int objectStreamSize) {
+        if (objectStreamSize <= 0) {
+            throw new PdfException(KernelExceptionMessageConstant.OBJECT_STREAM_SIZE_SHALL_BE_POSITIVE);
+        }
+        this.objectStreamSize = objectStreamSize;
+        return this;
+    }
+
+    /**
+     * Enables incremental compression of object streams, which is used if full compression mode is enabled.
+     * <br>
+     * In this mode objects are compressed as soon as they are added to an object stream, so that
+     * only the compressed bytes of the object stream are kept in memory and they are not copied
+     * once again when the object stream is written. The resultant object streams are equivalent,
+     * but the compressed bytes may slightly differ from the ones produced by default.
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useIncrementalObjectStreamCompression() {
+        this.incrementalObjectStreamCompression = true;
+        return this;
+    }
+
     /**
      * Sets the encryption options for the document.
      *
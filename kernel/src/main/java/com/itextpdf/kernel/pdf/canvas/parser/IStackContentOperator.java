@@ -0,0 +1,42 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperandStack;
+
+/**
+ * A handler for content stream operators which reads the operands from a {@link ContentOperandStack}.
+ * {@link PdfCanvasProcessor} calls {@link #invoke(PdfCanvasProcessor, ContentOperandStack)} for such operators,
+ * so no {@link com.itextpdf.kernel.pdf.PdfObject} has to be created for their numeric operands.
+ * Operators which only implement {@link IContentOperator} still get the operands as a list.
+ */
+public interface IStackContentOperator extends IContentOperator {
+
+    /**
+     * Called when a content operator should be processed.
+     * @param processor The processor that is dealing with the PDF content stream.
+     * @param operands  The operands and the operator. The stack is reused for the next operator,
+     *                  so it must not be kept after the method returns.
+     */
+    void invoke(PdfCanvasProcessor processor, ContentOperandStack operands);
+}
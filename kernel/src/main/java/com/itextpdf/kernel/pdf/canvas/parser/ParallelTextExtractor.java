@@ -0,0 +1,197 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IndependentRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.ThreadSafeRandomAccessSource;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Extracts the text of the pages of a document on a pool of worker threads.
+ * <p>
+ * {@link PdfDocument} can't be used by several threads at the same time, so the pages are processed by
+ * worker documents, which are opened for the same bytes with one document per worker thread at most.
+ * The bytes of the document are shared between the worker documents, so that every worker only keeps
+ * the objects it has read itself.
+ */
+public final class ParallelTextExtractor {
+
+    private ParallelTextExtractor() {
+    }
+
+    /**
+     * Extracts the text of all pages of the document in parallel.
+     * <p>
+     * The worker documents read the byte source of the passed document, with the properties of its
+     * {@link PdfReader#getPropertiesCopy() reader}, so the bytes aren't copied. The reads of the workers are
+     * serialized, since the byte source may not support concurrent reads; the bytes are read in bulk, so the
+     * parsing is still done in parallel. Use {@link #getTextFromPages(String, ReaderProperties, Supplier, int)}
+     * to read a file without locking. The passed document must not be used or changed during the extraction.
+     * A document which is opened for writing or an encrypted document is processed page by page on the
+     * calling thread.
+     *
+     * @param document        the document to extract the text from
+     * @param strategySupplier creates a new strategy for every page, e.g. {@code LocationTextExtractionStrategy::new}
+     * @param parallelism     the maximum number of worker threads
+     * @return the text of the pages, in the order of the pages
+     */
+    public static List<String> getTextFromPages(PdfDocument document,
+            Supplier<? extends ITextExtractionStrategy> strategySupplier, int parallelism) {
+        PdfReader reader = document.getReader();
+        if (reader == null || document.getWriter() != null || reader.isEncrypted() || parallelism <= 1) {
+            List<String> result = new ArrayList<>(document.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                result.add(PdfTextExtractor.getTextFromPage(document.getPage(i), strategySupplier.get()));
+            }
+            return result;
+        }
+        // the view doesn't close the source of the passed document
+        IRandomAccessSource source = new ThreadSafeRandomAccessSource(reader.getSafeFile().createSourceView());
+        return getTextFromPages(source, reader, document.getNumberOfPages(), strategySupplier, parallelism);
+    }
+
+    /**
+     * Extracts the text of all pages of the document file in parallel. The file is mapped into memory
+     * once and shared between the workers without locking, see
+     * {@link RandomAccessSourceFactory#setConcurrentReads(boolean)}.
+     *
+     * @param filename        the name of the document file
+     * @param properties      the properties for reading the document
+     * @param strategySupplier creates a new strategy for every page, e.g. {@code LocationTextExtractionStrategy::new}
+     * @param parallelism     the maximum number of worker threads
+     * @return the text of the pages, in the order of the pages
+     * @throws IOException if the file can't be read
+     */
+    public static List<String> getTextFromPages(String filename, ReaderProperties properties,
+            Supplier<? extends ITextExtractionStrategy> strategySupplier, int parallelism) throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().setForceRead(false).setConcurrentReads(true)
+                .createBestSource(filename);
+        try {
+            PdfReader reader = new PdfReader(new IndependentRandomAccessSource(source), properties);
+            int numberOfPages;
+            try (PdfDocument document = new PdfDocument(reader)) {
+                numberOfPages = document.getNumberOfPages();
+            }
+            return getTextFromPages(source, reader, numberOfPages, strategySupplier, parallelism);
+        } finally {
+            source.close();
+        }
+    }
+
+    /**
+     * Extracts the text of the pages on worker documents, which are opened for the passed source. Every worker
+     * document gets its own copy of the properties of the passed reader, since the memory limits handler of
+     * the properties can't be shared between documents.
+     */
+    private static List<String> getTextFromPages(final IRandomAccessSource source, final PdfReader reader,
+            int numberOfPages, final Supplier<? extends ITextExtractionStrategy> strategySupplier, int parallelism) {
+        final Queue<PdfDocument> idleDocuments = new ConcurrentLinkedQueue<>();
+        final List<PdfDocument> openedDocuments = Collections.synchronizedList(new ArrayList<PdfDocument>());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, numberOfPages)));
+        List<Future<String>> results = new ArrayList<>(numberOfPages);
+        try {
+            for (int i = 1; i <= numberOfPages; i++) {
+                final int pageNumber = i;
+                results.add(pool.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws IOException {
+                        PdfDocument document = idleDocuments.poll();
+                        if (document == null) {
+                            // closing the view doesn't close the shared source
+                            document = new PdfDocument(new PdfReader(new IndependentRandomAccessSource(source),
+                                    reader.getPropertiesCopy()));
+                            openedDocuments.add(document);
+                        }
+                        try {
+                            return PdfTextExtractor.getTextFromPage(document.getPage(pageNumber),
+                                    strategySupplier.get());
+                        } finally {
+                            idleDocuments.add(document);
+                        }
+                    }
+                }));
+            }
+            List<String> texts = new ArrayList<>(numberOfPages);
+            for (Future<String> result : results) {
+                texts.add(result.get());
+            }
+            return texts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.TEXT_EXTRACTION_WAS_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e.getCause());
+        } finally {
+            // the pages which are being processed are finished, the documents may only be closed afterwards
+            for (Future<String> result : results) {
+                result.cancel(false);
+            }
+            pool.shutdown();
+            awaitTermination(pool);
+            synchronized (openedDocuments) {
+                for (PdfDocument document : openedDocuments) {
+                    document.close();
+                }
+            }
+        }
+    }
+
+    private static void awaitTermination(ForkJoinPool pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
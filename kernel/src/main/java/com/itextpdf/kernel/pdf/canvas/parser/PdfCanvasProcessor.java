@@ -69,6 +69,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperandStack;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.kernel.pdf.colorspace.PdfCieBasedCs;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
@@ -82,6 +83,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Processor for a PDF content stream.
@@ -116,6 +118,11 @@ public class PdfCanvasProcessor {
     /**
      * A map with all supported operators (PDF syntax).
      */
+    /**
+     * Whether the subclasses override {@link #invokeOperator(PdfLiteral, List)}, by the class of the processor.
+     */
+    private static final Map<Class<?>, Boolean> LIST_BASED_INVOKE_OPERATOR_OVERRIDES = new ConcurrentHashMap<>();
+
     private Map<String, IContentOperator> operators;
 
     /**
@@ -131,6 +138,12 @@ public class PdfCanvasProcessor {
      */
     private final Stack<ParserGraphicsState> gsStack = new Stack<>();
 
+    /**
+     * Whether the operators are invoked through {@link #invokeOperator(PdfLiteral, List)}, because a subclass
+     * overrides it.
+     */
+    private final boolean invokeOperatorWithList;
+
     private Matrix textMatrix;
     private Matrix textLineMatrix;
 
@@ -157,6 +170,7 @@ public class PdfCanvasProcessor {
      */
     public PdfCanvasProcessor(IEventListener eventListener) {
         this.eventListener = eventListener;
+        this.invokeOperatorWithList = isListBasedInvokeOperatorOverridden(getClass());
         this.supportedEvents = eventListener.getSupportedEvents();
         operators = new HashMap<>();
         populateOperators();
@@ -254,11 +268,16 @@ public class PdfCanvasProcessor {
         this.resourcesStack.push(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
+        ContentOperandStack operands = new ContentOperandStack();
         try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
+            while (ps.parseOperands(operands)) {
+                if (operands.getOperator() == null || invokeOperatorWithList) {
+                    // the content ended with operands but without an operator, or a subclass intercepts operators
+                    List<PdfObject> operandList = operands.toList(null);
+                    invokeOperator((PdfLiteral) operandList.get(operandList.size() - 1), operandList);
+                } else {
+                    invokeOperator(operands);
+                }
             }
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
@@ -433,6 +452,51 @@ public class PdfCanvasProcessor {
         op.invoke(this, operator, operands);
     }
 
+    /**
+     * Invokes an operator. Operators implementing {@link IStackContentOperator} get the operands directly,
+     * other operators get them as a list, the same as {@link #invokeOperator(PdfLiteral, List)} passes them.
+     * The content is processed with this method, unless a subclass overrides
+     * {@link #invokeOperator(PdfLiteral, List)}, in which case every operator is passed to that method instead.
+     *
+     * @param operands the operands and the operator to invoke
+     */
+    protected void invokeOperator(ContentOperandStack operands) {
+        IContentOperator op = operators.get(operands.getOperator());
+        if (op == null) {
+            op = operators.get(DEFAULT_OPERATOR);
+        }
+        if (op instanceof IStackContentOperator) {
+            ((IStackContentOperator) op).invoke(this, operands);
+        } else {
+            List<PdfObject> operandList = operands.toList(null);
+            op.invoke(this, (PdfLiteral) operandList.get(operandList.size() - 1), operandList);
+        }
+    }
+
+    private static boolean isListBasedInvokeOperatorOverridden(Class<?> processorClass) {
+        Boolean overridden = LIST_BASED_INVOKE_OPERATOR_OVERRIDES.get(processorClass);
+        if (overridden == null) {
+            overridden = findListBasedInvokeOperatorOverride(processorClass);
+            LIST_BASED_INVOKE_OPERATOR_OVERRIDES.put(processorClass, overridden);
+        }
+        return (boolean) overridden;
+    }
+
+    private static boolean findListBasedInvokeOperatorOverride(Class<?> processorClass) {
+        for (Class<?> cls = processorClass; cls != PdfCanvasProcessor.class; cls = cls.getSuperclass()) {
+            try {
+                cls.getDeclaredMethod("invokeOperator", PdfLiteral.class, List.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // Look further up the hierarchy
+            } catch (SecurityException e) {
+                // The override can't be ruled out, invoking it is always correct
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected PdfStream getXObjectStream(PdfName xobjectName) {
         PdfDictionary xobjects = getResources().getResource(PdfName.XObject);
         return xobjects.getAsStream(xobjectName);
@@ -454,7 +518,9 @@ public class PdfCanvasProcessor {
 
     /**
      * Creates a {@link PdfFont} object by a font dictionary. The font may have been cached in case
-     * it is an indirect object.
+     * it is an indirect object. The fonts of a document are cached by the document, see
+     * {@link com.itextpdf.kernel.pdf.PdfDocument#getDecodedFont(PdfDictionary)}, so they are
+     * shared between all the pages and processors of the document.
      *
      * @param fontDict the {@link PdfDictionary font dictionary} to create the font from
      * @return the created font
@@ -462,6 +528,8 @@ public class PdfCanvasProcessor {
     protected PdfFont getFont(PdfDictionary fontDict) {
         if (fontDict.getIndirectReference() == null) {
             return PdfFontFactory.createFont(fontDict);
+        } else if (fontDict.getIndirectReference().getDocument() != null) {
+            return fontDict.getIndirectReference().getDocument().getDecodedFont(fontDict);
         } else {
             int n = fontDict.getIndirectReference().getObjNumber();
             WeakReference<PdfFont> fontRef = cachedFonts.get(n);
@@ -573,13 +641,26 @@ public class PdfCanvasProcessor {
     }
 
     /**
-     * A handler that implements operator (unregistered).
+     * A base class for the built-in operators, which passes the operands of {@link IContentOperator} calls
+     * to the {@link ContentOperandStack} based implementation.
      */
-    private static class IgnoreOperator implements IContentOperator {
+    private abstract static class StackContentOperator implements IStackContentOperator {
         /**
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+            invoke(processor, new ContentOperandStack(operator, operands));
+        }
+    }
+
+    /**
+     * A handler that implements operator (unregistered).
+     */
+    private static class IgnoreOperator extends StackContentOperator {
+        /**
+         * {@inheritDoc}
+         */
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             // ignore the operator
         }
     }
@@ -587,11 +668,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (TJ). For more information see Table 51 ISO-32000-1
      */
-    private static class ShowTextArrayOperator implements IContentOperator {
+    private static class ShowTextArrayOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfArray array = (PdfArray) operands.get(0);
             float tj = 0;
             for (PdfObject entryObj : array) {
@@ -609,7 +690,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator ("). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveNextLineAndShowTextWithSpacingOperator implements IContentOperator {
+    private static class MoveNextLineAndShowTextWithSpacingOperator extends StackContentOperator {
         private final SetTextWordSpacingOperator setTextWordSpacing;
         private final SetTextCharacterSpacingOperator setTextCharacterSpacing;
         private final MoveNextLineAndShowTextOperator moveNextLineAndShowText;
@@ -630,29 +711,21 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber aw = (PdfNumber) operands.get(0);
-            PdfNumber ac = (PdfNumber) operands.get(1);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float aw = operands.getFloat(0);
+            float ac = operands.getFloat(1);
             PdfString string = (PdfString) operands.get(2);
 
-            List<PdfObject> twOperands = new ArrayList<PdfObject>(1);
-            twOperands.add(0, aw);
-            setTextWordSpacing.invoke(processor, null, twOperands);
-
-            List<PdfObject> tcOperands = new ArrayList<PdfObject>(1);
-            tcOperands.add(0, ac);
-            setTextCharacterSpacing.invoke(processor, null, tcOperands);
-
-            List<PdfObject> tickOperands = new ArrayList<PdfObject>(1);
-            tickOperands.add(0, string);
-            moveNextLineAndShowText.invoke(processor, null, tickOperands);
+            setTextWordSpacing.setWordSpacing(processor, aw);
+            setTextCharacterSpacing.setCharSpacing(processor, ac);
+            moveNextLineAndShowText.moveNextLineAndShowText(processor, string);
         }
     }
 
     /**
      * A handler that implements operator ('). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveNextLineAndShowTextOperator implements IContentOperator {
+    private static class MoveNextLineAndShowTextOperator extends StackContentOperator {
         private final TextMoveNextLineOperator textMoveNextLine;
         private final ShowTextOperator showText;
 
@@ -670,22 +743,28 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            textMoveNextLine.invoke(processor, null, new ArrayList<PdfObject>(0));
-            showText.invoke(processor, null, operands);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            moveNextLineAndShowText(processor, (PdfString) operands.get(0));
+        }
+
+        void moveNextLineAndShowText(PdfCanvasProcessor processor, PdfString string) {
+            textMoveNextLine.moveNextLine(processor);
+            showText.showText(processor, string);
         }
     }
 
     /**
      * A handler that implements operator (Tj). For more information see Table 51 ISO-32000-1
      */
-    private static class ShowTextOperator implements IContentOperator {
+    private static class ShowTextOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfString string = (PdfString) operands.get(0);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            showText(processor, (PdfString) operands.get(0));
+        }
 
+        void showText(PdfCanvasProcessor processor, PdfString string) {
             processor.displayPdfString(string);
         }
     }
@@ -694,7 +773,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (T*). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveNextLineOperator implements IContentOperator {
+    private static class TextMoveNextLineOperator extends StackContentOperator {
         private final TextMoveStartNextLineOperator moveStartNextLine;
 
         public TextMoveNextLineOperator(TextMoveStartNextLineOperator moveStartNextLine) {
@@ -704,28 +783,29 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            List<PdfObject> tdoperands = new ArrayList<PdfObject>(2);
-            tdoperands.add(0, new PdfNumber(0));
-            tdoperands.add(1, new PdfNumber(-processor.getGraphicsState().getLeading()));
-            moveStartNextLine.invoke(processor, null, tdoperands);
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            moveNextLine(processor);
+        }
+
+        void moveNextLine(PdfCanvasProcessor processor) {
+            moveStartNextLine.moveStartNextLine(processor, 0, -processor.getGraphicsState().getLeading());
         }
     }
 
     /**
      * A handler that implements operator (Tm). For more information see Table 51 ISO-32000-1
      */
-    private static class TextSetTextMatrixOperator implements IContentOperator {
+    private static class TextSetTextMatrixOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float a = operands.getFloat(0);
+            float b = operands.getFloat(1);
+            float c = operands.getFloat(2);
+            float d = operands.getFloat(3);
+            float e = operands.getFloat(4);
+            float f = operands.getFloat(5);
 
             processor.textLineMatrix = new Matrix(a, b, c, d, e, f);
             processor.textMatrix = processor.textLineMatrix;
@@ -735,7 +815,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (TD). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveStartNextLineWithLeadingOperator implements IContentOperator {
+    private static class TextMoveStartNextLineWithLeadingOperator extends StackContentOperator {
         private final TextMoveStartNextLineOperator moveStartNextLine;
         private final SetTextLeadingOperator setTextLeading;
 
@@ -747,27 +827,27 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float tx = operands.getFloat(0);
+            float ty = operands.getFloat(1);
 
-            List<PdfObject> tlOperands = new ArrayList<PdfObject>(1);
-            tlOperands.add(0, new PdfNumber(-ty));
-            setTextLeading.invoke(processor, null, tlOperands);
-            moveStartNextLine.invoke(processor, null, operands);
+            setTextLeading.setLeading(processor, -ty);
+            moveStartNextLine.moveStartNextLine(processor, tx, ty);
         }
     }
 
     /**
      * A handler that implements operator (Td). For more information see Table 51 ISO-32000-1
      */
-    private static class TextMoveStartNextLineOperator implements IContentOperator {
+    private static class TextMoveStartNextLineOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float tx = ((PdfNumber) operands.get(0)).floatValue();
-            float ty = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            moveStartNextLine(processor, operands.getFloat(0), operands.getFloat(1));
+        }
 
+        void moveStartNextLine(PdfCanvasProcessor processor, float tx, float ty) {
             Matrix translationMatrix = new Matrix(tx, ty);
             processor.textMatrix = translationMatrix.multiply(processor.textLineMatrix);
             processor.textLineMatrix = processor.textMatrix;
@@ -777,13 +857,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Tf). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextFontOperator implements IContentOperator {
+    private static class SetTextFontOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName fontResourceName = (PdfName) operands.get(0);
-            float size = ((PdfNumber) operands.get(1)).floatValue();
+            float size = operands.getFloat(1);
 
             PdfDictionary fontsDictionary = processor.getResources().getResource(PdfName.Font);
             PdfDictionary fontDict = fontsDictionary.getAsDictionary(fontResourceName);
@@ -799,95 +879,101 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Tr). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextRenderModeOperator implements IContentOperator {
+    private static class SetTextRenderModeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber render = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRenderingMode(render.intValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            processor.getGraphicsState().setTextRenderingMode(operands.getInt(0));
         }
     }
 
     /**
      * A handler that implements operator (Ts). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextRiseOperator implements IContentOperator {
+    private static class SetTextRiseOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber rise = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setTextRise(rise.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            processor.getGraphicsState().setTextRise(operands.getFloat(0));
         }
     }
 
     /**
      * A handler that implements operator (TL). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextLeadingOperator implements IContentOperator {
+    private static class SetTextLeadingOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber leading = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setLeading(leading.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            setLeading(processor, operands.getFloat(0));
+        }
+
+        void setLeading(PdfCanvasProcessor processor, float leading) {
+            processor.getGraphicsState().setLeading(leading);
         }
     }
 
     /**
      * A handler that implements operator (Tz). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextHorizontalScalingOperator implements IContentOperator {
+    private static class SetTextHorizontalScalingOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber scale = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setHorizontalScaling(scale.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            processor.getGraphicsState().setHorizontalScaling(operands.getFloat(0));
         }
     }
 
     /**
      * A handler that implements operator (Tc). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextCharacterSpacingOperator implements IContentOperator {
+    private static class SetTextCharacterSpacingOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber charSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setCharSpacing(charSpace.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            setCharSpacing(processor, operands.getFloat(0));
+        }
+
+        void setCharSpacing(PdfCanvasProcessor processor, float charSpacing) {
+            processor.getGraphicsState().setCharSpacing(charSpacing);
         }
     }
 
     /**
      * A handler that implements operator (Tw). For more information see Table 51 ISO-32000-1
      */
-    private static class SetTextWordSpacingOperator implements IContentOperator {
+    private static class SetTextWordSpacingOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            PdfNumber wordSpace = (PdfNumber) operands.get(0);
-            processor.getGraphicsState().setWordSpacing(wordSpace.floatValue());
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            setWordSpacing(processor, operands.getFloat(0));
+        }
+
+        void setWordSpacing(PdfCanvasProcessor processor, float wordSpacing) {
+            processor.getGraphicsState().setWordSpacing(wordSpacing);
         }
     }
 
     /**
      * A handler that implements operator (gs). For more information see Table 51 ISO-32000-1
      */
-    private static class ProcessGraphicsStateResourceOperator implements IContentOperator {
+    private static class ProcessGraphicsStateResourceOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName dictionaryName = (PdfName) operands.get(0);
             PdfDictionary extGState = processor.getResources().getResource(PdfName.ExtGState);
             if (extGState == null)
                 throw new PdfException(
                         KernelExceptionMessageConstant.RESOURCES_DO_NOT_CONTAIN_EXTGSTATE_ENTRY_UNABLE_TO_PROCESS_THIS_OPERATOR
-                ).setMessageParams(operator);
+                ).setMessageParams(operands.getOperator());
             PdfDictionary gsDic = extGState.getAsDictionary(dictionaryName);
             if (gsDic == null) {
                 gsDic = extGState.getAsStream(dictionaryName);
@@ -911,11 +997,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (q). For more information see Table 51 ISO-32000-1
      */
-    private static class PushGraphicsStateOperator implements IContentOperator {
+    private static class PushGraphicsStateOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             ParserGraphicsState gs = processor.gsStack.peek();
             ParserGraphicsState copy = new ParserGraphicsState(gs);
             processor.gsStack.push(copy);
@@ -925,17 +1011,17 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (cm). For more information see Table 51 ISO-32000-1
      */
-    private static class ModifyCurrentTransformationMatrixOperator implements IContentOperator {
+    private static class ModifyCurrentTransformationMatrixOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float a = ((PdfNumber) operands.get(0)).floatValue();
-            float b = ((PdfNumber) operands.get(1)).floatValue();
-            float c = ((PdfNumber) operands.get(2)).floatValue();
-            float d = ((PdfNumber) operands.get(3)).floatValue();
-            float e = ((PdfNumber) operands.get(4)).floatValue();
-            float f = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float a = operands.getFloat(0);
+            float b = operands.getFloat(1);
+            float c = operands.getFloat(2);
+            float d = operands.getFloat(3);
+            float e = operands.getFloat(4);
+            float f = operands.getFloat(5);
             Matrix matrix = new Matrix(a, b, c, d, e, f);
             try {
                 processor.getGraphicsState().updateCtm(matrix);
@@ -953,7 +1039,7 @@ public class PdfCanvasProcessor {
     /**
      * Gets a color based on a list of operands and Color space.
      */
-    private static Color getColor(PdfColorSpace pdfColorSpace, List<PdfObject> operands, PdfResources resources) {
+    private static Color getColor(PdfColorSpace pdfColorSpace, ContentOperandStack operands, PdfResources resources) {
         PdfObject pdfObject;
         if (pdfColorSpace.getPdfObject().isIndirectReference()) {
             pdfObject = ((PdfIndirectReference) pdfColorSpace.getPdfObject()).getRefersTo();
@@ -997,13 +1083,12 @@ public class PdfCanvasProcessor {
             else if (PdfName.DeviceN.equals(csType))
                 return new DeviceN((PdfSpecialCs.DeviceN) pdfColorSpace, getColorants(operands));
             else if (PdfName.Pattern.equals(csType)) {
-                List<PdfObject> underlyingOperands = new ArrayList<>(operands);
-                PdfObject patternName = underlyingOperands.remove(operands.size() - 2);
+                PdfObject patternName = operands.get(operands.size() - 1);
                 PdfColorSpace underlyingCs = ((PdfSpecialCs.UncoloredTilingPattern) pdfColorSpace).getUnderlyingColorSpace();
                 if (patternName instanceof PdfName) {
                     PdfPattern pattern = resources.getPattern((PdfName) patternName);
                     if (pattern instanceof PdfPattern.Tiling && !((PdfPattern.Tiling) pattern).isColored()) {
-                        return new PatternColor((PdfPattern.Tiling) pattern, underlyingCs, getColorants(underlyingOperands));
+                        return new PatternColor((PdfPattern.Tiling) pattern, underlyingCs, getColorants(operands, operands.size() - 1));
                     }
                 }
             }
@@ -1011,7 +1096,7 @@ public class PdfCanvasProcessor {
 
         Logger logger = LoggerFactory.getLogger(PdfCanvasProcessor.class);
         logger.warn(MessageFormatUtil.format(KernelLogMessageConstant.UNABLE_TO_PARSE_COLOR_WITHIN_COLORSPACE,
-                Arrays.toString((Object[])operands.toArray()), pdfColorSpace.getPdfObject()));
+                Arrays.toString((Object[])operands.toList(null).toArray()), pdfColorSpace.getPdfObject()));
 
         return null;
     }
@@ -1019,11 +1104,8 @@ public class PdfCanvasProcessor {
     /**
      * Gets a color based on a list of operands.
      */
-    private static Color getColor(int nOperands, List<PdfObject> operands) {
-        float[] c = new float[nOperands];
-        for (int i = 0; i < nOperands; i++) {
-            c[i] = ((PdfNumber) operands.get(i)).floatValue();
-        }
+    private static Color getColor(int nOperands, ContentOperandStack operands) {
+        float[] c = getColorants(operands, nOperands);
 
         switch (nOperands) {
             case 1:
@@ -1036,10 +1118,14 @@ public class PdfCanvasProcessor {
         return null;
     }
 
-    private static float[] getColorants(List<PdfObject> operands) {
-        float[] c = new float[operands.size() - 1];
-        for (int i = 0; i < operands.size() - 1; i++) {
-            c[i] = ((PdfNumber) operands.get(i)).floatValue();
+    private static float[] getColorants(ContentOperandStack operands) {
+        return getColorants(operands, operands.size());
+    }
+
+    private static float[] getColorants(ContentOperandStack operands, int count) {
+        float[] c = new float[count];
+        for (int i = 0; i < count; i++) {
+            c[i] = operands.getFloat(i);
         }
         return c;
     }
@@ -1047,11 +1133,18 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Q). For more information see Table 51 ISO-32000-1
      */
-    protected static class PopGraphicsStateOperator implements IContentOperator {
+    protected static class PopGraphicsStateOperator implements IStackContentOperator {
         /**
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+            invoke(processor, (ContentOperandStack) null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.gsStack.pop();
             ParserGraphicsState gs = processor.getGraphicsState();
             processor.eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
@@ -1061,11 +1154,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (g). For more information see Table 51 ISO-32000-1
      */
-    private static class SetGrayFillOperator implements IContentOperator {
+    private static class SetGrayFillOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(1, operands));
         }
     }
@@ -1073,11 +1166,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (G). For more information see Table 51 ISO-32000-1
      */
-    private static class SetGrayStrokeOperator implements IContentOperator {
+    private static class SetGrayStrokeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(1, operands));
         }
     }
@@ -1085,11 +1178,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (rg). For more information see Table 51 ISO-32000-1
      */
-    private static class SetRGBFillOperator implements IContentOperator {
+    private static class SetRGBFillOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(3, operands));
         }
     }
@@ -1097,11 +1190,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (RG). For more information see Table 51 ISO-32000-1
      */
-    private static class SetRGBStrokeOperator implements IContentOperator {
+    private static class SetRGBStrokeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(3, operands));
         }
     }
@@ -1109,11 +1202,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (k). For more information see Table 51 ISO-32000-1
      */
-    private static class SetCMYKFillOperator implements IContentOperator {
+    private static class SetCMYKFillOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(4, operands));
         }
     }
@@ -1121,11 +1214,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (K). For more information see Table 51 ISO-32000-1
      */
-    private static class SetCMYKStrokeOperator implements IContentOperator {
+    private static class SetCMYKStrokeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(4, operands));
         }
     }
@@ -1133,11 +1226,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (CS). For more information see Table 51 ISO-32000-1
      */
-    private static class SetColorSpaceFillOperator implements IContentOperator {
+    private static class SetColorSpaceFillOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfColorSpace pdfColorSpace = determineColorSpace((PdfName) operands.get(0), processor);
             processor.getGraphicsState().setFillColor(Color.makeColor(pdfColorSpace));
         }
@@ -1160,11 +1253,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (cs). For more information see Table 51 ISO-32000-1
      */
-    private static class SetColorSpaceStrokeOperator implements IContentOperator {
+    private static class SetColorSpaceStrokeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfColorSpace pdfColorSpace = SetColorSpaceFillOperator.determineColorSpace((PdfName) operands.get(0), processor);
             processor.getGraphicsState().setStrokeColor(Color.makeColor(pdfColorSpace));
         }
@@ -1173,11 +1266,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (sc / scn). For more information see Table 51 ISO-32000-1
      */
-    private static class SetColorFillOperator implements IContentOperator {
+    private static class SetColorFillOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setFillColor(getColor(processor.getGraphicsState().getFillColor().getColorSpace(), operands, processor.getResources()));
         }
     }
@@ -1185,11 +1278,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (SC / SCN). For more information see Table 51 ISO-32000-1
      */
-    private static class SetColorStrokeOperator implements IContentOperator {
+    private static class SetColorStrokeOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setStrokeColor(getColor(processor.getGraphicsState().getStrokeColor().getColorSpace(), operands, processor.getResources()));
         }
     }
@@ -1197,11 +1290,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BT). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginTextOperator implements IContentOperator {
+    private static class BeginTextOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.textMatrix = new Matrix();
             processor.textLineMatrix = processor.textMatrix;
             processor.beginText();
@@ -1211,11 +1304,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (ET). For more information see Table 51 ISO-32000-1
      */
-    private static class EndTextOperator implements IContentOperator {
+    private static class EndTextOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.textMatrix = null;
             processor.textLineMatrix = null;
             processor.endText();
@@ -1225,12 +1318,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BMC). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginMarkedContentOperator implements IContentOperator {
+    private static class BeginMarkedContentOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.beginMarkedContent((PdfName) operands.get(0), null);
         }
 
@@ -1239,12 +1331,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (BDC). For more information see Table 51 ISO-32000-1
      */
-    private static class BeginMarkedContentDictionaryOperator implements IContentOperator {
+    private static class BeginMarkedContentDictionaryOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
 
             PdfObject properties = operands.get(1);
 
@@ -1279,12 +1370,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (EMC). For more information see Table 51 ISO-32000-1
      */
-    private static class EndMarkedContentOperator implements IContentOperator {
+    private static class EndMarkedContentOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor,
-                           PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.endMarkedContent();
         }
     }
@@ -1292,11 +1382,11 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (Do). For more information see Table 51 ISO-32000-1
      */
-    private static class DoOperator implements IContentOperator {
+    private static class DoOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfName resourceName = (PdfName) operands.get(0);
             processor.displayXObject(resourceName);
         }
@@ -1308,11 +1398,11 @@ public class PdfCanvasProcessor {
      * This not a usual operator, it will have a single operand, which will be a PdfStream object which
      * encapsulates inline image dictionary and bytes
      */
-    private static class EndImageOperator implements IContentOperator {
+    private static class EndImageOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             PdfStream imageStream = (PdfStream) operands.get(0);
             processor.displayImage(processor.markedContentStack, imageStream, null, true);
         }
@@ -1321,12 +1411,12 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (w). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineWidthOperator implements IContentOperator {
+    private static class SetLineWidthOperator extends StackContentOperator {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float lineWidth = ((PdfNumber) operands.get(0)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float lineWidth = operands.getFloat(0);
             processor.getGraphicsState().setLineWidth(lineWidth);
         }
     }
@@ -1334,13 +1424,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (J). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineCapOperator implements IContentOperator {
+    private static class SetLineCapOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineCap = ((PdfNumber) operands.get(0)).intValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            int lineCap = operands.getInt(0);
             processor.getGraphicsState().setLineCapStyle(lineCap);
         }
     }
@@ -1348,13 +1438,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (j). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineJoinOperator implements IContentOperator {
+    private static class SetLineJoinOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            int lineJoin = ((PdfNumber) operands.get(0)).intValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            int lineJoin = operands.getInt(0);
             processor.getGraphicsState().setLineJoinStyle(lineJoin);
         }
     }
@@ -1362,13 +1452,13 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (M). For more information see Table 51 ISO-32000-1
      */
-    private static class SetMiterLimitOperator implements IContentOperator {
+    private static class SetMiterLimitOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            float miterLimit = ((PdfNumber) operands.get(0)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float miterLimit = operands.getFloat(0);
             processor.getGraphicsState().setMiterLimit(miterLimit);
         }
     }
@@ -1376,12 +1466,12 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (d). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineDashPatternOperator implements IContentOperator {
+    private static class SetLineDashPatternOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.getGraphicsState().setDashPattern(new PdfArray(Arrays.asList(operands.get(0), operands.get(1))));
         }
     }
@@ -1449,14 +1539,14 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (m). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveToOperator implements IContentOperator {
+    private static class MoveToOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
             processor.currentPath.moveTo(x, y);
         }
     }
@@ -1464,14 +1554,14 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (l). For more information see Table 51 ISO-32000-1
      */
-    private static class LineToOperator implements IContentOperator {
+    private static class LineToOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
             processor.currentPath.lineTo(x, y);
         }
     }
@@ -1479,18 +1569,18 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (c). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveOperator implements IContentOperator {
+    private static class CurveOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x2 = ((PdfNumber) operands.get(2)).floatValue();
-            float y2 = ((PdfNumber) operands.get(3)).floatValue();
-            float x3 = ((PdfNumber) operands.get(4)).floatValue();
-            float y3 = ((PdfNumber) operands.get(5)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x1 = operands.getFloat(0);
+            float y1 = operands.getFloat(1);
+            float x2 = operands.getFloat(2);
+            float y2 = operands.getFloat(3);
+            float x3 = operands.getFloat(4);
+            float y3 = operands.getFloat(5);
             processor.currentPath.curveTo(x1, y1, x2, y2, x3, y3);
         }
     }
@@ -1498,16 +1588,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (v). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFirstPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFirstPointDuplicatedOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x2 = ((PdfNumber) operands.get(0)).floatValue();
-            float y2 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x2 = operands.getFloat(0);
+            float y2 = operands.getFloat(1);
+            float x3 = operands.getFloat(2);
+            float y3 = operands.getFloat(3);
             processor.currentPath.curveTo(x2, y2, x3, y3);
         }
     }
@@ -1515,16 +1605,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (y). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFourhPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFourhPointDuplicatedOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x1 = ((PdfNumber) operands.get(0)).floatValue();
-            float y1 = ((PdfNumber) operands.get(1)).floatValue();
-            float x3 = ((PdfNumber) operands.get(2)).floatValue();
-            float y3 = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x1 = operands.getFloat(0);
+            float y1 = operands.getFloat(1);
+            float x3 = operands.getFloat(2);
+            float y3 = operands.getFloat(3);
             processor.currentPath.curveFromTo(x1, y1, x3, y3);
         }
     }
@@ -1532,12 +1622,12 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (h). For more information see Table 51 ISO-32000-1
      */
-    private static class CloseSubpathOperator implements IContentOperator {
+    private static class CloseSubpathOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.currentPath.closeSubpath();
         }
     }
@@ -1545,16 +1635,16 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (re). For more information see Table 51 ISO-32000-1
      */
-    private static class RectangleOperator implements IContentOperator {
+    private static class RectangleOperator extends StackContentOperator {
 
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
-            float x = ((PdfNumber) operands.get(0)).floatValue();
-            float y = ((PdfNumber) operands.get(1)).floatValue();
-            float w = ((PdfNumber) operands.get(2)).floatValue();
-            float h = ((PdfNumber) operands.get(3)).floatValue();
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
+            float x = operands.getFloat(0);
+            float y = operands.getFloat(1);
+            float w = operands.getFloat(2);
+            float h = operands.getFloat(3);
             processor.currentPath.rectangle(x, y, w, h);
         }
     }
@@ -1562,7 +1652,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (S, s, f, F, f*, B, B*, b, b*). For more information see Table 51 ISO-32000-1
      */
-    private static class PaintPathOperator implements IContentOperator {
+    private static class PaintPathOperator extends StackContentOperator {
 
         private int operation;
         private int rule;
@@ -1587,7 +1677,7 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             if (close) {
                 processor.currentPath.closeSubpath();
             }
@@ -1599,7 +1689,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (W, W*). For more information see Table 51 ISO-32000-1
      */
-    private static class ClipPathOperator implements IContentOperator {
+    private static class ClipPathOperator extends StackContentOperator {
 
         private int rule;
 
@@ -1610,7 +1700,7 @@ public class PdfCanvasProcessor {
         /**
          * {@inheritDoc}
          */
-        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+        public void invoke(PdfCanvasProcessor processor, ContentOperandStack operands) {
             processor.isClip = true;
             processor.clippingRule = rule;
         }
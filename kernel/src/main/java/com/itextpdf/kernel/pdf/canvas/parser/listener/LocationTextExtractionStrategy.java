@@ -249,33 +249,39 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         Map<TextChunk, TextChunkMarks> marks = new HashMap<>();
         List<TextChunk> toSort = new ArrayList<>();
 
+        // the chunks which marks can be attached to, grouped by their lines, so that a mark is only compared
+        // with the chunks of the lines it can belong to
+        Map<Integer, List<Integer>> basesByDistPerpendicular = new HashMap<>();
+        boolean[] isMark = new boolean[textChunks.size()];
+        for (int i = 0; i < textChunks.size(); i++) {
+            ITextChunkLocation location = textChunks.get(i).getLocation();
+            isMark[i] = location.getStartLocation().equals(location.getEndLocation());
+            if (!isMark[i]) {
+                List<Integer> bases = basesByDistPerpendicular.get(location.distPerpendicular());
+                if (bases == null) {
+                    bases = new ArrayList<>();
+                    basesByDistPerpendicular.put(location.distPerpendicular(), bases);
+                }
+                bases.add(i);
+            }
+        }
+
         for (int markInd = 0; markInd < textChunks.size(); markInd++) {
-            ITextChunkLocation location = textChunks.get(markInd).getLocation();
-            if (location.getStartLocation().equals(location.getEndLocation())) {
-                boolean foundBaseToAttachTo = false;
-                for (int baseInd = 0; baseInd < textChunks.size(); baseInd++) {
-                    if (markInd != baseInd) {
-                        ITextChunkLocation baseLocation = textChunks.get(baseInd).getLocation();
-                        if (!baseLocation.getStartLocation().equals(baseLocation.getEndLocation()) && TextChunkLocationDefaultImp.containsMark(baseLocation, location)) {
-                            TextChunkMarks currentMarks = marks.get(textChunks.get(baseInd));
-                            if (currentMarks == null) {
-                                currentMarks = new TextChunkMarks();
-                                marks.put(textChunks.get(baseInd), currentMarks);
-                            }
-
-                            if (markInd < baseInd) {
-                                currentMarks.preceding.add(textChunks.get(markInd));
-                            } else {
-                                currentMarks.succeeding.add(textChunks.get(markInd));
-                            }
-
-                            foundBaseToAttachTo = true;
-                            break;
-                        }
+            if (isMark[markInd]) {
+                int baseInd = findBaseToAttachTo(textChunks, markInd, basesByDistPerpendicular);
+                if (baseInd >= 0) {
+                    TextChunkMarks currentMarks = marks.get(textChunks.get(baseInd));
+                    if (currentMarks == null) {
+                        currentMarks = new TextChunkMarks();
+                        marks.put(textChunks.get(baseInd), currentMarks);
                     }
-                }
 
-                if (!foundBaseToAttachTo) {
+                    if (markInd < baseInd) {
+                        currentMarks.preceding.add(textChunks.get(markInd));
+                    } else {
+                        currentMarks.succeeding.add(textChunks.get(markInd));
+                    }
+                } else {
                     toSort.add(textChunks.get(markInd));
                 }
             } else {
@@ -315,6 +321,43 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         }
     }
 
+    /**
+     * Finds the first chunk, in the order of the chunks, which contains the mark.
+     *
+     * @param textChunks               all the chunks
+     * @param markInd                  the index of the mark
+     * @param basesByDistPerpendicular the indices of the chunks which aren't marks, grouped by
+     *                                 {@link ITextChunkLocation#distPerpendicular()} in ascending order
+     * @return the index of the chunk to attach the mark to, or -1 if there is no such chunk
+     */
+    private static int findBaseToAttachTo(List<TextChunk> textChunks, int markInd,
+            Map<Integer, List<Integer>> basesByDistPerpendicular) {
+        ITextChunkLocation location = textChunks.get(markInd).getLocation();
+        int deviation = (int) TextChunkLocationDefaultImp.DIACRITICAL_MARKS_ALLOWED_VERTICAL_DEVIATION;
+        int baseInd = -1;
+        // the bounds are long, so that they don't overflow for the lines at the limits of the int range
+        long maxDist = (long) location.distPerpendicular() + deviation;
+        for (long dist = (long) location.distPerpendicular() - deviation; dist <= maxDist; dist++) {
+            if (dist < Integer.MIN_VALUE || dist > Integer.MAX_VALUE) {
+                continue;
+            }
+            List<Integer> bases = basesByDistPerpendicular.get((int) dist);
+            if (bases == null) {
+                continue;
+            }
+            for (int candidate : bases) {
+                if (baseInd >= 0 && candidate >= baseInd) {
+                    break;
+                }
+                if (TextChunkLocationDefaultImp.containsMark(textChunks.get(candidate).getLocation(), location)) {
+                    baseInd = candidate;
+                    break;
+                }
+            }
+        }
+        return baseInd;
+    }
+
     public interface ITextChunkLocationStrategy {
         ITextChunkLocation createLocation(TextRenderInfo renderInfo, LineSegment baseline);
     }
@@ -0,0 +1,263 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class collects the text render events of a content stream once and allows to extract the text of
+ * any number of rectangular regions afterwards, without processing the content stream again:
+ * <pre>
+ * TextRegionIndex index = new TextRegionIndex();
+ * new PdfCanvasProcessor(index).processPageContent(page);
+ * String total = index.getTextFromRegion(totalRect);
+ * String date = index.getTextFromRegion(dateRect);
+ * </pre>
+ * <p>
+ * The text of a region is the same as the one extracted with a {@link FilteredTextEventListener} and a
+ * {@link com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter} for that region. The baselines of
+ * the text render events are indexed by a packed R-tree, so a region query only visits the events
+ * whose baselines are close to the region.
+ */
+public class TextRegionIndex implements IEventListener {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final List<TextRenderInfo> renderInfos = new ArrayList<>();
+
+    /**
+     * The baselines of the collected events, four coordinates for each event: x1, y1, x2, y2.
+     */
+    private float[] baselines = new float[4 * NODE_CAPACITY];
+
+    /**
+     * The indices of the events in the order of the leaves of the tree.
+     */
+    private int[] leafOrder;
+
+    /**
+     * The bounding boxes of the nodes of the tree, from the leaf level to the root,
+     * four coordinates for each node: min x, min y, max x, max y.
+     */
+    private List<float[]> levels;
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type == EventType.RENDER_TEXT) {
+            TextRenderInfo renderInfo = (TextRenderInfo) data;
+            // the event is processed again when a region is queried
+            renderInfo.preserveGraphicsState();
+            LineSegment segment = renderInfo.getBaseline();
+            int offset = 4 * renderInfos.size();
+            if (offset + 4 > baselines.length) {
+                baselines = Arrays.copyOf(baselines, baselines.length * 2);
+            }
+            baselines[offset] = segment.getStartPoint().get(Vector.I1);
+            baselines[offset + 1] = segment.getStartPoint().get(Vector.I2);
+            baselines[offset + 2] = segment.getEndPoint().get(Vector.I1);
+            baselines[offset + 3] = segment.getEndPoint().get(Vector.I2);
+            renderInfos.add(renderInfo);
+            levels = null;
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT));
+    }
+
+    /**
+     * Gets the number of the collected text render events.
+     *
+     * @return the number of the text render events
+     */
+    public int size() {
+        return renderInfos.size();
+    }
+
+    /**
+     * Gets the text render events whose baselines intersect the region.
+     *
+     * @param region the region to get the events for
+     * @return the text render events in the order they have occurred
+     */
+    public List<TextRenderInfo> getTextRenderInfos(Rectangle region) {
+        if (levels == null) {
+            buildTree();
+        }
+        List<Integer> found = new ArrayList<>();
+        int rootLevel = levels.size() - 1;
+        if (!renderInfos.isEmpty() && intersects(region, levels.get(rootLevel), 0)) {
+            collect(region, rootLevel, 0, found);
+        }
+        Collections.sort(found);
+        List<TextRenderInfo> result = new ArrayList<>(found.size());
+        for (int index : found) {
+            result.add(renderInfos.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Extracts the text of the region with a {@link LocationTextExtractionStrategy}.
+     *
+     * @param region the region to extract the text from
+     * @return the text of the region
+     */
+    public String getTextFromRegion(Rectangle region) {
+        return getTextFromRegion(region, new LocationTextExtractionStrategy());
+    }
+
+    /**
+     * Extracts the text of the region with the passed strategy. The text render events of the region
+     * are passed to the strategy in the order they have occurred.
+     *
+     * @param region   the region to extract the text from
+     * @param strategy a new strategy which hasn't been used yet
+     * @return the text of the region
+     */
+    public String getTextFromRegion(Rectangle region, ITextExtractionStrategy strategy) {
+        Set<EventType> supportedEvents = strategy.getSupportedEvents();
+        if (supportedEvents == null || supportedEvents.contains(EventType.RENDER_TEXT)) {
+            for (TextRenderInfo renderInfo : getTextRenderInfos(region)) {
+                strategy.eventOccurred(renderInfo, EventType.RENDER_TEXT);
+            }
+        }
+        return strategy.getResultantText();
+    }
+
+    private void collect(Rectangle region, int level, int node, List<Integer> found) {
+        int childCount = level == 0 ? renderInfos.size() : levels.get(level - 1).length / 4;
+        int end = Math.min((node + 1) * NODE_CAPACITY, childCount);
+        for (int child = node * NODE_CAPACITY; child < end; child++) {
+            if (level == 0) {
+                int index = leafOrder[child];
+                int offset = 4 * index;
+                if (region.intersectsLine(baselines[offset], baselines[offset + 1],
+                        baselines[offset + 2], baselines[offset + 3])) {
+                    found.add(index);
+                }
+            } else {
+                float[] childBoxes = levels.get(level - 1);
+                if (intersects(region, childBoxes, 4 * child)) {
+                    collect(region, level - 1, child, found);
+                }
+            }
+        }
+    }
+
+    private void buildTree() {
+        final int count = renderInfos.size();
+        // sort-tile-recursive packing: vertical slices sorted by x, each of them sorted by y
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new CenterComparator(0));
+        int leafCount = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = NODE_CAPACITY * (int) Math.ceil(Math.sqrt(leafCount));
+        for (int start = 0; start < count; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(start + sliceSize, count), new CenterComparator(1));
+        }
+        leafOrder = new int[count];
+        float[] leafBoxes = new float[4 * count];
+        for (int i = 0; i < count; i++) {
+            leafOrder[i] = order[i];
+            int offset = 4 * order[i];
+            leafBoxes[4 * i] = Math.min(baselines[offset], baselines[offset + 2]);
+            leafBoxes[4 * i + 1] = Math.min(baselines[offset + 1], baselines[offset + 3]);
+            leafBoxes[4 * i + 2] = Math.max(baselines[offset], baselines[offset + 2]);
+            leafBoxes[4 * i + 3] = Math.max(baselines[offset + 1], baselines[offset + 3]);
+        }
+        levels = new ArrayList<>();
+        float[] children = leafBoxes;
+        do {
+            children = packLevel(children);
+            levels.add(children);
+        } while (children.length > 4);
+    }
+
+    private static float[] packLevel(float[] children) {
+        int childCount = children.length / 4;
+        int nodeCount = Math.max(1, (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY);
+        float[] nodes = new float[4 * nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            float minX = Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE;
+            float maxY = -Float.MAX_VALUE;
+            int end = Math.min((node + 1) * NODE_CAPACITY, childCount);
+            for (int child = node * NODE_CAPACITY; child < end; child++) {
+                minX = Math.min(minX, children[4 * child]);
+                minY = Math.min(minY, children[4 * child + 1]);
+                maxX = Math.max(maxX, children[4 * child + 2]);
+                maxY = Math.max(maxY, children[4 * child + 3]);
+            }
+            nodes[4 * node] = minX;
+            nodes[4 * node + 1] = minY;
+            nodes[4 * node + 2] = maxX;
+            nodes[4 * node + 3] = maxY;
+        }
+        return nodes;
+    }
+
+    private static boolean intersects(Rectangle region, float[] boxes, int offset) {
+        // the region may have negative width or height
+        float left = Math.min(region.getLeft(), region.getRight());
+        float right = Math.max(region.getLeft(), region.getRight());
+        float bottom = Math.min(region.getBottom(), region.getTop());
+        float top = Math.max(region.getBottom(), region.getTop());
+        return boxes[offset] <= right && boxes[offset + 2] >= left
+                && boxes[offset + 1] <= top && boxes[offset + 3] >= bottom;
+    }
+
+    private final class CenterComparator implements Comparator<Integer> {
+        private final int coordinate;
+
+        CenterComparator(int coordinate) {
+            this.coordinate = coordinate;
+        }
+
+        @Override
+        public int compare(Integer first, Integer second) {
+            return Float.compare(center(first), center(second));
+        }
+
+        private float center(int index) {
+            return baselines[4 * index + coordinate] + baselines[4 * index + 2 + coordinate];
+        }
+    }
+}
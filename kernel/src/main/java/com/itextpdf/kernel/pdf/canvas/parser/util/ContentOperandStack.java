@@ -0,0 +1,375 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The operands and the operator of a single content stream command, as read by
+ * {@link PdfCanvasParser#parseOperands(ContentOperandStack)}.
+ * <p>
+ * Numeric operands are kept in primitive slots, so that no {@link PdfNumber} is created unless it's requested
+ * by {@link #get(int)}. Names and operators are interned: the same {@link PdfName} instance and the same operator
+ * {@link String} are returned for the same token, as long as it's found in the bounded cache of the stack.
+ * Other operands are kept as {@link PdfObject} instances. The stack is reused for each command, so the operands
+ * are only valid until the next command is read.
+ */
+public class ContentOperandStack {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int CACHE_SIZE = 256;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private int size;
+    private double[] numbers = new double[INITIAL_CAPACITY];
+    private PdfObject[] objects = new PdfObject[INITIAL_CAPACITY];
+
+    /**
+     * The content of numeric operands is stored in a shared array to create an equal {@link PdfNumber} on demand.
+     */
+    private byte[] numberContent = new byte[64];
+    private int[] numberContentOffsets = new int[INITIAL_CAPACITY];
+    private int[] numberContentLengths = new int[INITIAL_CAPACITY];
+    private int numberContentSize;
+
+    private String operator;
+    private byte[] operatorContent;
+
+    private byte[] token = new byte[64];
+
+    private final byte[][] nameKeys = new byte[CACHE_SIZE][];
+    private final PdfName[] names = new PdfName[CACHE_SIZE];
+    private final byte[][] operatorKeys = new byte[CACHE_SIZE][];
+    private final String[] operators = new String[CACHE_SIZE];
+
+    /**
+     * Creates an empty {@link ContentOperandStack} to be filled by {@link PdfCanvasParser}.
+     */
+    public ContentOperandStack() {
+        // empty constructor
+    }
+
+    /**
+     * Creates a {@link ContentOperandStack} containing the passed operands. This is an adapter for passing
+     * the operands in the form used by {@link PdfCanvasParser#parse(List)} to the operand stack based code.
+     *
+     * @param operator the operator, or {@code null} to take it from the last operand if it's a {@link PdfLiteral}
+     * @param operands the operands, optionally followed by the operator, or {@code null} if there are no operands
+     */
+    public ContentOperandStack(PdfLiteral operator, List<PdfObject> operands) {
+        int count = operands == null ? 0 : operands.size();
+        if (count > 0 && operands.get(count - 1) instanceof PdfLiteral) {
+            if (operator == null) {
+                operator = (PdfLiteral) operands.get(count - 1);
+            }
+            count--;
+        }
+        for (int i = 0; i < count; i++) {
+            push(operands.get(i));
+        }
+        if (operator != null) {
+            setOperator(operator.toString());
+        }
+    }
+
+    /**
+     * Gets the number of operands, not including the operator.
+     *
+     * @return the number of operands
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the operator. The returned string is interned by this stack, so it's the same instance for
+     * the same operator in most cases.
+     *
+     * @return the operator, or {@code null} if the content ended before an operator was read
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Creates a {@link PdfLiteral} for the operator, as it was returned by {@link PdfCanvasParser#parse(List)}.
+     *
+     * @return a new {@link PdfLiteral} of the operator, or {@code null} if there is no operator
+     */
+    public PdfLiteral getOperatorLiteral() {
+        return operatorContent == null ? null : new PdfLiteral(Arrays.copyOf(operatorContent, operatorContent.length));
+    }
+
+    /**
+     * Checks if the operand is stored in a primitive numeric slot.
+     *
+     * @param index the index of the operand
+     * @return true if the operand is a number
+     */
+    public boolean isNumber(int index) {
+        checkIndex(index);
+        return objects[index] == null ? numberContentLengths[index] >= 0 : objects[index].getType() == PdfObject.NUMBER;
+    }
+
+    /**
+     * Gets a numeric operand as double.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        return isNumberSlot(index) ? numbers[index] : ((PdfNumber) objects[index]).doubleValue();
+    }
+
+    /**
+     * Gets a numeric operand as float, the same as {@link PdfNumber#floatValue()} would return.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public float getFloat(int index) {
+        return (float) getDouble(index);
+    }
+
+    /**
+     * Gets a numeric operand as int, the same as {@link PdfNumber#intValue()} would return.
+     *
+     * @param index the index of the operand
+     * @return the value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public int getInt(int index) {
+        double value = getDouble(index);
+        return value > (double) Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) value;
+    }
+
+    /**
+     * Gets an operand as {@link PdfObject}. A {@link PdfNumber} is created for a numeric operand the first time
+     * it's requested.
+     *
+     * @param index the index of the operand
+     * @return the operand
+     */
+    public PdfObject get(int index) {
+        checkIndex(index);
+        if (isNumberSlot(index)) {
+            int offset = numberContentOffsets[index];
+            objects[index] = new PdfNumber(
+                    Arrays.copyOfRange(numberContent, offset, offset + numberContentLengths[index]));
+        }
+        return objects[index];
+    }
+
+    /**
+     * Fills the list with the operands followed by the operator literal, the same way as
+     * {@link PdfCanvasParser#parse(List)} does.
+     *
+     * @param list the list to fill, it's cleared first, or {@code null} to create a new one
+     * @return the filled list
+     */
+    public List<PdfObject> toList(List<PdfObject> list) {
+        if (list == null) {
+            list = new ArrayList<>(size + 1);
+        } else {
+            list.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        PdfLiteral operatorLiteral = getOperatorLiteral();
+        if (operatorLiteral != null) {
+            list.add(operatorLiteral);
+        }
+        return list;
+    }
+
+    void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        numberContentSize = 0;
+        operator = null;
+        operatorContent = null;
+    }
+
+    void push(PdfObject operand) {
+        ensureCapacity();
+        numberContentLengths[size] = -1;
+        objects[size++] = operand;
+    }
+
+    void pushNumber(PdfTokenizer tokenizer) {
+        ensureCapacity();
+        int length = tokenizer.getByteContentLength();
+        if (numberContentSize + length > numberContent.length) {
+            numberContent = Arrays.copyOf(numberContent, Math.max(numberContent.length * 2, numberContentSize + length));
+        }
+        tokenizer.copyByteContent(numberContent, numberContentSize);
+        numbers[size] = parseDouble(numberContent, numberContentSize, length);
+        numberContentOffsets[size] = numberContentSize;
+        numberContentLengths[size] = length;
+        numberContentSize += length;
+        objects[size++] = null;
+    }
+
+    void pushName(PdfTokenizer tokenizer) {
+        int length = readToken(tokenizer);
+        int index = getCacheIndex(token, length);
+        PdfName name = names[index];
+        if (name == null || !contentEquals(nameKeys[index], token, length)) {
+            nameKeys[index] = Arrays.copyOf(token, length);
+            name = new PdfName(Arrays.copyOf(token, length));
+            names[index] = name;
+        }
+        push(name);
+    }
+
+    void setOperator(PdfTokenizer tokenizer) {
+        int length = readToken(tokenizer);
+        int index = getCacheIndex(token, length);
+        if (operators[index] == null || !contentEquals(operatorKeys[index], token, length)) {
+            operatorKeys[index] = Arrays.copyOf(token, length);
+            operators[index] = new String(token, 0, length, StandardCharsets.ISO_8859_1);
+        }
+        operator = operators[index];
+        operatorContent = operatorKeys[index];
+    }
+
+    void setOperator(String operator) {
+        this.operator = operator;
+        this.operatorContent = operator.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private int readToken(PdfTokenizer tokenizer) {
+        int length = tokenizer.getByteContentLength();
+        if (length > token.length) {
+            token = new byte[Math.max(token.length * 2, length)];
+        }
+        tokenizer.copyByteContent(token, 0);
+        return length;
+    }
+
+    private void ensureCapacity() {
+        if (size == objects.length) {
+            int capacity = size * 2;
+            numbers = Arrays.copyOf(numbers, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            numberContentOffsets = Arrays.copyOf(numberContentOffsets, capacity);
+            numberContentLengths = Arrays.copyOf(numberContentLengths, capacity);
+        }
+    }
+
+    private boolean isNumberSlot(int index) {
+        return objects[index] == null && numberContentLengths[index] >= 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static int getCacheIndex(byte[] content, int length) {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + content[i];
+        }
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    }
+
+    private static boolean contentEquals(byte[] key, byte[] content, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != content[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a number token the same way as {@link PdfNumber} does, but without creating a {@link String}
+     * for the most common cases. The value is exact if both the digits without the decimal point and
+     * the power of ten fit in double without rounding, otherwise {@link Double#parseDouble(String)} is used.
+     */
+    private static double parseDouble(byte[] content, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (content[i] == '-' || content[i] == '+')) {
+            negative = content[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean hasDigits = false;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            int ch = content[i];
+            if (ch >= '0' && ch <= '9') {
+                hasDigits = true;
+                mantissa = mantissa * 10 + (ch - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseDoubleSlow(content, offset, length);
+            }
+        }
+        if (!hasDigits || digits > 15 || fractionDigits > 22) {
+            return parseDoubleSlow(content, offset, length);
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(byte[] content, int offset, int length) {
+        try {
+            return Double.parseDouble(new String(content, offset, length, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -108,6 +108,44 @@ public class PdfCanvasParser {
         return ls;
     }
 
+    /**
+     * Parses a single command from the content into the operand stack. Unlike {@link #parse(List)}, doesn't create
+     * objects for numeric operands, names and operators, see {@link ContentOperandStack}.
+     * <br>
+     * Inline images are handled the same way as by {@link #parse(List)}: the stack will contain the inline image
+     * encapsulated in {@link PdfStream} object as the only operand and EI as the operator.
+     * @param operands the operand stack to fill. It will be cleared before using
+     * @return <CODE>false</CODE> if the end of content was reached and there are no operands,
+     * <CODE>true</CODE> otherwise. The stack has no operator if the content ended before the operator was read
+     * @throws IOException on error
+     */
+    public boolean parseOperands(ContentOperandStack operands) throws IOException {
+        operands.clear();
+        while (nextValidToken()) {
+            switch (tokeniser.getTokenType()) {
+                case Number:
+                    operands.pushNumber(tokeniser);
+                    break;
+                case Name:
+                    operands.pushName(tokeniser);
+                    break;
+                case Other:
+                    operands.setOperator(tokeniser);
+                    if ("BI".equals(operands.getOperator())) {
+                        PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
+                        operands.clear();
+                        operands.push(inlineImageAsStream);
+                        operands.setOperator("EI");
+                    }
+                    return true;
+                default:
+                    operands.push(readCurrentObject());
+                    break;
+            }
+        }
+        return operands.size() > 0;
+    }
+
     /**
      * Gets the tokeniser.
      * @return the tokeniser.
@@ -174,6 +212,10 @@ public class PdfCanvasParser {
     public PdfObject readObject() throws IOException {
         if (!nextValidToken())
             return null;
+        return readCurrentObject();
+    }
+
+    private PdfObject readCurrentObject() throws IOException {
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
         switch (type) {
             case StartDic: {
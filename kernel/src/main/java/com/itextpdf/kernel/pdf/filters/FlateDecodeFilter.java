@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.source.ZlibPool;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
@@ -35,6 +36,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 /**
@@ -106,58 +108,7 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
                 return fout.toByteArray();
             }
 
-            switch (filter) {
-                case 0: //PNG_FILTER_NONE
-                    break;
-                case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
-                    break;
-                case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
-                    }
-                    break;
-                case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
-                    }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
-                    }
-                    break;
-                case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
-                    }
-
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte) ret;
-                    }
-                    break;
-                default:
-                    // Error -- unknown filter type
-                    throw new PdfException(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN);
-            }
+            decodePngPredictorRow(filter, curr, prior, bytesPerPixel);
             try {
                 fout.write(curr);
             } catch (IOException ioe) {
@@ -172,6 +123,69 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
     }
 
+    /**
+     * Reverses the PNG prediction of a row of image data.
+     *
+     * @param filter        the PNG filter type of the row
+     * @param curr          the row to decode, it is decoded in place
+     * @param prior         the decoded previous row, or zeroes for the first row
+     * @param bytesPerPixel the number of bytes per pixel
+     */
+    public static void decodePngPredictorRow(int filter, byte[] curr, byte[] prior, int bytesPerPixel) {
+        switch (filter) {
+            case 0: //PNG_FILTER_NONE
+                break;
+            case 1: //PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < curr.length; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: //PNG_FILTER_UP
+                for (int i = 0; i < curr.length; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: //PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += (byte) (prior[i] / 2);
+                }
+                for (int i = bytesPerPixel; i < curr.length; i++) {
+                    curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
+                }
+                break;
+            case 4: //PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += prior[i];
+                }
+
+                for (int i = bytesPerPixel; i < curr.length; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+
+                    int ret;
+
+                    if (pa <= pb && pa <= pc) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
+                    }
+                    curr[i] += (byte) ret;
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new PdfException(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -197,7 +211,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      */
     protected static byte[] flateDecodeInternal(byte[] in, boolean strict, ByteArrayOutputStream out) {
         ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
+        Inflater inflater = ZlibPool.acquireInflater();
+        InflaterInputStream zip = new InflaterInputStream(stream, inflater);
         byte[] b = new byte[strict ? 4092 : 1];
         try {
             int n;
@@ -214,6 +229,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
                 return null;
             }
             return out.toByteArray();
+        } finally {
+            ZlibPool.releaseInflater(inflater);
         }
     }
 
@@ -26,11 +26,15 @@ import com.itextpdf.io.codec.PngWriter;
 import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TiffWriter;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ZlibPool;
 import com.itextpdf.kernel.actions.data.ITextCoreProductData;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs.Separation;
@@ -38,6 +42,9 @@ import com.itextpdf.kernel.pdf.function.IPdfFunction;
 import com.itextpdf.kernel.pdf.function.PdfFunctionFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 class ImagePdfBytesInfo {
 
@@ -135,6 +142,84 @@ class ImagePdfBytesInfo {
         }
     }
 
+    /**
+     * Checks if the image can be written by {@link #writePng(PdfReader, PdfStream, boolean, PdfDictionary, OutputStream)}.
+     *
+     * @param decodeParams the decode parameters of the {@code /FlateDecode} filter of the image, if any
+     * @return {@code true} if the image is written to PNG row by row, {@code false} otherwise
+     */
+    boolean canWritePngRows(PdfDictionary decodeParams) {
+        if (pngColorType < 0 || stride <= 0) {
+            return false;
+        }
+        if (colorspace instanceof PdfArray && PdfName.Separation.equals(((PdfArray) colorspace).get(0))) {
+            return false;
+        }
+        int predictor = getPredictor(decodeParams);
+        if (predictor == 1) {
+            return true;
+        }
+        // the rows of the predictor have to be the rows of the image
+        int colors = getNumberOrDefault(decodeParams, PdfName.Colors, 1);
+        int predictorBpc = getNumberOrDefault(decodeParams, PdfName.BitsPerComponent, 8);
+        int columns = getNumberOrDefault(decodeParams, PdfName.Columns, 1);
+        return (colors * columns * predictorBpc + 7) / 8 == stride;
+    }
+
+    /**
+     * Writes the image as PNG. The image bytes are read, decompressed and encoded row by row, so that
+     * the whole image is never held in memory. The image shall be checked by {@link #canWritePngRows(PdfDictionary)}
+     * first.
+     * <p>
+     * Like {@link PdfImageXObject#getImageBytes()}, corrupted or truncated compressed data doesn't fail the
+     * decompression: the data decompressed before the corruption is kept and the missing rows are filled with
+     * zeroes.
+     *
+     * @param reader       the reader of the image stream
+     * @param stream       the image stream
+     * @param flate        {@code true} if the image is compressed with the {@code /FlateDecode} filter
+     * @param decodeParams the decode parameters of the {@code /FlateDecode} filter of the image, if any
+     * @param os           the stream to write the PNG image to
+     * @throws IOException if the image can't be read
+     */
+    void writePng(PdfReader reader, PdfStream stream, boolean flate, PdfDictionary decodeParams,
+            OutputStream os) throws IOException {
+        PngWriter png = new PngWriter(os);
+        png.writeHeader(width, height, pngBitDepth, pngColorType);
+        if (icc != null) {
+            png.writeIccProfile(icc);
+        }
+        if (palette != null) {
+            png.writePalette(palette);
+        }
+        int predictor = getPredictor(decodeParams);
+        int bytesPerPixel = predictor == 1 ? 0 : getNumberOrDefault(decodeParams, PdfName.Colors, 1)
+                * getNumberOrDefault(decodeParams, PdfName.BitsPerComponent, 8) / 8;
+        // see processPng
+        boolean invert = decode != null && pngBitDepth == 1 && decode.getAsNumber(0).intValue() == 1
+                && decode.getAsNumber(1).intValue() == 0;
+        ImageRowsOutputStream rows = new ImageRowsOutputStream(png.createDataStream(stride), stride, height,
+                predictor, bytesPerPixel, invert);
+        if (flate) {
+            Inflater inflater = ZlibPool.acquireInflater();
+            try {
+                LenientInflaterOutputStream zip = new LenientInflaterOutputStream(rows, inflater);
+                reader.readStreamBytesRaw(stream, zip);
+                if (zip.isCorrupted()) {
+                    inflater.reset();
+                    reader.readStreamBytesRaw(stream,
+                            new LenientInflaterOutputStream(rows, inflater, zip.getPassedLength()));
+                }
+            } finally {
+                ZlibPool.releaseInflater(inflater);
+            }
+        } else {
+            reader.readStreamBytesRaw(stream, rows);
+        }
+        rows.close();
+        png.writeEnd();
+    }
+
     private byte[] processSeperationColor(byte[] imageBytes, PdfArray colorSpaceArray) throws IOException {
         Separation scs = new Separation(colorSpaceArray);
 
@@ -246,5 +331,98 @@ class ImagePdfBytesInfo {
             }
         }
     }
-}
 
+    /**
+     * Gets the predictor which is applied by {@link com.itextpdf.kernel.pdf.filters.FlateDecodeFilter}.
+     *
+     * @param decodeParams the decode parameters
+     * @return 1 if no predictor is applied, 2 for the TIFF predictor, or the value of the PNG predictor
+     */
+    private static int getPredictor(PdfDictionary decodeParams) {
+        int predictor = getNumberOrDefault(decodeParams, PdfName.Predictor, 1);
+        if ((predictor == 2 && getNumberOrDefault(decodeParams, PdfName.BitsPerComponent, 8) == 8) || predictor >= 10) {
+            return predictor;
+        }
+        return 1;
+    }
+
+    private static int getNumberOrDefault(PdfDictionary dict, PdfName key, int defaultInt) {
+        PdfNumber number = dict == null ? null : dict.getAsNumber(key);
+        return number == null ? defaultInt : number.intValue();
+    }
+
+    /**
+     * Decompresses the written bytes and passes them on. Unlike {@link java.util.zip.InflaterOutputStream}
+     * it stops at the first corrupted data instead of failing, the same way as the lenient decoding of
+     * {@link com.itextpdf.kernel.pdf.filters.FlateDecodeFilter} does.
+     * <p>
+     * The bytes decompressed by the {@link Inflater#inflate(byte[], int, int)} call which detects the
+     * corruption are lost, so a corrupted stream is decompressed again in recovery mode: the bytes
+     * which have already been passed on are skipped and the rest is decompressed byte by byte.
+     */
+    private static final class LenientInflaterOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final Inflater inflater;
+        private final boolean recovery;
+        private final byte[] buffer = new byte[8192];
+        private long bytesToSkip;
+        private long passedLength;
+        private boolean corrupted;
+
+        LenientInflaterOutputStream(OutputStream out, Inflater inflater) {
+            this.out = out;
+            this.inflater = inflater;
+            this.recovery = false;
+        }
+
+        LenientInflaterOutputStream(OutputStream out, Inflater inflater, long passedLength) {
+            this.out = out;
+            this.inflater = inflater;
+            this.recovery = true;
+            this.bytesToSkip = passedLength;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (corrupted || inflater.finished() || len == 0) {
+                return;
+            }
+            inflater.setInput(b, off, len);
+            try {
+                while (!inflater.finished()) {
+                    int maxLength = buffer.length;
+                    if (recovery) {
+                        maxLength = bytesToSkip > 0 ? (int) Math.min(buffer.length, bytesToSkip) : 1;
+                    }
+                    int n = inflater.inflate(buffer, 0, maxLength);
+                    if (n == 0) {
+                        // either more input is needed, or a preset dictionary, which image streams never have
+                        corrupted = inflater.needsDictionary();
+                        return;
+                    }
+                    if (bytesToSkip > 0) {
+                        bytesToSkip -= n;
+                    } else {
+                        out.write(buffer, 0, n);
+                        passedLength += n;
+                    }
+                }
+            } catch (DataFormatException e) {
+                corrupted = true;
+            }
+        }
+
+        boolean isCorrupted() {
+            return corrupted;
+        }
+
+        long getPassedLength() {
+            return passedLength;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.xobject;
+
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Collects the decompressed bytes of an image into rows, reverses the prediction of each row and passes
+ * the rows on, so that only two rows of the image are held in memory at a time. Exactly {@code height}
+ * rows are passed on: surplus data is dropped and missing rows are filled with zeroes when the stream is closed.
+ */
+class ImageRowsOutputStream extends OutputStream {
+
+    private final OutputStream rows;
+    private final int height;
+    private final int predictor;
+    private final int bytesPerPixel;
+    private final boolean invert;
+
+    private byte[] curr;
+    private byte[] prior;
+    private final byte[] inverted;
+    private int filter = -1;
+    private int rowPosition;
+    private int rowCount;
+
+    /**
+     * Creates a new {@link ImageRowsOutputStream} instance.
+     *
+     * @param rows          the stream to write the decoded rows to
+     * @param stride        the number of bytes in a row
+     * @param height        the number of rows
+     * @param predictor     the value of the {@code /Predictor} decode parameter, 1 if there is no prediction
+     * @param bytesPerPixel the number of bytes per pixel, as it is used by the predictor
+     * @param invert        {@code true} if the bits of the rows shall be inverted, which is the case for
+     *                      1-bit images with the {@code [1 0]} decode array
+     */
+    ImageRowsOutputStream(OutputStream rows, int stride, int height, int predictor, int bytesPerPixel,
+            boolean invert) {
+        this.rows = rows;
+        this.height = height;
+        this.predictor = predictor;
+        this.bytesPerPixel = bytesPerPixel;
+        this.invert = invert;
+        this.curr = new byte[stride];
+        this.prior = new byte[stride];
+        this.inverted = invert ? new byte[stride] : null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (predictor >= 10 && filter < 0) {
+                // every row starts with its PNG filter type
+                filter = b[off] & 0xff;
+                off++;
+                len--;
+                continue;
+            }
+            int n = Math.min(len, curr.length - rowPosition);
+            System.arraycopy(b, off, curr, rowPosition, n);
+            rowPosition += n;
+            off += n;
+            len -= n;
+            if (rowPosition == curr.length) {
+                writeRow();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rowPosition > 0) {
+            for (int i = rowPosition; i < curr.length; i++) {
+                curr[i] = 0;
+            }
+            writeRow();
+        }
+        while (rowCount < height) {
+            filter = 0;
+            for (int i = 0; i < curr.length; i++) {
+                curr[i] = 0;
+            }
+            writeRow();
+        }
+        rows.close();
+    }
+
+    private void writeRow() throws IOException {
+        if (predictor >= 10) {
+            FlateDecodeFilter.decodePngPredictorRow(filter, curr, prior, bytesPerPixel);
+        } else if (predictor == 2 && bytesPerPixel > 0) {
+            for (int i = bytesPerPixel; i < curr.length; i++) {
+                curr[i] += curr[i - bytesPerPixel];
+            }
+        }
+        if (rowCount < height) {
+            if (invert) {
+                for (int i = 0; i < curr.length; i++) {
+                    inverted[i] = (byte) (curr[i] ^ 0xff);
+                }
+                rows.write(inverted);
+            } else {
+                rows.write(curr);
+            }
+            rowCount++;
+        }
+        byte[] tmp = prior;
+        prior = curr;
+        curr = tmp;
+        rowPosition = 0;
+        filter = -1;
+    }
+}
@@ -56,6 +56,7 @@ import com.itextpdf.kernel.pdf.filters.IFilterHandler;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -205,6 +206,51 @@ public class PdfImageXObject extends PdfXObject {
         return bytes;
     }
 
+    /**
+     * Writes decoded image bytes to the output stream. The written bytes are the same as the ones
+     * returned by {@link #getImageBytes()}, except that PNG images may be compressed differently.
+     * <p>
+     * The image isn't held in memory as a whole if it has been read from a document and hasn't been
+     * changed since then: JPEG, JPEG 2000 and JBIG2 images are copied from the document as is, and
+     * images which aren't compressed or are compressed with the {@code /FlateDecode} filter only are
+     * decompressed and encoded to PNG row by row. The other images are written through {@link #getImageBytes()}.
+     *
+     * @param os the output stream to write the image bytes to
+     * @throws IOException if an error occurs during reading or writing
+     */
+    public void writeImageBytes(OutputStream os) throws IOException {
+        PdfStream stream = getPdfObject();
+        PdfDocument document = stream.getIndirectReference() == null ? null
+                : stream.getIndirectReference().getDocument();
+        PdfReader reader = document == null ? null : document.getReader();
+        // the stream has been read from the document and hasn't been changed
+        if (reader != null && stream.getOutputStream() == null) {
+            PdfArray filters = getFilters();
+            ImageType imageType = identifyImageType();
+            if (filters.size() == 1 && (imageType == ImageType.JPEG || imageType == ImageType.JPEG2000
+                    || imageType == ImageType.JBIG2)) {
+                reader.readStreamBytesRaw(stream, os);
+                return;
+            }
+            boolean flate = filters.size() == 1
+                    && (PdfName.FlateDecode.equals(filters.get(0)) || PdfName.Fl.equals(filters.get(0)));
+            PdfObject decodeParams = stream.get(PdfName.DecodeParms);
+            if (decodeParams instanceof PdfArray) {
+                decodeParams = ((PdfArray) decodeParams).size() == 1 ? ((PdfArray) decodeParams).get(0) : null;
+            }
+            PdfDictionary flateParams = flate && decodeParams instanceof PdfDictionary
+                    ? (PdfDictionary) decodeParams : null;
+            if (imageType == ImageType.PNG && (filters.isEmpty() || flate)) {
+                ImagePdfBytesInfo imageInfo = new ImagePdfBytesInfo(this);
+                if (imageInfo.canWritePngRows(flateParams)) {
+                    imageInfo.writePng(reader, stream, flate, flateParams, os);
+                    return;
+                }
+            }
+        }
+        os.write(getImageBytes(true));
+    }
+
     /**
      * Identifies the type of the image that is stored in the bytes of this {@link PdfImageXObject}.
      * Note that this has nothing to do with the original type of the image. For instance, the return value
@@ -216,15 +262,7 @@ public class PdfImageXObject extends PdfXObject {
      * @return the identified type of image
      */
     public ImageType identifyImageType() {
-        PdfObject filter = getPdfObject().get(PdfName.Filter);
-        PdfArray filters = new PdfArray();
-        if (filter != null) {
-            if (filter.getType() == PdfObject.NAME) {
-                filters.add(filter);
-            } else if (filter.getType() == PdfObject.ARRAY) {
-                filters = ((PdfArray) filter);
-            }
-        }
+        PdfArray filters = getFilters();
         for (int i = filters.size() - 1; i >= 0; i--) {
             PdfName filterName = (PdfName) filters.get(i);
             if (PdfName.DCTDecode.equals(filterName)) {
@@ -284,6 +322,19 @@ public class PdfImageXObject extends PdfXObject {
         return this;
     }
 
+    private PdfArray getFilters() {
+        PdfObject filter = getPdfObject().get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = ((PdfArray) filter);
+            }
+        }
+        return filters;
+    }
+
     private float initWidthField() {
         PdfNumber wNum = getPdfObject().getAsNumber(PdfName.Width);
         if (wNum != null) {
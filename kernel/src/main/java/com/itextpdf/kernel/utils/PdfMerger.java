@@ -22,9 +22,12 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDocument;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -34,6 +37,7 @@ public class PdfMerger {
     private boolean closeSrcDocuments;
     private boolean mergeTags;
     private boolean mergeOutlines;
+    private int prefetchThreadCount = 1;
 
     /**
      * This class is used to merge a number of existing documents into one. By default, if source document
@@ -75,6 +79,64 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * Sets the number of threads used by {@link #merge(List)} to read the objects of the source documents,
+     * including the thread which copies the pages. While the pages of a source document are copied, the objects
+     * of up to {@code prefetchThreadCount - 1} following source documents are read in advance, each one by its own
+     * thread. The pages are still copied one by one in the order of the sources, so the result doesn't depend on
+     * this setting. Default value - <i>1</i>, which means that the objects are read while being copied.
+     *
+     * @param prefetchThreadCount the number of threads, must be positive
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger setPrefetchThreadCount(int prefetchThreadCount) {
+        if (prefetchThreadCount <= 0) {
+            throw new PdfException(KernelExceptionMessageConstant.PREFETCH_THREAD_COUNT_SHALL_BE_POSITIVE);
+        }
+        this.prefetchThreadCount = prefetchThreadCount;
+        return this;
+    }
+
+    /**
+     * This method merges all pages of the source documents to the current one, in the order of the list.
+     * <p>
+     * If the prefetch thread count is greater than one (see {@link #setPrefetchThreadCount(int)}), the objects of
+     * the upcoming source documents are read concurrently while the pages of the current one are copied. In this
+     * case each source document must have its own {@link com.itextpdf.kernel.pdf.PdfReader}, and the source
+     * documents must not be used by other threads until this method returns.
+     * <p>
+     * If <i>closeSourceDocuments</i> flag is set to <i>true</i> (see {@link #setCloseSourceDocuments(boolean)}),
+     * passed {@code PdfDocument}s will be closed after their pages are merged.
+     *
+     * @param sources - documents, from which pages will be copied
+     * @return this {@code PdfMerger} instance
+     */
+    public PdfMerger merge(List<PdfDocument> sources) {
+        SourceObjectsPrefetcher prefetcher = null;
+        if (prefetchThreadCount > 1 && sources.size() > 1) {
+            prefetcher = new SourceObjectsPrefetcher(sources, Math.min(prefetchThreadCount - 1, sources.size() - 1));
+        }
+        try {
+            for (int i = 0; i < sources.size(); i++) {
+                if (prefetcher != null) {
+                    prefetcher.awaitDocument(i);
+                }
+                PdfDocument from = sources.get(i);
+                int numberOfPages = from.getNumberOfPages();
+                if (numberOfPages > 0) {
+                    merge(from, 1, numberOfPages);
+                } else {
+                    merge(from, Collections.<Integer>emptyList());
+                }
+            }
+        } finally {
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
+        }
+        return this;
+    }
+
     /**
      * This method merges pages from the source document to the current one.
      * <p>
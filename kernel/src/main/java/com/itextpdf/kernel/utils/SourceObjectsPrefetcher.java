@@ -0,0 +1,207 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the objects reachable from the pages of the upcoming source documents on a pool of worker threads,
+ * so that the copying performed by {@link PdfMerger} doesn't have to wait for the parsing.
+ *
+ * <p>
+ * Only a bounded number of documents following the one being copied are read in advance, so that the
+ * memory needed for a merge of many documents doesn't grow with the number of documents. Each source
+ * document is only ever accessed by a single worker, and the copying thread doesn't touch a source
+ * document until its prefetching is over, so that neither {@link PdfDocument} nor
+ * {@link com.itextpdf.kernel.pdf.PdfReader} have to be thread-safe. A document which occurs in the list
+ * of sources more than once is never read in advance. The workers are never interrupted, since an
+ * interrupted read may close the underlying file channel of a source document.
+ */
+final class SourceObjectsPrefetcher {
+
+    private final List<PdfDocument> sources;
+
+    private final int lookahead;
+
+    private final ExecutorService executor;
+
+    private final Map<PdfDocument, Future<?>> tasks = new IdentityHashMap<>();
+
+    private final Set<PdfDocument> repeatedSources =
+            Collections.newSetFromMap(new IdentityHashMap<PdfDocument, Boolean>());
+
+    private int nextSourceToSubmit = 1;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new {@link SourceObjectsPrefetcher}.
+     *
+     * @param sources   the documents which are going to be copied, in the order of copying
+     * @param lookahead the maximum number of documents following the one being copied which are read in advance,
+     *                  which is also the number of worker threads
+     */
+    SourceObjectsPrefetcher(List<PdfDocument> sources, int lookahead) {
+        this.sources = sources;
+        this.lookahead = lookahead;
+        this.executor = Executors.newFixedThreadPool(lookahead);
+        Set<PdfDocument> seen = Collections.newSetFromMap(new IdentityHashMap<PdfDocument, Boolean>());
+        for (PdfDocument source : sources) {
+            if (!seen.add(source)) {
+                repeatedSources.add(source);
+            }
+        }
+    }
+
+    /**
+     * Waits until the objects of the document at the passed position are read, if they are read in advance,
+     * and starts reading the documents which follow it. Failures are ignored here, they will be reported when
+     * the same objects are read again while being copied.
+     *
+     * <p>
+     * The waiting isn't stopped by an interruption of the calling thread, since the document mustn't be copied
+     * while a worker still reads it. The interrupted status is restored before returning.
+     *
+     * @param index the position of the document which is going to be copied in the list of sources
+     */
+    void awaitDocument(int index) {
+        Future<?> task = tasks.remove(sources.get(index));
+        while (nextSourceToSubmit < sources.size() && nextSourceToSubmit <= index + lookahead) {
+            submit(sources.get(nextSourceToSubmit++));
+        }
+        if (task == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                task.get();
+                break;
+            } catch (ExecutionException ignored) {
+                // The copying will report the failure.
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops reading documents in advance and waits until the workers are finished, so that no source
+     * document is accessed by them afterwards. The workers are not interrupted.
+     */
+    void close() {
+        closed = true;
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(final PdfDocument source) {
+        if (repeatedSources.contains(source)) {
+            return;
+        }
+        tasks.put(source, executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() {
+                if (!closed) {
+                    prefetch(source);
+                }
+                return null;
+            }
+        }));
+    }
+
+    void prefetch(PdfDocument source) {
+        Set<PdfIndirectReference> visited = new HashSet<>();
+        Deque<PdfObject> toVisit = new ArrayDeque<>();
+        int numberOfPages = source.getNumberOfPages();
+        for (int i = 1; i <= numberOfPages; i++) {
+            if (closed) {
+                return;
+            }
+            toVisit.push(source.getPage(i).getPdfObject());
+            while (!toVisit.isEmpty()) {
+                PdfObject obj = toVisit.pop();
+                if (obj.getIndirectReference() != null && !visited.add(obj.getIndirectReference())) {
+                    continue;
+                }
+                if (obj.isDictionary() || obj.isStream()) {
+                    PdfDictionary dict = (PdfDictionary) obj;
+                    for (PdfName key : dict.keySet()) {
+                        // Parent and P entries lead to the page tree and structure tree, which aren't copied this way
+                        if (PdfName.Parent.equals(key) || PdfName.P.equals(key)) {
+                            continue;
+                        }
+                        addToVisit(dict.get(key, true), toVisit);
+                    }
+                } else if (obj.isArray()) {
+                    PdfArray array = (PdfArray) obj;
+                    for (int j = 0; j < array.size(); j++) {
+                        addToVisit(array.get(j, true), toVisit);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addToVisit(PdfObject obj, Deque<PdfObject> toVisit) {
+        if (obj != null && (obj.isDictionary() || obj.isStream() || obj.isArray())) {
+            toVisit.push(obj);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class DecodedFontCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void fontIsSharedBetweenPagesTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(
+                createDocument(5, 1))))) {
+            for (int i = 1; i <= 5; i++) {
+                Assert.assertEquals("Page " + i, PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)));
+            }
+            DecodedFontCache cache = pdfDocument.getDecodedFontCache();
+            Assert.assertEquals(1, cache.size());
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(4, cache.getHitCount());
+            Assert.assertEquals(0, cache.getEvictionCount());
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(
+                createDocument(3, 3))))) {
+            DecodedFontCache cache = new DecodedFontCache(2);
+            PdfDictionary first = getFontDictionary(pdfDocument, 1);
+            PdfDictionary second = getFontDictionary(pdfDocument, 2);
+            PdfDictionary third = getFontDictionary(pdfDocument, 3);
+
+            PdfFont firstFont = cache.getFont(first);
+            cache.getFont(second);
+            Assert.assertSame(firstFont, cache.getFont(first));
+            cache.getFont(third);
+            Assert.assertEquals(2, cache.size());
+            Assert.assertEquals(1, cache.getEvictionCount());
+
+            // the second font was the least recently used one
+            Assert.assertSame(firstFont, cache.getFont(first));
+            cache.getFont(second);
+            Assert.assertEquals(4, cache.getMissCount());
+            Assert.assertEquals(2, cache.getHitCount());
+        }
+    }
+
+    @Test
+    public void zeroSizeDisablesCachingTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(
+                createDocument(2, 1))))) {
+            pdfDocument.getDecodedFontCache().setMaxSize(0);
+            Assert.assertEquals("Page 1", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)));
+            Assert.assertEquals("Page 2", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(2)));
+            Assert.assertEquals(0, pdfDocument.getDecodedFontCache().size());
+            Assert.assertEquals(2, pdfDocument.getDecodedFontCache().getMissCount());
+        }
+    }
+
+    @Test
+    public void directFontIsNotCachedTest() {
+        DecodedFontCache cache = new DecodedFontCache();
+        PdfDictionary fontDict = new PdfDictionary();
+        fontDict.put(PdfName.Type, PdfName.Font);
+        fontDict.put(PdfName.Subtype, PdfName.Type1);
+        fontDict.put(PdfName.BaseFont, new PdfName(StandardFonts.HELVETICA));
+        Assert.assertNotSame(cache.getFont(fontDict), cache.getFont(fontDict));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void reducedMaxSizeEvictsFontsTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(
+                createDocument(3, 3))))) {
+            DecodedFontCache cache = new DecodedFontCache();
+            PdfDictionary first = getFontDictionary(pdfDocument, 1);
+            PdfFont firstFont = cache.getFont(first);
+            cache.getFont(getFontDictionary(pdfDocument, 2));
+            cache.getFont(getFontDictionary(pdfDocument, 3));
+            Assert.assertSame(firstFont, cache.getFont(first));
+
+            cache.setMaxSize(1);
+            Assert.assertEquals(1, cache.getMaxSize());
+            Assert.assertEquals(1, cache.size());
+            Assert.assertEquals(2, cache.getEvictionCount());
+            Assert.assertSame(firstFont, cache.getFont(first));
+        }
+    }
+
+    @Test
+    public void negativeSizeTest() {
+        Exception e = Assert.assertThrows(PdfException.class, () -> new DecodedFontCache(-1));
+        Assert.assertEquals(KernelExceptionMessageConstant.DECODED_FONT_CACHE_SIZE_SHALL_NOT_BE_NEGATIVE,
+                e.getMessage());
+        e = Assert.assertThrows(PdfException.class, () -> new DecodedFontCache().setMaxSize(-1));
+        Assert.assertEquals(KernelExceptionMessageConstant.DECODED_FONT_CACHE_SIZE_SHALL_NOT_BE_NEGATIVE,
+                e.getMessage());
+    }
+
+    private static byte[] createDocument(int pageCount, int fontCount) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont[] fonts = new PdfFont[fontCount];
+            for (int i = 0; i < fontCount; i++) {
+                fonts[i] = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            }
+            for (int i = 1; i <= pageCount; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(fonts[(i - 1) % fontCount], 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static PdfDictionary getFontDictionary(PdfDocument pdfDocument, int pageNumber) {
+        PdfDictionary fonts = pdfDocument.getPage(pageNumber).getResources().getResource(PdfName.Font);
+        return fonts.getAsDictionary(fonts.keySet().iterator().next());
+    }
+}
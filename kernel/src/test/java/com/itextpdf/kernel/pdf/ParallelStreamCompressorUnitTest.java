@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ParallelStreamCompressorUnitTest extends ExtendedITextTest {
+
+    @Test
+    public void compressedContentIsReturnedOnceTest() {
+        byte[] content = ByteUtils.getIsoBytes("0 0 m 100 100 l S");
+        PdfStream stream = new PdfStream(content);
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(2);
+        compressor.compress(singleStream(stream, CompressionConstants.BEST_COMPRESSION));
+
+        ByteArrayOutputStream compressed = compressor.takeCompressedStream(stream,
+                CompressionConstants.BEST_COMPRESSION);
+        Assert.assertNotNull(compressed);
+        Assert.assertArrayEquals(content, FlateDecodeFilter.flateDecode(compressed.toByteArray(), true));
+        Assert.assertNull(compressor.takeCompressedStream(stream, CompressionConstants.BEST_COMPRESSION));
+    }
+
+    @Test
+    public void modifiedStreamIsNotTakenTest() {
+        PdfStream stream = new PdfStream(ByteUtils.getIsoBytes("0 0 m 100 100 l S"));
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(2);
+        compressor.compress(singleStream(stream, CompressionConstants.DEFAULT_COMPRESSION));
+
+        stream.setData(ByteUtils.getIsoBytes("0 0 m 200 200 l S"));
+        Assert.assertNull(compressor.takeCompressedStream(stream, CompressionConstants.DEFAULT_COMPRESSION));
+    }
+
+    @Test
+    public void changedCompressionLevelIsNotTakenTest() {
+        PdfStream stream = new PdfStream(ByteUtils.getIsoBytes("0 0 m 100 100 l S"));
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(2);
+        compressor.compress(singleStream(stream, CompressionConstants.DEFAULT_COMPRESSION));
+
+        Assert.assertNull(compressor.takeCompressedStream(stream, CompressionConstants.BEST_SPEED));
+    }
+
+    @Test
+    public void requestedOutputStreamInvalidatesContentTest() {
+        PdfStream stream = new PdfStream(ByteUtils.getIsoBytes("0 0 m 100 100 l S"));
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(2);
+        compressor.compress(singleStream(stream, CompressionConstants.DEFAULT_COMPRESSION));
+        Assert.assertTrue(compressor.isCompressed(stream, CompressionConstants.DEFAULT_COMPRESSION));
+
+        stream.getOutputStream().writeString(" 0 0 m 200 200 l S");
+        Assert.assertFalse(compressor.isCompressed(stream, CompressionConstants.DEFAULT_COMPRESSION));
+        Assert.assertNull(compressor.takeCompressedStream(stream, CompressionConstants.DEFAULT_COMPRESSION));
+    }
+
+    @Test
+    public void onlyStreamsToBeWrittenAreCompressedTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream(),
+                new WriterProperties().setCompressionThreadCount(2)));
+        PdfStream content = pdfDoc.addNewPage().getFirstContentStream();
+        content.setData(ByteUtils.getIsoBytes("0 0 m 100 100 l S"));
+        PdfStream unused = new PdfStream(ByteUtils.getIsoBytes("0 0 m 200 200 l S"));
+        unused.makeIndirect(pdfDoc);
+
+        PdfWriter writer = pdfDoc.getWriter();
+        writer.compressPageStreams();
+        ParallelStreamCompressor compressor = writer.streamCompressor;
+        Assert.assertTrue(compressor.isCompressed(content, writer.getCompressionLevel()));
+        Assert.assertFalse(compressor.isCompressed(unused, writer.getCompressionLevel()));
+
+        pdfDoc.close();
+    }
+
+    private static Map<PdfStream, Integer> singleStream(PdfStream stream, int compressionLevel) {
+        Map<PdfStream, Integer> streams = new HashMap<>();
+        streams.put(stream, compressionLevel);
+        return streams;
+    }
+}
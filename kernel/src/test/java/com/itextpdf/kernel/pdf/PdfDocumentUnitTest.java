@@ -24,12 +24,17 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.io.font.AdobeGlyphList;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.font.PdfType3Font;
 import com.itextpdf.kernel.logs.KernelLogMessageConstant;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import com.itextpdf.kernel.pdf.filespec.PdfFileSpec;
 import com.itextpdf.kernel.pdf.layer.PdfLayer;
 import com.itextpdf.kernel.pdf.layer.PdfOCProperties;
@@ -82,6 +87,48 @@ public class PdfDocumentUnitTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void decodedFontIsSharedBetweenPagesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= 3; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(font, 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            for (int i = 1; i <= 3; i++) {
+                Assert.assertEquals("Page " + i, PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)));
+            }
+            PdfDictionary fonts = pdfDocument.getPage(1).getResources().getResource(PdfName.Font);
+            PdfDictionary fontDict = fonts.getAsDictionary(fonts.keySet().iterator().next());
+            PdfFont font = pdfDocument.getDecodedFont(fontDict);
+            Assert.assertSame(font, pdfDocument.getDecodedFont(fontDict));
+            // the font is only used for reading, it isn't added to the document
+            Assert.assertFalse(pdfDocument.isDocumentFont(fontDict.getIndirectReference()));
+            Assert.assertNotSame(font, pdfDocument.getFont(fontDict));
+            Assert.assertSame(pdfDocument.getFont(fontDict), pdfDocument.getDecodedFont(fontDict));
+        }
+    }
+
+    @Test
+    public void decodedFontWithDirectFontDictionaryTest() {
+        PdfDictionary fontDict = new PdfDictionary();
+        fontDict.put(PdfName.Type, PdfName.Font);
+        fontDict.put(PdfName.Subtype, PdfName.Type1);
+        fontDict.put(PdfName.BaseFont, new PdfName(StandardFonts.HELVETICA));
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            pdfDocument.addNewPage();
+            Assert.assertNotSame(pdfDocument.getDecodedFont(fontDict), pdfDocument.getDecodedFont(fontDict));
+            Assert.assertNull(fontDict.getIndirectReference());
+        }
+    }
+
     @Test
     public void copyPagesWithOCGDifferentNames() throws IOException {
         List<List<String>> ocgNames = new ArrayList<>();
@@ -25,9 +25,15 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -62,4 +68,69 @@ public class PdfObjectStreamUnitTest extends ExtendedITextTest {
         }
         Assert.assertTrue("We don't expect to reach this line, since no exception should have been thrown", true);
     }
+
+    @Test
+    public void incrementallyCompressedObjectStreamsTest() throws IOException {
+        assertObjectStreamsContent(new WriterProperties().setFullCompressionMode(true)
+                .setObjectStreamSize(10).useIncrementalObjectStreamCompression(), 10);
+    }
+
+    @Test
+    public void incrementallyCompressedEncryptedObjectStreamsTest() throws IOException {
+        assertObjectStreamsContent(new WriterProperties().setFullCompressionMode(true)
+                .setStandardEncryption(null, "owner".getBytes(StandardCharsets.ISO_8859_1),
+                        EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_128)
+                .setCompressionLevel(CompressionConstants.BEST_COMPRESSION)
+                .useIncrementalObjectStreamCompression(), PdfObjectStream.MAX_OBJ_STREAM_SIZE);
+    }
+
+    @Test
+    public void customObjectStreamSizeTest() throws IOException {
+        assertObjectStreamsContent(new WriterProperties().setFullCompressionMode(true).setObjectStreamSize(7), 7);
+    }
+
+    @Test
+    public void nonPositiveObjectStreamSizeTest() {
+        WriterProperties properties = new WriterProperties();
+        Exception e = Assert.assertThrows(PdfException.class, () -> properties.setObjectStreamSize(0));
+        Assert.assertEquals(KernelExceptionMessageConstant.OBJECT_STREAM_SIZE_SHALL_BE_POSITIVE, e.getMessage());
+    }
+
+    private static void assertObjectStreamsContent(WriterProperties properties, int objectStreamSize)
+            throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        List<Integer> objNumbers = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            PdfDictionary dictionary = new PdfDictionary();
+            dictionary.put(new PdfName("Index"), new PdfNumber(i));
+            dictionary.put(new PdfName("Text"), new PdfString("Object number " + i));
+            dictionary.makeIndirect(pdfDocument);
+            pdfDocument.getCatalog().getPdfObject().put(new PdfName("Object" + i), dictionary);
+            objNumbers.add(dictionary.getIndirectReference().getObjNumber());
+            dictionary.flush();
+        }
+        pdfDocument.close();
+
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setPassword("owner".getBytes(StandardCharsets.ISO_8859_1)));
+        PdfDocument resultDocument = new PdfDocument(reader);
+        Assert.assertFalse(reader.hasRebuiltXref());
+        for (int i = 0; i < objNumbers.size(); i++) {
+            PdfIndirectReference reference = resultDocument.getXref().get((int) objNumbers.get(i));
+            Assert.assertTrue(reference.getObjStreamNumber() > 0);
+            Assert.assertTrue(reference.getIndex() < objectStreamSize);
+            PdfDictionary dictionary = (PdfDictionary) reference.getRefersTo();
+            Assert.assertEquals(i, dictionary.getAsNumber(new PdfName("Index")).intValue());
+            Assert.assertEquals("Object number " + i, dictionary.getAsString(new PdfName("Text")).toUnicodeString());
+        }
+        for (int i = 1; i < resultDocument.getNumberOfPdfObjects(); i++) {
+            PdfObject object = resultDocument.getPdfObject(i);
+            if (object instanceof PdfStream && PdfName.ObjStm.equals(((PdfStream) object).getAsName(PdfName.Type))) {
+                // strict decoding also verifies the checksum of the zlib stream
+                Assert.assertNotNull(FlateDecodeFilter.flateDecode(((PdfStream) object).getBytes(false), true));
+            }
+        }
+        resultDocument.close();
+    }
 }
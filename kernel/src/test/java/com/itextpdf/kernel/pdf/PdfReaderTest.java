@@ -31,6 +31,7 @@ import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.PrefetchingRandomAccessSource;
 import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.kernel.exceptions.InvalidXRefPrevException;
@@ -57,12 +58,16 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -2753,4 +2758,323 @@ public class PdfReaderTest extends ExtendedITextTest {
             return getXmpMetadataCounter;
         }
     }
+
+    @Test
+    public void lazyXrefLoadingTest() throws IOException {
+        checkLazyXrefLoading(false);
+    }
+
+    @Test
+    public void lazyXrefLoadingWithXrefStreamsTest() throws IOException {
+        checkLazyXrefLoading(true);
+    }
+
+    private static void checkLazyXrefLoading(boolean fullCompression) throws IOException {
+        byte[] pdf = createDocumentWithIncrementalUpdates(fullCompression);
+
+        byte[] expectedContent;
+        int expectedNumberOfObjects;
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            expectedContent = pdfDoc.getPage(1).getContentBytes();
+            expectedNumberOfObjects = pdfDoc.getNumberOfPdfObjects();
+        }
+
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(pdf)).setLazyXrefLoading(true))) {
+            Assert.assertTrue(pdfDoc.getReader().hasPendingXrefSections());
+            Assert.assertEquals("Revision 3", pdfDoc.getDocumentInfo().getTitle());
+            Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+            Assert.assertArrayEquals(expectedContent, pdfDoc.getPage(1).getContentBytes());
+            Assert.assertEquals(expectedNumberOfObjects, pdfDoc.getNumberOfPdfObjects());
+            Assert.assertFalse(pdfDoc.getReader().hasPendingXrefSections());
+        }
+    }
+
+    @Test
+    public void lazyXrefLoadingStampingTest() throws IOException {
+        byte[] pdf = createDocumentWithIncrementalUpdates(false);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf))
+                .setLazyXrefLoading(true), new PdfWriter(baos))) {
+            Assert.assertFalse(pdfDoc.getReader().hasPendingXrefSections());
+        }
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+            Assert.assertEquals("Revision 3", pdfDoc.getDocumentInfo().getTitle());
+        }
+    }
+
+    private static byte[] createDocumentWithIncrementalUpdates(boolean fullCompression) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setFullCompressionMode(fullCompression)))) {
+            pdfDoc.getDocumentInfo().setTitle("Revision 1");
+            pdfDoc.addNewPage().getFirstContentStream().getOutputStream().writeString("0 0 m 100 100 l S");
+        }
+        for (int revision = 2; revision <= 3; revision++) {
+            byte[] previous = baos.toByteArray();
+            baos = new ByteArrayOutputStream();
+            try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(previous)),
+                    new PdfWriter(baos, new WriterProperties().setFullCompressionMode(fullCompression)),
+                    new StampingProperties().useAppendMode())) {
+                pdfDoc.getDocumentInfo().setTitle("Revision " + revision);
+                pdfDoc.addNewPage();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            IoLogMessageConstant.XREF_ERROR_WHILE_READING_TABLE_WILL_BE_REBUILT, count = 1))
+    public void xrefIndexFileSkipsXrefRebuildingTest() throws IOException {
+        String indexFile = DESTINATION_FOLDER + "xrefIndexFileSkipsXrefRebuilding.idx";
+        Files.deleteIfExists(Paths.get(indexFile));
+        byte[] pdf = createDocumentWithIncrementalUpdates(false);
+        String pdfString = new String(pdf, StandardCharsets.ISO_8859_1);
+        int startxrefOffset = pdfString.lastIndexOf("startxref\n") + "startxref\n".length();
+        // break the startxref offset, so that the xref table has to be rebuilt
+        pdf[startxrefOffset] = (byte) '1';
+
+        for (int i = 0; i < 2; i++) {
+            try (PdfDocument pdfDoc = new PdfDocument(
+                    new PdfReader(new ByteArrayInputStream(pdf)).setXrefIndexFile(indexFile))) {
+                Assert.assertTrue(pdfDoc.getReader().hasRebuiltXref());
+                Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+                Assert.assertEquals("Revision 3", pdfDoc.getDocumentInfo().getTitle());
+            }
+            Assert.assertTrue(new File(indexFile).exists());
+        }
+    }
+
+    @Test
+    public void xrefIndexFileOfAnotherDocumentIsIgnoredTest() throws IOException {
+        String indexFile = DESTINATION_FOLDER + "xrefIndexFileOfAnotherDocumentIsIgnored.idx";
+        byte[] firstPdf = createDocumentWithIncrementalUpdates(false);
+        byte[] secondPdf = createDocumentWithIncrementalUpdates(true);
+
+        new PdfDocument(new PdfReader(new ByteArrayInputStream(firstPdf)).setXrefIndexFile(indexFile)).close();
+        byte[] firstIndex = Files.readAllBytes(Paths.get(indexFile));
+
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(secondPdf)).setXrefIndexFile(indexFile))) {
+            Assert.assertTrue(pdfDoc.getReader().hasXrefStm());
+            Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+            Assert.assertArrayEquals(new PdfDocument(new PdfReader(new ByteArrayInputStream(secondPdf)))
+                    .getPage(1).getContentBytes(), pdfDoc.getPage(1).getContentBytes());
+        }
+        Assert.assertFalse(Arrays.equals(firstIndex, Files.readAllBytes(Paths.get(indexFile))));
+
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(secondPdf)).setXrefIndexFile(indexFile))) {
+            Assert.assertTrue(pdfDoc.getReader().hasXrefStm());
+            Assert.assertEquals("Revision 3", pdfDoc.getDocumentInfo().getTitle());
+            Assert.assertEquals("0 0 m 100 100 l S",
+                    new String(pdfDoc.getPage(1).getContentBytes(), StandardCharsets.ISO_8859_1).trim());
+        }
+    }
+
+    @Test
+    public void xrefIndexFileOfChangedXrefTableIsIgnoredTest() throws IOException {
+        String indexFile = DESTINATION_FOLDER + "xrefIndexFileOfChangedXrefTableIsIgnored.idx";
+        Files.deleteIfExists(Paths.get(indexFile));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos))) {
+            for (int i = 0; i < 200; i++) {
+                pdfDoc.addNewPage();
+            }
+        }
+        byte[] pdf = baos.toByteArray();
+        new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)).setXrefIndexFile(indexFile)).close();
+        byte[] index = Files.readAllBytes(Paths.get(indexFile));
+
+        // the entry is far from the head and the tail of the file, the changed offset still points to the object
+        String pdfString = new String(pdf, StandardCharsets.ISO_8859_1);
+        int entryStart = pdfString.indexOf("0000000000 65535 f", pdfString.lastIndexOf("\nxref")) + 300 * 20;
+        Assert.assertTrue(entryStart > 1024 && entryStart < pdf.length - 1024);
+        int offset = Integer.parseInt(pdfString.substring(entryStart, entryStart + 10));
+        Assert.assertTrue(PdfTokenizer.isWhitespace(pdf[offset - 1]));
+        byte[] changedOffset = String.format("%010d", offset - 1).getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(changedOffset, 0, pdf, entryStart, changedOffset.length);
+
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(pdf)).setXrefIndexFile(indexFile))) {
+            Assert.assertEquals(200, pdfDoc.getNumberOfPages());
+        }
+        Assert.assertFalse(Arrays.equals(index, Files.readAllBytes(Paths.get(indexFile))));
+    }
+
+    @Test
+    public void prefetchObjectStreamsTest() throws IOException {
+        byte[] pdf = createDocumentWithObjectStreams();
+
+        List<String> expectedPages = new ArrayList<>();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                expectedPages.add(pdfDoc.getPage(i).getPdfObject().toString());
+            }
+        }
+
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            Set<Integer> objectStreamNumbers = pdfDoc.getXref().getObjectStreamNumbers();
+            Assert.assertTrue(objectStreamNumbers.size() > 2);
+            Assert.assertTrue(pdfDoc.getReader().prefetchObjectStreams(4) > 1);
+            Assert.assertEquals(0, pdfDoc.getReader().prefetchObjectStreams(4));
+            for (int objectStreamNumber : objectStreamNumbers) {
+                Assert.assertTrue(pdfDoc.getXref().get(objectStreamNumber)
+                        .checkState(PdfObject.ORIGINAL_OBJECT_STREAM));
+            }
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                Assert.assertEquals(expectedPages.get(i - 1), pdfDoc.getPage(i).getPdfObject().toString());
+            }
+        }
+    }
+
+    @Test
+    public void prefetchSelectedObjectStreamsTest() throws IOException {
+        byte[] pdf = createDocumentWithObjectStreams();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            PdfXrefTable xref = pdfDoc.getXref();
+            int unreadObjectStreamNumber = -1;
+            for (int objectStreamNumber : xref.getObjectStreamNumbers()) {
+                if (!xref.get(objectStreamNumber).checkState(PdfObject.ORIGINAL_OBJECT_STREAM)) {
+                    unreadObjectStreamNumber = objectStreamNumber;
+                }
+            }
+            int catalogNumber = pdfDoc.getCatalog().getPdfObject().getIndirectReference().getObjNumber();
+            Assert.assertEquals(1, pdfDoc.getReader().prefetchObjectStreams(
+                    Arrays.asList(unreadObjectStreamNumber, catalogNumber, xref.size() + 10), 1));
+            Assert.assertTrue(xref.get(unreadObjectStreamNumber).checkState(PdfObject.ORIGINAL_OBJECT_STREAM));
+            for (int i = 1; i < xref.size(); i++) {
+                PdfIndirectReference reference = xref.get(i);
+                if (reference != null && reference.getObjStreamNumber() == unreadObjectStreamNumber) {
+                    Assert.assertNotNull(reference.refersTo);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void prefetchObjectStreamsInSmallBatchesTest() throws IOException {
+        byte[] pdf = createDocumentWithObjectStreams();
+        int expectedCount;
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            expectedCount = pdfDoc.getReader().prefetchObjectStreams(4);
+        }
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            Set<Integer> objectStreamNumbers = pdfDoc.getXref().getObjectStreamNumbers();
+            // Every batch holds a single object stream
+            Assert.assertEquals(expectedCount,
+                    new ObjectStreamPrefetcher(pdfDoc.getReader(), 4, 1).prefetch(objectStreamNumbers));
+            for (int objectStreamNumber : objectStreamNumbers) {
+                Assert.assertTrue(pdfDoc.getXref().get(objectStreamNumber)
+                        .checkState(PdfObject.ORIGINAL_OBJECT_STREAM));
+            }
+        }
+    }
+
+    @Test
+    public void prefetchObjectStreamsWithLazyXrefLoadingTest() throws IOException {
+        byte[] pdf = createDocumentWithIncrementalUpdates(true);
+        try (PdfDocument pdfDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(pdf)).setLazyXrefLoading(true))) {
+            pdfDoc.getReader().prefetchObjectStreams(2);
+            Assert.assertFalse(pdfDoc.getReader().hasPendingXrefSections());
+            Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+            Assert.assertEquals("0 0 m 100 100 l S",
+                    new String(pdfDoc.getPage(1).getContentBytes(), StandardCharsets.ISO_8859_1).trim());
+        }
+    }
+
+    @Test
+    public void prefetchObjectStreamsBeforeReadingTest() throws IOException {
+        PdfReader reader = new PdfReader(new ByteArrayInputStream(createDocumentWithObjectStreams()));
+        Exception e = Assert.assertThrows(PdfException.class, () -> reader.prefetchObjectStreams(2));
+        Assert.assertEquals(KernelExceptionMessageConstant.DOCUMENT_HAS_NOT_BEEN_READ_YET, e.getMessage());
+    }
+
+    @Test
+    public void prefetchPageTreeTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos))) {
+            for (int i = 0; i < 30; i++) {
+                pdfDoc.addNewPage().getPdfObject().put(new PdfName("PageIndex"), new PdfNumber(i));
+            }
+        }
+        List<Long> prefetched = Collections.synchronizedList(new ArrayList<Long>());
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(
+                createRecordingPrefetchingSource(baos.toByteArray(), prefetched), new ReaderProperties()))) {
+            Assert.assertEquals(pdfDoc.getCatalog().getPdfObject().getIndirectReference().getOffset(),
+                    (long) prefetched.get(0));
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                PdfDictionary page = pdfDoc.getPage(i).getPdfObject();
+                Assert.assertEquals(i - 1, page.getAsNumber(new PdfName("PageIndex")).intValue());
+                Assert.assertTrue(prefetched.contains(page.getIndirectReference().getOffset()));
+            }
+        }
+    }
+
+    @Test
+    public void prefetchObjectStreamsOfPageTreeTest() throws IOException {
+        List<Long> prefetched = Collections.synchronizedList(new ArrayList<Long>());
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(
+                createRecordingPrefetchingSource(createDocumentWithObjectStreams(), prefetched),
+                new ReaderProperties()))) {
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                PdfDictionary page = pdfDoc.getPage(i).getPdfObject();
+                Assert.assertEquals(i - 1, page.getAsNumber(new PdfName("PageIndex")).intValue());
+                int objectStreamNumber = page.getIndirectReference().getObjStreamNumber();
+                Assert.assertTrue(objectStreamNumber > 0);
+                Assert.assertTrue(prefetched.contains(pdfDoc.getXref().get(objectStreamNumber).getOffset()));
+            }
+        }
+    }
+
+    @Test
+    public void readSpooledInputStreamTest() throws IOException {
+        byte[] pdf = createDocumentWithObjectStreams();
+        List<String> expectedPages = new ArrayList<>();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                expectedPages.add(pdfDoc.getPage(i).getPdfObject().toString());
+            }
+        }
+
+        IRandomAccessSource source = new RandomAccessSourceFactory()
+                .createSpooledSource(new ByteArrayInputStream(pdf));
+        PdfReader reader = new PdfReader(source, new ReaderProperties());
+        reader.setCloseStream(true);
+        try (PdfDocument pdfDoc = new PdfDocument(reader)) {
+            Assert.assertEquals(expectedPages.size(), pdfDoc.getNumberOfPages());
+            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+                Assert.assertEquals(expectedPages.get(i - 1), pdfDoc.getPage(i).getPdfObject().toString());
+            }
+        }
+        Exception e = Assert.assertThrows(IllegalStateException.class, () -> source.get(0));
+        Assert.assertEquals(IoExceptionMessageConstant.ALREADY_CLOSED, e.getMessage());
+    }
+
+    private static PrefetchingRandomAccessSource createRecordingPrefetchingSource(byte[] pdf,
+            final List<Long> prefetched) {
+        return new PrefetchingRandomAccessSource(new RandomAccessSourceFactory().createSource(pdf), 256, 64) {
+            @Override
+            public void prefetch(long position, long len) {
+                prefetched.add(position);
+                super.prefetch(position, len);
+            }
+        };
+    }
+
+    private static byte[] createDocumentWithObjectStreams() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setFullCompressionMode(true).setObjectStreamSize(10)))) {
+            for (int i = 0; i < 20; i++) {
+                PdfPage page = pdfDoc.addNewPage();
+                page.getPdfObject().put(new PdfName("PageIndex"), new PdfNumber(i));
+                page.getFirstContentStream().getOutputStream().writeString("0 0 m 100 100 l S");
+            }
+        }
+        return baos.toByteArray();
+    }
 }
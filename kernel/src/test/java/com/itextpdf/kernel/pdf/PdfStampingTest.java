@@ -1347,4 +1347,37 @@ public class PdfStampingTest extends ExtendedITextTest {
             }
         }
     }
+
+    @Test
+    public void stampingTransfersUnchangedStreamsAsIsTest() throws IOException {
+        byte[] password = "owner".getBytes();
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        PdfDocument sourceDoc = new PdfDocument(new PdfWriter(source, new WriterProperties()
+                .setStandardEncryption(null, password, EncryptionConstants.ALLOW_PRINTING,
+                        EncryptionConstants.ENCRYPTION_AES_128)));
+        new PdfCanvas(sourceDoc.addNewPage()).rectangle(100, 100, 200, 200).fill().release();
+        sourceDoc.close();
+
+        ByteArrayOutputStream stamped = new ByteArrayOutputStream();
+        PdfDocument stampedDoc = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(source.toByteArray()),
+                        new ReaderProperties().setPassword(password)),
+                new PdfWriter(stamped), new StampingProperties().preserveEncryption());
+        stampedDoc.getDocumentInfo().setTitle("Stamped");
+        stampedDoc.close();
+
+        // Re-encryption would have produced a different initialization vector
+        Assert.assertArrayEquals(readRawFirstContentStream(source.toByteArray(), password),
+                readRawFirstContentStream(stamped.toByteArray(), password));
+    }
+
+    private static byte[] readRawFirstContentStream(byte[] pdf, byte[] password) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setPassword(password)));
+        PdfStream content = pdfDoc.getFirstPage().getFirstContentStream();
+        byte[] raw = new byte[content.getLength()];
+        System.arraycopy(pdf, (int) content.getOffset(), raw, 0, raw.length);
+        pdfDoc.close();
+        return raw;
+    }
 }
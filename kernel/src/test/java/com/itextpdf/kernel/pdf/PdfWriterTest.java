@@ -609,4 +609,43 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelStreamCompressionTest() throws IOException {
+        byte[] singleThreaded = createDocumentWithContentStreams(new WriterProperties());
+        byte[] multiThreaded = createDocumentWithContentStreams(new WriterProperties().setCompressionThreadCount(4));
+
+        PdfDocument expected = new PdfDocument(new PdfReader(new ByteArrayInputStream(singleThreaded)));
+        PdfDocument actual = new PdfDocument(new PdfReader(new ByteArrayInputStream(multiThreaded)));
+        Assert.assertEquals(expected.getNumberOfPages(), actual.getNumberOfPages());
+        for (int i = 1; i <= expected.getNumberOfPages(); i++) {
+            PdfStream expectedContent = expected.getPage(i).getFirstContentStream();
+            PdfStream actualContent = actual.getPage(i).getFirstContentStream();
+            Assert.assertEquals(expectedContent.getIndirectReference().getObjNumber(),
+                    actualContent.getIndirectReference().getObjNumber());
+            Assert.assertEquals(expectedContent.getIndirectReference().getOffset(),
+                    actualContent.getIndirectReference().getOffset());
+            Assert.assertEquals(PdfName.FlateDecode, actualContent.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(expectedContent.getBytes(false), actualContent.getBytes(false));
+        }
+        expected.close();
+        actual.close();
+    }
+
+    private static byte[] createDocumentWithContentStreams(WriterProperties properties) {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos, properties
+                .setInitialDocumentId(new PdfString("initial"))
+                .setModifiedDocumentId(new PdfString("modified"))));
+        for (int i = 0; i < 20; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < 500; j++) {
+                content.append(i).append(' ').append(j).append(" m ").append(j).append(' ').append(i).append(" l S\n");
+            }
+            page.getFirstContentStream().setData(ByteUtils.getIsoBytes(content.toString()));
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
 }
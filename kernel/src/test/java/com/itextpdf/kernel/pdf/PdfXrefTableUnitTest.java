@@ -128,4 +128,44 @@ public class PdfXrefTableUnitTest extends ExtendedITextTest {
 
         Assert.assertEquals(20, xrefTable.getCapacity());
     }
+
+    @Test
+    public void lazyEntriesAreCreatedOnDemandTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addLazyEntry(null, 1, 0, 15, 0, false);
+        table.addLazyEntry(null, 2, 3, 0, 0, true);
+        table.addLazyEntry(null, 3, 0, 4, 1, false);
+
+        Assert.assertEquals(4, table.size());
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+        Assert.assertTrue(table.hasLazyEntry(1));
+        Assert.assertNull(table.getCreatedReference(1));
+
+        PdfIndirectReference inUse = table.get(1);
+        Assert.assertEquals(15, inUse.getOffset());
+        Assert.assertFalse(inUse.isFree());
+        Assert.assertSame(inUse, table.get(1));
+        Assert.assertSame(inUse, table.getCreatedReference(1));
+        Assert.assertFalse(table.hasLazyEntry(1));
+
+        PdfIndirectReference free = table.get(2);
+        Assert.assertTrue(free.isFree());
+        Assert.assertEquals(3, free.getGenNumber());
+
+        PdfIndirectReference compressed = table.get(3);
+        Assert.assertEquals(1, compressed.getObjStreamNumber());
+        Assert.assertEquals(4, compressed.getIndex());
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+    }
+
+    @Test
+    public void addedReferenceReplacesLazyEntryTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addLazyEntry(null, 1, 0, 15, 0, false);
+        PdfIndirectReference reference = new PdfIndirectReference(null, 1);
+        table.add(reference);
+
+        Assert.assertFalse(table.hasLazyEntry(1));
+        Assert.assertSame(reference, table.get(1));
+    }
 }
@@ -68,4 +68,68 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
         Assert.assertEquals(expected, serializedObject);
     }
+
+    @Test
+    public void digestKeysIdentifyEqualContentTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer(true, 0);
+        SerializedObjectContent first = serializer.serializeObject(createDictionary(document, 1));
+        SerializedObjectContent second = serializer.serializeObject(createDictionary(document, 1));
+        SerializedObjectContent other = serializer.serializeObject(createDictionary(document, 2));
+
+        Assert.assertEquals(first, second);
+        Assert.assertNotEquals(first, other);
+        Assert.assertEquals(new SmartModePdfObjectsSerializer().serializeObject(createDictionary(document, 1)).getContentSize(),
+                first.getContentSize());
+    }
+
+    @Test
+    public void boundedCacheEvictsLeastRecentlyUsedTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer(true, 2);
+        PdfIndirectReference ref1 = new PdfIndirectReference(null, 1);
+        PdfIndirectReference ref2 = new PdfIndirectReference(null, 2);
+        PdfIndirectReference ref3 = new PdfIndirectReference(null, 3);
+
+        serializer.saveSerializedObject(serializer.serializeObject(createDictionary(document, 1)), ref1);
+        serializer.saveSerializedObject(serializer.serializeObject(createDictionary(document, 2)), ref2);
+        // touch the first object so that the second one becomes the eldest
+        Assert.assertSame(ref1, serializer.getSavedSerializedObject(serializer.serializeObject(createDictionary(document, 1))));
+        serializer.saveSerializedObject(serializer.serializeObject(createDictionary(document, 3)), ref3);
+
+        Assert.assertSame(ref1, serializer.getSavedSerializedObject(serializer.serializeObject(createDictionary(document, 1))));
+        Assert.assertNull(serializer.getSavedSerializedObject(serializer.serializeObject(createDictionary(document, 2))));
+        Assert.assertSame(ref3, serializer.getSavedSerializedObject(serializer.serializeObject(createDictionary(document, 3))));
+
+        SmartModeStatistics statistics = serializer.getStatistics();
+        Assert.assertEquals(3, statistics.getHits());
+        Assert.assertEquals(1, statistics.getMisses());
+        Assert.assertEquals(1, statistics.getEvictedObjects());
+        Assert.assertEquals(2, statistics.getCachedObjects());
+        Assert.assertEquals(0.75, statistics.getHitRate(), 1e-9);
+        Assert.assertTrue(statistics.getSavedBytes() > 0);
+    }
+
+    @Test
+    public void inMemoryStreamContentSizeTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfStream stream = new PdfStream(new byte[1000]);
+        stream.makeIndirect(document);
+        Assert.assertEquals(-1, stream.getLength());
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        SerializedObjectContent serialized = serializer.serializeObject(stream);
+        Assert.assertTrue(serialized.getContentSize() > 1000);
+        serializer.saveSerializedObject(serialized, stream.getIndirectReference());
+        serializer.getSavedSerializedObject(serializer.serializeObject(stream));
+        Assert.assertEquals(serialized.getContentSize(), serializer.getStatistics().getSavedBytes());
+    }
+
+    private static PdfDictionary createDictionary(PdfDocument document, int value) {
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Type, PdfName.Font);
+        dictionary.put(new PdfName("Value"), new PdfNumber(value));
+        dictionary.makeIndirect(document);
+        return dictionary;
+    }
 }
@@ -249,6 +249,37 @@ public class SmartModeTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFile, cmpFile, destinationFolder));
     }
 
+    @Test
+    public void digestSmartModeSameImageResourcesTest() throws IOException {
+        String srcFile = sourceFolder + "sameImageResources.pdf";
+        String outFile = destinationFolder + "digestSmartModeSameImageResources.pdf";
+
+        try (PdfDocument newDoc = new PdfDocument(new PdfWriter(outFile, new WriterProperties()
+                .useDigestSmartMode(16)))) {
+
+            try (PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFile))) {
+                srcDoc.copyPagesTo(1, srcDoc.getNumberOfPages(), newDoc);
+            }
+
+            PdfIndirectReference page1ImgRes = newDoc.getPage(1).getPdfObject()
+                    .getAsDictionary(PdfName.Resources)
+                    .getAsDictionary(PdfName.XObject)
+                    .getAsStream(new PdfName("Im0")).getIndirectReference();
+
+            PdfIndirectReference page2ImgRes = newDoc.getPage(2).getPdfObject()
+                    .getAsDictionary(PdfName.Resources)
+                    .getAsDictionary(PdfName.XObject)
+                    .getAsStream(new PdfName("Im0")).getIndirectReference();
+
+            Assert.assertEquals(page1ImgRes, page2ImgRes);
+
+            SmartModeStatistics statistics = newDoc.getWriter().getSmartModeStatistics();
+            Assert.assertTrue(statistics.getHits() > 0);
+            Assert.assertTrue(statistics.getSavedBytes() > 0);
+            Assert.assertTrue(statistics.getCachedObjects() <= 16);
+        }
+    }
+
     @Test
     public void smartModeSameColorSpaceResourcesTest() throws IOException, InterruptedException {
         String srcFile = sourceFolder + "colorSpaceResource.pdf";
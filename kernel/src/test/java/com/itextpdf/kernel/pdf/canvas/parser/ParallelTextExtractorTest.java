@@ -0,0 +1,199 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.MemoryLimitsAwareHandler;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelTextExtractorTest extends ExtendedITextTest {
+
+    private static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/canvas/parser/ParallelTextExtractorTest/";
+
+    private static final int PAGE_COUNT = 24;
+
+    private static final String SOURCE_FILE = destinationFolder + "multiPage.pdf";
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        createOrClearDestinationFolder(destinationFolder);
+        // full compression puts the pages into object streams, which are then read by all the workers
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(SOURCE_FILE,
+                new WriterProperties().setFullCompressionMode(true)))) {
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                canvas.beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .moveText(0, -20)
+                        .showText("The second line of page " + i)
+                        .endText();
+            }
+        }
+    }
+
+    @Test
+    public void locationStrategyFromFileTest() throws IOException {
+        Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new LocationTextExtractionStrategy();
+            }
+        };
+        List<String> texts = ParallelTextExtractor.getTextFromPages(SOURCE_FILE, new ReaderProperties(),
+                strategySupplier, 4);
+        Assert.assertEquals(extractSerially(strategySupplier), texts);
+        Assert.assertEquals("Page 7\nThe second line of page 7", texts.get(6));
+    }
+
+    @Test
+    public void simpleStrategyFromFileTest() throws IOException {
+        Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new SimpleTextExtractionStrategy();
+            }
+        };
+        List<String> texts = ParallelTextExtractor.getTextFromPages(SOURCE_FILE, new ReaderProperties(),
+                strategySupplier, 3);
+        Assert.assertEquals(PAGE_COUNT, texts.size());
+        Assert.assertEquals(extractSerially(strategySupplier), texts);
+    }
+
+    @Test
+    public void fromDocumentTest() throws IOException {
+        Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new LocationTextExtractionStrategy();
+            }
+        };
+        List<String> expected = extractSerially(strategySupplier);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            Assert.assertEquals(expected, ParallelTextExtractor.getTextFromPages(pdfDocument, strategySupplier, 4));
+            // the document is still usable after the extraction
+            Assert.assertEquals(expected.get(0),
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), strategySupplier.get()));
+        }
+    }
+
+    @Test
+    public void singleThreadFromDocumentTest() throws IOException {
+        Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new SimpleTextExtractionStrategy();
+            }
+        };
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            Assert.assertEquals(extractSerially(strategySupplier),
+                    ParallelTextExtractor.getTextFromPages(pdfDocument, strategySupplier, 1));
+        }
+    }
+
+    @Test
+    public void interruptedExtractionTest() throws IOException {
+        final Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new SimpleTextExtractionStrategy();
+            }
+        };
+        try (final PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            Thread.currentThread().interrupt();
+            try {
+                Exception e = Assert.assertThrows(PdfException.class,
+                        () -> ParallelTextExtractor.getTextFromPages(pdfDocument, strategySupplier, 4));
+                Assert.assertEquals(KernelExceptionMessageConstant.TEXT_EXTRACTION_WAS_INTERRUPTED, e.getMessage());
+                Assert.assertTrue(Thread.currentThread().isInterrupted());
+            } finally {
+                Thread.interrupted();
+            }
+            // the document is still usable after the extraction
+            Assert.assertEquals("Page 1\nThe second line of page 1",
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), strategySupplier.get()));
+        }
+    }
+
+    @Test
+    public void readerPropertiesOfDocumentAreCopiedTest() throws IOException {
+        Supplier<ITextExtractionStrategy> strategySupplier = new Supplier<ITextExtractionStrategy>() {
+            @Override
+            public ITextExtractionStrategy get() {
+                return new SimpleTextExtractionStrategy();
+            }
+        };
+        final AtomicInteger createdHandlers = new AtomicInteger();
+        MemoryLimitsAwareHandler handler = new MemoryLimitsAwareHandler() {
+            @Override
+            public MemoryLimitsAwareHandler createNewInstance() {
+                createdHandlers.incrementAndGet();
+                return super.createNewInstance();
+            }
+        };
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE,
+                new ReaderProperties().setMemoryLimitsAwareHandler(handler)))) {
+            Assert.assertEquals(extractSerially(strategySupplier),
+                    ParallelTextExtractor.getTextFromPages(pdfDocument, strategySupplier, 4));
+        }
+        // every worker document gets its own handler with the limits of the passed one
+        int workers = createdHandlers.get();
+        Assert.assertTrue(workers >= 1 && workers <= 4);
+    }
+
+    private static List<String> extractSerially(Supplier<ITextExtractionStrategy> strategySupplier)
+            throws IOException {
+        List<String> texts = new ArrayList<>();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FILE))) {
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                texts.add(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), strategySupplier.get()));
+            }
+        }
+        return texts;
+    }
+}
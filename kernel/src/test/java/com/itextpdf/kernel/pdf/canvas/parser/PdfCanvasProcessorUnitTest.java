@@ -22,9 +22,13 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
@@ -32,7 +36,11 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 @Category(UnitTest.class)
 public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
@@ -49,4 +57,70 @@ public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
         processor.registerContentOperator("BMC", contentOperator);
         contentOperator.invoke(processor, null, Collections.singletonList((PdfObject) null));
     }
+
+    @Test
+    public void listBasedOperatorTest() {
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener());
+        final List<String> invocations = new ArrayList<>();
+        final IContentOperator cm = processor.registerContentOperator("cm", null);
+        processor.registerContentOperator("cm", new IContentOperator() {
+            @Override
+            public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+                invocations.add(operator + " " + operands);
+                Assert.assertTrue(operands.get(4) instanceof PdfNumber);
+                cm.invoke(processor, operator, operands);
+            }
+        });
+        processor.processContent("2 0 0 2 10 20.5 cm 1 0 0 1 5 5 cm".getBytes(StandardCharsets.ISO_8859_1),
+                new PdfResources());
+
+        Assert.assertEquals(Arrays.asList("cm [2, 0, 0, 2, 10, 20.5, cm]", "cm [1, 0, 0, 1, 5, 5, cm]"), invocations);
+        Assert.assertEquals(new Matrix(2, 0, 0, 2, 20, 30.5f), processor.getGraphicsState().getCtm());
+    }
+
+    @Test
+    public void overriddenListBasedInvokeOperatorTest() {
+        final List<String> invocations = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener()) {
+            @Override
+            protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
+                invocations.add(operator + " " + operands);
+                super.invokeOperator(operator, operands);
+            }
+        };
+        processor.processContent("2 0 0 2 10 20.5 cm q Q".getBytes(StandardCharsets.ISO_8859_1), new PdfResources());
+
+        Assert.assertEquals(Arrays.asList("cm [2, 0, 0, 2, 10, 20.5, cm]", "q [q]", "Q [Q]"), invocations);
+        Assert.assertEquals(new Matrix(2, 0, 0, 2, 10, 20.5f), processor.getGraphicsState().getCtm());
+    }
+
+    @Test
+    public void inheritedListBasedInvokeOperatorTest() {
+        // the override is detected once per class, every processor of the classes still uses it
+        for (int i = 0; i < 2; i++) {
+            for (ListBasedProcessor processor : Arrays.asList(new ListBasedProcessor(),
+                    new InheritedListBasedProcessor())) {
+                processor.processContent("q 2 0 0 2 10 20.5 cm Q".getBytes(StandardCharsets.ISO_8859_1),
+                        new PdfResources());
+                Assert.assertEquals(Arrays.asList("q", "cm", "Q"), processor.invocations);
+            }
+        }
+    }
+
+    private static class ListBasedProcessor extends PdfCanvasProcessor {
+        final List<String> invocations = new ArrayList<>();
+
+        ListBasedProcessor() {
+            super(new FilteredEventListener());
+        }
+
+        @Override
+        protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
+            invocations.add(operator.toString());
+            super.invokeOperator(operator, operands);
+        }
+    }
+
+    private static class InheritedListBasedProcessor extends ListBasedProcessor {
+    }
 }
@@ -0,0 +1,131 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredTextEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.TextRegionIndex;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class TextRegionIndexTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/FilteredTextEventListenerTest/";
+
+    @Test
+    public void regionTest() throws IOException {
+        try (PdfDocument doc = new PdfDocument(new PdfReader(sourceFolder + "in.pdf"))) {
+            float pageHeight = doc.getPage(1).getPageSize().getHeight();
+            Rectangle upperLeft = new Rectangle(0, (int) pageHeight - 30, 250, (int) pageHeight);
+
+            TextRegionIndex index = new TextRegionIndex();
+            new PdfCanvasProcessor(index).processPageContent(doc.getPage(1));
+            Assert.assertEquals("Upper Left", index.getTextFromRegion(upperLeft));
+            Assert.assertEquals(extractWithFilter(doc, upperLeft, new LocationTextExtractionStrategy()),
+                    index.getTextFromRegion(upperLeft));
+        }
+    }
+
+    @Test
+    public void sameTextAsFilteredListenerTest() throws IOException {
+        try (PdfDocument doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(createGridDocument())))) {
+            TextRegionIndex index = new TextRegionIndex();
+            new PdfCanvasProcessor(index).processPageContent(doc.getPage(1));
+            Assert.assertEquals(20 * 20 + 1, index.size());
+
+            Random random = new Random(17);
+            for (int i = 0; i < 50; i++) {
+                Rectangle region = new Rectangle(random.nextInt(550), random.nextInt(780),
+                        random.nextInt(200) + 1, random.nextInt(120) + 1);
+                Assert.assertEquals(extractWithFilter(doc, region, new LocationTextExtractionStrategy()),
+                        index.getTextFromRegion(region));
+                Assert.assertEquals(extractWithFilter(doc, region, new SimpleTextExtractionStrategy()),
+                        index.getTextFromRegion(region, new SimpleTextExtractionStrategy()));
+            }
+        }
+    }
+
+    @Test
+    public void cellTextTest() throws IOException {
+        try (PdfDocument doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(createGridDocument())))) {
+            TextRegionIndex index = new TextRegionIndex();
+            new PdfCanvasProcessor(index).processPageContent(doc.getPage(1));
+            Assert.assertEquals("7:3", index.getTextFromRegion(new Rectangle(36 + 3 * 25, 36 + 7 * 36, 20, 10)));
+            // the region is given with negative width and height
+            Assert.assertEquals("7:3", index.getTextFromRegion(new Rectangle(36 + 3 * 25 + 20, 36 + 7 * 36 + 10, -20, -10)));
+            Assert.assertEquals("rotated", index.getTextFromRegion(new Rectangle(560, 100, 10, 10)));
+            Assert.assertEquals("", index.getTextFromRegion(new Rectangle(0, 0, 30, 30)));
+            Assert.assertTrue(index.getTextRenderInfos(new Rectangle(0, 0, 30, 30)).isEmpty());
+        }
+    }
+
+    @Test
+    public void emptyIndexTest() {
+        TextRegionIndex index = new TextRegionIndex();
+        Assert.assertEquals(0, index.size());
+        Assert.assertEquals("", index.getTextFromRegion(new Rectangle(0, 0, 100, 100)));
+    }
+
+    private static String extractWithFilter(PdfDocument doc, Rectangle region, ITextExtractionStrategy strategy) {
+        return PdfTextExtractor.getTextFromPage(doc.getPage(1),
+                new FilteredTextEventListener(strategy, new TextRegionEventFilter(region)));
+    }
+
+    private static byte[] createGridDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 8);
+            for (int row = 0; row < 20; row++) {
+                for (int column = 0; column < 20; column++) {
+                    canvas.setTextMatrix(36 + column * 25, 36 + row * 36).showText(row + ":" + column);
+                }
+            }
+            // a vertical line of text
+            canvas.setTextMatrix(0, 1, -1, 0, 565, 90).showText("rotated");
+            canvas.endText();
+        }
+        return baos.toByteArray();
+    }
+}
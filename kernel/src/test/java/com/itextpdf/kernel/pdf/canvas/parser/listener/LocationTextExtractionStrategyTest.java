@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class LocationTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String MARK = "^";
+
+    @Test
+    public void marksAreAttachedToTheirBaseTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(font, 12)
+                    // the mark occurs before its base
+                    .setTextMatrix(110, 700).showText(MARK)
+                    .setTextMatrix(100, 700).showText("base")
+                    .setTextMatrix(300, 700).showText(MARK)
+                    // the mark is a bit below the baseline of its base
+                    .setTextMatrix(105, 699).showText(MARK)
+                    .setTextMatrix(100, 600).showText("next")
+                    .endText();
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assert.assertEquals("^base^^\nnext",
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), createStrategyWithMarks()));
+        }
+    }
+
+    @Test
+    public void manyMarksTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 8);
+            for (int line = 0; line < 80; line++) {
+                for (int group = 0; group < 30; group++) {
+                    float x = 5 + group * 18;
+                    float y = 800 - line * 10;
+                    canvas.setTextMatrix(x, y).showText("ab")
+                            .setTextMatrix(x + 1, y).showText(MARK)
+                            // this mark doesn't belong to any chunk
+                            .setTextMatrix(x + 12, y).showText(MARK);
+                }
+            }
+            canvas.endText();
+        }
+        StringBuilder expectedLine = new StringBuilder();
+        for (int group = 0; group < 30; group++) {
+            expectedLine.append("ab^^");
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            String[] lines = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1), createStrategyWithMarks())
+                    .split("\n");
+            Assert.assertEquals(80, lines.length);
+            for (String line : lines) {
+                Assert.assertEquals(expectedLine.toString(), line);
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void marksOfLinesAtIntLimitsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            // the perpendicular distances of these lines are clamped to the limits of the int range
+            for (float y : new float[] {3e9f, -3e9f}) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(font, 12)
+                        // the mark occurs before its base, so it's only put before the base if it's attached to it
+                        .setTextMatrix(105, y).showText(MARK)
+                        .setTextMatrix(100, y).showText("base")
+                        .endText();
+            }
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                Assert.assertEquals("^base",
+                        PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), createStrategyWithMarks()));
+            }
+        }
+    }
+
+    private static LocationTextExtractionStrategy createStrategyWithMarks() {
+        // the standard fonts have no zero-width marks, so the locations of the marks are collapsed here
+        return new LocationTextExtractionStrategy(new LocationTextExtractionStrategy.ITextChunkLocationStrategy() {
+            @Override
+            public ITextChunkLocation createLocation(TextRenderInfo renderInfo, LineSegment baseline) {
+                return new TextChunkLocationDefaultImp(baseline.getStartPoint(),
+                        MARK.equals(renderInfo.getText()) ? baseline.getStartPoint() : baseline.getEndPoint(),
+                        renderInfo.getSingleSpaceWidth());
+            }
+        });
+    }
+}
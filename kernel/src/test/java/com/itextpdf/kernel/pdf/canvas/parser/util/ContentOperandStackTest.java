@@ -0,0 +1,185 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ContentOperandStackTest extends ExtendedITextTest {
+
+    private static final String CONTENT = "q 1 0 0 1 10.5 -20 cm\n"
+            + "BT /F1 12 Tf % comment\n"
+            + "[(a) -250.75 (b)] TJ /OC <</MCID 3>> BDC (c) Tj EMC ET\n"
+            + "/P1 .5 +3 4. -.0001 cs 0.30000000000000004 123456789012345678 g Q";
+
+    @Test
+    public void parseTheSameAsListTest() throws IOException {
+        PdfCanvasParser listParser = createParser(CONTENT);
+        PdfCanvasParser stackParser = createParser(CONTENT);
+        ContentOperandStack operands = new ContentOperandStack();
+        List<PdfObject> expected = new ArrayList<>();
+        int commands = 0;
+        while (listParser.parse(expected).size() > 0) {
+            Assert.assertTrue(stackParser.parseOperands(operands));
+            Assert.assertEquals(expected.toString(), operands.toList(null).toString());
+            Assert.assertEquals(expected.get(expected.size() - 1).toString(), operands.getOperator());
+            for (int i = 0; i < operands.size(); i++) {
+                Assert.assertEquals(expected.get(i).getType(), operands.get(i).getType());
+                if (operands.isNumber(i)) {
+                    Assert.assertEquals(((PdfNumber) expected.get(i)).doubleValue(), operands.getDouble(i), 0);
+                }
+            }
+            commands++;
+        }
+        Assert.assertFalse(stackParser.parseOperands(operands));
+        Assert.assertEquals(12, commands);
+    }
+
+    @Test
+    public void numbersTest() throws IOException {
+        String[] numbers = {"0", "-0", "17", "-3.25", ".5", "+3", "4.", "-.0001", "0.30000000000000004",
+                "123456789012345678", "1.0000000000000000000000001", "2147483648", "-2147483649", "--5", "-"};
+        String content = String.join(" ", numbers) + " op";
+        List<PdfObject> expected = createParser(content).parse(null);
+        ContentOperandStack operands = new ContentOperandStack();
+        Assert.assertTrue(createParser(content).parseOperands(operands));
+        Assert.assertEquals(numbers.length, operands.size());
+        for (int i = 0; i < numbers.length; i++) {
+            PdfNumber number = (PdfNumber) expected.get(i);
+            Assert.assertTrue(operands.isNumber(i));
+            Assert.assertEquals(numbers[i], Double.doubleToLongBits(number.doubleValue()),
+                    Double.doubleToLongBits(operands.getDouble(i)));
+            Assert.assertEquals(numbers[i], number.floatValue(), operands.getFloat(i), 0);
+            Assert.assertEquals(numbers[i], number.intValue(), operands.getInt(i));
+            Assert.assertEquals(numbers[i], number.toString(), operands.get(i).toString());
+        }
+    }
+
+    @Test
+    public void namesAndOperatorsAreInternedTest() throws IOException {
+        PdfCanvasParser parser = createParser("/F1 12 Tf /F1 10 Tf");
+        ContentOperandStack operands = new ContentOperandStack();
+        Assert.assertTrue(parser.parseOperands(operands));
+        PdfObject name = operands.get(0);
+        String operator = operands.getOperator();
+        Assert.assertEquals(new PdfName("F1"), name);
+        Assert.assertEquals("Tf", operator);
+
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertSame(name, operands.get(0));
+        Assert.assertSame(operator, operands.getOperator());
+        Assert.assertEquals(10, operands.getInt(1));
+    }
+
+    @Test
+    public void inlineImageTest() throws IOException {
+        PdfCanvasParser parser = createParser("q BI /W 1 /H 1 /BPC 8 /CS /G ID \u0000 EI Q");
+        ContentOperandStack operands = new ContentOperandStack();
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertEquals("q", operands.getOperator());
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertEquals("EI", operands.getOperator());
+        Assert.assertEquals(1, operands.size());
+        Assert.assertTrue(operands.get(0) instanceof PdfStream);
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertEquals("Q", operands.getOperator());
+        Assert.assertEquals(0, operands.size());
+        Assert.assertFalse(parser.parseOperands(operands));
+    }
+
+    @Test
+    public void contentEndsWithoutOperatorTest() throws IOException {
+        PdfCanvasParser parser = createParser("1 0 0 RG 2 /N");
+        ContentOperandStack operands = new ContentOperandStack();
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertEquals("RG", operands.getOperator());
+        Assert.assertTrue(parser.parseOperands(operands));
+        Assert.assertNull(operands.getOperator());
+        Assert.assertNull(operands.getOperatorLiteral());
+        Assert.assertEquals(2, operands.size());
+        Assert.assertEquals("[2, /N]", operands.toList(null).toString());
+        Assert.assertFalse(parser.parseOperands(operands));
+    }
+
+    @Test
+    public void createFromListTest() {
+        List<PdfObject> list = Arrays.asList(new PdfString("text"), new PdfNumber(1.5), null, new PdfLiteral("op"));
+        ContentOperandStack operands = new ContentOperandStack(null, list);
+        Assert.assertEquals(3, operands.size());
+        Assert.assertEquals("op", operands.getOperator());
+        Assert.assertFalse(operands.isNumber(0));
+        Assert.assertTrue(operands.isNumber(1));
+        Assert.assertEquals(1.5, operands.getDouble(1), 0);
+        Assert.assertFalse(operands.isNumber(2));
+        Assert.assertNull(operands.get(2));
+        Assert.assertEquals(list.toString(), operands.toList(new ArrayList<PdfObject>()).toString());
+
+        operands = new ContentOperandStack(new PdfLiteral("Tj"), list.subList(0, 1));
+        Assert.assertEquals(1, operands.size());
+        Assert.assertEquals("Tj", operands.getOperator());
+
+        operands = new ContentOperandStack(null, null);
+        Assert.assertEquals(0, operands.size());
+        Assert.assertNull(operands.getOperator());
+    }
+
+    @Test
+    public void indexOutOfBoundsTest() {
+        ContentOperandStack operands = new ContentOperandStack(null, Arrays.asList((PdfObject) new PdfNumber(1)));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> operands.get(1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> operands.getDouble(-1));
+    }
+
+    @Test
+    public void nonNumericOperandTest() {
+        ContentOperandStack operands = new ContentOperandStack(null, Arrays.asList((PdfObject) new PdfName("N")));
+        Assert.assertThrows(ClassCastException.class, () -> operands.getFloat(0));
+    }
+
+    private static PdfCanvasParser createParser(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(bytes)));
+        return new PdfCanvasParser(tokenizer, new PdfResources());
+    }
+}
@@ -27,15 +27,19 @@ import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TIFFDirectory;
 import com.itextpdf.io.codec.TIFFField;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.EventType;
 import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
@@ -44,6 +48,9 @@ import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -51,7 +58,10 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.Set;
+import java.util.zip.Deflater;
+import javax.imageio.ImageIO;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -229,6 +239,96 @@ public class GetImageBytesTest extends ExtendedITextTest {
                 e.getMessage());
     }
 
+    @Test
+    public void writeLargeFlateImageTest() throws IOException {
+        int width = 600;
+        int height = 400;
+        byte[] data = new byte[width * height * 3];
+        new Random(42).nextBytes(data);
+        String outFileName = DESTINATION_FOLDER + "largeFlateImage.pdf";
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName))) {
+            PdfImageXObject image = new PdfImageXObject(ImageDataFactory.create(width, height, 3, 8, data, null));
+            new PdfCanvas(pdfDocument.addNewPage()).addXObjectAt(image, 0, 0);
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(outFileName))) {
+            PdfDictionary xobjects = pdfDocument.getPage(1).getResources().getResource(PdfName.XObject);
+            PdfImageXObject image = new PdfImageXObject(xobjects.getAsStream(xobjects.keySet().iterator().next()));
+            Assert.assertEquals("png", image.identifyImageFileExtension());
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            image.writeImageBytes(streamed);
+            // the random data can't be compressed, so it's written in several chunks
+            Assert.assertTrue(streamed.size() > data.length);
+            comparePngImages(image.getImageBytes(), streamed.toByteArray());
+        }
+    }
+
+    @Test
+    public void writeTruncatedFlateImageTest() throws IOException {
+        byte[] compressed = createCompressedGradient(200, 100);
+        testCorruptedFlateImage("truncatedFlateImage.pdf", Arrays.copyOf(compressed, compressed.length / 2));
+    }
+
+    @Test
+    public void writeCorruptedFlateImageTest() throws IOException {
+        byte[] compressed = createCompressedGradient(200, 100);
+        for (int i = compressed.length / 2; i < compressed.length; i++) {
+            compressed[i] = (byte) 0xff;
+        }
+        testCorruptedFlateImage("corruptedFlateImage.pdf", compressed);
+    }
+
+    private static byte[] createCompressedGradient(int width, int height) {
+        byte[] data = new byte[width * height];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % width + i / width);
+        }
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return compressed.toByteArray();
+    }
+
+    private static void testCorruptedFlateImage(String fileName, byte[] compressed) throws IOException {
+        String outFileName = DESTINATION_FOLDER + fileName;
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName))) {
+            PdfStream stream = new PdfStream(compressed);
+            stream.put(PdfName.Type, PdfName.XObject);
+            stream.put(PdfName.Subtype, PdfName.Image);
+            stream.put(PdfName.Width, new PdfNumber(200));
+            stream.put(PdfName.Height, new PdfNumber(100));
+            stream.put(PdfName.ColorSpace, PdfName.DeviceGray);
+            stream.put(PdfName.BitsPerComponent, new PdfNumber(8));
+            stream.put(PdfName.Filter, PdfName.FlateDecode);
+            new PdfCanvas(pdfDocument.addNewPage()).addXObjectAt(new PdfImageXObject(stream), 0, 0);
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(outFileName))) {
+            PdfDictionary xobjects = pdfDocument.getPage(1).getResources().getResource(PdfName.XObject);
+            PdfImageXObject image = new PdfImageXObject(xobjects.getAsStream(xobjects.keySet().iterator().next()));
+            Assert.assertEquals("png", image.identifyImageFileExtension());
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            image.writeImageBytes(streamed);
+            BufferedImage streamedImage = ImageIO.read(new ByteArrayInputStream(streamed.toByteArray()));
+            Assert.assertEquals(200, streamedImage.getWidth());
+            Assert.assertEquals(100, streamedImage.getHeight());
+            // the data decoded before the damaged part is the same as the one decoded by getImageBytes,
+            // the missing pixels are filled with zeroes
+            byte[] decoded = image.getPdfObject().getBytes(true);
+            Assert.assertTrue(decoded.length > 200);
+            for (int i = 0; i < 200 * 100; i++) {
+                int expected = i < decoded.length ? decoded[i] & 0xff : 0;
+                Assert.assertEquals(expected, streamedImage.getRaster().getSample(i % 200, i / 200, 0));
+            }
+        }
+    }
+
     private void testFile(String filename, String objectid, String expectedImageFormat) throws Exception {
         testFile(filename, objectid, expectedImageFormat, false);
     }
@@ -263,9 +363,29 @@ public class GetImageBytesTest extends ExtendedITextTest {
             } else {
                 Assert.assertArrayEquals(cmpBytes, result);
             }
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            img.writeImageBytes(streamed);
+            if (img.identifyImageFileExtension().equals("png")) {
+                // the data may be compressed differently
+                comparePngImages(result, streamed.toByteArray());
+            } else {
+                Assert.assertArrayEquals(result, streamed.toByteArray());
+            }
         }
     }
 
+    private static void comparePngImages(byte[] cmpBytes, byte[] resultBytes) throws IOException {
+        BufferedImage cmpImage = ImageIO.read(new ByteArrayInputStream(cmpBytes));
+        BufferedImage resultImage = ImageIO.read(new ByteArrayInputStream(resultBytes));
+        Assert.assertEquals(cmpImage.getWidth(), resultImage.getWidth());
+        Assert.assertEquals(cmpImage.getHeight(), resultImage.getHeight());
+        Assert.assertArrayEquals(
+                cmpImage.getRGB(0, 0, cmpImage.getWidth(), cmpImage.getHeight(), null, 0, cmpImage.getWidth()),
+                resultImage.getRGB(0, 0, resultImage.getWidth(), resultImage.getHeight(), null, 0,
+                        resultImage.getWidth()));
+    }
+
     private void compareTiffImages(byte[] cmpBytes, byte[] resultBytes) throws IOException {
         int cmpNumDirectories = TIFFDirectory.getNumDirectories(new RandomAccessFileOrArray(
                 new RandomAccessSourceFactory().createSource(cmpBytes)));
@@ -23,6 +23,8 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -38,6 +40,7 @@ import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -45,6 +48,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.parsers.ParserConfigurationException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -92,6 +96,83 @@ public class PdfMergerTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf", destinationFolder, "diff_"));
     }
 
+    @Test
+    public void mergeDocumentsWithPrefetchTest() throws IOException, InterruptedException {
+        String resultFile = destinationFolder + "mergedResultWithPrefetch.pdf";
+
+        List<PdfDocument> sources = new ArrayList<>();
+        sources.add(new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf")));
+        sources.add(new PdfDocument(new PdfReader(sourceFolder + "helveticaTest.pdf")));
+        sources.add(new PdfDocument(new PdfReader(sourceFolder + "timesRomanTest.pdf")));
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(resultFile));
+        PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true).setPrefetchThreadCount(3);
+        merger.merge(sources);
+        merger.close();
+
+        for (PdfDocument source : sources) {
+            Assert.assertTrue(source.isClosed());
+        }
+        Assert.assertNull(new CompareTool().compareByContent(resultFile, sourceFolder + "cmp_mergedResult01.pdf",
+                destinationFolder, "diff_"));
+    }
+
+    @Test
+    public void mergeRepeatedDocumentsWithPrefetchTest() throws IOException {
+        PdfDocument courier = new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf"));
+        PdfDocument helvetica = new PdfDocument(new PdfReader(sourceFolder + "helveticaTest.pdf"));
+        List<PdfDocument> sources = new ArrayList<>();
+        sources.add(courier);
+        sources.add(helvetica);
+        sources.add(courier);
+        sources.add(helvetica);
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        new PdfMerger(pdfDoc).setPrefetchThreadCount(2).merge(sources);
+        Assert.assertEquals(2 * (courier.getNumberOfPages() + helvetica.getNumberOfPages()),
+                pdfDoc.getNumberOfPages());
+        pdfDoc.close();
+        courier.close();
+        helvetica.close();
+    }
+
+    @Test
+    public void mergeWithPrefetchOnInterruptedThreadTest() throws IOException {
+        Thread mergingThread = Thread.currentThread();
+        List<PdfDocument> sources = new ArrayList<>();
+        List<SingleThreadAccessPdfDocument> checkedSources = new ArrayList<>();
+        sources.add(new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf")));
+        for (String name : new String[] {"helveticaTest.pdf", "timesRomanTest.pdf"}) {
+            SingleThreadAccessPdfDocument source = new SingleThreadAccessPdfDocument(
+                    new PdfReader(sourceFolder + name), mergingThread);
+            sources.add(source);
+            checkedSources.add(source);
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        mergingThread.interrupt();
+        try {
+            new PdfMerger(pdfDoc).setPrefetchThreadCount(3).merge(sources);
+        } finally {
+            Assert.assertTrue(Thread.interrupted());
+        }
+        Assert.assertEquals(3, pdfDoc.getNumberOfPages());
+        for (SingleThreadAccessPdfDocument source : checkedSources) {
+            Assert.assertFalse(source.isAccessedConcurrently());
+        }
+        pdfDoc.close();
+        for (PdfDocument source : sources) {
+            source.close();
+        }
+    }
+
+    @Test
+    public void prefetchThreadCountMustBePositiveTest() {
+        PdfMerger merger = new PdfMerger(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        Exception e = Assert.assertThrows(PdfException.class, () -> merger.setPrefetchThreadCount(0));
+        Assert.assertEquals(KernelExceptionMessageConstant.PREFETCH_THREAD_COUNT_SHALL_BE_POSITIVE, e.getMessage());
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = IoLogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY)
@@ -565,4 +646,37 @@ public class PdfMergerTest extends ExtendedITextTest {
         merger.close();
         mergedDoc.close();
     }
+
+    private static class SingleThreadAccessPdfDocument extends PdfDocument {
+        private final Thread mergingThread;
+        private final AtomicInteger accessingThreads = new AtomicInteger();
+        private volatile boolean accessedConcurrently;
+
+        SingleThreadAccessPdfDocument(PdfReader reader, Thread mergingThread) {
+            super(reader);
+            this.mergingThread = mergingThread;
+        }
+
+        @Override
+        public PdfPage getPage(int pageNum) {
+            if (accessingThreads.getAndIncrement() > 0) {
+                accessedConcurrently = true;
+            }
+            try {
+                if (Thread.currentThread() != mergingThread) {
+                    // Keeps the worker busy long enough for the merging thread to reach the document
+                    Thread.sleep(200);
+                }
+                return super.getPage(pageNum);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                accessingThreads.decrementAndGet();
+            }
+        }
+
+        boolean isAccessedConcurrently() {
+            return accessedConcurrently;
+        }
+    }
 }
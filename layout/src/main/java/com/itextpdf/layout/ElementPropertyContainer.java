@@ -37,6 +37,7 @@ import com.itextpdf.layout.properties.BorderRadius;
 import com.itextpdf.layout.properties.FontKerning;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.Underline;
@@ -44,7 +45,6 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.splitting.ISplitCharacters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,11 +57,15 @@ import java.util.Map;
 public abstract class ElementPropertyContainer<T extends IPropertyContainer> extends AbstractIdentifiableElement
         implements IPropertyContainer {
 
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).setProperty(property, value);
+        } else {
+            properties.put(property, value);
+        }
     }
 
     @Override
@@ -71,12 +75,19 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> ext
 
     @Override
     public boolean hasOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsProperty(property);
+        }
         return properties.containsKey(property);
     }
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).removeProperty(property);
+        } else {
+            properties.remove(property);
+        }
     }
 
     @Override
@@ -86,6 +97,9 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> ext
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return (T1) ((PropertyMap) properties).getProperty(property);
+        }
         return (T1) properties.<T1>get(property);
     }
 
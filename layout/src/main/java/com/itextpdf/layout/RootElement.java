@@ -38,6 +38,7 @@ import com.itextpdf.layout.properties.FontKerning;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.Leading;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
@@ -125,6 +126,9 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public boolean hasOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsProperty(property);
+        }
         return properties.containsKey(property);
     }
 
@@ -135,6 +139,9 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return (T1) ((PropertyMap) properties).getProperty(property);
+        }
         return (T1) properties.<T1>get(property);
     }
 
@@ -177,12 +184,20 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).removeProperty(property);
+        } else {
+            properties.remove(property);
+        }
     }
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).setProperty(property, value);
+        } else {
+            properties.put(property, value);
+        }
     }
 
     /**
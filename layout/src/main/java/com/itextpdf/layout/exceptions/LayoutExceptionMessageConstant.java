@@ -41,6 +41,8 @@ public final class LayoutExceptionMessageConstant {
     public static final String FONT_PROVIDER_NOT_SET_FONT_FAMILY_NOT_RESOLVED = "FontProvider and FontSet are empty. "
             + "Cannot resolve font family name (see ElementPropertyContainer#setFontFamily) without initialized "
             + "FontProvider (see RootElement#setFontProvider).";
+    public static final String HYPHENATION_CACHE_SIZE_CANNOT_BE_NEGATIVE = "Maximum number of words cached for a "
+            + "language cannot be negative.";
     public static final String IO_EXCEPTION_WHILE_CREATING_FONT = "I/O exception while creating Font";
     public static final String NONINVERTIBLE_MATRIX_CANNOT_BE_PROCESSED = "A noninvertible matrix has been parsed. "
             + "The behaviour is unpredictable.";
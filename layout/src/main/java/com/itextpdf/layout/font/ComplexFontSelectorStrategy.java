@@ -67,7 +67,7 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
                         ? TextUtil.convertToUtf32(text, nextUnignorable)
                         : (int) text.charAt(nextUnignorable);
 
-                if (f.getFontUnicodeRange().contains(codePoint)) {
+                if (f.getFontUnicodeRange().contains(codePoint) && f.mayContainGlyph(codePoint)) {
                     PdfFont currentFont = getPdfFont(f);
                     Glyph glyph = currentFont.getGlyph(codePoint);
                     if (null != glyph && 0 != glyph.getCode()) {
@@ -0,0 +1,279 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptor;
+import com.itextpdf.io.font.FontProgramDescriptorFactory;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent index of {@link FontProgramDescriptor}s of font files, which allows
+ * {@link FontSet#addDirectory(String, boolean, FontDescriptorIndex)} and
+ * {@link FontProvider#addSystemFonts(FontDescriptorIndex)} to skip parsing the fonts which
+ * have already been seen.
+ *
+ * <p>
+ * The entries are keyed by the path of the font file and are valid as long as the size and
+ * the modification time of the file stay the same, otherwise the font is parsed again.
+ * Along with the descriptor, the index keeps the code points mapped by the cmap of TrueType and
+ * OpenType fonts, so that a font which has no glyph for a character isn't opened by
+ * {@link ComplexFontSelectorStrategy} at all.
+ *
+ * <p>
+ * The index is filled in the same way as {@link FontSet}, that is why it isn't thread safe either.
+ */
+public final class FontDescriptorIndex {
+
+    private static final int MAGIC = 0x69464458;
+    private static final int VERSION = 1;
+
+    /**
+     * The maximum number of bounds of the glyph coverage ranges, the ranges are disjoint and
+     * each of them contains at least one code point.
+     */
+    private static final int MAX_COVERAGE_RANGES_LENGTH = 2 * (Character.MAX_CODE_POINT + 1);
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Creates a new empty {@link FontDescriptorIndex}.
+     */
+    public FontDescriptorIndex() {
+        this.modified = false;
+    }
+
+    /**
+     * Loads the index previously stored with {@link #save(String)}. If there is no file at the path or
+     * it can't be read, an empty index is returned, so the fonts will be parsed again.
+     *
+     * @param path path to the index file
+     * @return the loaded index
+     */
+    public static FontDescriptorIndex load(String path) {
+        FontDescriptorIndex index = new FontDescriptorIndex();
+        if (!FileUtil.fileExists(path)) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(FileUtil.getInputStreamForFile(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported font descriptor index format");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String fontPath = in.readUTF();
+                index.entries.put(fontPath, Entry.readFrom(in));
+            }
+        } catch (IOException | RuntimeException e) {
+            Logger logger = LoggerFactory.getLogger(FontDescriptorIndex.class);
+            logger.warn(MessageFormatUtil.format(LayoutLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ, path));
+            index.entries.clear();
+            index.modified = true;
+        }
+        return index;
+    }
+
+    /**
+     * Stores the index to the file. The entries of the font files which don't exist anymore are dropped.
+     *
+     * @param path path to the index file
+     * @throws IOException if the index can't be written
+     */
+    public void save(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(FileUtil.getFileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            Map<String, Entry> existing = new HashMap<>();
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (FileUtil.fileExists(entry.getKey())) {
+                    existing.put(entry.getKey(), entry.getValue());
+                }
+            }
+            out.writeInt(existing.size());
+            for (Map.Entry<String, Entry> entry : existing.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+        modified = false;
+    }
+
+    /**
+     * Checks whether fonts have been parsed since the index was created, loaded or saved.
+     *
+     * @return {@code true} if the index should be saved to be up to date, otherwise {@code false}
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Gets the number of indexed font files, including the files which turned out not to be fonts.
+     *
+     * @return the number of entries in the index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Creates {@link FontInfo} for the font file, parsing the font only if the index
+     * has no up to date entry for it.
+     *
+     * @param fontPath path to the font file
+     * @return the font info, or {@code null} if the file isn't a supported font
+     */
+    FontInfo getFontInfo(String fontPath) {
+        File file = new File(fontPath);
+        long length = file.length();
+        long lastModified = file.lastModified();
+        Entry entry = entries.get(fontPath);
+        if (entry == null || entry.length != length || entry.lastModified != lastModified) {
+            FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontPath);
+            entry = new Entry(length, lastModified, descriptor,
+                    descriptor != null ? readGlyphCoverage(fontPath) : null);
+            entries.put(fontPath, entry);
+            modified = true;
+        }
+        return entry.descriptor != null ? FontInfo.create(fontPath, entry.descriptor, entry.glyphCoverage) : null;
+    }
+
+    /**
+     * Reads the code points which are mapped to glyphs by a TrueType or OpenType font as
+     * an array of inclusive low and high bounds of the ranges.
+     */
+    private static int[] readGlyphCoverage(String fontPath) {
+        String fontPathLowerCase = fontPath.toLowerCase();
+        if (!fontPathLowerCase.endsWith(".ttf") && !fontPathLowerCase.endsWith(".otf")) {
+            return null;
+        }
+        try {
+            FontProgram fontProgram = FontProgramFactory.createFont(fontPath, false);
+            if (!(fontProgram instanceof TrueTypeFont) || fontProgram.isFontSpecific()) {
+                return null;
+            }
+            Map<Integer, int[]> cmap = ((TrueTypeFont) fontProgram).getActiveCmap();
+            int[] codePoints = new int[cmap.size()];
+            int count = 0;
+            for (int codePoint : cmap.keySet()) {
+                if (fontProgram.getGlyph(codePoint) != null) {
+                    codePoints[count++] = codePoint;
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+            Arrays.sort(codePoints, 0, count);
+            int[] ranges = new int[2 * count];
+            int rangeCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (rangeCount > 0 && codePoints[i] <= ranges[rangeCount - 1] + 1) {
+                    ranges[rangeCount - 1] = codePoints[i];
+                } else {
+                    ranges[rangeCount++] = codePoints[i];
+                    ranges[rangeCount++] = codePoints[i];
+                }
+            }
+            return Arrays.copyOf(ranges, rangeCount);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        final long length;
+        final long lastModified;
+        final FontProgramDescriptor descriptor;
+        final int[] coverageRanges;
+        final Range glyphCoverage;
+
+        Entry(long length, long lastModified, FontProgramDescriptor descriptor, int[] coverageRanges) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+            this.coverageRanges = coverageRanges;
+            this.glyphCoverage = coverageRanges != null ? createRange(coverageRanges) : null;
+        }
+
+        static Entry readFrom(DataInputStream in) throws IOException {
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            FontProgramDescriptor descriptor = in.readBoolean() ? FontProgramDescriptor.readFrom(in) : null;
+            int[] coverageRanges = null;
+            int rangesLength = in.readInt();
+            // the length isn't trusted before allocating, OutOfMemoryError wouldn't be handled as a corrupted index
+            if (rangesLength < 0 || rangesLength > MAX_COVERAGE_RANGES_LENGTH || rangesLength % 2 != 0) {
+                throw new IOException("Corrupted glyph coverage in font descriptor index");
+            }
+            if (rangesLength > 0) {
+                coverageRanges = new int[rangesLength];
+                for (int i = 0; i < rangesLength; i++) {
+                    coverageRanges[i] = in.readInt();
+                }
+            }
+            return new Entry(length, lastModified, descriptor, coverageRanges);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(length);
+            out.writeLong(lastModified);
+            out.writeBoolean(descriptor != null);
+            if (descriptor != null) {
+                descriptor.writeTo(out);
+            }
+            if (coverageRanges == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(coverageRanges.length);
+                for (int bound : coverageRanges) {
+                    out.writeInt(bound);
+                }
+            }
+        }
+
+        private static Range createRange(int[] coverageRanges) {
+            RangeBuilder builder = new RangeBuilder();
+            for (int i = 0; i + 1 < coverageRanges.length; i += 2) {
+                builder.addRange(coverageRanges[i], coverageRanges[i + 1]);
+            }
+            return builder.create();
+        }
+    }
+}
@@ -56,21 +56,28 @@ public final class FontInfo {
     private final int hash;
     private final String encoding;
     private final String alias;
+    private final Range glyphCoverage;
 
     private FontInfo(String fontName, byte[] fontData, String encoding, FontProgramDescriptor descriptor,
                      Range unicodeRange, String alias) {
+        this(fontName, fontData, encoding, descriptor, unicodeRange, alias, null);
+    }
+
+    private FontInfo(String fontName, byte[] fontData, String encoding, FontProgramDescriptor descriptor,
+                     Range unicodeRange, String alias, Range glyphCoverage) {
         this.fontName = fontName;
         this.fontData = fontData;
         this.encoding = encoding;
         this.descriptor = descriptor;
         this.range = unicodeRange != null ? unicodeRange : RangeBuilder.getFullRange();
         this.alias = alias != null ? alias.toLowerCase() : null;
+        this.glyphCoverage = glyphCoverage;
         this.hash = calculateHashCode(this.fontName, this.fontData, this.encoding, this.range);
     }
 
     public static FontInfo create(FontInfo fontInfo, String alias, Range range) {
         return new FontInfo(fontInfo.fontName, fontInfo.fontData, fontInfo.encoding,
-                fontInfo.descriptor, range, alias);
+                fontInfo.descriptor, range, alias, fontInfo.glyphCoverage);
     }
 
     public static FontInfo create(FontInfo fontInfo, String alias) {
@@ -96,6 +103,10 @@ public final class FontInfo {
         return descriptor != null ? new FontInfo(fontName, null, encoding, descriptor, range, alias) : null;
     }
 
+    static FontInfo create(String fontName, FontProgramDescriptor descriptor, Range glyphCoverage) {
+        return new FontInfo(fontName, null, null, descriptor, null, null, glyphCoverage);
+    }
+
     static FontInfo create(byte[] fontProgram, String encoding, String alias, Range range) {
         FontCacheKey cacheKey = FontCacheKey.create(fontProgram);
         FontProgramDescriptor descriptor = getFontNamesFromCache(cacheKey);
@@ -115,6 +126,18 @@ public final class FontInfo {
         return range;
     }
 
+    /**
+     * Checks whether the font program may have a glyph for the code point. Fonts added from
+     * a {@link FontDescriptorIndex} know the code points mapped by their cmap, so that fonts
+     * which certainly can't display a character don't have to be opened to find it out.
+     *
+     * @param unicode the code point to check
+     * @return {@code false} if the font is known to have no glyph for the code point, otherwise {@code true}
+     */
+    boolean mayContainGlyph(int unicode) {
+        return glyphCoverage == null || glyphCoverage.contains(unicode);
+    }
+
     /**
      * Gets path to font, if {@link FontInfo} was created by String.
      * Note, to get PostScript or full name, use {@link #getDescriptor()}.
@@ -244,6 +244,17 @@ public class FontProvider {
      * @return number of added fonts.
      */
     public int addSystemFonts() {
+        return addSystemFonts(null);
+    }
+
+    /**
+     * Add all fonts from system directories to {@link FontSet} cache. The fonts which have up to date
+     * entries in the index are not parsed, the index is updated with the rest of the fonts.
+     *
+     * @param index the {@link FontDescriptorIndex} to use, or {@code null} to parse all the fonts.
+     * @return number of added fonts.
+     */
+    public int addSystemFonts(FontDescriptorIndex index) {
         int count = 0;
         String[] withSubDirs = {
                 FileUtil.getFontsDir(),
@@ -254,7 +265,7 @@ public class FontProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += fontSet.addDirectory(directory, true);
+            count += fontSet.addDirectory(directory, true, index);
         }
 
         String[] withoutSubDirs = {
@@ -262,7 +273,7 @@ public class FontProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += fontSet.addDirectory(directory, false);
+            count += fontSet.addDirectory(directory, false, index);
         }
 
         return count;
@@ -74,6 +74,20 @@ public final class FontSet {
      * @return number of added fonts.
      */
     public int addDirectory(String dir, boolean scanSubdirectories) {
+        return addDirectory(dir, scanSubdirectories, null);
+    }
+
+    /**
+     * Add all the fonts in a directory and possibly its subdirectories. The descriptors of the fonts
+     * are taken from the index if it has up to date entries for them, otherwise the fonts are parsed
+     * and the index is updated.
+     *
+     * @param dir                path to directory.
+     * @param scanSubdirectories recursively scan subdirectories if {@code true}.
+     * @param index              the {@link FontDescriptorIndex} to use, or {@code null} to parse all the fonts.
+     * @return number of added fonts.
+     */
+    public int addDirectory(String dir, boolean scanSubdirectories, FontDescriptorIndex index) {
         int count = 0;
         String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
         if (files == null)
@@ -84,11 +98,11 @@ public final class FontSet {
                 if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
                     // Add only Type 1 fonts with matching .pfb files.
                     String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                    if (FileUtil.fileExists(pfb) && addFont(file)) {
+                    if (FileUtil.fileExists(pfb) && addFont(file, index)) {
                         count++;
                     }
                 } else if ((".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix))
-                        && addFont(file)) {
+                        && addFont(file, index)) {
                     count++;
                 }
             } catch (Exception ignored) {
@@ -439,5 +453,9 @@ public final class FontSet {
         return fontPrograms.get(fontInfo);
     }
 
+    private boolean addFont(String fontPath, FontDescriptorIndex index) {
+        return index != null ? addFont(index.getFontInfo(fontPath)) : addFont(fontPath);
+    }
+
     //endregion
 }
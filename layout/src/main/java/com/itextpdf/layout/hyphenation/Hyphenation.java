@@ -42,6 +42,15 @@ public class Hyphenation {
         len = points.length;
     }
 
+    /**
+     * Creates a copy which doesn't share the hyphenation points array with this instance.
+     *
+     * @return the copy of this hyphenation
+     */
+    Hyphenation copy() {
+        return new Hyphenation(word, (int[]) hyphenPoints.clone());
+    }
+
     /**
      * @return the number of hyphenation points in the word
      */
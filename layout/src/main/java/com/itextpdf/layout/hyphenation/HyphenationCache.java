@@ -0,0 +1,239 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the hyphenation results of words, which is used by {@link Hyphenator} once it is set with
+ * {@link Hyphenator#setHyphenationCache(HyphenationCache)}.
+ * <p>
+ * Hyphenating a word with a {@link HyphenationTree} matches all the patterns of the word every time,
+ * while long documents usually hyphenate the same words again and again. The results are cached
+ * separately for each language and hyphenation settings, each language keeps about
+ * {@link #getMaxWordsPerLanguage()} words. Once a language exceeds this size by a small fraction of it,
+ * the least recently used words are evicted in a batch, so that the eviction doesn't happen on every miss.
+ * <p>
+ * The cache can be shared by multiple threads and documents. The words are looked up without locking,
+ * a hit only records the time of the access.
+ */
+public class HyphenationCache {
+
+    /**
+     * The default maximum number of words cached for a language.
+     */
+    public static final int DEFAULT_MAX_WORDS_PER_LANGUAGE = 10000;
+
+    /**
+     * The fraction of the maximum number of words a language may exceed it by before the words are evicted.
+     */
+    private static final int EVICTION_SLACK_DIVISOR = 16;
+
+    private final int maxWordsPerLanguage;
+
+    private final ConcurrentHashMap<String, CachedLanguage> languages = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a new {@link HyphenationCache} instance with {@link #DEFAULT_MAX_WORDS_PER_LANGUAGE}.
+     */
+    public HyphenationCache() {
+        this(DEFAULT_MAX_WORDS_PER_LANGUAGE);
+    }
+
+    /**
+     * Creates a new {@link HyphenationCache} instance.
+     *
+     * @param maxWordsPerLanguage the maximum number of words cached for a language
+     */
+    public HyphenationCache(int maxWordsPerLanguage) {
+        if (maxWordsPerLanguage < 0) {
+            throw new PdfException(LayoutExceptionMessageConstant.HYPHENATION_CACHE_SIZE_CANNOT_BE_NEGATIVE);
+        }
+        this.maxWordsPerLanguage = maxWordsPerLanguage;
+    }
+
+    /**
+     * Gets the maximum number of words cached for a language.
+     *
+     * @return the maximum number of words
+     */
+    public int getMaxWordsPerLanguage() {
+        return maxWordsPerLanguage;
+    }
+
+    /**
+     * Gets the number of cached words of all languages.
+     *
+     * @return the number of cached words
+     */
+    public int size() {
+        int size = 0;
+        for (CachedLanguage language : languages.values()) {
+            size += language.words.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of words whose hyphenation was found in the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of words which had to be hyphenated because they weren't in the cache.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of words which were evicted because of the maximum size of the cache.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Removes all the cached words.
+     */
+    public void clear() {
+        languages.clear();
+    }
+
+    /**
+     * Hyphenates the word with the tree, unless its hyphenation is already cached.
+     *
+     * @param languageKey the key of the language and hyphenation settings the tree is used with
+     * @param word        the word to hyphenate
+     * @param hTree       the hyphenation tree of the language
+     * @param leftMin     the minimum number of characters before the hyphenation point
+     * @param rightMin    the minimum number of characters after the hyphenation point
+     * @return the hyphenation result
+     */
+    Hyphenation hyphenate(String languageKey, String word, HyphenationTree hTree, int leftMin, int rightMin) {
+        CachedLanguage language = languages.get(languageKey);
+        if (language == null) {
+            language = new CachedLanguage();
+            CachedLanguage existingLanguage = languages.putIfAbsent(languageKey, language);
+            if (existingLanguage != null) {
+                language = existingLanguage;
+            }
+        }
+        CachedWord cached = language.words.get(word);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            long now = language.clock.get();
+            // avoids writing to the shared entry if it has already been accessed at this time
+            if (cached.lastAccess != now) {
+                cached.lastAccess = now;
+            }
+            return cached.hyphenation != null ? cached.hyphenation.copy() : null;
+        }
+        missCount.incrementAndGet();
+        Hyphenation hyphenation = hTree.hyphenate(word, leftMin, rightMin);
+        if (maxWordsPerLanguage > 0) {
+            // the words accessed since the last miss are more recent than the word cached by it
+            language.words.put(word, new CachedWord(hyphenation != null ? hyphenation.copy() : null,
+                    language.clock.getAndIncrement()));
+            if (language.words.size() > maxWordsPerLanguage + maxWordsPerLanguage / EVICTION_SLACK_DIVISOR) {
+                evictLeastRecentlyUsedWords(language);
+            }
+        }
+        return hyphenation;
+    }
+
+    private void evictLeastRecentlyUsedWords(CachedLanguage language) {
+        synchronized (language) {
+            int excess = language.words.size() - maxWordsPerLanguage;
+            if (excess <= 0) {
+                return;
+            }
+            long[] accessTimes = new long[language.words.size()];
+            int count = 0;
+            for (CachedWord cached : language.words.values()) {
+                if (count == accessTimes.length) {
+                    break;
+                }
+                accessTimes[count++] = cached.lastAccess;
+            }
+            Arrays.sort(accessTimes, 0, count);
+            excess = Math.min(excess, count);
+            long threshold = accessTimes[excess - 1];
+            // the words accessed before the threshold are all evicted, the rest of the excess is accessed at it
+            int thresholdWordsToEvict = 0;
+            for (int i = excess - 1; i >= 0 && accessTimes[i] == threshold; i--) {
+                thresholdWordsToEvict++;
+            }
+            int evicted = 0;
+            Iterator<CachedWord> iterator = language.words.values().iterator();
+            while (evicted < excess && iterator.hasNext()) {
+                long lastAccess = iterator.next().lastAccess;
+                if (lastAccess < threshold || lastAccess == threshold && thresholdWordsToEvict-- > 0) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+            evictionCount.addAndGet(evicted);
+        }
+    }
+
+    private static final class CachedLanguage {
+        final ConcurrentHashMap<String, CachedWord> words = new ConcurrentHashMap<>();
+
+        /**
+         * The logical time of the accesses, which is advanced by every cached word.
+         */
+        final AtomicLong clock = new AtomicLong();
+    }
+
+    private static final class CachedWord {
+        final Hyphenation hyphenation;
+
+        volatile long lastAccess;
+
+        CachedWord(Hyphenation hyphenation, long lastAccess) {
+            this.hyphenation = hyphenation;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
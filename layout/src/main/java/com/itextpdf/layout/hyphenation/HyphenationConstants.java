@@ -28,4 +28,6 @@ package com.itextpdf.layout.hyphenation;
 public class HyphenationConstants {
 
     public static final String HYPHENATION_DEFAULT_RESOURCE = "com/itextpdf/hyph/";
+
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyph";
 }
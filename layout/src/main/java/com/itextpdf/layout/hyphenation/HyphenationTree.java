@@ -17,14 +17,23 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import com.itextpdf.io.util.StreamUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 /**
  * This tree structure stores the hyphenation patterns in an efficient
@@ -51,11 +60,32 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
      */
     protected TernaryTree classmap;
 
+    private static final int COMPILED_PATTERNS_MAGIC = 0x69544854;
+
+    private static final int COMPILED_PATTERNS_VERSION = 2;
+
+    /**
+     * The value of {@link #sourceChecksum} if the source of the patterns isn't known.
+     */
+    static final long UNKNOWN_SOURCE_CHECKSUM = -1;
+
+    static final String CORRUPTED_COMPILED_PATTERNS = "Compiled hyphenation patterns are corrupted.";
+
+    private static final byte STRING_EXCEPTION_ITEM = 0;
+
+    private static final byte HYPHEN_EXCEPTION_ITEM = 1;
+
     /**
      * Temporary map to store interletter values on pattern loading.
      */
     private TernaryTree ivalues;
 
+    /**
+     * CRC-32 of the XML file the patterns were loaded from, which is kept with the compiled patterns
+     * to detect compiled patterns which are out of date.
+     */
+    private long sourceChecksum = UNKNOWN_SOURCE_CHECKSUM;
+
     /** Default constructor. */
     public HyphenationTree() {
         stoplist = new HashMap<>(23);
@@ -136,10 +166,17 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
      * @throws HyphenationException In case the parsing fails
      */
     public void loadPatterns(InputStream stream, String name) throws HyphenationException {
+        byte[] source;
+        try {
+            source = StreamUtil.inputStreamToArray(stream);
+        } catch (IOException e) {
+            throw new HyphenationException(e.getMessage());
+        }
         PatternParser pp = new PatternParser(this);
         ivalues = new TernaryTree();
 
-        pp.parse(stream, name);
+        pp.parse(new ByteArrayInputStream(source), name);
+        sourceChecksum = computeSourceChecksum(source);
 
         // patterns/values should be now in the tree
         // let's optimize a bit
@@ -151,6 +188,121 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Writes the loaded patterns in a compact binary form, which can be loaded with
+     * {@link #loadCompiledPatterns(ByteBuffer)} much faster than the XML file can be parsed.
+     * @param stream the stream to write the compiled patterns to
+     * @throws IOException if the patterns can't be written
+     */
+    public void saveCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(COMPILED_PATTERNS_MAGIC);
+        out.writeInt(COMPILED_PATTERNS_VERSION);
+        out.writeLong(sourceChecksum);
+        writeNodes(out);
+        classmap.writeNodes(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        out.writeInt(stoplist.size());
+        for (Map.Entry<String, List> exception : stoplist.entrySet()) {
+            writeString(out, exception.getKey());
+            out.writeInt(exception.getValue().size());
+            for (Object item : exception.getValue()) {
+                if (item instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) item;
+                    out.writeByte(HYPHEN_EXCEPTION_ITEM);
+                    writeString(out, hyphen.preBreak);
+                    writeString(out, hyphen.noBreak);
+                    writeString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(STRING_EXCEPTION_ITEM);
+                    writeString(out, (String) item);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Read hyphenation patterns written by {@link #saveCompiledPatterns(OutputStream)}.
+     * The buffer is read starting from its current position.
+     * @param buffer the buffer with the compiled patterns
+     * @throws HyphenationException if the buffer doesn't contain compiled patterns
+     */
+    public void loadCompiledPatterns(ByteBuffer buffer) throws HyphenationException {
+        try {
+            if (buffer.getInt() != COMPILED_PATTERNS_MAGIC || buffer.getInt() != COMPILED_PATTERNS_VERSION) {
+                throw new HyphenationException("Unsupported format of compiled hyphenation patterns");
+            }
+            sourceChecksum = buffer.getLong();
+            readNodes(buffer);
+            classmap.readNodes(buffer);
+            int vspaceLength = buffer.getInt();
+            if (vspaceLength < 0 || vspaceLength > buffer.remaining()) {
+                throw new HyphenationException(CORRUPTED_COMPILED_PATTERNS);
+            }
+            byte[] values = new byte[vspaceLength];
+            buffer.get(values);
+            vspace = new ByteVector(values);
+            int exceptionCount = buffer.getInt();
+            stoplist = new HashMap<>(Math.max(23, exceptionCount));
+            for (int i = 0; i < exceptionCount; i++) {
+                String word = readString(buffer);
+                int itemCount = buffer.getInt();
+                List<Object> items = new ArrayList<>(Math.max(0, itemCount));
+                for (int j = 0; j < itemCount; j++) {
+                    if (buffer.get() == HYPHEN_EXCEPTION_ITEM) {
+                        items.add(new Hyphen(readString(buffer), readString(buffer), readString(buffer)));
+                    } else {
+                        items.add(readString(buffer));
+                    }
+                }
+                stoplist.put(word, items);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new HyphenationException(CORRUPTED_COMPILED_PATTERNS);
+        }
+    }
+
+    /**
+     * Gets the checksum of the XML file the patterns were loaded from, see {@link #computeSourceChecksum(byte[])}.
+     *
+     * @return the checksum of the source or {@link #UNKNOWN_SOURCE_CHECKSUM} if the source isn't known
+     */
+    long getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    /**
+     * Computes the checksum of the XML file with the patterns, which is kept with the compiled patterns.
+     *
+     * @param source the content of the XML file
+     * @return the checksum of the content
+     */
+    static long computeSourceChecksum(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Computes the checksum of the XML file with the patterns, see {@link #computeSourceChecksum(byte[])}.
+     * The stream is read in chunks, so that the content of the file isn't kept in memory.
+     *
+     * @param source the stream of the XML file, which is read to the end
+     * @return the checksum of the content
+     * @throws IOException if the stream can't be read
+     */
+    static long computeSourceChecksum(InputStream source) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = source.read(buffer)) != -1) {
+            crc.update(buffer, 0, read);
+        }
+        return crc.getValue();
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -613,4 +765,18 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         insert(pattern, (char)k);
     }
 
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length());
+            out.writeChars(value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) throws HyphenationException {
+        int length = buffer.getInt();
+        return length < 0 ? null : new String(readChars(buffer, length));
+    }
 }
@@ -17,17 +17,26 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * This class is the main entry point to the hyphenation package.
@@ -39,16 +48,22 @@ public final class Hyphenator {
 
     private static final char SOFT_HYPHEN = '\u00ad';
 
-    private static final Object staticLock = new Object();
-
     /**
      * Logging instance.
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache = new HyphenationTreeCache();
+
+    private static volatile HyphenationCache hyphenationCache;
+
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
-    private static List<String> additionalHyphenationFileDirectories;
+    /**
+     * Makes the threads which need the same missing hyphenation tree wait for the one loading it,
+     * while the trees of other languages can be loaded at the same time.
+     */
+    private static final Map<String, Object> loadingLocks = new ConcurrentHashMap<>();
 
     protected String lang;
     protected String country;
@@ -91,12 +106,7 @@ public final class Hyphenator {
      * @param directory directory to register
      */
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
-        synchronized (staticLock) {
-            if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
-            }
-            additionalHyphenationFileDirectories.add(directory);
-        }
+        additionalHyphenationFileDirectories.add(directory);
     }
 
     /**
@@ -105,11 +115,6 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
-            }
-        }
         return hTreeCache;
     }
 
@@ -117,11 +122,32 @@ public final class Hyphenator {
      * Clears the default hyphenation tree cache. This method can be used if the underlying data files are changed at runtime.
      */
     public static void clearHyphenationTreeCache() {
-        synchronized (staticLock) {
-            hTreeCache = new HyphenationTreeCache();
+        hTreeCache = new HyphenationTreeCache();
+        HyphenationCache cache = hyphenationCache;
+        if (cache != null) {
+            cache.clear();
         }
     }
 
+    /**
+     * Returns the cache of the word hyphenation results.
+     *
+     * @return the cache of the word hyphenation results, or {@code null} if the results aren't cached
+     */
+    public static HyphenationCache getHyphenationCache() {
+        return hyphenationCache;
+    }
+
+    /**
+     * Sets the cache of the word hyphenation results, which is used by all the hyphenators.
+     * By default the results aren't cached.
+     *
+     * @param cache the cache of the word hyphenation results, or {@code null} to stop caching them
+     */
+    public static void setHyphenationCache(HyphenationCache cache) {
+        hyphenationCache = cache;
+    }
+
     /**
      * Returns a hyphenation tree for a given language and country,
      * with fallback from (lang,country) to (lang).
@@ -192,36 +218,48 @@ public final class Hyphenator {
 
         HyphenationTree hTree;
         // first try to find it in the cache
-        hTree = getHyphenationTreeCache().getHyphenationTree(lang, country);
+        hTree = cache.getHyphenationTree(lang, country);
         if (hTree != null) {
             return hTree;
         }
 
-        String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
-        if (key == null) {
-            key = llccKey;
-        }
+        synchronized (getLoadingLock(llccKey)) {
+            // the tree could have been loaded by another thread in the meantime
+            hTree = cache.getHyphenationTree(lang, country);
+            if (hTree != null) {
+                return hTree;
+            }
+
+            String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
+            if (key == null) {
+                key = llccKey;
+            }
 
-        if (additionalHyphenationFileDirectories != null) {
             for (String dir : additionalHyphenationFileDirectories) {
                 hTree = getHyphenationTree(dir, key);
                 if (hTree != null) {
                     break;
                 }
             }
-        }
 
-        if (hTree == null) {
-            // get from the default directory
-            InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
-            if (defaultHyphenationResourceStream != null) {
-                hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
+            if (hTree == null) {
+                // get from the default directory, the compiled patterns are preferred unless they are out of date
+                String resource = HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key;
+                InputStream compiledResourceStream = ResourceUtil.getResourceStream(
+                        resource + HyphenationConstants.COMPILED_PATTERNS_EXTENSION);
+                if (compiledResourceStream != null) {
+                    hTree = getCompiledHyphenationTree(compiledResourceStream, key,
+                            ResourceUtil.getResourceStream(resource + ".xml"));
+                }
+                if (hTree == null) {
+                    hTree = getHyphenationTree(ResourceUtil.getResourceStream(resource + ".xml"), key);
+                }
             }
-        }
 
-        // put it into the pattern cache
-        if (hTree != null) {
-            cache.cache(llccKey, hTree);
+            // put it into the pattern cache
+            if (hTree != null) {
+                cache.cache(llccKey, hTree);
+            }
         }
 
         return hTree;
@@ -229,20 +267,40 @@ public final class Hyphenator {
 
     /**
      * Load tree from xml file using configuration settings.
+     * The compiled patterns of the directory are preferred, unless they were compiled from another
+     * version of the XML file, see {@link #compileHyphenationPatterns(String, String)}.
      *
      * @param searchDirectory the directory to search the file into
      * @param key language key for the requested hyphenation file
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
-        // try the raw XML file
         String name = key + ".xml";
+        File sourceFile = new File(searchDirectory + File.separator + name);
+
+        // try the compiled patterns first, unless they are out of date
+        File compiledFile = new File(searchDirectory + File.separator + key
+                + HyphenationConstants.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(new FileInputStream(compiledFile), key,
+                        sourceFile.isFile() ? new FileInputStream(sourceFile) : null);
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (FileNotFoundException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load compiled patterns " + key + ": " + e.getMessage());
+                }
+            }
+        }
+
+        // try the raw XML file
         try {
-            InputStream fis = new FileInputStream(searchDirectory + File.separator + name);
-            return getHyphenationTree(fis, name);
-        } catch (IOException ioe) {
+            return getHyphenationTree(new FileInputStream(sourceFile), name);
+        } catch (FileNotFoundException e) {
             if (log.isDebugEnabled()) {
-                log.debug("I/O problem while trying to load " + name + ": " + ioe.getMessage());
+                log.debug("I/O problem while trying to load " + name + ": " + e.getMessage());
             }
             return null;
         }
@@ -276,6 +334,54 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the compiled patterns, see {@link HyphenationTree#saveCompiledPatterns(OutputStream)}.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        return getCompiledHyphenationTree(in, name, null);
+    }
+
+    /**
+     * Compiles all the XML pattern files of the directory, so that the patterns can be loaded without parsing.
+     * The compiled files can be placed into the directories registered with
+     * {@link #registerAdditionalHyphenationFileDirectory(String)} or next to the default pattern resources.
+     * The checksum of the XML file is kept with the compiled patterns, compiled patterns which don't match
+     * the XML file next to them are ignored.
+     *
+     * @param sourceDirectory the directory with the XML pattern files
+     * @param targetDirectory the directory to write the compiled patterns to
+     * @return the number of compiled pattern files
+     * @throws IOException if the compiled patterns can't be written
+     */
+    public static int compileHyphenationPatterns(String sourceDirectory, String targetDirectory) throws IOException {
+        String[] files = FileUtil.listFilesInDirectory(sourceDirectory, false);
+        if (files == null) {
+            return 0;
+        }
+        FileUtil.createDirectories(targetDirectory);
+        int count = 0;
+        for (String file : files) {
+            String fileName = new File(file).getName();
+            if (!fileName.toLowerCase().endsWith(".xml")) {
+                continue;
+            }
+            HyphenationTree hTree = getHyphenationTree(new FileInputStream(file), fileName);
+            if (hTree != null) {
+                String key = fileName.substring(0, fileName.length() - 4);
+                try (OutputStream out = FileUtil.getBufferedOutputStream(targetDirectory + File.separator + key
+                        + HyphenationConstants.COMPILED_PATTERNS_EXTENSION)) {
+                    hTree.saveCompiledPatterns(out);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Hyphenates a word.
      *
@@ -296,7 +402,17 @@ public final class Hyphenator {
             if (lang != null) {
                 hTree = getHyphenationTree(lang, country, hyphPathNames);
             }
-            return hTree != null ? hTree.hyphenate(word, leftMin, rightMin) : null;
+            if (hTree == null) {
+                return null;
+            }
+            HyphenationCache cache = hyphenationCache;
+            if (cache != null) {
+                String cacheKey = HyphenationTreeCache.constructLlccKey(lang, country) + "/"
+                        + HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames) + "/"
+                        + leftMin + "/" + rightMin;
+                return cache.hyphenate(cacheKey, word, hTree, leftMin, rightMin);
+            }
+            return hTree.hyphenate(word, leftMin, rightMin);
         }
     }
 
@@ -324,6 +440,71 @@ public final class Hyphenator {
         return hyphenate(lang, country, hyphPathNames, word, leftMin, rightMin);
     }
 
+    private static Object getLoadingLock(String key) {
+        Object lock = new Object();
+        Object existingLock = loadingLocks.putIfAbsent(key, lock);
+        return existingLock != null ? existingLock : lock;
+    }
+
+    /**
+     * Loads the tree from the compiled patterns, unless they were compiled from another version of the XML patterns.
+     * The XML patterns are only read to compute their checksum, see {@link HyphenationTree#getSourceChecksum()}.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @param source the stream of the XML patterns the compiled patterns have to match, or {@code null}
+     * @return the requested HyphenationTree or null if it is not available or out of date
+     */
+    private static HyphenationTree getCompiledHyphenationTree(InputStream in, String name, InputStream source) {
+        try {
+            if (in == null) {
+                return null;
+            }
+            HyphenationTree hTree;
+            try {
+                // the patterns are copied into the arrays of the tree anyway, so the file is read into memory at once
+                hTree = loadCompiledHyphenationTree(ByteBuffer.wrap(StreamUtil.inputStreamToArray(in)), name);
+            } catch (IOException ioe) {
+                log.error("I/O problem while trying to load compiled patterns " + name + ": " + ioe.getMessage());
+                return null;
+            }
+            if (hTree != null && source != null
+                    && hTree.getSourceChecksum() != HyphenationTree.computeSourceChecksum(source)) {
+                log.warn(MessageFormatUtil.format(
+                        LayoutLogMessageConstant.COMPILED_HYPHENATION_PATTERNS_ARE_OUT_OF_DATE, name));
+                return null;
+            }
+            return hTree;
+        } catch (IOException ioe) {
+            if (log.isDebugEnabled()) {
+                log.debug("I/O problem while trying to load " + name + ": " + ioe.getMessage());
+            }
+            return null;
+        } finally {
+            closeQuietly(in);
+            closeQuietly(source);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+    }
+
+    private static HyphenationTree loadCompiledHyphenationTree(ByteBuffer buffer, String name) {
+        HyphenationTree hTree = new HyphenationTree();
+        try {
+            hTree.loadCompiledPatterns(buffer);
+        } catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        return hTree;
+    }
+
     private static boolean wordContainsSoftHyphens(String word) {
         return word.indexOf(SOFT_HYPHEN) >= 0;
     }
@@ -21,6 +21,9 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 /**
@@ -584,6 +587,60 @@ public class TernaryTree {
         return new TernaryTreeIterator(this);
     }
 
+    /**
+     * Writes the nodes and the key trailers of the tree as they are, so that the tree
+     * can be restored by {@link #readNodes(ByteBuffer)} without inserting the keys again.
+     *
+     * @param out the stream to write the tree to
+     * @throws IOException if the tree can't be written
+     */
+    void writeNodes(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        out.writeInt(lo.length);
+        writeChars(out, lo, lo.length);
+        writeChars(out, hi, lo.length);
+        writeChars(out, eq, lo.length);
+        writeChars(out, sc, lo.length);
+        out.writeInt(kv.length());
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Restores the tree written by {@link #writeNodes(DataOutputStream)}.
+     *
+     * @param buffer the buffer to read the tree from
+     * @throws HyphenationException if the buffer doesn't contain a valid tree
+     */
+    void readNodes(ByteBuffer buffer) throws HyphenationException {
+        root = buffer.getChar();
+        freenode = buffer.getChar();
+        length = buffer.getInt();
+        int nodeCount = buffer.getInt();
+        lo = readChars(buffer, nodeCount);
+        hi = readChars(buffer, nodeCount);
+        eq = readChars(buffer, nodeCount);
+        sc = readChars(buffer, nodeCount);
+        kv = new CharVector(readChars(buffer, buffer.getInt()));
+    }
+
+    static void writeChars(DataOutputStream out, char[] chars, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            out.writeChar(chars[i]);
+        }
+    }
+
+    static char[] readChars(ByteBuffer buffer, int length) throws HyphenationException {
+        if (length < 0 || length > buffer.remaining() / 2) {
+            throw new HyphenationException(HyphenationTree.CORRUPTED_COMPILED_PATTERNS);
+        }
+        char[] chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + 2 * length);
+        return chars;
+    }
+
     // PLEASE NOTE that this is a helper class that was added as a result of the file modification
     // and is not a part of the original file
     private static class TreeInsertionParams {
@@ -27,8 +27,14 @@ package com.itextpdf.layout.logs;
  */
 public final class LayoutLogMessageConstant {
 
+    public static final String COMPILED_HYPHENATION_PATTERNS_ARE_OUT_OF_DATE =
+            "Compiled hyphenation patterns {0} are out of date, the XML patterns are used instead.";
+
     public static final String ELEMENT_DOES_NOT_FIT_AREA = "Element does not fit current area. {0}";
 
+    public static final String FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ =
+            "Font descriptor index {0} cannot be read. The fonts will be parsed again.";
+
     private LayoutLogMessageConstant() {
         //Private constructor will prevent the instantiation of this class directly
     }
@@ -0,0 +1,324 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact {@link Map} from {@link Property} ids to property values, which is used to store the own
+ * properties of elements and renderers.
+ *
+ * <p>
+ * The ids are kept in a sorted primitive array next to an array of values, so a lookup is a binary search
+ * over a handful of ints instead of hashing a boxed key and following a chain of entry objects. An element
+ * or a renderer rarely has more than a dozen own properties, so the map is also several times smaller than
+ * a {@link java.util.HashMap} with the same content. {@code null} values are supported and are
+ * distinguishable from absent ones, {@code null} keys are not.
+ */
+public final class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int[] EMPTY_KEYS = new int[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates an empty {@link PropertyMap}.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a {@link PropertyMap} with the same properties as the passed map.
+     *
+     * @param properties the properties to copy
+     */
+    public PropertyMap(Map<Integer, ?> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Checks whether the property is present in this map, possibly with a {@code null} value.
+     *
+     * @param property the property id
+     * @return {@code true} if the property is present, {@code false} otherwise
+     */
+    public boolean containsProperty(int property) {
+        return indexOf(property) >= 0;
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param property the property id
+     * @return the value of the property, or {@code null} if it isn't present
+     */
+    public Object getProperty(int property) {
+        int index = indexOf(property);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Gets the value of the property, telling an absent property from a {@code null} value with a single lookup.
+     *
+     * @param property     the property id
+     * @param defaultValue the value to return if the property isn't present
+     * @return the value of the property, or {@code defaultValue} if it isn't present
+     */
+    public Object getPropertyOrDefault(int property, Object defaultValue) {
+        int index = indexOf(property);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    /**
+     * Sets the value of the property.
+     *
+     * @param property the property id
+     * @param value    the new value, may be {@code null}
+     * @return the previous value of the property, or {@code null} if it wasn't present
+     */
+    public Object setProperty(int property, Object value) {
+        int index = indexOf(property);
+        if (index >= 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        index = -(index + 1);
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = property;
+        values[index] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Removes the property.
+     *
+     * @param property the property id
+     * @return the previous value of the property, or {@code null} if it wasn't present
+     */
+    public Object removeProperty(int property) {
+        int index = indexOf(property);
+        if (index < 0) {
+            return null;
+        }
+        Object previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsProperty((int) (Integer) key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? getProperty((int) (Integer) key) : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return setProperty((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? removeProperty((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            if (size == 0) {
+                keys = Arrays.copyOf(other.keys, other.size);
+                values = Arrays.copyOf(other.values, other.size);
+                size = other.size;
+                modCount++;
+            } else {
+                for (int i = 0; i < other.size; i++) {
+                    setProperty(other.keys[i], other.values[i]);
+                }
+            }
+        } else {
+            super.putAll(properties);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int indexOf(int property) {
+        return Arrays.binarySearch(keys, 0, size, property);
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(keys[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return getProperty(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return setProperty(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return Integer.valueOf(key).equals(other.getKey())
+                    && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -71,6 +71,7 @@ import com.itextpdf.layout.properties.BoxSizingPropertyValue;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.OverflowPropertyValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.Transform;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
@@ -79,7 +80,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -135,13 +135,18 @@ public abstract class AbstractRenderer implements IRenderer {
 
     private static final int ARC_QUARTER_CLOCKWISE_EXTENT = -90;
 
+    /**
+     * Marks a property which isn't present in {@link #properties}, unlike a property with {@code null} value.
+     */
+    private static final Object ABSENT_PROPERTY = new Object();
+
     protected List<IRenderer> childRenderers = new ArrayList<>();
     protected List<IRenderer> positionedRenderers = new ArrayList<>();
     protected IPropertyContainer modelElement;
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
     /**
@@ -260,6 +265,9 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsProperty(property);
+        }
         return properties.containsKey(property);
     }
 
@@ -279,7 +287,11 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).removeProperty(property);
+        } else {
+            properties.remove(property);
+        }
     }
 
     /**
@@ -289,13 +301,22 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        boolean isOwnProperty;
+        if (properties instanceof PropertyMap) {
+            PropertyMap propertyMap = (PropertyMap) properties;
+            isOwnProperty = propertyMap.containsProperty(property);
+            if (isOwnProperty) {
+                propertyMap.removeProperty(property);
+            }
         } else {
-            if (modelElement != null) {
-                modelElement.deleteOwnProperty(property);
+            isOwnProperty = properties.containsKey(property);
+            if (isOwnProperty) {
+                properties.remove(property);
             }
         }
+        if (!isOwnProperty && modelElement != null) {
+            modelElement.deleteOwnProperty(property);
+        }
     }
 
     /**
@@ -304,7 +325,12 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if (properties instanceof PropertyMap) {
+            property = ((PropertyMap) properties).getPropertyOrDefault(key, ABSENT_PROPERTY);
+            if (property != ABSENT_PROPERTY) {
+                return (T1) property;
+            }
+        } else if ((property = properties.get(key)) != null || properties.containsKey(key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
@@ -325,6 +351,9 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
+        if (properties instanceof PropertyMap) {
+            return (T1) ((PropertyMap) properties).getProperty(property);
+        }
         return (T1) properties.get(property);
     }
 
@@ -342,7 +371,11 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).setProperty(property, value);
+        } else {
+            properties.put(property, value);
+        }
     }
 
     /**
@@ -0,0 +1,190 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class FontDescriptorIndexTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/FontDescriptorIndexTest/";
+    public static final String fontsFolder = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void addDirectoryWithIndexTest() throws IOException {
+        String indexPath = destinationFolder + "addDirectoryWithIndex.idx";
+        FontSet expected = new FontSet();
+        int expectedCount = expected.addDirectory(fontsFolder, true);
+
+        FontDescriptorIndex index = FontDescriptorIndex.load(indexPath);
+        Assert.assertEquals(0, index.size());
+        FontSet fontSet = new FontSet();
+        Assert.assertEquals(expectedCount, fontSet.addDirectory(fontsFolder, true, index));
+        Assert.assertTrue(index.isModified());
+        assertSameFonts(expected, fontSet);
+        index.save(indexPath);
+        Assert.assertFalse(index.isModified());
+
+        FontDescriptorIndex loadedIndex = FontDescriptorIndex.load(indexPath);
+        Assert.assertEquals(index.size(), loadedIndex.size());
+        FontSet loadedFontSet = new FontSet();
+        Assert.assertEquals(expectedCount, loadedFontSet.addDirectory(fontsFolder, true, loadedIndex));
+        Assert.assertFalse(loadedIndex.isModified());
+        assertSameFonts(expected, loadedFontSet);
+    }
+
+    @Test
+    public void changedFontIsParsedAgainTest() throws IOException {
+        String fontDir = destinationFolder + "changedFont/";
+        FileUtil.createDirectories(fontDir);
+        String fontPath = fontDir + "font.ttf";
+        FileUtil.copy(fontsFolder + "FreeSans.ttf", fontPath);
+
+        FontDescriptorIndex index = new FontDescriptorIndex();
+        FontSet fontSet = new FontSet();
+        Assert.assertEquals(1, fontSet.addDirectory(fontDir, false, index));
+        Assert.assertEquals("freesans", fontSet.getFonts().iterator().next().getDescriptor().getFontNameLowerCase());
+        String indexPath = destinationFolder + "changedFont.idx";
+        index.save(indexPath);
+
+        FileUtil.copy(fontsFolder + "NotoSans-Regular.ttf", fontPath);
+        FontDescriptorIndex loadedIndex = FontDescriptorIndex.load(indexPath);
+        FontSet updatedFontSet = new FontSet();
+        Assert.assertEquals(1, updatedFontSet.addDirectory(fontDir, false, loadedIndex));
+        Assert.assertTrue(loadedIndex.isModified());
+        Assert.assertEquals("notosans",
+                updatedFontSet.getFonts().iterator().next().getDescriptor().getFontNameLowerCase());
+    }
+
+    @Test
+    public void glyphCoverageTest() {
+        FontSet fontSet = new FontSet();
+        fontSet.addDirectory(fontsFolder, false, new FontDescriptorIndex());
+        FontInfo notoSans = fontSet.get("notosans").iterator().next();
+        FontInfo notoSansThai = fontSet.get("notosansthai").iterator().next();
+        Assert.assertTrue(notoSans.mayContainGlyph('A'));
+        Assert.assertFalse(notoSans.mayContainGlyph('ก'));
+        Assert.assertTrue(notoSansThai.mayContainGlyph('ก'));
+
+        FontInfo aliased = FontInfo.create(notoSans, "alias");
+        Assert.assertFalse(aliased.mayContainGlyph('ก'));
+    }
+
+    @Test
+    public void fontSelectionWithIndexTest() {
+        String text = "Latin ภาษาไทย ភាសាខ្មែរ";
+        List<String> families = Arrays.asList("NotoSans", "FreeSans");
+
+        FontProvider expectedProvider = new FontProvider();
+        expectedProvider.getFontSet().addDirectory(fontsFolder);
+        FontProvider provider = new FontProvider();
+        provider.getFontSet().addDirectory(fontsFolder, false, new FontDescriptorIndex());
+
+        Assert.assertEquals(selectFonts(expectedProvider, text, families), selectFonts(provider, text, families));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LayoutLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ))
+    public void corruptedIndexTest() throws IOException {
+        String indexPath = destinationFolder + "corrupted.idx";
+        try (OutputStream os = FileUtil.getFileOutputStream(indexPath)) {
+            os.write("not an index".getBytes(StandardCharsets.ISO_8859_1));
+        }
+        FontDescriptorIndex index = FontDescriptorIndex.load(indexPath);
+        Assert.assertEquals(0, index.size());
+        Assert.assertTrue(index.isModified());
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LayoutLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ,
+            count = 2))
+    public void corruptedGlyphCoverageLengthTest() throws IOException {
+        for (int rangesLength : new int[] {Integer.MAX_VALUE, -2}) {
+            String indexPath = destinationFolder + "corruptedGlyphCoverageLength.idx";
+            try (DataOutputStream out = new DataOutputStream(FileUtil.getFileOutputStream(indexPath))) {
+                // a valid header and an entry without descriptor, whose length of the coverage ranges is corrupted
+                out.writeInt(0x69464458);
+                out.writeInt(1);
+                out.writeInt(1);
+                out.writeUTF(fontsFolder + "NotoSans-Regular.ttf");
+                out.writeLong(0);
+                out.writeLong(0);
+                out.writeBoolean(false);
+                out.writeInt(rangesLength);
+            }
+            FontDescriptorIndex index = FontDescriptorIndex.load(indexPath);
+            Assert.assertEquals(0, index.size());
+            Assert.assertTrue(index.isModified());
+        }
+    }
+
+    private static List<String> selectFonts(FontProvider provider, String text, List<String> families) {
+        FontSelectorStrategy strategy = provider.getStrategy(text, families);
+        List<String> fonts = new ArrayList<>();
+        while (!strategy.endOfText()) {
+            List<Glyph> glyphs = strategy.nextGlyphs();
+            PdfFont font = strategy.getCurrentFont();
+            fonts.add(glyphs.size() + ":" + font.getFontProgram().getFontNames().getFontName());
+        }
+        return fonts;
+    }
+
+    private static void assertSameFonts(FontSet expected, FontSet actual) {
+        List<String> expectedNames = new ArrayList<>();
+        for (FontInfo fontInfo : expected.getFonts()) {
+            expectedNames.add(fontInfo.getFontName() + ":" + fontInfo.getDescriptor().getFullNameLowerCase()
+                    + ":" + fontInfo.getDescriptor().getFamilyNameLowerCase()
+                    + ":" + fontInfo.getDescriptor().getFontWeight() + ":" + fontInfo.getDescriptor().isItalic());
+        }
+        List<String> actualNames = new ArrayList<>();
+        for (FontInfo fontInfo : actual.getFonts()) {
+            actualNames.add(fontInfo.getFontName() + ":" + fontInfo.getDescriptor().getFullNameLowerCase()
+                    + ":" + fontInfo.getDescriptor().getFamilyNameLowerCase()
+                    + ":" + fontInfo.getDescriptor().getFontWeight() + ":" + fontInfo.getDescriptor().isItalic());
+        }
+        Assert.assertEquals(expectedNames, actualNames);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class HyphenationCacheTest extends ExtendedITextTest {
+
+    private static final List<String> WORDS = Arrays.asList("hyphenation", "associate", "table", "a",
+            "(reformation)", "hyphenation", "table", "a", "(reformation)");
+
+    @Test
+    public void cachedResultsAreSameTest() {
+        HyphenationTree hTree = Hyphenator.getHyphenationTree("en", null, null);
+        HyphenationCache cache = new HyphenationCache();
+        for (String word : WORDS) {
+            Hyphenation expected = hTree.hyphenate(word, 2, 3);
+            Hyphenation actual = cache.hyphenate("en", word, hTree, 2, 3);
+            Assert.assertEquals(String.valueOf(expected), String.valueOf(actual));
+            if (expected != null) {
+                Assert.assertArrayEquals(expected.getHyphenationPoints(), actual.getHyphenationPoints());
+            }
+        }
+        Assert.assertEquals(5, cache.getMissCount());
+        Assert.assertEquals(4, cache.getHitCount());
+        Assert.assertEquals(5, cache.size());
+    }
+
+    @Test
+    public void cachedResultIsCopiedTest() {
+        HyphenationTree hTree = Hyphenator.getHyphenationTree("en", null, null);
+        HyphenationCache cache = new HyphenationCache();
+        Hyphenation first = cache.hyphenate("en", "hyphenation", hTree, 2, 2);
+        int[] expectedPoints = first.getHyphenationPoints().clone();
+        first.getHyphenationPoints()[0] = 100;
+
+        Hyphenation second = cache.hyphenate("en", "hyphenation", hTree, 2, 2);
+        Assert.assertNotSame(first, second);
+        Assert.assertArrayEquals(expectedPoints, second.getHyphenationPoints());
+    }
+
+    @Test
+    public void leastRecentlyUsedWordIsEvictedTest() {
+        HyphenationTree hTree = Hyphenator.getHyphenationTree("en", null, null);
+        HyphenationCache cache = new HyphenationCache(2);
+        cache.hyphenate("en", "hyphenation", hTree, 2, 2);
+        cache.hyphenate("en", "associate", hTree, 2, 2);
+        cache.hyphenate("en", "hyphenation", hTree, 2, 2);
+        cache.hyphenate("en", "reformation", hTree, 2, 2);
+        // each language has its own words
+        cache.hyphenate("en_2_3", "associate", hTree, 2, 3);
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        cache.hyphenate("en", "hyphenation", hTree, 2, 2);
+        cache.hyphenate("en", "associate", hTree, 2, 2);
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(5, cache.getMissCount());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedWordsAreEvictedInBatchTest() {
+        HyphenationTree hTree = Hyphenator.getHyphenationTree("en", null, null);
+        HyphenationCache cache = new HyphenationCache(32);
+        for (int i = 0; i < 34; i++) {
+            cache.hyphenate("en", "word" + i, hTree, 2, 2);
+            // the first word stays the most recently used one
+            cache.hyphenate("en", "word0", hTree, 2, 2);
+        }
+        // the size may exceed the maximum by a sixteenth of it
+        Assert.assertEquals(34, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        cache.hyphenate("en", "word34", hTree, 2, 2);
+        Assert.assertEquals(32, cache.size());
+        Assert.assertEquals(3, cache.getEvictionCount());
+        long misses = cache.getMissCount();
+        cache.hyphenate("en", "word0", hTree, 2, 2);
+        cache.hyphenate("en", "word4", hTree, 2, 2);
+        cache.hyphenate("en", "word34", hTree, 2, 2);
+        Assert.assertEquals(misses, cache.getMissCount());
+        cache.hyphenate("en", "word3", hTree, 2, 2);
+        Assert.assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void concurrentHyphenationTest() throws Exception {
+        final HyphenationTree hTree = Hyphenator.getHyphenationTree("en", null, null);
+        final HyphenationCache cache = new HyphenationCache(64);
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            words.add("hyphenation" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int i = 0; i < 2000; i++) {
+                            String word = words.get(i * 7 % words.size());
+                            Hyphenation hyphenation = cache.hyphenate("en", word, hTree, 2, 2);
+                            if (!String.valueOf(hTree.hyphenate(word, 2, 2)).equals(String.valueOf(hyphenation))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(8000, cache.getHitCount() + cache.getMissCount());
+        Assert.assertTrue(cache.size() <= 64 + 64 / 16);
+    }
+
+    @Test
+    public void hyphenatorUsesCacheTest() {
+        HyphenationCache cache = new HyphenationCache();
+        Hyphenator.setHyphenationCache(cache);
+        try {
+            Hyphenation first = Hyphenator.hyphenate("en", null, "hyphenation", 2, 2);
+            Hyphenation second = new Hyphenator("en", null, 2, 2).hyphenate("hyphenation");
+            Hyphenation otherSettings = Hyphenator.hyphenate("en", null, "hyphenation", 4, 4);
+            Hyphenation softHyphens = Hyphenator.hyphenate("en", null, "hy\u00adphen\u00adation", 2, 2);
+
+            Assert.assertEquals(first.toString(), second.toString());
+            Assert.assertNotEquals(first.toString(), otherSettings.toString());
+            Assert.assertNotNull(softHyphens);
+            Assert.assertEquals(1, cache.getHitCount());
+            Assert.assertEquals(2, cache.getMissCount());
+        } finally {
+            Hyphenator.setHyphenationCache(null);
+        }
+    }
+
+    @Test
+    public void negativeSizeTest() {
+        Exception e = Assert.assertThrows(PdfException.class, () -> new HyphenationCache(-1));
+        Assert.assertEquals(LayoutExceptionMessageConstant.HYPHENATION_CACHE_SIZE_CANNOT_BE_NEGATIVE, e.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.IOException;
+
+/**
+ * Compiles the XML hyphenation patterns of a directory, see
+ * {@link Hyphenator#compileHyphenationPatterns(String, String)}.
+ * <p>
+ * It's run by the {@code compile-hyphenation-patterns} profile of the layout module, which regenerates
+ * the compiled patterns shipped next to the XML patterns of the hyph module. The hyph module can't compile
+ * them itself, since layout depends on it.
+ */
+public final class HyphenationPatternsCompiler {
+
+    private HyphenationPatternsCompiler() {
+    }
+
+    /**
+     * Compiles the patterns.
+     *
+     * @param args the directory with the XML pattern files and the directory to write the compiled patterns to
+     * @throws IOException if the compiled patterns can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: HyphenationPatternsCompiler <source directory> <target directory>");
+        }
+        int count = Hyphenator.compileHyphenationPatterns(args[0], args[1]);
+        System.out.println("Compiled " + count + " hyphenation pattern files into " + args[1]);
+    }
+}
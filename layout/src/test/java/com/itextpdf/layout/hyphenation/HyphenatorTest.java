@@ -0,0 +1,184 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class HyphenatorTest extends ExtendedITextTest {
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/HyphenatorTest/";
+
+    private static final List<String> WORDS = Arrays.asList("hyphenation", "associate", "declination",
+            "obligatory", "philanthropic", "present", "presents", "project", "projects", "reciprocity",
+            "recognizance", "reformation", "retribution", "table", "Silbentrennung", "Donaudampfschifffahrt");
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void compiledPatternsGiveSameResultTest() throws IOException {
+        for (String key : Arrays.asList("en", "de")) {
+            HyphenationTree parsed = Hyphenator.getHyphenationTree(getPatternsStream(key), key);
+            ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+            parsed.saveCompiledPatterns(compiled);
+
+            HyphenationTree loaded = Hyphenator.getCompiledHyphenationTree(
+                    new ByteArrayInputStream(compiled.toByteArray()), key);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals(hyphenateAll(parsed), hyphenateAll(loaded));
+        }
+    }
+
+    @Test
+    public void shippedCompiledPatternsAreUpToDateTest() throws IOException {
+        for (String key : Arrays.asList("en", "de", "fr", "ru")) {
+            HyphenationTree loaded = Hyphenator.getCompiledHyphenationTree(ResourceUtil.getResourceStream(
+                    HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key
+                            + HyphenationConstants.COMPILED_PATTERNS_EXTENSION), key);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals(HyphenationTree.computeSourceChecksum(getPatternsStream(key)),
+                    loaded.getSourceChecksum());
+            Assert.assertEquals(hyphenateAll(Hyphenator.getHyphenationTree(getPatternsStream(key), key)),
+                    hyphenateAll(loaded));
+        }
+    }
+
+    @Test
+    public void compileHyphenationPatternsTest() throws IOException {
+        String xmlDirectory = destinationFolder + "xml";
+        String compiledDirectory = destinationFolder + "compiled";
+        FileUtil.createDirectories(xmlDirectory);
+        try (OutputStream out = FileUtil.getFileOutputStream(xmlDirectory + "/en.xml")) {
+            out.write(StreamUtil.inputStreamToArray(getPatternsStream("en")));
+        }
+
+        Assert.assertEquals(1, Hyphenator.compileHyphenationPatterns(xmlDirectory, compiledDirectory));
+        Assert.assertTrue(FileUtil.fileExists(compiledDirectory + "/en" + HyphenationConstants.COMPILED_PATTERNS_EXTENSION));
+
+        HyphenationTree parsed = Hyphenator.getHyphenationTree(xmlDirectory, "en");
+        HyphenationTree loaded = Hyphenator.getHyphenationTree(compiledDirectory, "en");
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(hyphenateAll(parsed), hyphenateAll(loaded));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate =
+            LayoutLogMessageConstant.COMPILED_HYPHENATION_PATTERNS_ARE_OUT_OF_DATE))
+    public void outdatedCompiledPatternsTest() throws IOException {
+        String directory = destinationFolder + "outdated";
+        FileUtil.createDirectories(directory);
+        try (OutputStream out = FileUtil.getFileOutputStream(directory + "/en.xml")) {
+            out.write(StreamUtil.inputStreamToArray(getPatternsStream("en")));
+        }
+        Assert.assertEquals(1, Hyphenator.compileHyphenationPatterns(directory, directory));
+        HyphenationTree english = Hyphenator.getHyphenationTree(directory, "en");
+        Assert.assertEquals(hyphenateAll(Hyphenator.getHyphenationTree(getPatternsStream("en"), "en")),
+                hyphenateAll(english));
+
+        // the XML file is changed after the patterns were compiled
+        try (OutputStream out = FileUtil.getFileOutputStream(directory + "/en.xml")) {
+            out.write(StreamUtil.inputStreamToArray(getPatternsStream("de")));
+        }
+        HyphenationTree german = Hyphenator.getHyphenationTree(getPatternsStream("de"), "de");
+        Assert.assertEquals(hyphenateAll(german), hyphenateAll(Hyphenator.getHyphenationTree(directory, "en")));
+        Assert.assertNotEquals(hyphenateAll(english), hyphenateAll(german));
+    }
+
+    @Test
+    public void corruptedCompiledPatternsTest() throws IOException {
+        HyphenationTree parsed = Hyphenator.getHyphenationTree(getPatternsStream("en"), "en");
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        parsed.saveCompiledPatterns(compiled);
+        byte[] truncated = Arrays.copyOf(compiled.toByteArray(), compiled.size() / 2);
+
+        Assert.assertThrows(HyphenationException.class,
+                () -> new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(truncated)));
+        Assert.assertThrows(HyphenationException.class,
+                () -> new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    @Test
+    public void concurrentLoadingTest() throws Exception {
+        Hyphenator.clearHyphenationTreeCache();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<HyphenationTree>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final String lang = i % 2 == 0 ? "en" : "de";
+                results.add(executor.submit(new Callable<HyphenationTree>() {
+                    @Override
+                    public HyphenationTree call() {
+                        return Hyphenator.getHyphenationTree(lang, null, null);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertNotNull(results.get(i).get());
+                Assert.assertSame(results.get(i % 2).get(), results.get(i).get());
+            }
+            Assert.assertNotSame(results.get(0).get(), results.get(1).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ByteArrayInputStream getPatternsStream(String key) throws IOException {
+        return new ByteArrayInputStream(StreamUtil.inputStreamToArray(
+                ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml")));
+    }
+
+    private static List<String> hyphenateAll(HyphenationTree tree) {
+        List<String> result = new ArrayList<>();
+        for (String word : WORDS) {
+            Hyphenation hyphenation = tree.hyphenate(word, 2, 2);
+            result.add(hyphenation != null ? hyphenation.toString() : word);
+        }
+        return result;
+    }
+}
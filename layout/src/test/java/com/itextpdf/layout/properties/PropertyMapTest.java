@@ -0,0 +1,140 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2023 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void setGetAndRemovePropertiesTest() {
+        PropertyMap map = new PropertyMap();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(10)));
+        Assert.assertNull(map.setProperty(Property.ADD_MARKED_CONTENT_TEXT, "text"));
+        Assert.assertNull(map.setProperty(Property.ACTION, null));
+        Assert.assertEquals(UnitValue.createPointValue(10),
+                map.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(12)));
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(UnitValue.createPointValue(12), map.getProperty(Property.FONT_SIZE));
+        Assert.assertEquals("text", map.get(Property.ADD_MARKED_CONTENT_TEXT));
+        Assert.assertTrue(map.containsProperty(Property.ACTION));
+        Assert.assertNull(map.getProperty(Property.ACTION));
+        Assert.assertFalse(map.containsKey(Property.MARGIN_TOP));
+        Assert.assertFalse(map.containsKey("not a property"));
+
+        Assert.assertEquals("text", map.removeProperty(Property.ADD_MARKED_CONTENT_TEXT));
+        Assert.assertNull(map.remove(Property.ADD_MARKED_CONTENT_TEXT));
+        Assert.assertEquals(2, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.getProperty(Property.FONT_SIZE));
+    }
+
+    @Test
+    public void getPropertyOrDefaultTest() {
+        Object absent = new Object();
+        PropertyMap map = new PropertyMap();
+        map.setProperty(Property.ACTION, null);
+        map.setProperty(Property.ADD_MARKED_CONTENT_TEXT, "text");
+
+        Assert.assertNull(map.getPropertyOrDefault(Property.ACTION, absent));
+        Assert.assertEquals("text", map.getPropertyOrDefault(Property.ADD_MARKED_CONTENT_TEXT, absent));
+        Assert.assertSame(absent, map.getPropertyOrDefault(Property.FONT_SIZE, absent));
+    }
+
+    @Test
+    public void behavesAsHashMapTest() {
+        Map<Integer, Object> expected = new HashMap<>();
+        PropertyMap map = new PropertyMap();
+        for (int i = 0; i < 200; i++) {
+            int property = (i * 37) % 150 - 5;
+            if (i % 7 == 0) {
+                Assert.assertEquals(expected.remove(property), map.remove(property));
+            } else {
+                Assert.assertEquals(expected.put(property, i), map.put(property, i));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(expected, new PropertyMap(map));
+        Assert.assertEquals(expected, new HashMap<>(map));
+    }
+
+    @Test
+    public void iteratesInPropertyIdOrderTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(Property.WIDTH, 1);
+        map.put(Property.ACTION, 2);
+        map.put(Property.FONT, 3);
+
+        Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator();
+        Assert.assertEquals(Property.ACTION, (int) iterator.next().getKey());
+        Map.Entry<Integer, Object> font = iterator.next();
+        Assert.assertEquals(Property.FONT, (int) font.getKey());
+        font.setValue(4);
+        iterator.remove();
+        Assert.assertEquals(Property.WIDTH, (int) iterator.next().getKey());
+        Assert.assertFalse(iterator.hasNext());
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertFalse(map.containsProperty(Property.FONT));
+    }
+
+    @Test
+    public void putAllMergesPropertiesTest() {
+        PropertyMap source = new PropertyMap();
+        source.setProperty(Property.FONT_SIZE, 1);
+        source.setProperty(Property.MARGIN_TOP, 2);
+
+        PropertyMap copy = new PropertyMap();
+        copy.putAll(source);
+        copy.setProperty(Property.FONT_SIZE, 3);
+        Assert.assertEquals(1, source.getProperty(Property.FONT_SIZE));
+
+        PropertyMap target = new PropertyMap();
+        target.setProperty(Property.MARGIN_TOP, 5);
+        target.setProperty(Property.ACTION, 6);
+        target.putAll(source);
+        Assert.assertEquals(3, target.size());
+        Assert.assertEquals(2, target.getProperty(Property.MARGIN_TOP));
+        Assert.assertEquals(6, target.getProperty(Property.ACTION));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullKeyIsNotSupportedTest() {
+        new PropertyMap().put(null, 1);
+    }
+}
@@ -63,6 +63,7 @@ import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
@@ -677,4 +678,25 @@ public class AbstractRendererUnitTest extends ExtendedITextTest {
         Rectangle rect = new Rectangle(0, 0);
         Assert.assertThrows(ClassCastException.class, () -> renderer.applyMargins(rect, false));
     }
+
+    @Test
+    public void propertiesReplacedWithHashMapTest() {
+        Div div = new Div();
+        div.setProperty(Property.OPACITY, 0.5f);
+        DivRenderer renderer = new DivRenderer(div);
+        renderer.properties = new HashMap<>();
+        renderer.setProperty(Property.WIDTH, UnitValue.createPointValue(20));
+        renderer.setProperty(Property.MARGIN_TOP, null);
+
+        Assert.assertTrue(renderer.hasOwnProperty(Property.WIDTH));
+        Assert.assertEquals(UnitValue.createPointValue(20), renderer.<UnitValue>getProperty(Property.WIDTH));
+        Assert.assertTrue(renderer.hasOwnProperty(Property.MARGIN_TOP));
+        Assert.assertNull(renderer.<UnitValue>getProperty(Property.MARGIN_TOP));
+        Assert.assertEquals(0.5f, (float) renderer.<Float>getProperty(Property.OPACITY), 0);
+
+        renderer.deleteProperty(Property.WIDTH);
+        renderer.deleteProperty(Property.OPACITY);
+        Assert.assertFalse(renderer.hasOwnProperty(Property.WIDTH));
+        Assert.assertFalse(div.hasOwnProperty(Property.OPACITY));
+    }
 }